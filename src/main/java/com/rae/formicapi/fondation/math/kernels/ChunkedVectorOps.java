@@ -0,0 +1,76 @@
+package com.rae.formicapi.fondation.math.kernels;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Fork/join versions of the BLAS-1 operations {@link VectorOps} switches to
+ * for long vectors, where one core cannot saturate memory bandwidth.
+ *
+ * <p>Vectors are cut into chunks of {@link #CHUNK} entries whatever the
+ * number of threads, and each chunk goes through the active kernel. A
+ * reduction stores one partial per chunk and adds them in chunk order, so
+ * its result is identical from run to run and from one machine to another,
+ * whichever worker handled which chunk. Updates write disjoint slices and
+ * need no merging. Chunks run on the common {@link ForkJoinPool}, like the
+ * parallel products of {@code CSRMatrix}; with no spare worker they run in
+ * a plain loop, to the same result.
+ */
+final class ChunkedVectorOps {
+
+    /** Entries per chunk — large enough to amortise a task, small enough to balance. */
+    static final int CHUNK = 1 << 13;
+
+    private ChunkedVectorOps() {
+    }
+
+    private static int chunks(int len) {
+        return (len + CHUNK - 1) / CHUNK;
+    }
+
+    private static void forEachChunk(int chunks, ChunkTask task) {
+        if (ForkJoinPool.getCommonPoolParallelism() > 1) {
+            IntStream.range(0, chunks).parallel().forEach(task::run);
+        } else {
+            for (int c = 0; c < chunks; c++) task.run(c);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int chunk);
+    }
+
+    // ------------------------------------------------
+    // Operations
+    // ------------------------------------------------
+
+    /** Returns a · b over {@code [0, len)}, summed chunk by chunk in order. */
+    static double dot(VectorKernel kernel, double[] a, double[] b, int len) {
+        int chunks = chunks(len);
+        double[] partial = new double[chunks];
+        forEachChunk(chunks, c -> {
+            int off = c * CHUNK;
+            partial[c] = kernel.dot(a, off, b, off, Math.min(CHUNK, len - off));
+        });
+        double sum = 0;
+        for (double p : partial) sum += p;
+        return sum;
+    }
+
+    /** y += alpha · x over {@code [0, len)}. */
+    static void axpy(VectorKernel kernel, double alpha, double[] x, double[] y, int len) {
+        forEachChunk(chunks(len), c -> {
+            int off = c * CHUNK;
+            kernel.axpy(alpha, x, off, y, off, Math.min(CHUNK, len - off));
+        });
+    }
+
+    /** y = x + beta · y over {@code [0, len)}. */
+    static void xpay(VectorKernel kernel, double[] x, double beta, double[] y, int len) {
+        forEachChunk(chunks(len), c -> {
+            int off = c * CHUNK;
+            kernel.xpay(x, beta, y, off, Math.min(CHUNK, len - off));
+        });
+    }
+}
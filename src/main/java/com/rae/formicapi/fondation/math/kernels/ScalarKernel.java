@@ -0,0 +1,71 @@
+package com.rae.formicapi.fondation.math.kernels;
+
+/**
+ * Portable kernel: plain loops unrolled four ways, with independent
+ * accumulators in the reductions so they do not serialise on one add.
+ */
+final class ScalarKernel implements VectorKernel {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public double dot(double[] a, int aOff, double[] b, int bOff, int len) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int k = 0;
+        for (; k + 3 < len; k += 4) {
+            s0 += a[aOff + k] * b[bOff + k];
+            s1 += a[aOff + k + 1] * b[bOff + k + 1];
+            s2 += a[aOff + k + 2] * b[bOff + k + 2];
+            s3 += a[aOff + k + 3] * b[bOff + k + 3];
+        }
+        for (; k < len; k++) s0 += a[aOff + k] * b[bOff + k];
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int len) {
+        int k = 0;
+        for (; k + 3 < len; k += 4) {
+            y[yOff + k] += alpha * x[xOff + k];
+            y[yOff + k + 1] += alpha * x[xOff + k + 1];
+            y[yOff + k + 2] += alpha * x[xOff + k + 2];
+            y[yOff + k + 3] += alpha * x[xOff + k + 3];
+        }
+        for (; k < len; k++) y[yOff + k] += alpha * x[xOff + k];
+    }
+
+    @Override
+    public void xpay(double[] x, double beta, double[] y, int off, int len) {
+        for (int k = off; k < off + len; k++) y[k] = x[k] + beta * y[k];
+    }
+
+    @Override
+    public void sub(double[] a, double[] b, double[] out, int len) {
+        for (int k = 0; k < len; k++) out[k] = a[k] - b[k];
+    }
+
+    @Override
+    public double dot(float[] a, float[] b, int len) {
+        double s0 = 0, s1 = 0;
+        int k = 0;
+        for (; k + 1 < len; k += 2) {
+            s0 += (double) a[k] * b[k];
+            s1 += (double) a[k + 1] * b[k + 1];
+        }
+        for (; k < len; k++) s0 += (double) a[k] * b[k];
+        return s0 + s1;
+    }
+
+    @Override
+    public void axpy(float alpha, float[] x, float[] y, int len) {
+        for (int k = 0; k < len; k++) y[k] += alpha * x[k];
+    }
+
+    @Override
+    public void xpay(float[] x, float beta, float[] y, int len) {
+        for (int k = 0; k < len; k++) y[k] = x[k] + beta * y[k];
+    }
+}
@@ -0,0 +1,124 @@
+package com.rae.formicapi.fondation.math.kernels;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel built on the incubating Vector API, running at the platform's
+ * preferred SIMD width with a scalar tail.
+ *
+ * <p>Only ever loaded reflectively by {@link VectorOps}, so the rest of the
+ * code base does not link against {@code jdk.incubator.vector} and runs
+ * unchanged when the module is not added to the JVM.
+ */
+final class SimdKernel implements VectorKernel {
+
+    private static final VectorSpecies<Double> D = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Float> F = FloatVector.SPECIES_PREFERRED;
+
+    /** Float lanes are reduced into a double every this many elements to bound rounding. */
+    private static final int FLOAT_BLOCK = 1024;
+
+    SimdKernel() {
+        if (D.length() < 2)
+            throw new UnsupportedOperationException("Preferred vector shape holds a single double; SIMD gives no gain");
+    }
+
+    @Override
+    public String name() {
+        return "simd-" + D.vectorBitSize();
+    }
+
+    @Override
+    public double dot(double[] a, int aOff, double[] b, int bOff, int len) {
+        DoubleVector acc = DoubleVector.zero(D);
+        int upper = D.loopBound(len);
+        int k = 0;
+        for (; k < upper; k += D.length()) {
+            DoubleVector va = DoubleVector.fromArray(D, a, aOff + k);
+            DoubleVector vb = DoubleVector.fromArray(D, b, bOff + k);
+            acc = acc.add(va.mul(vb));
+        }
+        double sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; k < len; k++) sum += a[aOff + k] * b[bOff + k];
+        return sum;
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int len) {
+        int upper = D.loopBound(len);
+        int k = 0;
+        for (; k < upper; k += D.length()) {
+            DoubleVector vx = DoubleVector.fromArray(D, x, xOff + k);
+            DoubleVector vy = DoubleVector.fromArray(D, y, yOff + k);
+            vx.mul(alpha).add(vy).intoArray(y, yOff + k);
+        }
+        for (; k < len; k++) y[yOff + k] += alpha * x[xOff + k];
+    }
+
+    @Override
+    public void xpay(double[] x, double beta, double[] y, int off, int len) {
+        int upper = off + D.loopBound(len);
+        int k = off;
+        for (; k < upper; k += D.length()) {
+            DoubleVector vx = DoubleVector.fromArray(D, x, k);
+            DoubleVector vy = DoubleVector.fromArray(D, y, k);
+            vy.mul(beta).add(vx).intoArray(y, k);
+        }
+        for (; k < off + len; k++) y[k] = x[k] + beta * y[k];
+    }
+
+    @Override
+    public void sub(double[] a, double[] b, double[] out, int len) {
+        int upper = D.loopBound(len);
+        int k = 0;
+        for (; k < upper; k += D.length()) {
+            DoubleVector va = DoubleVector.fromArray(D, a, k);
+            DoubleVector vb = DoubleVector.fromArray(D, b, k);
+            va.sub(vb).intoArray(out, k);
+        }
+        for (; k < len; k++) out[k] = a[k] - b[k];
+    }
+
+    @Override
+    public double dot(float[] a, float[] b, int len) {
+        double sum = 0;
+        int k = 0;
+        while (k < len) {
+            int end = Math.min(len, k + FLOAT_BLOCK);
+            int upper = k + F.loopBound(end - k);
+            FloatVector acc = FloatVector.zero(F);
+            for (; k < upper; k += F.length())
+                acc = acc.add(FloatVector.fromArray(F, a, k).mul(FloatVector.fromArray(F, b, k)));
+            sum += acc.reduceLanes(VectorOperators.ADD);
+            for (; k < end; k++) sum += (double) a[k] * b[k];
+        }
+        return sum;
+    }
+
+    @Override
+    public void axpy(float alpha, float[] x, float[] y, int len) {
+        int upper = F.loopBound(len);
+        int k = 0;
+        for (; k < upper; k += F.length()) {
+            FloatVector vx = FloatVector.fromArray(F, x, k);
+            FloatVector vy = FloatVector.fromArray(F, y, k);
+            vx.mul(alpha).add(vy).intoArray(y, k);
+        }
+        for (; k < len; k++) y[k] += alpha * x[k];
+    }
+
+    @Override
+    public void xpay(float[] x, float beta, float[] y, int len) {
+        int upper = F.loopBound(len);
+        int k = 0;
+        for (; k < upper; k += F.length()) {
+            FloatVector vx = FloatVector.fromArray(F, x, k);
+            FloatVector vy = FloatVector.fromArray(F, y, k);
+            vy.mul(beta).add(vx).intoArray(y, k);
+        }
+        for (; k < len; k++) y[k] = x[k] + beta * y[k];
+    }
+}
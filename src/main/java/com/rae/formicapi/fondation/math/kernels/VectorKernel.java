@@ -0,0 +1,31 @@
+package com.rae.formicapi.fondation.math.kernels;
+
+/**
+ * BLAS-1 primitives behind {@link VectorOps}. Implementations do no argument
+ * checking; {@link VectorOps} validates lengths before delegating.
+ */
+interface VectorKernel {
+
+    String name();
+
+    /** Σ a[aOff + k] · b[bOff + k] for k in [0, len). */
+    double dot(double[] a, int aOff, double[] b, int bOff, int len);
+
+    /** y[yOff + k] += alpha · x[xOff + k] for k in [0, len). */
+    void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int len);
+
+    /** y[k] = x[k] + beta · y[k] for k in [off, off + len). */
+    void xpay(double[] x, double beta, double[] y, int off, int len);
+
+    /** out[k] = a[k] − b[k] for k in [0, len). */
+    void sub(double[] a, double[] b, double[] out, int len);
+
+    /** Σ a[k] · b[k] for k in [0, len), accumulated at least in double across blocks. */
+    double dot(float[] a, float[] b, int len);
+
+    /** y[k] += alpha · x[k] for k in [0, len). */
+    void axpy(float alpha, float[] x, float[] y, int len);
+
+    /** y[k] = x[k] + beta · y[k] for k in [0, len). */
+    void xpay(float[] x, float beta, float[] y, int len);
+}
@@ -0,0 +1,197 @@
+package com.rae.formicapi.fondation.math.kernels;
+
+/**
+ * BLAS-1 vector operations used by the solvers and dense operators.
+ *
+ * <p>Every call is routed to one kernel chosen once, when this class is
+ * initialised:
+ * <ul>
+ *     <li>a SIMD kernel on {@code jdk.incubator.vector}, when the JVM was
+ *         started with {@code --add-modules jdk.incubator.vector} and the
+ *         platform's preferred vector holds more than one double;</li>
+ *     <li>otherwise a portable scalar kernel with unrolled loops.</li>
+ * </ul>
+ * Set the system property {@code formicapi.simd=false} to force the scalar
+ * kernel. {@link #kernelName()} reports which one is active.
+ *
+ * <p>Vectors of at least {@link #getParallelThreshold()} entries are split
+ * into fixed-size chunks processed on the common fork/join pool, for
+ * {@link #dot(double[], double[])}, {@link #norm(double[])},
+ * {@link #axpy(double, double[], double[])} and
+ * {@link #xpay(double[], double, double[])}. Chunk partials are added in a
+ * fixed order, so parallel reductions are identical from run to run and do
+ * not depend on the number of threads.
+ *
+ * <p>The two kernels sum in different orders, so reductions may differ in
+ * the last bits between them, as may a parallel reduction and a serial one
+ * of the same vector; each path is deterministic on its own.
+ */
+public final class VectorOps {
+
+    private static final String SIMD_KERNEL = "com.rae.formicapi.fondation.math.kernels.SimdKernel";
+
+    private static final VectorKernel KERNEL = selectKernel();
+
+    /**
+     * Default vector length from which whole-vector operations run in
+     * parallel. Below it, splitting the work costs more than it saves.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+    private static volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    private VectorOps() {
+    }
+
+    private static VectorKernel selectKernel() {
+        if (!Boolean.parseBoolean(System.getProperty("formicapi.simd", "true")))
+            return new ScalarKernel();
+        try {
+            return (VectorKernel) Class.forName(SIMD_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // module not added to the JVM, or no useful vector width on this CPU
+            return new ScalarKernel();
+        }
+    }
+
+    /**
+     * Returns the active kernel, {@code "scalar"} or {@code "simd-<bits>"}.
+     */
+    public static String kernelName() {
+        return KERNEL.name();
+    }
+
+    /**
+     * Returns the vector length from which whole-vector operations run in parallel.
+     */
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets the vector length from which whole-vector operations run in
+     * parallel. Use 0 to always split, {@link Integer#MAX_VALUE} to never.
+     *
+     * @throws IllegalArgumentException if {@code threshold} is negative
+     */
+    public static void setParallelThreshold(int threshold) {
+        if (threshold < 0)
+            throw new IllegalArgumentException("Parallel threshold must be non-negative, got: " + threshold);
+        parallelThreshold = threshold;
+    }
+
+    private static boolean parallel(int len) {
+        return len >= parallelThreshold && len > ChunkedVectorOps.CHUNK;
+    }
+
+    // ------------------------------------------------
+    // double
+    // ------------------------------------------------
+
+    /**
+     * Returns a · b.
+     *
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static double dot(double[] a, double[] b) {
+        if (a.length != b.length)
+            throw new IllegalArgumentException(
+                    "Cannot compute dot product: vector lengths differ (" + a.length + " vs " + b.length + ")");
+        if (parallel(a.length)) return ChunkedVectorOps.dot(KERNEL, a, b, a.length);
+        return KERNEL.dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Returns the dot product of {@code a[aOff .. aOff+len)} and {@code b[bOff .. bOff+len)}.
+     */
+    public static double dot(double[] a, int aOff, double[] b, int bOff, int len) {
+        return KERNEL.dot(a, aOff, b, bOff, len);
+    }
+
+    /**
+     * Returns the Euclidean norm ‖a‖.
+     */
+    public static double norm(double[] a) {
+        if (parallel(a.length)) return Math.sqrt(ChunkedVectorOps.dot(KERNEL, a, a, a.length));
+        return Math.sqrt(KERNEL.dot(a, 0, a, 0, a.length));
+    }
+
+    /**
+     * y += alpha · x.
+     *
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void axpy(double alpha, double[] x, double[] y) {
+        checkLengths(x.length, y.length);
+        if (parallel(x.length)) ChunkedVectorOps.axpy(KERNEL, alpha, x, y, x.length);
+        else KERNEL.axpy(alpha, x, 0, y, 0, x.length);
+    }
+
+    /**
+     * {@code y[yOff .. yOff+len) += alpha · x[xOff .. xOff+len)}.
+     */
+    public static void axpy(double alpha, double[] x, int xOff, double[] y, int yOff, int len) {
+        KERNEL.axpy(alpha, x, xOff, y, yOff, len);
+    }
+
+    /**
+     * y = x + beta · y — the CG search-direction update.
+     *
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void xpay(double[] x, double beta, double[] y) {
+        checkLengths(x.length, y.length);
+        if (parallel(x.length)) ChunkedVectorOps.xpay(KERNEL, x, beta, y, x.length);
+        else KERNEL.xpay(x, beta, y, 0, x.length);
+    }
+
+    /**
+     * out = a − b. {@code out} may alias either input.
+     *
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void sub(double[] a, double[] b, double[] out) {
+        checkLengths(a.length, b.length);
+        checkLengths(a.length, out.length);
+        KERNEL.sub(a, b, out, a.length);
+    }
+
+    // ------------------------------------------------
+    // float
+    // ------------------------------------------------
+
+    /**
+     * Returns a · b for single-precision vectors, accumulated in double.
+     *
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static double dot(float[] a, float[] b) {
+        checkLengths(a.length, b.length);
+        return KERNEL.dot(a, b, a.length);
+    }
+
+    /**
+     * y += alpha · x for single-precision vectors.
+     *
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void axpy(float alpha, float[] x, float[] y) {
+        checkLengths(x.length, y.length);
+        KERNEL.axpy(alpha, x, y, x.length);
+    }
+
+    /**
+     * y = x + beta · y for single-precision vectors.
+     *
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static void xpay(float[] x, float beta, float[] y) {
+        checkLengths(x.length, y.length);
+        KERNEL.xpay(x, beta, y, x.length);
+    }
+
+    private static void checkLengths(int a, int b) {
+        if (a != b)
+            throw new IllegalArgumentException("Vector length mismatch: " + a + " vs " + b);
+    }
+}
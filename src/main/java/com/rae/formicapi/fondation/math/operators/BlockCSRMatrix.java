@@ -0,0 +1,432 @@
+package com.rae.formicapi.fondation.math.operators;
+
+import java.util.Arrays;
+
+/**
+ * A sparse matrix in Block Compressed Sparse Row (BSR) format.
+ *
+ * <p>The matrix is tiled into dense {@code b × b} blocks and only blocks
+ * holding at least one non-zero are stored, each as {@code b²} contiguous
+ * values in row-major order. One column index is loaded per block instead
+ * of per entry, which pays off when non-zeros come in small dense clusters —
+ * coupled unknowns of the same node, or the regular segments of chained
+ * components such as heat exchangers.
+ *
+ * <p>Block sizes 2, 3 and 4 use fully unrolled products when both
+ * dimensions are multiples of the block size; other sizes, or dimensions
+ * that leave a partial edge block, fall back to a generic kernel.
+ *
+ * <p>The block structure is fixed at construction. {@link #add}, {@link #set}
+ * and {@link #clear()} rewrite values in place, and writing outside the
+ * stored blocks is an error — rebuild with {@link #fromHash} or
+ * {@link #fromCSR} when the pattern changes.
+ *
+ * @see CSRMatrix
+ * @see HashSparseMatrix
+ */
+public class BlockCSRMatrix implements MutableMatrix {
+
+    private final int rows;
+    private final int cols;
+    private final int blockSize;
+    private final int blockRows;
+
+    private final double[] values;   // blockSize² values per block, row-major
+    private final int[] blockCol;
+    private final int[] blockRowPtr;
+
+    /** Both dimensions are multiples of the block size, so the unrolled kernels apply. */
+    private final boolean aligned;
+
+    /**
+     * Constructs a block CSR matrix from raw arrays.
+     *
+     * <p>Block columns within each block row must be sorted, and
+     * {@code values} must hold {@code blockSize²} entries per stored block.
+     *
+     * @param rows        number of rows
+     * @param cols        number of columns
+     * @param blockSize   edge length of the square blocks
+     * @param values      block values, row-major within each block
+     * @param blockCol    block column index of each stored block
+     * @param blockRowPtr start of each block row in {@code blockCol}, length ⌈rows / blockSize⌉ + 1
+     */
+    public BlockCSRMatrix(int rows, int cols, int blockSize, double[] values, int[] blockCol, int[] blockRowPtr) {
+        if (blockSize < 1)
+            throw new IllegalArgumentException("Block size must be positive, got " + blockSize);
+        int blockRows = ceilDiv(rows, blockSize);
+        if (blockRowPtr.length != blockRows + 1)
+            throw new IllegalArgumentException(
+                    "Block row pointer length (" + blockRowPtr.length + ") does not match block rows + 1 (" + (blockRows + 1) + ")");
+        if (values.length != blockCol.length * blockSize * blockSize)
+            throw new IllegalArgumentException(
+                    "Values length (" + values.length + ") does not match " + blockCol.length + " blocks of " + blockSize + "x" + blockSize);
+
+        this.rows = rows;
+        this.cols = cols;
+        this.blockSize = blockSize;
+        this.blockRows = blockRows;
+        this.values = values;
+        this.blockCol = blockCol;
+        this.blockRowPtr = blockRowPtr;
+        this.aligned = rows % blockSize == 0 && cols % blockSize == 0;
+    }
+
+    /**
+     * Builds a block CSR matrix from a {@link HashSparseMatrix}.
+     *
+     * @param hash      source matrix
+     * @param blockSize edge length of the square blocks
+     * @return a new BlockCSRMatrix with the same entries
+     */
+    public static BlockCSRMatrix fromHash(HashSparseMatrix hash, int blockSize) {
+        return fromCSR(CSRMatrix.fromHash(hash), blockSize);
+    }
+
+    /**
+     * Builds a block CSR matrix from a {@link CSRMatrix}.
+     *
+     * <p>Two passes over the entries: the first finds the distinct blocks of
+     * each block row, the second copies values into them. Entries the scalar
+     * pattern does not have are stored as explicit zeros inside their block.
+     *
+     * @param csr       source matrix
+     * @param blockSize edge length of the square blocks
+     * @return a new BlockCSRMatrix with the same entries
+     */
+    public static BlockCSRMatrix fromCSR(CSRMatrix csr, int blockSize) {
+        if (blockSize < 1)
+            throw new IllegalArgumentException("Block size must be positive, got " + blockSize);
+        int rows = csr.rows();
+        int cols = csr.cols();
+        int[] rowPtr = csr.rowPtr();
+        int[] colIndex = csr.colIndex();
+        double[] vals = csr.values();
+
+        int blockRows = ceilDiv(rows, blockSize);
+        int[] marker = new int[ceilDiv(cols, blockSize)];
+        Arrays.fill(marker, -1);
+
+        // pass 1 — count distinct blocks per block row
+        int[] blockRowPtr = new int[blockRows + 1];
+        int count = 0;
+        for (int I = 0; I < blockRows; I++) {
+            int rEnd = Math.min(rows, (I + 1) * blockSize);
+            for (int r = I * blockSize; r < rEnd; r++) {
+                for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++) {
+                    int J = colIndex[k] / blockSize;
+                    if (marker[J] != I) {
+                        marker[J] = I;
+                        count++;
+                    }
+                }
+            }
+            blockRowPtr[I + 1] = count;
+        }
+
+        // pass 2 — list and sort block columns, then scatter values into blocks
+        Arrays.fill(marker, -1);
+        int bb = blockSize * blockSize;
+        int[] blockCol = new int[count];
+        double[] blockVals = new double[count * bb];
+        for (int I = 0; I < blockRows; I++) {
+            int start = blockRowPtr[I];
+            int end = start;
+            int r0 = I * blockSize;
+            int rEnd = Math.min(rows, r0 + blockSize);
+            for (int r = r0; r < rEnd; r++) {
+                for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++) {
+                    int J = colIndex[k] / blockSize;
+                    if (marker[J] != I) {
+                        marker[J] = I;
+                        blockCol[end++] = J;
+                    }
+                }
+            }
+            Arrays.sort(blockCol, start, end);
+
+            for (int r = r0; r < rEnd; r++) {
+                for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++) {
+                    int c = colIndex[k];
+                    int J = c / blockSize;
+                    int p = Arrays.binarySearch(blockCol, start, end, J);
+                    blockVals[p * bb + (r - r0) * blockSize + (c - J * blockSize)] = vals[k];
+                }
+            }
+        }
+
+        return new BlockCSRMatrix(rows, cols, blockSize, blockVals, blockCol, blockRowPtr);
+    }
+
+    // ------------------------------------------------
+    // MutableMatrix — in-place writes within stored blocks
+    // ------------------------------------------------
+
+    /**
+     * Adds {@code value} to the entry at (row, col).
+     *
+     * @throws IllegalArgumentException if (row, col) lies outside every stored block
+     */
+    @Override
+    public void add(int row, int col, double value) {
+        values[slotOf(row, col)] += value;
+    }
+
+    /**
+     * Sets the entry at (row, col) to {@code value}.
+     *
+     * @throws IllegalArgumentException if (row, col) lies outside every stored block
+     */
+    @Override
+    public void set(int row, int col, double value) {
+        values[slotOf(row, col)] = value;
+    }
+
+    /**
+     * Zeroes every stored value, keeping the block structure.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(values, 0.0);
+    }
+
+    // ------------------------------------------------
+    // Matrix
+    // ------------------------------------------------
+
+    /**
+     * Multiplies this matrix by vector {@code x}, storing Ax in {@code result}.
+     *
+     * @param x      input vector of length cols
+     * @param result output vector of length rows
+     */
+    @Override
+    public void multiply(double[] x, double[] result) {
+        if (!aligned) {
+            multiplyGeneric(x, result);
+            return;
+        }
+        switch (blockSize) {
+            case 2 -> multiply2(x, result);
+            case 3 -> multiply3(x, result);
+            case 4 -> multiply4(x, result);
+            default -> multiplyGeneric(x, result);
+        }
+    }
+
+    /**
+     * Multiplies the transpose of this matrix by vector {@code x},
+     * storing Aᵀx in {@code result}. Scatters one block at a time.
+     *
+     * @param x      input vector of length rows
+     * @param result output vector of length cols, overwritten with Aᵀx
+     */
+    @Override
+    public void transposeMultiply(double[] x, double[] result) {
+        Arrays.fill(result, 0.0);
+        if (!aligned) {
+            transposeMultiplyGeneric(x, result);
+            return;
+        }
+        switch (blockSize) {
+            case 2 -> transposeMultiply2(x, result);
+            case 3 -> transposeMultiply3(x, result);
+            case 4 -> transposeMultiply4(x, result);
+            default -> transposeMultiplyGeneric(x, result);
+        }
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public double get(int r, int c) {
+        int p = blockIndex(r / blockSize, c / blockSize);
+        return p < 0 ? 0.0 : values[p * blockSize * blockSize + (r % blockSize) * blockSize + c % blockSize];
+    }
+
+    public int blockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Returns the number of stored blocks.
+     *
+     * @return stored block count
+     */
+    public int blockCount() {
+        return blockCol.length;
+    }
+
+    // ------------------------------------------------
+    // Internal — block lookup
+    // ------------------------------------------------
+
+    private int blockIndex(int I, int J) {
+        int p = Arrays.binarySearch(blockCol, blockRowPtr[I], blockRowPtr[I + 1], J);
+        return p < 0 ? -1 : p;
+    }
+
+    private int slotOf(int r, int c) {
+        int p = blockIndex(r / blockSize, c / blockSize);
+        if (p < 0)
+            throw new IllegalArgumentException(
+                    "Entry (" + r + ", " + c + ") is outside the block sparsity pattern");
+        return p * blockSize * blockSize + (r % blockSize) * blockSize + c % blockSize;
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+
+    // ------------------------------------------------
+    // Internal — kernels
+    // ------------------------------------------------
+
+    private void multiplyGeneric(double[] x, double[] result) {
+        int b = blockSize;
+        int bb = b * b;
+        for (int I = 0; I < blockRows; I++) {
+            int r0 = I * b;
+            int rLen = Math.min(b, rows - r0);
+            for (int i = 0; i < rLen; i++) result[r0 + i] = 0.0;
+            for (int k = blockRowPtr[I]; k < blockRowPtr[I + 1]; k++) {
+                int c0 = blockCol[k] * b;
+                int cLen = Math.min(b, cols - c0);
+                int base = k * bb;
+                for (int i = 0; i < rLen; i++) {
+                    double sum = 0.0;
+                    for (int j = 0; j < cLen; j++) sum += values[base + i * b + j] * x[c0 + j];
+                    result[r0 + i] += sum;
+                }
+            }
+        }
+    }
+
+    private void transposeMultiplyGeneric(double[] x, double[] result) {
+        int b = blockSize;
+        int bb = b * b;
+        for (int I = 0; I < blockRows; I++) {
+            int r0 = I * b;
+            int rLen = Math.min(b, rows - r0);
+            for (int k = blockRowPtr[I]; k < blockRowPtr[I + 1]; k++) {
+                int c0 = blockCol[k] * b;
+                int cLen = Math.min(b, cols - c0);
+                int base = k * bb;
+                for (int i = 0; i < rLen; i++) {
+                    double xi = x[r0 + i];
+                    for (int j = 0; j < cLen; j++) result[c0 + j] += values[base + i * b + j] * xi;
+                }
+            }
+        }
+    }
+
+    private void multiply2(double[] x, double[] result) {
+        double[] v = values;
+        for (int I = 0; I < blockRows; I++) {
+            double y0 = 0, y1 = 0;
+            for (int k = blockRowPtr[I]; k < blockRowPtr[I + 1]; k++) {
+                int c = blockCol[k] << 1;
+                int p = k << 2;
+                double x0 = x[c], x1 = x[c + 1];
+                y0 += v[p] * x0 + v[p + 1] * x1;
+                y1 += v[p + 2] * x0 + v[p + 3] * x1;
+            }
+            int r = I << 1;
+            result[r] = y0;
+            result[r + 1] = y1;
+        }
+    }
+
+    private void multiply3(double[] x, double[] result) {
+        double[] v = values;
+        for (int I = 0; I < blockRows; I++) {
+            double y0 = 0, y1 = 0, y2 = 0;
+            for (int k = blockRowPtr[I]; k < blockRowPtr[I + 1]; k++) {
+                int c = blockCol[k] * 3;
+                int p = k * 9;
+                double x0 = x[c], x1 = x[c + 1], x2 = x[c + 2];
+                y0 += v[p] * x0 + v[p + 1] * x1 + v[p + 2] * x2;
+                y1 += v[p + 3] * x0 + v[p + 4] * x1 + v[p + 5] * x2;
+                y2 += v[p + 6] * x0 + v[p + 7] * x1 + v[p + 8] * x2;
+            }
+            int r = I * 3;
+            result[r] = y0;
+            result[r + 1] = y1;
+            result[r + 2] = y2;
+        }
+    }
+
+    private void multiply4(double[] x, double[] result) {
+        double[] v = values;
+        for (int I = 0; I < blockRows; I++) {
+            double y0 = 0, y1 = 0, y2 = 0, y3 = 0;
+            for (int k = blockRowPtr[I]; k < blockRowPtr[I + 1]; k++) {
+                int c = blockCol[k] << 2;
+                int p = k << 4;
+                double x0 = x[c], x1 = x[c + 1], x2 = x[c + 2], x3 = x[c + 3];
+                y0 += v[p] * x0 + v[p + 1] * x1 + v[p + 2] * x2 + v[p + 3] * x3;
+                y1 += v[p + 4] * x0 + v[p + 5] * x1 + v[p + 6] * x2 + v[p + 7] * x3;
+                y2 += v[p + 8] * x0 + v[p + 9] * x1 + v[p + 10] * x2 + v[p + 11] * x3;
+                y3 += v[p + 12] * x0 + v[p + 13] * x1 + v[p + 14] * x2 + v[p + 15] * x3;
+            }
+            int r = I << 2;
+            result[r] = y0;
+            result[r + 1] = y1;
+            result[r + 2] = y2;
+            result[r + 3] = y3;
+        }
+    }
+
+    private void transposeMultiply2(double[] x, double[] result) {
+        double[] v = values;
+        for (int I = 0; I < blockRows; I++) {
+            int r = I << 1;
+            double x0 = x[r], x1 = x[r + 1];
+            for (int k = blockRowPtr[I]; k < blockRowPtr[I + 1]; k++) {
+                int c = blockCol[k] << 1;
+                int p = k << 2;
+                result[c] += v[p] * x0 + v[p + 2] * x1;
+                result[c + 1] += v[p + 1] * x0 + v[p + 3] * x1;
+            }
+        }
+    }
+
+    private void transposeMultiply3(double[] x, double[] result) {
+        double[] v = values;
+        for (int I = 0; I < blockRows; I++) {
+            int r = I * 3;
+            double x0 = x[r], x1 = x[r + 1], x2 = x[r + 2];
+            for (int k = blockRowPtr[I]; k < blockRowPtr[I + 1]; k++) {
+                int c = blockCol[k] * 3;
+                int p = k * 9;
+                result[c] += v[p] * x0 + v[p + 3] * x1 + v[p + 6] * x2;
+                result[c + 1] += v[p + 1] * x0 + v[p + 4] * x1 + v[p + 7] * x2;
+                result[c + 2] += v[p + 2] * x0 + v[p + 5] * x1 + v[p + 8] * x2;
+            }
+        }
+    }
+
+    private void transposeMultiply4(double[] x, double[] result) {
+        double[] v = values;
+        for (int I = 0; I < blockRows; I++) {
+            int r = I << 2;
+            double x0 = x[r], x1 = x[r + 1], x2 = x[r + 2], x3 = x[r + 3];
+            for (int k = blockRowPtr[I]; k < blockRowPtr[I + 1]; k++) {
+                int c = blockCol[k] << 2;
+                int p = k << 4;
+                result[c] += v[p] * x0 + v[p + 4] * x1 + v[p + 8] * x2 + v[p + 12] * x3;
+                result[c + 1] += v[p + 1] * x0 + v[p + 5] * x1 + v[p + 9] * x2 + v[p + 13] * x3;
+                result[c + 2] += v[p + 2] * x0 + v[p + 6] * x1 + v[p + 10] * x2 + v[p + 14] * x3;
+                result[c + 3] += v[p + 3] * x0 + v[p + 7] * x1 + v[p + 11] * x2 + v[p + 15] * x3;
+            }
+        }
+    }
+}
@@ -1,19 +1,39 @@
 package com.rae.formicapi.fondation.math.operators;
 
-import java.util.*;
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
- * Represents an immutable sparse matrix in Compressed Sparse Row (CSR) format.
+ * Represents a sparse matrix in Compressed Sparse Row (CSR) format.
  *
  * <p>CSR stores only non-zero entries, giving O(nnz) time for matrix-vector
  * multiply and transpose multiply. Random access via {@link #get(int, int)}
  * requires a linear scan of the row's stored entries and should be avoided
  * in hot loops.
  *
- * <p>Instances are typically created via {@link #fromHash(HashSparseMatrix)}
- * during the transition from assembly to solve phase.
+ * <p>The sparsity structure is immutable. Values are only rewritten in place
+ * by {@link PatternCSRMatrix}, which owns the instances it compiles.
+ *
+ * <p>Matrices with at least {@link #getParallelThreshold()} stored entries
+ * multiply on the common {@link ForkJoinPool}. Rows are split into chunks
+ * holding an equal share of the non-zeros, so a few dense rows do not leave
+ * the other workers idle.
+ *
+ * <p>{@link #transposeMultiply} scatters into the result, which is
+ * cache-hostile. With {@link #setTransposeCaching(boolean)} enabled the
+ * matrix instead keeps an explicit transpose and computes Aᵀx as a
+ * gather-style row product, trading a second copy of the entries for speed.
+ *
+ * <p>Instances are typically created via {@link PackedHashSparseMatrix#toCSR()}
+ * or {@link #fromHash(HashSparseMatrix)} during the transition from assembly
+ * to solve phase.
  *
  * @see Matrix
+ * @see PackedHashSparseMatrix
  * @see HashSparseMatrix
  * @see DynamicCSRMatrix
  */
@@ -26,6 +46,38 @@ public class CSRMatrix implements Matrix {
     private final int[] colIndex;
     private final int[] rowPtr;
 
+    /** Default nnz above which products run in parallel. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+    private static volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /** Row boundaries of the nnz-balanced chunks, computed on first parallel use. */
+    private volatile int[] rowChunks;
+    /** Per-chunk partial results of the parallel transpose product, reused between calls. */
+    private double[][] partials;
+    /** Per-chunk partial sums of the parallel fused reductions, reused between calls. */
+    private double[] chunkSums;
+    /**
+     * Per-chunk dense scratch rows of the numeric product phase, when this
+     * matrix is the pattern of a product; kept for its refills. Left zeroed
+     * after every row.
+     */
+    private double[][] accumulators;
+
+    /** Bumped by in-place value writers so derived data knows when to refresh. */
+    private int valueVersion;
+
+    private boolean transposeCaching;
+    private CSRMatrix transposeCache;
+    /** For each entry of {@link #transposeCache}, its position in {@link #values}. */
+    private int[] transposeMap;
+    private int transposeVersion;
+
+    /** Cached AᵀA, with the transpose and index map it is refreshed from. */
+    private CSRMatrix normalCache;
+    private CSRMatrix normalTranspose;
+    private int[] normalTransposeMap;
+    private int normalVersion;
+
     /**
      * Constructs a CSR matrix from raw arrays.
      *
@@ -68,37 +120,36 @@ public class CSRMatrix implements Matrix {
         int rows = hash.rows();
         int cols = hash.cols();
 
-        List<Double> valuesList = new ArrayList<>();
-        List<Integer> colIndexList = new ArrayList<>();
         int[] rowPtr = new int[rows + 1];
+        for (int r = 0; r < rows; r++) {
+            Map<Integer, Double> row = hash.getRow(r);
+            rowPtr[r + 1] = rowPtr[r] + (row == null ? 0 : row.size());
+        }
+
+        double[] values = new double[rowPtr[rows]];
+        int[] colIndex = new int[rowPtr[rows]];
         int count = 0;
 
         for (int r = 0; r < rows; r++) {
-            rowPtr[r] = count;
-
+            int start = count;
             Map<Integer, Double> row = hash.getRow(r);
             if (row != null) {
-                List<Integer> sortedCols = new ArrayList<>(row.keySet());
-                Collections.sort(sortedCols);
-
-                for (int c : sortedCols) {
-                    double v = row.get(c);
+                for (Map.Entry<Integer, Double> e : row.entrySet()) {
+                    double v = e.getValue();
                     if (v == 0.0) continue; // safeguard — should not occur
-                    valuesList.add(v);
-                    colIndexList.add(c);
+                    colIndex[count] = e.getKey();
+                    values[count] = v;
                     count++;
                 }
             }
+            PackedHashSparseMatrix.sortRow(colIndex, values, start, count);
+            rowPtr[r] = start;
         }
-
         rowPtr[rows] = count;
 
-        double[] values = new double[count];
-        int[] colIndex = new int[count];
-
-        for (int i = 0; i < count; i++) {
-            values[i] = valuesList.get(i);
-            colIndex[i] = colIndexList.get(i);
+        if (count < values.length) {
+            values = Arrays.copyOf(values, count);
+            colIndex = Arrays.copyOf(colIndex, count);
         }
 
         return new CSRMatrix(rows, cols, values, colIndex, rowPtr);
@@ -107,19 +158,17 @@ public class CSRMatrix implements Matrix {
     /**
      * Multiplies this matrix by vector {@code x}, storing Ax in {@code result}.
      *
-     * <p>Iterates over stored non-zeros only. O(nnz).
+     * <p>Iterates over stored non-zeros only. O(nnz). Runs in parallel when
+     * {@link #nnz()} reaches {@link #getParallelThreshold()} and more than
+     * one worker is available.
      *
      * @param x      input vector of length {@link #cols()}
      * @param result output vector of length {@link #rows()}, overwritten with Ax
      */
     @Override
     public void multiply(double[] x, double[] result) {
-        for (int r = 0; r < rows; r++) {
-            double sum = 0;
-            for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++)
-                sum += values[k] * x[colIndex[k]];
-            result[r] = sum;
-        }
+        if (useParallel()) multiplyParallel(x, result);
+        else multiplyRows(x, result, 0, rows);
     }
 
     /**
@@ -127,17 +176,647 @@ public class CSRMatrix implements Matrix {
      * storing Aᵀx in {@code result}.
      *
      * <p>Iterates over stored non-zeros, scattering each contribution
-     * into the result. O(nnz).
+     * into the result. O(nnz). Runs in parallel under the same conditions
+     * as {@link #multiply}.
+     *
+     * <p>When transpose caching is enabled, this is a row product on the
+     * cached transpose instead, with no scattering at all.
      *
      * @param x      input vector of length {@link #rows()}
      * @param result output vector of length {@link #cols()}, overwritten with Aᵀx
      */
     @Override
     public void transposeMultiply(double[] x, double[] result) {
+        if (transposeCaching) {
+            cachedTranspose().multiply(x, result);
+            return;
+        }
+        if (useParallel()) {
+            transposeMultiplyParallel(x, result);
+            return;
+        }
         Arrays.fill(result, 0.0);
-        for (int r = 0; r < rows; r++)
+        scatterRows(x, result, 0, rows);
+    }
+
+    /**
+     * Writes the main diagonal into {@code result} with one pass over the
+     * stored entries. O(nnz).
+     *
+     * @param result output vector of length min({@link #rows()}, {@link #cols()}), overwritten
+     */
+    @Override
+    public void diagonal(double[] result) {
+        int n = Math.min(rows, cols);
+        if (result.length != n)
+            throw new IllegalArgumentException(
+                    "Diagonal length (" + result.length + ") does not match matrix diagonal (" + n + ")");
+        for (int r = 0; r < n; r++) {
+            double d = 0.0;
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++) {
+                if (colIndex[k] == r) {
+                    d = values[k];
+                    break;
+                }
+            }
+            result[r] = d;
+        }
+    }
+
+    // ------------------------------------------------
+    // Fused solver kernels
+    // ------------------------------------------------
+
+    /**
+     * Computes Ax and returns x · Ax in the same row sweep: each row sum is
+     * weighted by {@code x[r]} as soon as it is formed, so Ax is not read
+     * back for a separate dot product.
+     *
+     * <p>Large matrices run chunk-parallel like {@link #multiplyParallel};
+     * the per-chunk dot products are kept in a buffer reused between calls
+     * and added in chunk order, so the result is the same from run to run.
+     * Parallel calls on the same instance are serialised.
+     *
+     * @param x      input vector of length {@link #cols()}
+     * @param result output vector of length {@link #rows()}, overwritten with Ax
+     * @return x · Ax
+     * @throws IllegalArgumentException if the matrix is not square
+     */
+    @Override
+    public double multiplyDot(double[] x, double[] result) {
+        if (rows != cols)
+            throw new IllegalArgumentException(
+                    "multiplyDot requires a square matrix: rows = " + rows + ", cols = " + cols);
+        if (!useParallel()) return multiplyRowsDot(x, result, 0, rows);
+
+        int[] chunks = rowChunks();
+        synchronized (this) {
+            double[] dots = chunkSums(chunks.length - 1);
+            IntStream.range(0, dots.length).parallel()
+                    .forEach(c -> dots[c] = multiplyRowsDot(x, result, chunks[c], chunks[c + 1]));
+            double sum = 0;
+            for (double d : dots) sum += d;
+            return sum;
+        }
+    }
+
+    /**
+     * Computes AᵀAx and returns ‖Ax‖² in one sweep over the rows: each row's
+     * dot product with {@code x} is scattered straight back along the same
+     * row while it is still in cache, instead of streaming the matrix once
+     * for Ax and again for Aᵀ(Ax).
+     *
+     * <p>With {@link #setTransposeCaching(boolean) transpose caching} enabled
+     * and a {@code temp} given, Ax is formed in {@code temp} and Aᵀ(Ax) is a
+     * row product on the cached transpose instead, which avoids scattering
+     * altogether.
+     *
+     * <p>Large matrices scatter chunk-parallel into the partial buffers of
+     * {@link #transposeMultiplyParallel} and sum them in a fixed order; the
+     * per-chunk norms are kept in a buffer reused between calls.
+     *
+     * @param x      input vector of length {@link #cols()}
+     * @param temp   scratch for Ax when transpose caching is enabled; otherwise unused, may be {@code null}
+     * @param result output vector of length {@link #cols()}, overwritten with AᵀAx
+     * @return ‖Ax‖²
+     */
+    @Override
+    public double multiplyAtA(double[] x, double[] temp, double[] result) {
+        if (transposeCaching && temp != null) {
+            multiply(x, temp);
+            cachedTranspose().multiply(temp, result);
+            return VectorOps.dot(temp, temp);
+        }
+        if (!useParallel()) {
+            Arrays.fill(result, 0.0);
+            return sweepAtA(x, result, 0, rows);
+        }
+
+        int[] chunks = rowChunks();
+        int count = chunks.length - 1;
+        synchronized (this) {
+            if (partials == null) partials = new double[count][cols];
+            double[][] parts = partials;
+            double[] norms = chunkSums(count);
+
+            IntStream.range(0, count).parallel().forEach(c -> {
+                Arrays.fill(parts[c], 0.0);
+                norms[c] = sweepAtA(x, parts[c], chunks[c], chunks[c + 1]);
+            });
+            sumPartials(parts, result);
+            double sum = 0;
+            for (double v : norms) sum += v;
+            return sum;
+        }
+    }
+
+    /** The per-chunk reduction buffer, sized on first use. Callers hold this instance's lock. */
+    private double[] chunkSums(int count) {
+        if (chunkSums == null) chunkSums = new double[count];
+        return chunkSums;
+    }
+
+    private double multiplyRowsDot(double[] x, double[] result, int from, int to) {
+        double dot = 0;
+        for (int r = from; r < to; r++) {
+            double sum = 0;
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++)
+                sum += values[k] * x[colIndex[k]];
+            result[r] = sum;
+            dot += sum * x[r];
+        }
+        return dot;
+    }
+
+    private double sweepAtA(double[] x, double[] result, int from, int to) {
+        double norm = 0;
+        for (int r = from; r < to; r++) {
+            int start = rowPtr[r], end = rowPtr[r + 1];
+            double s = 0;
+            for (int k = start; k < end; k++)
+                s += values[k] * x[colIndex[k]];
+            if (s == 0.0) continue;
+            for (int k = start; k < end; k++)
+                result[colIndex[k]] += values[k] * s;
+            norm += s * s;
+        }
+        return norm;
+    }
+
+    // ------------------------------------------------
+    // Block products (several right-hand sides)
+    // ------------------------------------------------
+
+    /**
+     * Computes {@code Y[j] = A · X[j]} for k vectors in one pass over the
+     * stored entries.
+     *
+     * <p>Vectors are taken four at a time: each entry's value and column are
+     * loaded once and applied to four running sums, so the matrix is read
+     * ⌈k / 4⌉ times from cache and only once from memory, instead of k
+     * times. Large matrices split their rows across the common pool as
+     * {@link #multiply(double[], double[])} does.
+     *
+     * @param X k input vectors, each of length {@link #cols()}
+     * @param Y k output vectors, each of length {@link #rows()}, overwritten
+     */
+    @Override
+    public void multiply(double[][] X, double[][] Y) {
+        checkBlock(X, Y);
+        if (useParallel()) {
+            int[] chunks = rowChunks();
+            IntStream.range(0, chunks.length - 1).parallel()
+                    .forEach(c -> multiplyRows(X, Y, chunks[c], chunks[c + 1]));
+        } else {
+            multiplyRows(X, Y, 0, rows);
+        }
+    }
+
+    /**
+     * Computes {@code Y[j] = Aᵀ · X[j]} for k vectors in one pass over the
+     * stored entries, four vectors per visit like
+     * {@link #multiply(double[][], double[][])}.
+     *
+     * <p>With transpose caching enabled this is a block product with the
+     * cached transpose. Above the parallel threshold each vector falls back
+     * to {@link #transposeMultiplyParallel}, whose partial buffers are sized
+     * for one vector.
+     *
+     * @param X k input vectors, each of length {@link #rows()}
+     * @param Y k output vectors, each of length {@link #cols()}, overwritten
+     */
+    @Override
+    public void transposeMultiply(double[][] X, double[][] Y) {
+        checkBlock(X, Y);
+        if (transposeCaching) {
+            cachedTranspose().multiply(X, Y);
+            return;
+        }
+        if (useParallel()) {
+            for (int j = 0; j < X.length; j++) transposeMultiplyParallel(X[j], Y[j]);
+            return;
+        }
+        for (double[] y : Y) Arrays.fill(y, 0.0);
+        scatterRows(X, Y);
+    }
+
+    private void multiplyRows(double[][] X, double[][] Y, int from, int to) {
+        int k = X.length;
+        for (int r = from; r < to; r++) {
+            int start = rowPtr[r], end = rowPtr[r + 1];
+            int j = 0;
+            for (; j + 3 < k; j += 4) {
+                double[] x0 = X[j], x1 = X[j + 1], x2 = X[j + 2], x3 = X[j + 3];
+                double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+                for (int e = start; e < end; e++) {
+                    double v = values[e];
+                    int c = colIndex[e];
+                    s0 += v * x0[c];
+                    s1 += v * x1[c];
+                    s2 += v * x2[c];
+                    s3 += v * x3[c];
+                }
+                Y[j][r] = s0;
+                Y[j + 1][r] = s1;
+                Y[j + 2][r] = s2;
+                Y[j + 3][r] = s3;
+            }
+            for (; j < k; j++) {
+                double[] x = X[j];
+                double sum = 0;
+                for (int e = start; e < end; e++)
+                    sum += values[e] * x[colIndex[e]];
+                Y[j][r] = sum;
+            }
+        }
+    }
+
+    private void scatterRows(double[][] X, double[][] Y) {
+        int k = X.length;
+        for (int r = 0; r < rows; r++) {
+            int start = rowPtr[r], end = rowPtr[r + 1];
+            int j = 0;
+            for (; j + 3 < k; j += 4) {
+                double x0 = X[j][r], x1 = X[j + 1][r], x2 = X[j + 2][r], x3 = X[j + 3][r];
+                double[] y0 = Y[j], y1 = Y[j + 1], y2 = Y[j + 2], y3 = Y[j + 3];
+                for (int e = start; e < end; e++) {
+                    double v = values[e];
+                    int c = colIndex[e];
+                    y0[c] += v * x0;
+                    y1[c] += v * x1;
+                    y2[c] += v * x2;
+                    y3[c] += v * x3;
+                }
+            }
+            for (; j < k; j++) {
+                double xr = X[j][r];
+                double[] y = Y[j];
+                for (int e = start; e < end; e++)
+                    y[colIndex[e]] += values[e] * xr;
+            }
+        }
+    }
+
+    private static void checkBlock(double[][] X, double[][] Y) {
+        if (X.length != Y.length)
+            throw new IllegalArgumentException(
+                    "Block size mismatch: " + X.length + " input vectors but " + Y.length + " output vectors");
+    }
+
+    // ------------------------------------------------
+    // Transpose
+    // ------------------------------------------------
+
+    /**
+     * Builds the explicit transpose of this matrix as a new {@link CSRMatrix}
+     * (equivalently, this matrix in compressed-column form).
+     *
+     * <p>Counting sort on column indices. O(nnz + cols). Rows of the result
+     * are sorted because this matrix's rows are visited in order.
+     *
+     * @return Aᵀ in CSR format
+     */
+    public CSRMatrix transpose() {
+        return buildTranspose(null);
+    }
+
+    /**
+     * Chooses how {@link #transposeMultiply} is computed.
+     *
+     * <p>When enabled, the transpose is built on first use and kept, roughly
+     * doubling the memory held by this matrix. Later value refills only
+     * re-gather the values through a stored index map; the structure is not
+     * rebuilt. When disabled, the cached copy is released and Aᵀx scatters
+     * directly from the rows.
+     *
+     * @param enabled {@code true} to trade memory for a gather-style Aᵀx
+     */
+    public synchronized void setTransposeCaching(boolean enabled) {
+        transposeCaching = enabled;
+        if (!enabled) {
+            transposeCache = null;
+            transposeMap = null;
+        }
+    }
+
+    public boolean isTransposeCaching() {
+        return transposeCaching;
+    }
+
+    private synchronized CSRMatrix cachedTranspose() {
+        if (transposeCache == null) {
+            transposeMap = new int[nnz()];
+            transposeCache = buildTranspose(transposeMap);
+            transposeVersion = valueVersion;
+        } else if (transposeVersion != valueVersion) {
+            double[] tValues = transposeCache.values;
+            for (int k = 0; k < tValues.length; k++)
+                tValues[k] = values[transposeMap[k]];
+            transposeVersion = valueVersion;
+        }
+        return transposeCache;
+    }
+
+    private CSRMatrix buildTranspose(int[] map) {
+        int nnz = nnz();
+        int[] tPtr = new int[cols + 1];
+        for (int k = 0; k < nnz; k++) tPtr[colIndex[k] + 1]++;
+        for (int c = 0; c < cols; c++) tPtr[c + 1] += tPtr[c];
+
+        int[] cursor = Arrays.copyOf(tPtr, cols);
+        int[] tCol = new int[nnz];
+        double[] tVal = new double[nnz];
+        for (int r = 0; r < rows; r++) {
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++) {
+                int d = cursor[colIndex[k]]++;
+                tCol[d] = r;
+                tVal[d] = values[k];
+                if (map != null) map[d] = k;
+            }
+        }
+        return new CSRMatrix(cols, rows, tVal, tCol, tPtr);
+    }
+
+    // ------------------------------------------------
+    // Sparse products
+    // ------------------------------------------------
+
+    /**
+     * Computes the sparse product A·B as a new {@link CSRMatrix}.
+     *
+     * <p>Row-by-row (Gustavson) product in two phases: a <em>symbolic</em>
+     * pass that merges the column sets of the rows of B selected by each row
+     * of A, then a <em>numeric</em> pass that accumulates into a dense
+     * scratch row and gathers it back along the pattern. Structural zeros
+     * produced by cancellation are kept, so the pattern depends only on the
+     * patterns of A and B. Rows of the result are sorted.
+     *
+     * @param B right-hand operand; {@code B.rows()} must equal {@link #cols()}
+     * @return A·B in CSR format
+     */
+    public CSRMatrix multiply(CSRMatrix B) {
+        if (cols != B.rows)
+            throw new IllegalArgumentException(
+                    "Inner dimensions do not match: " + rows + "x" + cols + " times " + B.rows + "x" + B.cols);
+        CSRMatrix C = multiplySymbolic(this, B);
+        multiplyNumeric(this, B, C);
+        return C;
+    }
+
+    /**
+     * Computes AᵀA as a new {@link CSRMatrix}: the normal matrix of a least
+     * squares problem, square and symmetric of size {@link #cols()}.
+     *
+     * @return AᵀA in CSR format
+     * @see #normalMatrix()
+     */
+    public CSRMatrix transposeTimesSelf() {
+        return transpose().multiply(this);
+    }
+
+    /**
+     * Returns AᵀA, formed on first call and kept with this matrix.
+     *
+     * <p>The sparsity of this matrix never changes, so neither does the
+     * pattern of AᵀA. When values were rewritten in place since the last
+     * call (a {@link PatternCSRMatrix} refill), only the numeric phase of
+     * the product is redone, into the same instance and with the scratch
+     * rows of the first call. The returned matrix must not be written to.
+     *
+     * @return the cached normal matrix AᵀA
+     */
+    public synchronized CSRMatrix normalMatrix() {
+        if (normalCache == null) {
+            normalTransposeMap = new int[nnz()];
+            normalTranspose = buildTranspose(normalTransposeMap);
+            normalCache = multiplySymbolic(normalTranspose, this);
+            multiplyNumeric(normalTranspose, this, normalCache);
+            normalVersion = valueVersion;
+        } else if (normalVersion != valueVersion) {
+            double[] tValues = normalTranspose.values;
+            for (int k = 0; k < tValues.length; k++)
+                tValues[k] = values[normalTransposeMap[k]];
+            multiplyNumeric(normalTranspose, this, normalCache);
+            normalCache.touch();
+            normalVersion = valueVersion;
+        }
+        return normalCache;
+    }
+
+    /** Builds the sorted pattern of A·B, with all values zero. */
+    private static CSRMatrix multiplySymbolic(CSRMatrix A, CSRMatrix B) {
+        int[] marker = new int[B.cols];
+        Arrays.fill(marker, -1);
+
+        int[] cPtr = new int[A.rows + 1];
+        for (int i = 0; i < A.rows; i++) {
+            int count = 0;
+            for (int k = A.rowPtr[i]; k < A.rowPtr[i + 1]; k++) {
+                int j = A.colIndex[k];
+                for (int l = B.rowPtr[j]; l < B.rowPtr[j + 1]; l++) {
+                    int c = B.colIndex[l];
+                    if (marker[c] != i) {
+                        marker[c] = i;
+                        count++;
+                    }
+                }
+            }
+            cPtr[i + 1] = cPtr[i] + count;
+        }
+
+        Arrays.fill(marker, -1);
+        int[] cCol = new int[cPtr[A.rows]];
+        for (int i = 0; i < A.rows; i++) {
+            int d = cPtr[i];
+            for (int k = A.rowPtr[i]; k < A.rowPtr[i + 1]; k++) {
+                int j = A.colIndex[k];
+                for (int l = B.rowPtr[j]; l < B.rowPtr[j + 1]; l++) {
+                    int c = B.colIndex[l];
+                    if (marker[c] != i) {
+                        marker[c] = i;
+                        cCol[d++] = c;
+                    }
+                }
+            }
+            Arrays.sort(cCol, cPtr[i], d);
+        }
+        return new CSRMatrix(A.rows, B.cols, new double[cCol.length], cCol, cPtr);
+    }
+
+    /**
+     * Fills the values of C = A·B along C's precomputed pattern, chunk-parallel
+     * when C is large. Callers refilling the same C must not overlap.
+     */
+    private static void multiplyNumeric(CSRMatrix A, CSRMatrix B, CSRMatrix C) {
+        if (!C.useParallel()) {
+            multiplyNumericRows(A, B, C, C.accumulators(1)[0], 0, C.rows);
+            return;
+        }
+        int[] chunks = C.rowChunks();
+        double[][] acc = C.accumulators(chunks.length - 1);
+        IntStream.range(0, chunks.length - 1).parallel()
+                .forEach(c -> multiplyNumericRows(A, B, C, acc[c], chunks[c], chunks[c + 1]));
+    }
+
+    /** Returns at least {@code count} zeroed scratch rows of length {@link #cols()}, created on first use. */
+    private double[][] accumulators(int count) {
+        if (accumulators == null || accumulators.length < count) accumulators = new double[count][cols];
+        return accumulators;
+    }
+
+    private static void multiplyNumericRows(CSRMatrix A, CSRMatrix B, CSRMatrix C, double[] acc, int from, int to) {
+        for (int i = from; i < to; i++) {
+            for (int k = A.rowPtr[i]; k < A.rowPtr[i + 1]; k++) {
+                double a = A.values[k];
+                int j = A.colIndex[k];
+                for (int l = B.rowPtr[j]; l < B.rowPtr[j + 1]; l++)
+                    acc[B.colIndex[l]] += a * B.values[l];
+            }
+            for (int p = C.rowPtr[i]; p < C.rowPtr[i + 1]; p++) {
+                int c = C.colIndex[p];
+                C.values[p] = acc[c];
+                acc[c] = 0.0;
+            }
+        }
+    }
+
+    // ------------------------------------------------
+    // Parallel products
+    // ------------------------------------------------
+
+    /**
+     * Computes Ax on the common {@link ForkJoinPool}, regardless of size.
+     *
+     * <p>Each task owns a contiguous block of rows with roughly equal nnz and
+     * writes a disjoint slice of {@code result}, so no synchronisation is
+     * needed. {@link #multiply} calls this automatically for large matrices.
+     *
+     * @param x      input vector of length {@link #cols()}
+     * @param result output vector of length {@link #rows()}, overwritten with Ax
+     */
+    public void multiplyParallel(double[] x, double[] result) {
+        int[] chunks = rowChunks();
+        IntStream.range(0, chunks.length - 1).parallel()
+                .forEach(c -> multiplyRows(x, result, chunks[c], chunks[c + 1]));
+    }
+
+    /**
+     * Computes Aᵀx on the common {@link ForkJoinPool}, regardless of size.
+     *
+     * <p>Scattering rows of different chunks into one vector would race, so
+     * each chunk scatters into its own partial buffer of length {@link #cols()}
+     * and the buffers are then summed column-wise in a fixed order, making the
+     * result identical from run to run. The buffers are kept for reuse, at a
+     * cost of one vector per chunk; calls on the same instance are serialised.
+     *
+     * @param x      input vector of length {@link #rows()}
+     * @param result output vector of length {@link #cols()}, overwritten with Aᵀx
+     */
+    public void transposeMultiplyParallel(double[] x, double[] result) {
+        int[] chunks = rowChunks();
+        int count = chunks.length - 1;
+        synchronized (this) {
+            if (partials == null) partials = new double[count][cols];
+            double[][] parts = partials;
+
+            IntStream.range(0, count).parallel().forEach(c -> {
+                Arrays.fill(parts[c], 0.0);
+                scatterRows(x, parts[c], chunks[c], chunks[c + 1]);
+            });
+            sumPartials(parts, result);
+        }
+    }
+
+    /**
+     * Sums the per-chunk scatter buffers column-wise in chunk order, so the
+     * result does not depend on scheduling.
+     */
+    private void sumPartials(double[][] parts, double[] result) {
+        int block = Math.max(1024, (cols + parts.length - 1) / parts.length);
+        IntStream.range(0, (cols + block - 1) / block).parallel().forEach(b -> {
+            int end = Math.min(cols, (b + 1) * block);
+            for (int j = b * block; j < end; j++) {
+                double sum = 0;
+                for (double[] part : parts) sum += part[j];
+                result[j] = sum;
+            }
+        });
+    }
+
+    /**
+     * Returns the nnz at or above which {@link #multiply} and
+     * {@link #transposeMultiply} switch to their parallel versions.
+     *
+     * @return the current threshold
+     */
+    public static int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets the nnz at or above which products run in parallel.
+     * {@link Integer#MAX_VALUE} disables the parallel path.
+     *
+     * @param nnz the new threshold, must be non-negative
+     */
+    public static void setParallelThreshold(int nnz) {
+        if (nnz < 0)
+            throw new IllegalArgumentException("Parallel threshold must be non-negative, got: " + nnz);
+        parallelThreshold = nnz;
+    }
+
+    private boolean useParallel() {
+        return nnz() >= parallelThreshold && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    private void multiplyRows(double[] x, double[] result, int from, int to) {
+        for (int r = from; r < to; r++) {
+            double sum = 0;
             for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++)
-                result[colIndex[k]] += values[k] * x[r];
+                sum += values[k] * x[colIndex[k]];
+            result[r] = sum;
+        }
+    }
+
+    private void scatterRows(double[] x, double[] result, int from, int to) {
+        for (int r = from; r < to; r++) {
+            double xr = x[r];
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++)
+                result[colIndex[k]] += values[k] * xr;
+        }
+    }
+
+    /**
+     * Splits the rows into contiguous chunks of roughly {@code nnz / chunks}
+     * entries each, by binary search on {@link #rowPtr}. One chunk per worker,
+     * but at least two so the split is exercised on single-core machines.
+     */
+    private int[] rowChunks() {
+        int[] chunks = rowChunks;
+        if (chunks != null) return chunks;
+
+        int count = Math.max(2, Math.min(rows, ForkJoinPool.getCommonPoolParallelism()));
+        long nnz = nnz();
+        chunks = new int[count + 1];
+        for (int c = 1; c < count; c++) {
+            long target = nnz * c / count;
+            int lo = chunks[c - 1], hi = rows;
+            while (lo < hi) { // first row whose start reaches the target
+                int mid = (lo + hi) >>> 1;
+                if (rowPtr[mid] < target) lo = mid + 1;
+                else hi = mid;
+            }
+            chunks[c] = lo;
+        }
+        chunks[count] = rows;
+        rowChunks = chunks;
+        return chunks;
+    }
+
+    /** Returns this matrix. */
+    @Override
+    public CSRMatrix compiledCSR() {
+        return this;
     }
 
     @Override
@@ -167,4 +846,94 @@ public class CSRMatrix implements Matrix {
             if (colIndex[k] == c) return values[k];
         return 0;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the position of entry (r, c) in the values array, or {@code -1}
+     * if it is not part of the sparsity pattern.
+     *
+     * <p>Binary search over the row's sorted column indices. O(log nnz_per_row).
+     * Used to stamp directly into a fixed pattern without recompiling.
+     *
+     * @param r row index
+     * @param c column index
+     * @return the slot index of (r, c), or {@code -1} if not stored
+     */
+    public int indexOf(int r, int c) {
+        int lo = rowPtr[r];
+        int hi = rowPtr[r + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int mc = colIndex[mid];
+            if (mc < c) lo = mid + 1;
+            else if (mc > c) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of stored entries, including explicit zeros.
+     *
+     * @return nnz
+     */
+    public int nnz() {
+        return rowPtr[rows];
+    }
+
+    // ------------------------------------------------
+    // Structure walk — read-only, for orderings and factorizations
+    // ------------------------------------------------
+
+    /**
+     * Returns the first slot of row {@code r}; the row's entries occupy
+     * slots {@code [rowStart(r), rowEnd(r))} in increasing column order.
+     */
+    public int rowStart(int r) {
+        return rowPtr[r];
+    }
+
+    /**
+     * Returns one past the last slot of row {@code r}.
+     */
+    public int rowEnd(int r) {
+        return rowPtr[r + 1];
+    }
+
+    /**
+     * Returns the column index stored in slot {@code k}.
+     */
+    public int colAt(int k) {
+        return colIndex[k];
+    }
+
+    /**
+     * Returns the value stored in slot {@code k}.
+     */
+    public double valueAt(int k) {
+        return values[k];
+    }
+
+    // ------------------------------------------------
+    // Raw storage — shared with the other operators of this package
+    // ------------------------------------------------
+
+    double[] values() {
+        return values;
+    }
+
+    /**
+     * Records that {@link #values()} was written in place, so cached
+     * derived data (such as the transpose) is refreshed on next use.
+     */
+    void touch() {
+        valueVersion++;
+    }
+
+    int[] colIndex() {
+        return colIndex;
+    }
+
+    int[] rowPtr() {
+        return rowPtr;
+    }
+}
@@ -4,10 +4,14 @@ package com.rae.formicapi.fondation.math.operators;
  * A sparse matrix that supports dynamic assembly via a hash-based buffer,
  * and compiles to CSR format for efficient multiplication.
  *
- * <p>During assembly, entries are accumulated in a {@link HashSparseMatrix}.
- * Before any read or multiply operation, the matrix is compiled into CSR
- * format. Subsequent mutations invalidate the CSR cache and trigger a
- * recompile on next access.
+ * <p>During assembly, entries are accumulated in a {@link PackedHashSparseMatrix},
+ * so stamping boxes nothing and allocates nothing once the buffer has grown
+ * to its working size. Before any read or multiply operation, the matrix is compiled into CSR
+ * format. Later writes to entries already in the compiled pattern update the
+ * CSR values in place through an O(log nnz_row) slot lookup, so re-stamping
+ * changed conductances costs O(changed entries). Only writes that change the
+ * structure — a new entry — invalidate the CSR cache and trigger a recompile
+ * on next access.
  *
  * <p>Zero values passed to {@link #add} or {@link #set} are ignored or
  * removed, preserving sparsity and avoiding unnecessary CSR recompilation.
@@ -17,12 +21,13 @@ package com.rae.formicapi.fondation.math.operators;
  * explicit conversion step.
  *
  * @see MutableMatrix
- * @see HashSparseMatrix
+ * @see PackedHashSparseMatrix
  */
 public class DynamicCSRMatrix implements MutableMatrix {
 
-    private final HashSparseMatrix buffer;
+    private final PackedHashSparseMatrix buffer;
     private CSRMatrix csr = null;
+    private boolean transposeCaching = false;
 
     /**
      * Creates a dynamic CSR matrix of the given dimensions.
@@ -31,18 +36,19 @@ public class DynamicCSRMatrix implements MutableMatrix {
      * @param cols number of columns
      */
     public DynamicCSRMatrix(int rows, int cols) {
-        this.buffer = new HashSparseMatrix(rows, cols);
+        this.buffer = new PackedHashSparseMatrix(rows, cols);
     }
 
     // ------------------------------------------------
-    // MutableMatrix — invalidate CSR on write
+    // MutableMatrix — update CSR in place, invalidate on new entries
     // ------------------------------------------------
 
     /**
      * Adds {@code value} to the entry at (row, col), accumulating with any existing value.
      *
-     * <p>If {@code value} is zero, this call is a no-op and the CSR cache
-     * is not invalidated.
+     * <p>If {@code value} is zero, this call is a no-op. If (row, col) is in
+     * the compiled pattern, the CSR value is updated in place; otherwise the
+     * CSR cache is invalidated.
      *
      * @param row   row index
      * @param col   column index
@@ -51,8 +57,14 @@ public class DynamicCSRMatrix implements MutableMatrix {
     @Override
     public void add(int row, int col, double value) {
         if (value == 0.0) return;
-        csr = null;
         buffer.add(row, col, value);
+        int k = slotOf(row, col);
+        if (k >= 0) {
+            csr.values()[k] += value;
+            csr.touch();
+        } else {
+            csr = null;
+        }
     }
 
     /**
@@ -62,7 +74,11 @@ public class DynamicCSRMatrix implements MutableMatrix {
      * this call is a no-op and the CSR cache is not invalidated.
      *
      * <p>If {@code value} is zero, the entry is removed from the buffer
-     * rather than stored, preserving sparsity.
+     * rather than stored, preserving sparsity. The compiled pattern keeps it
+     * as an explicit zero until the next structural recompile.
+     *
+     * <p>Entries in the compiled pattern are overwritten in place; any other
+     * entry invalidates the CSR cache.
      *
      * @param row   row index
      * @param col   column index
@@ -71,8 +87,27 @@ public class DynamicCSRMatrix implements MutableMatrix {
     @Override
     public void set(int row, int col, double value) {
         if (buffer.get(row, col) == value) return;
-        csr = null;
         buffer.set(row, col, value);
+        int k = slotOf(row, col);
+        if (k >= 0) {
+            csr.values()[k] = value;
+            csr.touch();
+        } else {
+            csr = null;
+        }
+    }
+
+    /**
+     * Removes every entry and invalidates the CSR cache.
+     *
+     * <p>The hash buffer keeps its capacity, but the next read recompiles
+     * from scratch. Use {@link PatternCSRMatrix} when the sparsity pattern
+     * should survive the reset.
+     */
+    @Override
+    public void clear() {
+        csr = null;
+        buffer.clear();
     }
 
     // ------------------------------------------------
@@ -106,6 +141,39 @@ public class DynamicCSRMatrix implements MutableMatrix {
         compiled().transposeMultiply(x, result);
     }
 
+    /**
+     * Block form of {@link #multiply(double[], double[])}: one pass over the
+     * compiled CSR for all vectors. Triggers CSR compilation if the cache is invalid.
+     */
+    @Override
+    public void multiply(double[][] X, double[][] Y) {
+        compiled().multiply(X, Y);
+    }
+
+    /**
+     * Block form of {@link #transposeMultiply(double[], double[])}.
+     * Triggers CSR compilation if the cache is invalid.
+     */
+    @Override
+    public void transposeMultiply(double[][] X, double[][] Y) {
+        compiled().transposeMultiply(X, Y);
+    }
+
+    @Override
+    public void diagonal(double[] result) {
+        compiled().diagonal(result);
+    }
+
+    @Override
+    public double multiplyDot(double[] x, double[] result) {
+        return compiled().multiplyDot(x, result);
+    }
+
+    @Override
+    public double multiplyAtA(double[] x, double[] temp, double[] result) {
+        return compiled().multiplyAtA(x, temp, result);
+    }
+
     @Override
     public int rows() {
         return buffer.rows();
@@ -138,11 +206,30 @@ public class DynamicCSRMatrix implements MutableMatrix {
     // Internal — lazy CSR compilation
     // ------------------------------------------------
 
+    /** Position of (row, col) in the compiled values, or -1 if not compiled or not in the pattern. */
+    private int slotOf(int row, int col) {
+        return csr == null ? -1 : csr.indexOf(row, col);
+    }
+
     private CSRMatrix compiled() {
-        if (csr == null) csr = buffer.toCSR();
+        if (csr == null) {
+            csr = buffer.toCSR();
+            csr.setTransposeCaching(transposeCaching);
+        }
         return csr;
     }
 
+    /**
+     * Enables or disables {@link CSRMatrix#setTransposeCaching(boolean) transpose
+     * caching} on the compiled matrix, now and after every recompile.
+     *
+     * @param enabled {@code true} to keep an explicit transpose for Aᵀx
+     */
+    public void setTransposeCaching(boolean enabled) {
+        transposeCaching = enabled;
+        if (csr != null) csr.setTransposeCaching(enabled);
+    }
+
     /**
      * Returns the compiled {@link CSRMatrix}, triggering compilation if needed.
      *
@@ -153,4 +240,10 @@ public class DynamicCSRMatrix implements MutableMatrix {
     public CSRMatrix toCSR() {
         return compiled();
     }
+
+    /** Same as {@link #toCSR()}. */
+    @Override
+    public CSRMatrix compiledCSR() {
+        return toCSR();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package com.rae.formicapi.fondation.math.operators;
+
+import java.util.Arrays;
+
+/**
+ * A read-only CSR matrix whose values are stored in single precision.
+ *
+ * <p>Sparse matrix–vector products are bound by memory bandwidth, and most of
+ * the bytes streamed per entry are the value itself. Storing values as
+ * {@code float} halves that traffic, so the {@code float[]} products below run
+ * close to twice as fast as {@link CSRMatrix} on large networks. The row
+ * pointers and column indices are shared with the source {@link CSRMatrix}
+ * rather than copied.
+ *
+ * <p>Accuracy is limited to about 7 significant digits. Use it inside a
+ * refinement loop that computes residuals in double — see
+ * {@link com.rae.formicapi.fondation.math.solvers.MixedPrecisionLeastSquare}.
+ * The {@code double[]} {@link Matrix} methods are provided for completeness
+ * and accumulate in double.
+ *
+ * @see CSRMatrix
+ */
+public class FloatCSRMatrix implements Matrix {
+
+    private final int rows;
+    private final int cols;
+    private final float[] values;
+    private final int[] colIndex;
+    private final int[] rowPtr;
+
+    /**
+     * Rounds the values of {@code source} to single precision, sharing its
+     * structure arrays.
+     *
+     * @param source double-precision CSR matrix
+     */
+    public FloatCSRMatrix(CSRMatrix source) {
+        this.rows = source.rows();
+        this.cols = source.cols();
+        this.colIndex = source.colIndex();
+        this.rowPtr = source.rowPtr();
+        this.values = new float[source.nnz()];
+        copyValues(source);
+    }
+
+    /**
+     * Converts any {@link Matrix} to single-precision CSR.
+     *
+     * <p>Matrices with a {@link Matrix#compiledCSR() compiled form} are
+     * copied from it in O(nnz). A {@link PackedHashSparseMatrix} or a
+     * {@link MatrixFreeOperator} is assembled first, also in O(nnz); any
+     * other implementation is scanned entry by entry in O(rows × cols).
+     * Solvers only convert compiled matrices, so this assembly happens only
+     * when asked for explicitly.
+     *
+     * @param A matrix to convert
+     * @return single-precision copy of {@code A}
+     */
+    public static FloatCSRMatrix from(Matrix A) {
+        CSRMatrix compiled = A.compiledCSR();
+        if (compiled != null) return new FloatCSRMatrix(compiled);
+        if (A instanceof PackedHashSparseMatrix packed) return new FloatCSRMatrix(packed.toCSR());
+        if (A instanceof MatrixFreeOperator free) return new FloatCSRMatrix(free.toCSR());
+
+        PackedHashSparseMatrix buffer = new PackedHashSparseMatrix(A.rows(), A.cols());
+        for (int r = 0; r < A.rows(); r++)
+            for (int c = 0; c < A.cols(); c++)
+                buffer.set(r, c, A.get(r, c));
+        return new FloatCSRMatrix(buffer.toCSR());
+    }
+
+    /**
+     * Re-rounds the values of {@code source} into this matrix, which must have
+     * been built from a matrix with the same structure. Allocates nothing, so
+     * a pattern refilled in place can be reconverted every solve.
+     *
+     * @param source double-precision CSR matrix with the same structure
+     * @throws IllegalArgumentException if the structure differs
+     */
+    public void copyValues(CSRMatrix source) {
+        if (source.rowPtr() != rowPtr || source.colIndex() != colIndex)
+            throw new IllegalArgumentException("Source matrix does not share this matrix's sparsity pattern");
+        double[] src = source.values();
+        for (int k = 0; k < values.length; k++) values[k] = (float) src[k];
+    }
+
+    // ------------------------------------------------
+    // Single-precision products
+    // ------------------------------------------------
+
+    /**
+     * Computes {@code result = A * x} in single precision.
+     *
+     * @param x      input vector of length cols
+     * @param result output vector of length rows
+     */
+    public void multiply(float[] x, float[] result) {
+        for (int r = 0; r < rows; r++) {
+            float sum = 0f;
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++)
+                sum += values[k] * x[colIndex[k]];
+            result[r] = sum;
+        }
+    }
+
+    /**
+     * Computes {@code result = Aᵀ * x} in single precision by scattering rows.
+     *
+     * @param x      input vector of length rows
+     * @param result output vector of length cols, overwritten with Aᵀx
+     */
+    public void transposeMultiply(float[] x, float[] result) {
+        Arrays.fill(result, 0f);
+        for (int r = 0; r < rows; r++) {
+            float xr = x[r];
+            if (xr == 0f) continue;
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++)
+                result[colIndex[k]] += values[k] * xr;
+        }
+    }
+
+    /**
+     * Computes {@code result = Aᵀ(A * x)} in single precision with one sweep
+     * over the rows, and returns ‖Ax‖² accumulated in double.
+     *
+     * @param x      input vector of length cols
+     * @param result output vector of length cols, overwritten with AᵀAx
+     * @return ‖Ax‖²
+     */
+    public double multiplyAtA(float[] x, float[] result) {
+        Arrays.fill(result, 0f);
+        double norm = 0;
+        for (int r = 0; r < rows; r++) {
+            int start = rowPtr[r], end = rowPtr[r + 1];
+            float s = 0f;
+            for (int k = start; k < end; k++)
+                s += values[k] * x[colIndex[k]];
+            if (s == 0f) continue;
+            for (int k = start; k < end; k++)
+                result[colIndex[k]] += values[k] * s;
+            norm += (double) s * s;
+        }
+        return norm;
+    }
+
+    // ------------------------------------------------
+    // Matrix
+    // ------------------------------------------------
+
+    @Override
+    public void multiply(double[] x, double[] result) {
+        for (int r = 0; r < rows; r++) {
+            double sum = 0.0;
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++)
+                sum += values[k] * x[colIndex[k]];
+            result[r] = sum;
+        }
+    }
+
+    @Override
+    public void transposeMultiply(double[] x, double[] result) {
+        Arrays.fill(result, 0.0);
+        for (int r = 0; r < rows; r++) {
+            double xr = x[r];
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++)
+                result[colIndex[k]] += values[k] * xr;
+        }
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public double get(int r, int c) {
+        int lo = rowPtr[r], hi = rowPtr[r + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int col = colIndex[mid];
+            if (col == c) return values[mid];
+            if (col < c) lo = mid + 1;
+            else hi = mid - 1;
+        }
+        return 0.0;
+    }
+
+    public int nnz() {
+        return values.length;
+    }
+}
@@ -49,6 +49,11 @@ public class HashSparseMatrix implements MutableMatrix {
                 .put(c, v);
     }
 
+    @Override
+    public void clear() {
+        data.clear();
+    }
+
     @Override
     public void multiply(double[] x, double[] result) {
         Arrays.fill(result, 0);
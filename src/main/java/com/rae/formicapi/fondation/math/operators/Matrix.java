@@ -1,5 +1,7 @@
 package com.rae.formicapi.fondation.math.operators;
 
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+
 import java.util.Arrays;
 
 /**
@@ -48,6 +50,120 @@ public interface Matrix {
         }
     }
 
+    /**
+     * Computes {@code result = A · x} and returns {@code x · Ax}, the
+     * curvature term of a Conjugate Gradient step. Only meaningful for
+     * square matrices.
+     *
+     * <p>The default implementation multiplies and then takes the dot
+     * product in a second pass; sparse implementations should fuse both
+     * into the row sweep.
+     *
+     * @param x      input vector of length {@link #cols()}
+     * @param result output vector of length {@link #rows()}, overwritten with Ax
+     * @return x · Ax
+     */
+    default double multiplyDot(double[] x, double[] result) {
+        multiply(x, result);
+        return VectorOps.dot(x, result);
+    }
+
+    /**
+     * Computes {@code result = Aᵀ(A · x)} and returns {@code ‖Ax‖²}, which
+     * equals {@code x · AᵀAx} — one Conjugate Gradient step on the normal
+     * equations.
+     *
+     * <p>The default implementation runs {@link #multiply} into
+     * {@code temp} and then {@link #transposeMultiply}. Sparse
+     * implementations should instead visit each row once, forming its dot
+     * product with {@code x} and scattering it straight back along the same
+     * row, so the matrix is streamed once rather than twice and
+     * {@code temp} is left unused.
+     *
+     * @param x      input vector of length {@link #cols()}
+     * @param temp   scratch vector of length {@link #rows()}; contents undefined afterwards
+     * @param result output vector of length {@link #cols()}, overwritten with AᵀAx
+     * @return ‖Ax‖²
+     */
+    default double multiplyAtA(double[] x, double[] temp, double[] result) {
+        multiply(x, temp);
+        transposeMultiply(temp, result);
+        return VectorOps.dot(temp, temp);
+    }
+
+    /**
+     * Multiplies this matrix by a block of k vectors, storing
+     * {@code A · X[j]} in {@code Y[j]} for every j.
+     *
+     * <p>Used to solve one system against several right-hand sides. The
+     * default implementation calls {@link #multiply(double[], double[])} once
+     * per vector and so streams the matrix k times; implementations whose
+     * entries are costly to stream should override it to visit each stored
+     * entry once for the whole block.
+     *
+     * @param X k input vectors, each of length {@link #cols()}
+     * @param Y k output vectors, each of length {@link #rows()}, overwritten
+     * @throws IllegalArgumentException if {@code X} and {@code Y} hold a
+     *                                  different number of vectors
+     */
+    default void multiply(double[][] X, double[][] Y) {
+        checkBlock(X, Y);
+        for (int j = 0; j < X.length; j++) multiply(X[j], Y[j]);
+    }
+
+    /**
+     * Multiplies the transpose of this matrix by a block of k vectors,
+     * storing {@code Aᵀ · X[j]} in {@code Y[j]} for every j.
+     *
+     * <p>The default implementation calls
+     * {@link #transposeMultiply(double[], double[])} once per vector.
+     *
+     * @param X k input vectors, each of length {@link #rows()}
+     * @param Y k output vectors, each of length {@link #cols()}, overwritten
+     * @throws IllegalArgumentException if {@code X} and {@code Y} hold a
+     *                                  different number of vectors
+     */
+    default void transposeMultiply(double[][] X, double[][] Y) {
+        checkBlock(X, Y);
+        for (int j = 0; j < X.length; j++) transposeMultiply(X[j], Y[j]);
+    }
+
+    /**
+     * Writes the main diagonal of this matrix into {@code result}, for
+     * diagonal scaling and Jacobi-type preconditioning.
+     *
+     * <p>The default implementation calls {@link #get(int, int)} once per
+     * entry; implementations with costly element access should override it.
+     *
+     * @param result output vector of length min({@link #rows()}, {@link #cols()}), overwritten
+     * @throws IllegalArgumentException if {@code result} has the wrong length
+     */
+    default void diagonal(double[] result) {
+        int n = Math.min(rows(), cols());
+        if (result.length != n)
+            throw new IllegalArgumentException(
+                    "Diagonal length (" + result.length + ") does not match matrix diagonal (" + n + ")");
+        for (int i = 0; i < n; i++) result[i] = get(i, i);
+    }
+
+    /**
+     * Returns the {@link CSRMatrix} this matrix is compiled to and kept as,
+     * or {@code null} if it keeps none.
+     *
+     * <p>Solvers use it to reach their CSR-only paths — the cached normal
+     * matrix, single-precision copies, factorizations, multigrid — whatever
+     * the storage. It must be cheap while the matrix is unchanged: a
+     * {@link CSRMatrix} returns itself and the assembly formats their cached
+     * compilation. Matrices whose CSR form would have to be built on every
+     * call, such as {@link MatrixFreeOperator} or {@link DenseMatrix}, keep
+     * the default and are solved through their products only.
+     *
+     * @return the compiled form of this matrix, or {@code null}
+     */
+    default CSRMatrix compiledCSR() {
+        return null;
+    }
+
     /**
      * Returns the number of rows in this matrix.
      *
@@ -73,4 +189,10 @@ public interface Matrix {
      * @return the scalar value at (r, c)
      */
     double get(int r, int c);
-}
\ No newline at end of file
+
+    private static void checkBlock(double[][] X, double[][] Y) {
+        if (X.length != Y.length)
+            throw new IllegalArgumentException(
+                    "Block size mismatch: " + X.length + " input vectors but " + Y.length + " output vectors");
+    }
+}
@@ -0,0 +1,245 @@
+package com.rae.formicapi.fondation.math.operators;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A square operator assembled from conductance links and {@link OperatorTerm}s
+ * without materialising their entries, plus an explicit remainder for
+ * everything else.
+ *
+ * <p>Three kinds of contribution are summed in every product:
+ * <ul>
+ *     <li><b>links</b> — a conductance {@code g} between rows a and b, the
+ *         {@code [+g −g; −g +g]} block every linear component stamps. Each
+ *         is kept as two ints, one double and a row mask, instead of up to
+ *         four hashed entries;</li>
+ *     <li><b>terms</b> — {@link OperatorTerm}s that compute their product on
+ *         the fly and store nothing per entry;</li>
+ *     <li><b>explicit entries</b> written through {@link #add} and
+ *         {@link #set}, for asymmetric or one-off couplings such as advection
+ *         or fixed-value rows.</li>
+ * </ul>
+ *
+ * <p>Krylov solvers only need {@link #multiply}, {@link #transposeMultiply}
+ * and, for preconditioning, {@link #diagonal}, all of which cost O(links +
+ * explicit entries) plus the terms' own cost. Element access through
+ * {@link #get} is slow and intended for tests and debugging; {@link #toCSR()}
+ * materialises the whole operator when a solver needs real entries.
+ *
+ * <p>{@link #set} only replaces the explicit part of an entry; links and
+ * terms touching the same position still add to it.
+ */
+public class MatrixFreeOperator implements MutableMatrix {
+
+    private static final byte ROW_A = 1;
+    private static final byte ROW_B = 2;
+
+    private final int size;
+    private final PackedHashSparseMatrix explicit;
+    private final List<OperatorTerm> terms = new ArrayList<>();
+
+    private int[] linkA = new int[16];
+    private int[] linkB = new int[16];
+    private double[] linkG = new double[16];
+    private byte[] linkRows = new byte[16];
+    private int linkCount;
+
+    public MatrixFreeOperator(int size) {
+        if (size < 0)
+            throw new IllegalArgumentException("Operator size must be non-negative, got: " + size);
+        this.size = size;
+        this.explicit = new PackedHashSparseMatrix(size, size);
+    }
+
+    // ------------------------------------------------
+    // Assembly
+    // ------------------------------------------------
+
+    /**
+     * Adds a conductance {@code g} between {@code a} and {@code b}: row a
+     * gains {@code g·(x_a − x_b)} if {@code rowA}, and row b gains
+     * {@code g·(x_b − x_a)} if {@code rowB}. A row is left out when its node
+     * has a fixed value and owns an identity row instead.
+     *
+     * @param a    first index
+     * @param rowA whether row {@code a} receives the contribution
+     * @param b    second index
+     * @param rowB whether row {@code b} receives the contribution
+     * @param g    conductance
+     */
+    public void addLink(int a, boolean rowA, int b, boolean rowB, double g) {
+        if (!rowA && !rowB) return;
+        if (a < 0 || a >= size || b < 0 || b >= size)
+            throw new IllegalArgumentException(
+                    "Link (" + a + ", " + b + ") out of bounds for operator of size " + size);
+        if (linkCount == linkA.length) {
+            int capacity = linkCount * 2;
+            linkA = Arrays.copyOf(linkA, capacity);
+            linkB = Arrays.copyOf(linkB, capacity);
+            linkG = Arrays.copyOf(linkG, capacity);
+            linkRows = Arrays.copyOf(linkRows, capacity);
+        }
+        linkA[linkCount] = a;
+        linkB[linkCount] = b;
+        linkG[linkCount] = g;
+        linkRows[linkCount] = (byte) ((rowA ? ROW_A : 0) | (rowB ? ROW_B : 0));
+        linkCount++;
+    }
+
+    /**
+     * Adds a matrix-free term, kept until the next {@link #clear()}.
+     */
+    public void addTerm(OperatorTerm term) {
+        terms.add(term);
+    }
+
+    @Override
+    public void add(int r, int c, double v) {
+        explicit.add(r, c, v);
+    }
+
+    @Override
+    public void set(int r, int c, double v) {
+        explicit.set(r, c, v);
+    }
+
+    /**
+     * Drops every link, term and explicit entry, keeping the allocated arrays
+     * for the next assembly pass.
+     */
+    @Override
+    public void clear() {
+        explicit.clear();
+        terms.clear();
+        linkCount = 0;
+    }
+
+    public int linkCount() {
+        return linkCount;
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    // ------------------------------------------------
+    // Matrix
+    // ------------------------------------------------
+
+    @Override
+    public void multiply(double[] x, double[] result) {
+        explicit.multiply(x, result);
+        for (int k = 0; k < linkCount; k++) {
+            int a = linkA[k], b = linkB[k];
+            double d = linkG[k] * (x[a] - x[b]);
+            byte rows = linkRows[k];
+            if ((rows & ROW_A) != 0) result[a] += d;
+            if ((rows & ROW_B) != 0) result[b] -= d;
+        }
+        for (OperatorTerm term : terms) term.apply(x, result);
+    }
+
+    @Override
+    public void transposeMultiply(double[] x, double[] result) {
+        explicit.transposeMultiply(x, result);
+        for (int k = 0; k < linkCount; k++) {
+            int a = linkA[k], b = linkB[k];
+            byte rows = linkRows[k];
+            double s = ((rows & ROW_A) != 0 ? x[a] : 0.0) - ((rows & ROW_B) != 0 ? x[b] : 0.0);
+            double d = linkG[k] * s;
+            result[a] += d;
+            result[b] -= d;
+        }
+        for (OperatorTerm term : terms) term.applyTranspose(x, result);
+    }
+
+    @Override
+    public void diagonal(double[] result) {
+        checkDiagonal(result);
+        for (int i = 0; i < size; i++) result[i] = explicit.get(i, i);
+        for (int k = 0; k < linkCount; k++) {
+            byte rows = linkRows[k];
+            if ((rows & ROW_A) != 0) result[linkA[k]] += linkG[k];
+            if ((rows & ROW_B) != 0) result[linkB[k]] += linkG[k];
+        }
+        for (OperatorTerm term : terms) term.addDiagonal(result);
+    }
+
+    @Override
+    public int rows() {
+        return size;
+    }
+
+    @Override
+    public int cols() {
+        return size;
+    }
+
+    /**
+     * Returns the value at (r, c).
+     *
+     * <p>Scans every link and, if any terms are present, applies them to a
+     * unit vector. O(links + size) per call — use only outside solve loops.
+     */
+    @Override
+    public double get(int r, int c) {
+        double v = explicit.get(r, c);
+        for (int k = 0; k < linkCount; k++) {
+            int a = linkA[k], b = linkB[k];
+            byte rows = linkRows[k];
+            if (r == a && (rows & ROW_A) != 0) {
+                if (c == a) v += linkG[k];
+                if (c == b) v -= linkG[k];
+            }
+            if (r == b && (rows & ROW_B) != 0) {
+                if (c == b) v += linkG[k];
+                if (c == a) v -= linkG[k];
+            }
+        }
+        if (!terms.isEmpty()) {
+            double[] unit = new double[size];
+            double[] column = new double[size];
+            unit[c] = 1.0;
+            for (OperatorTerm term : terms) term.apply(unit, column);
+            v += column[r];
+        }
+        return v;
+    }
+
+    /**
+     * Materialises the whole operator — links, terms and explicit entries —
+     * as a {@link CSRMatrix}.
+     *
+     * @return an explicit copy of this operator
+     */
+    public CSRMatrix toCSR() {
+        PackedHashSparseMatrix buffer = new PackedHashSparseMatrix(size, size);
+        CSRMatrix remainder = explicit.toCSR();
+        for (int r = 0; r < size; r++)
+            for (int k = remainder.rowStart(r); k < remainder.rowEnd(r); k++)
+                buffer.add(r, remainder.colAt(k), remainder.valueAt(k));
+        for (int k = 0; k < linkCount; k++) {
+            int a = linkA[k], b = linkB[k];
+            double g = linkG[k];
+            byte rows = linkRows[k];
+            if ((rows & ROW_A) != 0) {
+                buffer.add(a, a, g);
+                buffer.add(a, b, -g);
+            }
+            if ((rows & ROW_B) != 0) {
+                buffer.add(b, b, g);
+                buffer.add(b, a, -g);
+            }
+        }
+        for (OperatorTerm term : terms) term.stamp(buffer);
+        return buffer.toCSR();
+    }
+
+    private void checkDiagonal(double[] result) {
+        if (result.length != size)
+            throw new IllegalArgumentException(
+                    "Diagonal length (" + result.length + ") does not match operator size (" + size + ")");
+    }
+}
@@ -6,4 +6,22 @@ public interface MutableMatrix extends Matrix {
 
     void set(int row, int col, double value);
 
+    /**
+     * Resets every entry to zero so the matrix can be re-stamped.
+     *
+     * <p>Implementations should keep any storage they have grown, so that
+     * repeated assembly passes over the same topology do not reallocate.
+     *
+     * <p>The default sets every non-zero entry to zero through
+     * {@link #get(int, int)} and {@link #set(int, int, double)}, visiting all
+     * {@code rows × cols} positions; it exists so that implementations
+     * written before this method still compile. Every matrix type of this
+     * package overrides it with a pass over its own storage.
+     */
+    default void clear() {
+        for (int r = 0; r < rows(); r++)
+            for (int c = 0; c < cols(); c++)
+                if (get(r, c) != 0.0) set(r, c, 0.0);
+    }
+
 }
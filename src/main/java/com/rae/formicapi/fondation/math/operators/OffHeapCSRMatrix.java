@@ -0,0 +1,332 @@
+package com.rae.formicapi.fondation.math.operators;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A read-only CSR matrix whose arrays live outside the Java heap.
+ *
+ * <p>{@link CSRMatrix} keeps {@code values}, {@code colIndex} and
+ * {@code rowPtr} on the heap, where networks with millions of unknowns add
+ * hundreds of megabytes the garbage collector has to trace and copy. Here
+ * the same three arrays sit in direct or memory-mapped buffers, which the
+ * collector never moves — only the small buffer objects are on the heap.
+ *
+ * <p>Instances come from:
+ * <ul>
+ *     <li>{@link #copyOf(CSRMatrix)} — copies a compiled matrix into direct buffers;</li>
+ *     <li>{@link #load(Path)} — reads a file written by {@link #save(Path)} into direct buffers;</li>
+ *     <li>{@link #map(Path)} — maps such a file read-only, so pages are loaded
+ *         lazily by the OS and shared with the page cache. This lets a compiled
+ *         network be brought back after a restart without re-assembly.</li>
+ * </ul>
+ *
+ * <h2>File format</h2>
+ * Little-endian throughout:
+ * <pre>
+ *     int    magic     'FCSR'
+ *     int    version   1
+ *     int    rows
+ *     int    cols
+ *     int    nnz
+ *     int    reserved  0
+ *     int[]  rowPtr    rows + 1 entries
+ *     int[]  colIndex  nnz entries
+ *     (zero padding to an 8-byte boundary)
+ *     double[] values  nnz entries
+ * </pre>
+ *
+ * <p>Buffers are released when this object becomes unreachable; mapped files
+ * stay open until then.
+ *
+ * <p>This is a standalone utility: domains never assemble into it. Copy a
+ * compiled matrix with {@link #copyOf(CSRMatrix)}, or bring one back from
+ * disk, and hand it to a solver as any other {@link Matrix}.
+ *
+ * @see CSRMatrix
+ */
+public class OffHeapCSRMatrix implements Matrix {
+
+    private static final int MAGIC = 0x46435352; // "FCSR"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    private final int rows;
+    private final int cols;
+    private final int nnz;
+
+    /** Little-endian bytes of each section, laid out as in the file; written as they are by {@link #save(Path)}. */
+    private final ByteBuffer rowBytes;
+    private final ByteBuffer colBytes;
+    private final ByteBuffer valBytes;
+
+    private final IntBuffer rowPtr;
+    private final IntBuffer colIndex;
+    private final DoubleBuffer values;
+
+    private OffHeapCSRMatrix(int rows, int cols, int nnz, ByteBuffer rowBytes, ByteBuffer colBytes, ByteBuffer valBytes) {
+        this.rows = rows;
+        this.cols = cols;
+        this.nnz = nnz;
+        this.rowBytes = rowBytes;
+        this.colBytes = colBytes;
+        this.valBytes = valBytes;
+        this.rowPtr = rowBytes.asIntBuffer();
+        this.colIndex = colBytes.asIntBuffer();
+        this.values = valBytes.asDoubleBuffer();
+    }
+
+    // ------------------------------------------------
+    // Construction
+    // ------------------------------------------------
+
+    /**
+     * Copies a compiled matrix into direct (off-heap) buffers.
+     *
+     * @param csr source matrix
+     * @return an off-heap copy of {@code csr}
+     */
+    public static OffHeapCSRMatrix copyOf(CSRMatrix csr) {
+        int nnz = csr.nnz();
+        ByteBuffer rowBytes = direct((long) (csr.rows() + 1) * Integer.BYTES);
+        ByteBuffer colBytes = direct((long) nnz * Integer.BYTES);
+        ByteBuffer valBytes = direct((long) nnz * Double.BYTES);
+        // views write through without moving the byte buffers' positions
+        rowBytes.asIntBuffer().put(csr.rowPtr());
+        colBytes.asIntBuffer().put(csr.colIndex(), 0, nnz);
+        valBytes.asDoubleBuffer().put(csr.values(), 0, nnz);
+        return new OffHeapCSRMatrix(csr.rows(), csr.cols(), nnz, rowBytes, colBytes, valBytes);
+    }
+
+    /**
+     * Reads a matrix file written by {@link #save(Path)} into direct buffers.
+     *
+     * @param path file to read
+     * @return the loaded matrix
+     * @throws IOException if the file cannot be read or is not a matrix file
+     */
+    public static OffHeapCSRMatrix load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header h = Header.read(channel, path);
+            ByteBuffer rowBytes = direct((long) (h.rows + 1) * Integer.BYTES);
+            ByteBuffer colBytes = direct((long) h.nnz * Integer.BYTES);
+            ByteBuffer valBytes = direct((long) h.nnz * Double.BYTES);
+            readFully(channel, rowBytes, h.rowPtrOffset(), path);
+            readFully(channel, colBytes, h.colIndexOffset(), path);
+            readFully(channel, valBytes, h.valuesOffset(), path);
+            return new OffHeapCSRMatrix(h.rows, h.cols, h.nnz, rowBytes.flip(), colBytes.flip(), valBytes.flip());
+        }
+    }
+
+    /**
+     * Maps a matrix file written by {@link #save(Path)} read-only.
+     *
+     * <p>Nothing is copied: entries are paged in by the OS on first access.
+     * The file must not be modified while the matrix is in use.
+     *
+     * @param path file to map
+     * @return a matrix backed by the mapped file
+     * @throws IOException if the file cannot be mapped or is not a matrix file
+     */
+    public static OffHeapCSRMatrix map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header h = Header.read(channel, path);
+            if (channel.size() < h.fileBytes())
+                throw new IOException("Truncated matrix file " + path + ": expected " + h.fileBytes()
+                        + " bytes, found " + channel.size());
+            // each section is mapped on its own, so only a single section is bound by the 2 GB mapping limit
+            ByteBuffer rowBytes = mapSection(channel, h.rowPtrOffset(), (long) (h.rows + 1) * Integer.BYTES);
+            ByteBuffer colBytes = mapSection(channel, h.colIndexOffset(), (long) h.nnz * Integer.BYTES);
+            ByteBuffer valBytes = mapSection(channel, h.valuesOffset(), (long) h.nnz * Double.BYTES);
+            return new OffHeapCSRMatrix(h.rows, h.cols, h.nnz, rowBytes, colBytes, valBytes);
+        }
+    }
+
+    /**
+     * Writes this matrix in the binary format described above.
+     *
+     * <p>The buffers already hold the file's byte layout, so they are handed
+     * to the channel as they are, without an intermediate heap copy.
+     *
+     * @param path destination file, created or truncated
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        Header h = new Header(rows, cols, nnz);
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols).putInt(nnz).putInt(0).flip();
+            writeFully(channel, header, 0);
+            writeFully(channel, section(rowBytes), h.rowPtrOffset());
+            writeFully(channel, section(colBytes), h.colIndexOffset());
+            ByteBuffer padding = ByteBuffer.allocate((int) (h.valuesOffset() - h.colIndexEnd()));
+            writeFully(channel, padding, h.colIndexEnd());
+            writeFully(channel, section(valBytes), h.valuesOffset());
+        }
+    }
+
+    /**
+     * Copies this matrix back onto the heap.
+     *
+     * @return a heap {@link CSRMatrix} with the same entries
+     */
+    public CSRMatrix toCSR() {
+        int[] rp = new int[rows + 1];
+        int[] ci = new int[nnz];
+        double[] v = new double[nnz];
+        rowPtr.get(0, rp);
+        colIndex.get(0, ci);
+        values.get(0, v);
+        return new CSRMatrix(rows, cols, v, ci, rp);
+    }
+
+    // ------------------------------------------------
+    // Matrix
+    // ------------------------------------------------
+
+    @Override
+    public void multiply(double[] x, double[] result) {
+        IntBuffer rp = rowPtr, ci = colIndex;
+        DoubleBuffer v = values;
+        int start = rp.get(0);
+        for (int r = 0; r < rows; r++) {
+            int end = rp.get(r + 1);
+            double sum = 0.0;
+            for (int k = start; k < end; k++)
+                sum += v.get(k) * x[ci.get(k)];
+            result[r] = sum;
+            start = end;
+        }
+    }
+
+    /**
+     * Multiplies the transpose of this matrix by vector {@code x},
+     * storing Aᵀx in {@code result}. Scatters rows, O(nnz).
+     *
+     * @param x      input vector of length rows
+     * @param result output vector of length cols, overwritten with Aᵀx
+     */
+    @Override
+    public void transposeMultiply(double[] x, double[] result) {
+        Arrays.fill(result, 0.0);
+        IntBuffer rp = rowPtr, ci = colIndex;
+        DoubleBuffer v = values;
+        int start = rp.get(0);
+        for (int r = 0; r < rows; r++) {
+            int end = rp.get(r + 1);
+            double xr = x[r];
+            for (int k = start; k < end; k++)
+                result[ci.get(k)] += v.get(k) * xr;
+            start = end;
+        }
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public double get(int r, int c) {
+        int lo = rowPtr.get(r), hi = rowPtr.get(r + 1) - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int col = colIndex.get(mid);
+            if (col == c) return values.get(mid);
+            if (col < c) lo = mid + 1;
+            else hi = mid - 1;
+        }
+        return 0.0;
+    }
+
+    public int nnz() {
+        return nnz;
+    }
+
+    // ------------------------------------------------
+    // Internal — buffers and file layout
+    // ------------------------------------------------
+
+    private static ByteBuffer direct(long bytes) {
+        if (bytes > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Section of " + bytes + " bytes exceeds the 2 GB buffer limit");
+        return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer mapSection(FileChannel channel, long offset, long bytes) throws IOException {
+        if (bytes > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Section of " + bytes + " bytes exceeds the 2 GB mapping limit");
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Independent cursor over a whole section, so concurrent saves do not share a position. */
+    private static ByteBuffer section(ByteBuffer bytes) {
+        return bytes.duplicate().clear();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer dst, long position, Path path) throws IOException {
+        while (dst.hasRemaining()) {
+            int n = channel.read(dst, position);
+            if (n < 0) throw new IOException("Truncated matrix file " + path);
+            position += n;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer src, long position) throws IOException {
+        while (src.hasRemaining()) position += channel.write(src, position);
+    }
+
+    /** Dimensions read from, or written to, the file header, with the section offsets they imply. */
+    private record Header(int rows, int cols, int nnz) {
+
+        static Header read(FileChannel channel, Path path) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0, path);
+            header.flip();
+            if (header.getInt() != MAGIC)
+                throw new IOException("Not a CSR matrix file: " + path);
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported CSR matrix file version " + version + " in " + path);
+            int rows = header.getInt();
+            int cols = header.getInt();
+            int nnz = header.getInt();
+            if (rows < 0 || cols < 0 || nnz < 0)
+                throw new IOException("Corrupt CSR matrix header in " + path);
+            return new Header(rows, cols, nnz);
+        }
+
+        long rowPtrOffset() {
+            return HEADER_BYTES;
+        }
+
+        long colIndexOffset() {
+            return rowPtrOffset() + (long) (rows + 1) * Integer.BYTES;
+        }
+
+        long colIndexEnd() {
+            return colIndexOffset() + (long) nnz * Integer.BYTES;
+        }
+
+        long valuesOffset() {
+            return (colIndexEnd() + 7) & ~7L;
+        }
+
+        long fileBytes() {
+            return valuesOffset() + (long) nnz * Double.BYTES;
+        }
+    }
+}
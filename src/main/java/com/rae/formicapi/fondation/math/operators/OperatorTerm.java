@@ -0,0 +1,50 @@
+package com.rae.formicapi.fondation.math.operators;
+
+/**
+ * A piece of a linear operator defined by its action rather than by stored
+ * entries.
+ *
+ * <p>Terms are summed by {@link MatrixFreeOperator}, which lets a component
+ * whose coupling follows a rule — a uniform conduction grid, say — take part
+ * in a solve without writing its entries anywhere. Every method
+ * <em>adds</em> to its output, so several terms can share one vector.
+ *
+ * <p>{@link #stamp(MutableMatrix)} writes the same contribution as explicit
+ * entries, so a term can also be used when the system is assembled into an
+ * ordinary matrix.
+ *
+ * @see MatrixFreeOperator
+ */
+public interface OperatorTerm {
+
+    /**
+     * Adds this term's product with {@code x} to {@code result}: result += Tx.
+     *
+     * @param x      input vector of the operator's column length
+     * @param result output vector of the operator's row length, accumulated into
+     */
+    void apply(double[] x, double[] result);
+
+    /**
+     * Adds this term's transpose product with {@code x} to {@code result}:
+     * result += Tᵀx.
+     *
+     * @param x      input vector of the operator's row length
+     * @param result output vector of the operator's column length, accumulated into
+     */
+    void applyTranspose(double[] x, double[] result);
+
+    /**
+     * Adds this term's diagonal entries to {@code diagonal}.
+     *
+     * @param diagonal vector of the operator's row length, accumulated into
+     */
+    void addDiagonal(double[] diagonal);
+
+    /**
+     * Adds this term's entries to an explicit matrix.
+     *
+     * @param matrix matrix to accumulate into
+     */
+    void stamp(MutableMatrix matrix);
+}
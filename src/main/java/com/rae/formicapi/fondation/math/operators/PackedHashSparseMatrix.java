@@ -0,0 +1,307 @@
+package com.rae.formicapi.fondation.math.operators;
+
+import java.util.Arrays;
+
+/**
+ * A mutable sparse matrix backed by a primitive open-addressing hash table.
+ *
+ * <p>Each entry is keyed on the packed {@code long} {@code (row << 32) | col}
+ * and stored in parallel {@code long[]} / {@code double[]} arrays using linear
+ * probing. Unlike {@link HashSparseMatrix}, no {@link Integer} or {@link Double}
+ * is ever boxed, so {@link #add} and {@link #set} allocate nothing once the
+ * table has grown to its working size. {@link #clear()} keeps that capacity,
+ * letting the same instance be reused across assembly passes.
+ *
+ * <p>Only non-zero entries are stored — zero values passed to {@link #add} are
+ * ignored, and {@link #set} with zero removes the entry using backward-shift
+ * deletion, so no tombstones accumulate.
+ *
+ * <p>Conversion to {@link CSRMatrix} via {@link #toCSR()} is a counting pass
+ * over the table followed by an in-place column sort of each row.
+ *
+ * @see HashSparseMatrix
+ * @see CSRMatrix
+ * @see DynamicCSRMatrix
+ */
+public class PackedHashSparseMatrix implements MutableMatrix {
+
+    private static final long EMPTY = -1L; // row and col are non-negative, so no valid key is -1
+    private static final int MIN_CAPACITY = 16;
+
+    private final int rows;
+    private final int cols;
+
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    /** Live entry count per row, kept up to date so {@link #toCSR()} needs no extra pass. */
+    private final int[] rowCounts;
+
+    /**
+     * Creates an empty matrix with a small default capacity.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     */
+    public PackedHashSparseMatrix(int rows, int cols) {
+        this(rows, cols, MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty matrix sized to hold {@code expectedNnz} entries
+     * without resizing.
+     *
+     * @param rows        number of rows
+     * @param cols        number of columns
+     * @param expectedNnz anticipated number of non-zero entries
+     */
+    public PackedHashSparseMatrix(int rows, int cols, int expectedNnz) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowCounts = new int[rows];
+        allocate(tableSizeFor(expectedNnz));
+    }
+
+    // ------------------------------------------------
+    // MutableMatrix
+    // ------------------------------------------------
+
+    @Override
+    public void add(int r, int c, double v) {
+        if (v == 0.0) return;
+        long key = pack(r, c);
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            values[slot] += v;
+            return;
+        }
+        insert(slot, key, r, v);
+    }
+
+    @Override
+    public void set(int r, int c, double v) {
+        long key = pack(r, c);
+        int slot = slotOf(key);
+        if (keys[slot] == key) {
+            if (v == 0.0) remove(slot, r);
+            else values[slot] = v;
+            return;
+        }
+        if (v != 0.0) insert(slot, key, r, v);
+    }
+
+    /**
+     * Removes every entry while keeping the allocated table, so the next
+     * assembly pass of a similar size allocates nothing.
+     */
+    @Override
+    public void clear() {
+        if (size == 0) return;
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(rowCounts, 0);
+        size = 0;
+    }
+
+    // ------------------------------------------------
+    // Matrix
+    // ------------------------------------------------
+
+    @Override
+    public void multiply(double[] x, double[] result) {
+        Arrays.fill(result, 0);
+        for (int s = 0; s < keys.length; s++) {
+            long key = keys[s];
+            if (key == EMPTY) continue;
+            result[(int) (key >>> 32)] += values[s] * x[(int) key];
+        }
+    }
+
+    /**
+     * Multiplies the transpose of this matrix by vector {@code x},
+     * storing Aᵀx in {@code result}.
+     *
+     * <p>Walks the table once, scattering each stored entry. O(capacity).
+     *
+     * @param x      input vector of length rows
+     * @param result output vector of length cols, overwritten with Aᵀx
+     */
+    @Override
+    public void transposeMultiply(double[] x, double[] result) {
+        Arrays.fill(result, 0);
+        for (int s = 0; s < keys.length; s++) {
+            long key = keys[s];
+            if (key == EMPTY) continue;
+            result[(int) key] += values[s] * x[(int) (key >>> 32)];
+        }
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public double get(int r, int c) {
+        long key = pack(r, c);
+        int slot = slotOf(key);
+        return keys[slot] == key ? values[slot] : 0.0;
+    }
+
+    /**
+     * Returns the number of stored non-zero entries.
+     *
+     * @return nnz
+     */
+    public int nnz() {
+        return size;
+    }
+
+    /**
+     * Compiles this matrix into a {@link CSRMatrix}.
+     *
+     * <p>Row pointers come straight from the maintained per-row counts; entries
+     * are then scattered into their row segment and each row is sorted by
+     * column. Only the output arrays are allocated.
+     *
+     * @return a compiled CSR representation
+     */
+    public CSRMatrix toCSR() {
+        int[] rowPtr = new int[rows + 1];
+        for (int r = 0; r < rows; r++)
+            rowPtr[r + 1] = rowPtr[r] + rowCounts[r];
+
+        int nnz = rowPtr[rows];
+        int[] colIndex = new int[nnz];
+        double[] vals = new double[nnz];
+        int[] cursor = Arrays.copyOf(rowPtr, rows);
+
+        for (int s = 0; s < keys.length; s++) {
+            long key = keys[s];
+            if (key == EMPTY) continue;
+            int k = cursor[(int) (key >>> 32)]++;
+            colIndex[k] = (int) key;
+            vals[k] = values[s];
+        }
+
+        for (int r = 0; r < rows; r++)
+            sortRow(colIndex, vals, rowPtr[r], rowPtr[r + 1]);
+
+        return new CSRMatrix(rows, cols, vals, colIndex, rowPtr);
+    }
+
+    // ------------------------------------------------
+    // Internal — open addressing
+    // ------------------------------------------------
+
+    private static long pack(int r, int c) {
+        return ((long) r << 32) | (c & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the slot holding {@code key}, or the empty slot where it would be inserted.
+     */
+    private int slotOf(long key) {
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void insert(int slot, long key, int r, double v) {
+        keys[slot] = key;
+        values[slot] = v;
+        rowCounts[r]++;
+        if (++size > resizeAt) rehash(keys.length << 1);
+    }
+
+    /**
+     * Backward-shift deletion: pulls later entries of the probe run into the
+     * hole so lookups never need tombstones.
+     */
+    private void remove(int slot, int r) {
+        rowCounts[r]--;
+        size--;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]) & mask;
+            // move the entry back if its home slot is not in (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(capacity);
+        for (int s = 0; s < oldKeys.length; s++) {
+            long key = oldKeys[s];
+            if (key == EMPTY) continue;
+            int slot = slotOf(key);
+            keys[slot] = key;
+            values[slot] = oldValues[s];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+        resizeAt = (capacity >> 1) + (capacity >> 2); // 0.75 load factor
+    }
+
+    private static int tableSizeFor(int expected) {
+        int needed = (int) Math.min(1 << 30, Math.max(MIN_CAPACITY, (long) expected * 4 / 3 + 1));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    /** 64-bit finalizer from MurmurHash3, folded to an int. */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * Sorts one CSR row segment by column index, carrying values along.
+     * Shell sort — rows in nodal networks are short, so this is effectively
+     * insertion sort, but long rows still avoid quadratic behaviour.
+     */
+    static void sortRow(int[] colIndex, double[] vals, int from, int to) {
+        int n = to - from;
+        int gap = 1;
+        while (gap < n / 3) gap = 3 * gap + 1;
+        for (; gap > 0; gap /= 3) {
+            for (int i = from + gap; i < to; i++) {
+                int c = colIndex[i];
+                double v = vals[i];
+                int j = i;
+                while (j - gap >= from && colIndex[j - gap] > c) {
+                    colIndex[j] = colIndex[j - gap];
+                    vals[j] = vals[j - gap];
+                    j -= gap;
+                }
+                colIndex[j] = c;
+                vals[j] = v;
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.rae.formicapi.fondation.math.operators;
+
+import java.util.Arrays;
+
+/**
+ * A sparse matrix that keeps its compiled CSR sparsity pattern across
+ * assembly passes, splitting the work into one symbolic and many numeric phases.
+ *
+ * <p>The first assembly pass is <em>symbolic</em>: entries are accumulated in a
+ * {@link PackedHashSparseMatrix} and compiled once into a {@link CSRMatrix}
+ * whose row pointers and column indices are then kept. After {@link #clear()},
+ * only the values array is zeroed and each {@link #add} / {@link #set} locates
+ * its precomputed slot with {@link CSRMatrix#indexOf(int, int)} and writes
+ * straight into it — a <em>numeric</em> refill with no recompilation and no
+ * allocation.
+ *
+ * <p>Writes that fall outside the cached pattern (for example an advection
+ * term whose direction flipped) go to a small overflow buffer. On the next
+ * read the pattern is widened to the union of both, so the pattern only
+ * grows and settles after the first few passes. Entries that are not stamped
+ * in a given pass simply stay as explicit zeros.
+ *
+ * @see DynamicCSRMatrix
+ * @see CSRMatrix
+ * @see MutableMatrix
+ */
+public class PatternCSRMatrix implements MutableMatrix {
+
+    private final int rows;
+    private final int cols;
+
+    /** Compiled pattern whose values array is written in place; {@code null} before the first compile. */
+    private CSRMatrix csr = null;
+    /** Entries that are not part of {@link #csr}'s pattern yet. */
+    private final PackedHashSparseMatrix overflow;
+    private boolean transposeCaching = false;
+
+    /**
+     * Creates an empty pattern-caching matrix of the given dimensions.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     */
+    public PatternCSRMatrix(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.overflow = new PackedHashSparseMatrix(rows, cols);
+    }
+
+    // ------------------------------------------------
+    // MutableMatrix — write into cached slots
+    // ------------------------------------------------
+
+    /**
+     * Adds {@code value} to the entry at (row, col).
+     *
+     * <p>If (row, col) is part of the cached pattern the value is accumulated
+     * in place; otherwise it is buffered until the next recompile.
+     *
+     * @param row   row index
+     * @param col   column index
+     * @param value value to accumulate
+     */
+    @Override
+    public void add(int row, int col, double value) {
+        if (value == 0.0) return;
+        int k = csr == null ? -1 : csr.indexOf(row, col);
+        if (k >= 0) {
+            csr.values()[k] += value;
+            csr.touch();
+        } else {
+            overflow.add(row, col, value);
+        }
+    }
+
+    /**
+     * Sets the entry at (row, col) to {@code value}.
+     *
+     * <p>Entries inside the cached pattern are overwritten in place, and a
+     * zero is kept as an explicit zero so the pattern does not change.
+     *
+     * @param row   row index
+     * @param col   column index
+     * @param value value to set
+     */
+    @Override
+    public void set(int row, int col, double value) {
+        int k = csr == null ? -1 : csr.indexOf(row, col);
+        if (k >= 0) {
+            csr.values()[k] = value;
+            csr.touch();
+        } else {
+            overflow.set(row, col, value);
+        }
+    }
+
+    /**
+     * Zeroes every value while keeping the compiled sparsity pattern.
+     *
+     * <p>Call at the start of each assembly pass; the following stamps then
+     * refill the existing slots.
+     */
+    @Override
+    public void clear() {
+        if (csr != null) {
+            Arrays.fill(csr.values(), 0.0);
+            csr.touch();
+        }
+        overflow.clear();
+    }
+
+    // ------------------------------------------------
+    // Matrix reads — widen the pattern lazily
+    // ------------------------------------------------
+
+    @Override
+    public void multiply(double[] x, double[] result) {
+        compiled().multiply(x, result);
+    }
+
+    @Override
+    public void transposeMultiply(double[] x, double[] result) {
+        compiled().transposeMultiply(x, result);
+    }
+
+    @Override
+    public void multiply(double[][] X, double[][] Y) {
+        compiled().multiply(X, Y);
+    }
+
+    @Override
+    public void transposeMultiply(double[][] X, double[][] Y) {
+        compiled().transposeMultiply(X, Y);
+    }
+
+    @Override
+    public void diagonal(double[] result) {
+        compiled().diagonal(result);
+    }
+
+    @Override
+    public double multiplyDot(double[] x, double[] result) {
+        return compiled().multiplyDot(x, result);
+    }
+
+    @Override
+    public double multiplyAtA(double[] x, double[] temp, double[] result) {
+        return compiled().multiplyAtA(x, temp, result);
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public double get(int r, int c) {
+        int k = csr == null ? -1 : csr.indexOf(r, c);
+        return k >= 0 ? csr.values()[k] : overflow.get(r, c);
+    }
+
+    /**
+     * Returns the compiled {@link CSRMatrix}, merging any buffered
+     * out-of-pattern entries first.
+     *
+     * <p>The returned instance shares its values array with this matrix and
+     * will be refilled by the next assembly pass.
+     *
+     * @return the compiled CSR representation of this matrix
+     */
+    public CSRMatrix toCSR() {
+        return compiled();
+    }
+
+    /** Same as {@link #toCSR()}. */
+    @Override
+    public CSRMatrix compiledCSR() {
+        return toCSR();
+    }
+
+    /**
+     * Enables or disables {@link CSRMatrix#setTransposeCaching(boolean) transpose
+     * caching} on the compiled matrix, now and after every pattern change.
+     *
+     * @param enabled {@code true} to keep an explicit transpose for Aᵀx
+     */
+    public void setTransposeCaching(boolean enabled) {
+        transposeCaching = enabled;
+        if (csr != null) csr.setTransposeCaching(enabled);
+    }
+
+    // ------------------------------------------------
+    // Internal — symbolic phase
+    // ------------------------------------------------
+
+    private CSRMatrix compiled() {
+        if (overflow.nnz() == 0 && csr != null) return csr;
+        CSRMatrix extra = overflow.toCSR();
+        csr = csr == null ? extra : union(csr, extra);
+        csr.setTransposeCaching(transposeCaching);
+        overflow.clear();
+        return csr;
+    }
+
+    /**
+     * Merges two CSR matrices with sorted, disjoint rows into one pattern.
+     */
+    private static CSRMatrix union(CSRMatrix a, CSRMatrix b) {
+        int rows = a.rows();
+        int[] aPtr = a.rowPtr(), aCol = a.colIndex();
+        int[] bPtr = b.rowPtr(), bCol = b.colIndex();
+        double[] aVal = a.values(), bVal = b.values();
+
+        int nnz = a.nnz() + b.nnz();
+        int[] rowPtr = new int[rows + 1];
+        int[] colIndex = new int[nnz];
+        double[] values = new double[nnz];
+
+        int k = 0;
+        for (int r = 0; r < rows; r++) {
+            rowPtr[r] = k;
+            int i = aPtr[r], iEnd = aPtr[r + 1];
+            int j = bPtr[r], jEnd = bPtr[r + 1];
+            while (i < iEnd || j < jEnd) {
+                if (j >= jEnd || (i < iEnd && aCol[i] < bCol[j])) {
+                    colIndex[k] = aCol[i];
+                    values[k++] = aVal[i++];
+                } else {
+                    colIndex[k] = bCol[j];
+                    values[k++] = bVal[j++];
+                }
+            }
+        }
+        rowPtr[rows] = k;
+
+        return new CSRMatrix(rows, a.cols(), values, colIndex, rowPtr);
+    }
+}
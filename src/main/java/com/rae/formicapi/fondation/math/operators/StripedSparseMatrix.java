@@ -0,0 +1,213 @@
+package com.rae.formicapi.fondation.math.operators;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A sparse assembly matrix that many threads may write at once.
+ *
+ * <p>Rows are dealt round-robin to a power-of-two number of stripes; row r
+ * lives in stripe {@code r & (stripes − 1)}. Each stripe owns a
+ * {@link PackedHashSparseMatrix} holding only its rows and is locked on its
+ * own, so writers contend only when they hit rows of the same stripe. The
+ * interleaving spreads neighbouring rows — which nearby components tend to
+ * stamp together — across different locks.
+ *
+ * <p>Reads compile the stripes into one {@link CSRMatrix}, in parallel, and
+ * keep it until the next write. Reads must not overlap with writes: stamp
+ * every component, then solve. Concurrent {@link #add}s to the same entry
+ * are summed in whatever order the threads arrive, so the last bits of a
+ * value may differ between runs.
+ *
+ * @see PackedHashSparseMatrix
+ */
+public class StripedSparseMatrix implements MutableMatrix {
+
+    private final int rows;
+    private final int cols;
+    private final int shift;
+    private final int mask;
+    private final PackedHashSparseMatrix[] stripes;
+
+    private volatile CSRMatrix csr;
+
+    /**
+     * Creates a matrix with four stripes per worker of the common pool,
+     * rounded up to a power of two and capped by the row count.
+     *
+     * @param rows number of rows
+     * @param cols number of columns
+     */
+    public StripedSparseMatrix(int rows, int cols) {
+        this(rows, cols, 4 * ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Creates a matrix with {@code stripeCount} stripes, rounded up to a
+     * power of two, but no more than needed to give each row its own stripe.
+     *
+     * @param rows        number of rows
+     * @param cols        number of columns
+     * @param stripeCount requested number of independently locked stripes
+     */
+    public StripedSparseMatrix(int rows, int cols, int stripeCount) {
+        if (stripeCount < 1)
+            throw new IllegalArgumentException("Stripe count must be positive, got: " + stripeCount);
+        this.rows = rows;
+        this.cols = cols;
+        int count = 1;
+        while (count < stripeCount && count < rows) count <<= 1;
+        this.shift = Integer.numberOfTrailingZeros(count);
+        this.mask = count - 1;
+        this.stripes = new PackedHashSparseMatrix[count];
+        for (int s = 0; s < count; s++)
+            stripes[s] = new PackedHashSparseMatrix((rows - s + count - 1) >> shift, cols);
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    // ------------------------------------------------
+    // MutableMatrix — one lock per stripe
+    // ------------------------------------------------
+
+    @Override
+    public void add(int r, int c, double v) {
+        if (v == 0.0) return;
+        PackedHashSparseMatrix stripe = stripes[r & mask];
+        synchronized (stripe) {
+            stripe.add(r >> shift, c, v);
+        }
+        csr = null;
+    }
+
+    @Override
+    public void set(int r, int c, double v) {
+        PackedHashSparseMatrix stripe = stripes[r & mask];
+        synchronized (stripe) {
+            stripe.set(r >> shift, c, v);
+        }
+        csr = null;
+    }
+
+    @Override
+    public void clear() {
+        for (PackedHashSparseMatrix stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+        csr = null;
+    }
+
+    // ------------------------------------------------
+    // Matrix reads — compile the stripes lazily
+    // ------------------------------------------------
+
+    @Override
+    public void multiply(double[] x, double[] result) {
+        toCSR().multiply(x, result);
+    }
+
+    @Override
+    public void transposeMultiply(double[] x, double[] result) {
+        toCSR().transposeMultiply(x, result);
+    }
+
+    @Override
+    public void multiply(double[][] X, double[][] Y) {
+        toCSR().multiply(X, Y);
+    }
+
+    @Override
+    public void transposeMultiply(double[][] X, double[][] Y) {
+        toCSR().transposeMultiply(X, Y);
+    }
+
+    @Override
+    public void diagonal(double[] result) {
+        toCSR().diagonal(result);
+    }
+
+    @Override
+    public double multiplyDot(double[] x, double[] result) {
+        return toCSR().multiplyDot(x, result);
+    }
+
+    @Override
+    public double multiplyAtA(double[] x, double[] temp, double[] result) {
+        return toCSR().multiplyAtA(x, temp, result);
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Returns the value at (r, c), read from the stripe without compiling.
+     */
+    @Override
+    public double get(int r, int c) {
+        PackedHashSparseMatrix stripe = stripes[r & mask];
+        synchronized (stripe) {
+            return stripe.get(r >> shift, c);
+        }
+    }
+
+    /**
+     * Compiles the stripes into a single {@link CSRMatrix}, or returns the
+     * one compiled since the last write.
+     *
+     * <p>Each stripe is compressed on its own, in parallel; the global rows
+     * are then gathered back from their stripes in order.
+     *
+     * @return the compiled CSR representation of this matrix
+     */
+    public synchronized CSRMatrix toCSR() {
+        CSRMatrix compiled = csr;
+        if (compiled != null) return compiled;
+
+        CSRMatrix[] parts = new CSRMatrix[stripes.length];
+        IntStream.range(0, stripes.length).parallel().forEach(s -> {
+            synchronized (stripes[s]) {
+                parts[s] = stripes[s].toCSR();
+            }
+        });
+
+        int[] rowPtr = new int[rows + 1];
+        for (int r = 0; r < rows; r++) {
+            CSRMatrix part = parts[r & mask];
+            int local = r >> shift;
+            rowPtr[r + 1] = rowPtr[r] + part.rowEnd(local) - part.rowStart(local);
+        }
+        int nnz = rowPtr[rows];
+        int[] colIndex = new int[nnz];
+        double[] values = new double[nnz];
+        for (int r = 0; r < rows; r++) {
+            CSRMatrix part = parts[r & mask];
+            int local = r >> shift;
+            int k = rowPtr[r];
+            for (int j = part.rowStart(local); j < part.rowEnd(local); j++, k++) {
+                colIndex[k] = part.colAt(j);
+                values[k] = part.valueAt(j);
+            }
+        }
+
+        compiled = new CSRMatrix(rows, cols, values, colIndex, rowPtr);
+        csr = compiled;
+        return compiled;
+    }
+
+    /** Same as {@link #toCSR()}. */
+    @Override
+    public CSRMatrix compiledCSR() {
+        return toCSR();
+    }
+}
@@ -0,0 +1,256 @@
+package com.rae.formicapi.fondation.math.operators;
+
+import java.util.Arrays;
+
+/**
+ * A mutable sparse matrix assembled as an append-only list of
+ * (row, col, value) triplets and compressed to {@link CSRMatrix} on first read.
+ *
+ * <p>{@link #add} and {@link #set} only append to three primitive arrays — no
+ * hashing, no probing, no boxing — which makes this the cheapest storage for
+ * stamping-heavy passes where thousands of components write a few entries
+ * each. Duplicates are summed when the triplets are compressed:
+ * <ol>
+ *     <li>a stable counting sort on the column, then on the row (a two-digit
+ *         LSD radix sort), O(nnz + rows + cols);</li>
+ *     <li>one walk over the sorted triplets, summing runs of equal (row, col)
+ *         in the order they were written.</li>
+ * </ol>
+ * Because the sort is stable, a {@link #set} overrides every earlier write
+ * to its entry and later {@link #add}s accumulate on top, as with the other
+ * mutable matrices.
+ *
+ * <p>The compiled CSR is kept until the next write. After compiling, the
+ * triplet list is replaced by the compressed entries, so a matrix that is
+ * read and written alternately does not grow without bound.
+ * {@link #clear()} keeps the allocated arrays for the next pass.
+ *
+ * @see PackedHashSparseMatrix
+ * @see DynamicCSRMatrix
+ */
+public class TripletMatrixBuilder implements MutableMatrix {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final int rows;
+    private final int cols;
+
+    private int[] rowOf;
+    private int[] colOf;
+    private double[] valueOf;
+    /** Whether each triplet replaces (set) rather than accumulates (add); null until the first set. */
+    private boolean[] replaces;
+    private int count;
+
+    private CSRMatrix csr;
+
+    public TripletMatrixBuilder(int rows, int cols) {
+        this(rows, cols, MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty builder sized to hold {@code expectedWrites} triplets
+     * without growing.
+     *
+     * @param rows           number of rows
+     * @param cols           number of columns
+     * @param expectedWrites anticipated number of add / set calls per pass
+     */
+    public TripletMatrixBuilder(int rows, int cols, int expectedWrites) {
+        this.rows = rows;
+        this.cols = cols;
+        int capacity = Math.max(MIN_CAPACITY, expectedWrites);
+        this.rowOf = new int[capacity];
+        this.colOf = new int[capacity];
+        this.valueOf = new double[capacity];
+    }
+
+    // ------------------------------------------------
+    // MutableMatrix — append
+    // ------------------------------------------------
+
+    @Override
+    public void add(int r, int c, double v) {
+        if (v == 0.0) return;
+        append(r, c, v, false);
+    }
+
+    @Override
+    public void set(int r, int c, double v) {
+        append(r, c, v, true);
+    }
+
+    @Override
+    public void clear() {
+        count = 0;
+        csr = null;
+        if (replaces != null) Arrays.fill(replaces, false);
+    }
+
+    /**
+     * Returns the number of triplets written since the last compile or
+     * {@link #clear()}, duplicates included.
+     */
+    public int tripletCount() {
+        return count;
+    }
+
+    private void append(int r, int c, double v, boolean replace) {
+        if (r < 0 || r >= rows || c < 0 || c >= cols)
+            throw new IllegalArgumentException(
+                    "Entry (" + r + ", " + c + ") out of bounds for " + rows + "x" + cols + " matrix");
+        if (count == rowOf.length) grow();
+        rowOf[count] = r;
+        colOf[count] = c;
+        valueOf[count] = v;
+        if (replace) {
+            if (replaces == null) replaces = new boolean[rowOf.length];
+            replaces[count] = true;
+        }
+        count++;
+        csr = null;
+    }
+
+    private void grow() {
+        int capacity = rowOf.length << 1;
+        rowOf = Arrays.copyOf(rowOf, capacity);
+        colOf = Arrays.copyOf(colOf, capacity);
+        valueOf = Arrays.copyOf(valueOf, capacity);
+        if (replaces != null) replaces = Arrays.copyOf(replaces, capacity);
+    }
+
+    // ------------------------------------------------
+    // Matrix reads — compress lazily
+    // ------------------------------------------------
+
+    @Override
+    public void multiply(double[] x, double[] result) {
+        toCSR().multiply(x, result);
+    }
+
+    @Override
+    public void transposeMultiply(double[] x, double[] result) {
+        toCSR().transposeMultiply(x, result);
+    }
+
+    @Override
+    public void multiply(double[][] X, double[][] Y) {
+        toCSR().multiply(X, Y);
+    }
+
+    @Override
+    public void transposeMultiply(double[][] X, double[][] Y) {
+        toCSR().transposeMultiply(X, Y);
+    }
+
+    @Override
+    public void diagonal(double[] result) {
+        toCSR().diagonal(result);
+    }
+
+    @Override
+    public double multiplyDot(double[] x, double[] result) {
+        return toCSR().multiplyDot(x, result);
+    }
+
+    @Override
+    public double multiplyAtA(double[] x, double[] temp, double[] result) {
+        return toCSR().multiplyAtA(x, temp, result);
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    /**
+     * Returns the value at (r, c), compressing the triplets first if needed.
+     */
+    @Override
+    public double get(int r, int c) {
+        return toCSR().get(r, c);
+    }
+
+    /**
+     * Compresses the triplets into a {@link CSRMatrix}, or returns the one
+     * compiled since the last write.
+     *
+     * @return the compiled CSR representation of this matrix
+     */
+    public CSRMatrix toCSR() {
+        if (csr == null) csr = compress();
+        return csr;
+    }
+
+    /** Same as {@link #toCSR()}. */
+    @Override
+    public CSRMatrix compiledCSR() {
+        return toCSR();
+    }
+
+    // ------------------------------------------------
+    // Internal — radix sort and duplicate summation
+    // ------------------------------------------------
+
+    private CSRMatrix compress() {
+        int n = count;
+
+        // pass 1: stable counting sort by column
+        int[] byCol = new int[n];
+        int[] colStart = new int[cols + 1];
+        for (int k = 0; k < n; k++) colStart[colOf[k] + 1]++;
+        for (int c = 0; c < cols; c++) colStart[c + 1] += colStart[c];
+        for (int k = 0; k < n; k++) byCol[colStart[colOf[k]]++] = k;
+
+        // pass 2: stable counting sort by row — now ordered by (row, col, write order)
+        int[] order = new int[n];
+        int[] rowStart = new int[rows + 1];
+        for (int k = 0; k < n; k++) rowStart[rowOf[k] + 1]++;
+        for (int r = 0; r < rows; r++) rowStart[r + 1] += rowStart[r];
+        int[] cursor = Arrays.copyOf(rowStart, rows);
+        for (int k : byCol) order[cursor[rowOf[k]]++] = k;
+
+        // walk runs of equal (row, col), summing in write order
+        int[] rowPtr = new int[rows + 1];
+        int[] colIndex = new int[n];
+        double[] vals = new double[n];
+        int nnz = 0;
+        int i = 0;
+        for (int r = 0; r < rows; r++) {
+            int end = rowStart[r + 1];
+            while (i < end) {
+                int c = colOf[order[i]];
+                double sum = 0.0;
+                for (; i < end && colOf[order[i]] == c; i++) {
+                    int k = order[i];
+                    if (replaces != null && replaces[k]) sum = valueOf[k];
+                    else sum += valueOf[k];
+                }
+                if (sum != 0.0) {
+                    colIndex[nnz] = c;
+                    vals[nnz] = sum;
+                    nnz++;
+                }
+            }
+            rowPtr[r + 1] = nnz;
+        }
+
+        // keep only the compressed entries as triplets
+        for (int r = 0, k = 0; r < rows; r++) {
+            for (; k < rowPtr[r + 1]; k++) {
+                rowOf[k] = r;
+                colOf[k] = colIndex[k];
+                valueOf[k] = vals[k];
+            }
+        }
+        count = nnz;
+        if (replaces != null) Arrays.fill(replaces, false);
+
+        return new CSRMatrix(rows, cols, Arrays.copyOf(vals, nnz), Arrays.copyOf(colIndex, nnz), rowPtr);
+    }
+}
@@ -0,0 +1,167 @@
+package com.rae.formicapi.fondation.math.ordering;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+
+import java.util.Arrays;
+
+/**
+ * Minimum degree fill-reducing ordering.
+ *
+ * <p>Works on the symmetrised sparsity pattern of a square matrix. Unknowns
+ * are eliminated one at a time from an explicit elimination graph, always
+ * picking one of currently lowest degree; eliminating a node connects all of
+ * its remaining neighbours into a clique, exactly as Gaussian elimination
+ * fills in the factor. Numbering unknowns in that order keeps the fill of a
+ * sparse LU or LDLᵀ factor low — on grid-like networks far lower than the
+ * natural or {@link ReverseCuthillMcKee} order.
+ *
+ * <p>Degrees are exact, not approximated as in AMD, and kept in bucket lists
+ * so the next pivot is found in constant time. The cost is dominated by the
+ * clique updates, which grows with the fill of the factor itself.
+ */
+public final class MinimumDegree {
+
+    private MinimumDegree() {
+    }
+
+    /**
+     * Computes the minimum degree ordering of a square matrix's pattern.
+     *
+     * @param pattern square matrix; only its structure is used
+     * @return permutation {@code perm} with {@code perm[newIndex] = oldIndex}
+     * @throws IllegalArgumentException if the matrix is not square
+     */
+    public static int[] order(CSRMatrix pattern) {
+        int n = pattern.rows();
+        if (pattern.cols() != n)
+            throw new IllegalArgumentException(
+                    "Minimum degree ordering requires a square matrix: rows = " + n + ", cols = " + pattern.cols());
+        return new EliminationGraph(pattern).eliminate();
+    }
+
+    // ------------------------------------------------
+    // Internal — elimination graph
+    // ------------------------------------------------
+
+    /**
+     * Symmetric adjacency of the not yet eliminated nodes, one growable list
+     * per node, with nodes bucketed by degree.
+     */
+    private static final class EliminationGraph {
+
+        private final int n;
+        private final int[][] adj;
+        private final int[] size;
+
+        private final int[] head;   // first node of each degree bucket, or -1
+        private final int[] next;
+        private final int[] prev;
+
+        private final int[] mark;   // stamp per node, avoids clearing between clique updates
+        private int stamp;
+
+        EliminationGraph(CSRMatrix pattern) {
+            n = pattern.rows();
+            int[] degree = new int[n];
+            // count both directions of each off-diagonal entry, duplicates included
+            for (int r = 0; r < n; r++) {
+                for (int k = pattern.rowStart(r); k < pattern.rowEnd(r); k++) {
+                    int c = pattern.colAt(k);
+                    if (c == r) continue;
+                    degree[r]++;
+                    degree[c]++;
+                }
+            }
+            adj = new int[n][];
+            for (int v = 0; v < n; v++) adj[v] = new int[Math.max(degree[v], 4)];
+            size = new int[n];
+            for (int r = 0; r < n; r++) {
+                for (int k = pattern.rowStart(r); k < pattern.rowEnd(r); k++) {
+                    int c = pattern.colAt(k);
+                    if (c == r) continue;
+                    adj[r][size[r]++] = c;
+                    adj[c][size[c]++] = r;
+                }
+            }
+
+            mark = new int[n];
+            Arrays.fill(mark, -1);
+            // de-duplicate each list in place
+            for (int v = 0; v < n; v++) {
+                int[] list = adj[v];
+                int unique = 0;
+                for (int k = 0; k < size[v]; k++) {
+                    int w = list[k];
+                    if (mark[w] != v) {
+                        mark[w] = v;
+                        list[unique++] = w;
+                    }
+                }
+                size[v] = unique;
+            }
+            stamp = n;
+
+            head = new int[n];
+            next = new int[n];
+            prev = new int[n];
+            Arrays.fill(head, -1);
+            for (int v = n - 1; v >= 0; v--) link(v);
+        }
+
+        int[] eliminate() {
+            int[] perm = new int[n];
+            int min = 0;
+            for (int k = 0; k < n; k++) {
+                while (head[min] < 0) min++;
+                int v = head[min];
+                unlink(v);
+                perm[k] = v;
+
+                int[] clique = adj[v];
+                int degree = size[v];
+                adj[v] = null;
+                for (int i = 0; i < degree; i++) {
+                    int u = clique[i];
+                    unlink(u);
+                    // u loses v and gains every other neighbour of v it lacks
+                    stamp++;
+                    mark[u] = stamp;
+                    int[] list = adj[u];
+                    int count = 0;
+                    for (int p = 0; p < size[u]; p++) {
+                        int w = list[p];
+                        if (w == v) continue;
+                        list[count++] = w;
+                        mark[w] = stamp;
+                    }
+                    for (int q = 0; q < degree; q++) {
+                        int w = clique[q];
+                        if (mark[w] == stamp) continue;
+                        if (count == list.length) list = Arrays.copyOf(list, 2 * list.length);
+                        list[count++] = w;
+                        mark[w] = stamp;
+                    }
+                    adj[u] = list;
+                    size[u] = count;
+                    link(u);
+                    if (count < min) min = count;
+                }
+            }
+            return perm;
+        }
+
+        private void link(int v) {
+            int d = size[v];
+            next[v] = head[d];
+            prev[v] = -1;
+            if (head[d] >= 0) prev[head[d]] = v;
+            head[d] = v;
+        }
+
+        private void unlink(int v) {
+            if (prev[v] >= 0) next[prev[v]] = next[v];
+            else head[size[v]] = next[v];
+            if (next[v] >= 0) prev[next[v]] = prev[v];
+        }
+    }
+}
@@ -13,11 +13,28 @@
  *   <dd>Matrix abstractions and implementations:
  *     <ul>
  *       <li>{@code Matrix} / {@code MutableMatrix} — read and read-write contracts.</li>
- *       <li>{@code DenseMatrix} — full storage, suitable for small systems.</li>
+ *       <li>{@code DenseMatrix} — flat row-major storage with tiled products,
+ *           suitable for small systems.</li>
  *       <li>{@code DynamicCSRMatrix} / {@code CSRMatrix} — sparse storage for
  *           large nodal networks with few non-zero entries per row.</li>
  *       <li>{@code HashSparseMatrix} — insertion-order-friendly sparse matrix
  *           used during incremental assembly before conversion to CSR.</li>
+ *       <li>{@code PackedHashSparseMatrix} — boxing-free open-addressing
+ *           assembly matrix; the buffer behind {@code DynamicCSRMatrix}.</li>
+ *       <li>{@code TripletMatrixBuilder} — append-only (row, col, value)
+ *           assembly, radix-sorted and compressed to CSR.</li>
+ *       <li>{@code StripedSparseMatrix} — row-striped, lock-per-stripe
+ *           assembly for components stamped from several threads.</li>
+ *       <li>{@code PatternCSRMatrix} — CSR that keeps its sparsity pattern
+ *           across assembly passes and is refilled in place.</li>
+ *       <li>{@code FloatCSRMatrix} — single-precision CSR copy for
+ *           bandwidth-bound inner iterations.</li>
+ *       <li>{@code OffHeapCSRMatrix} — CSR in direct or memory-mapped buffers,
+ *           with a binary save / load / map format.</li>
+ *       <li>{@code BlockCSRMatrix} — block CSR with unrolled 2×2, 3×3 and
+ *           4×4 kernels for matrices whose non-zeros come in dense clusters.</li>
+ *       <li>{@code MatrixFreeOperator} / {@code OperatorTerm} — operator summed
+ *           from conductance links and on-the-fly terms, with no stored matrix.</li>
  *     </ul>
  *   </dd>
  *
@@ -27,10 +44,44 @@
  *       <li>{@code LeastSquare} — iterative least-squares solver, default for
  *           thermal and hydraulic domains.</li>
  *       <li>{@code ConjugateGradient} — CG solver for symmetric positive-definite
- *           systems.</li>
+ *           systems, optionally preconditioned.</li>
+ *       <li>{@code Preconditioner} — {@code JacobiPreconditioner},
+ *           {@code SSORPreconditioner} and {@code IncompleteCholeskyPreconditioner}
+ *           (IC(0)) for preconditioned CG.</li>
+ *       <li>{@code AlgebraicMultigrid} — smoothed-aggregation multigrid with
+ *           V- and W-cycles, as a solver or a preconditioner, for grids whose
+ *           CG iteration counts grow with resolution.</li>
+ *       <li>{@code BiConjugateGradientStabilized} / {@code GeneralizedMinimalResidual}
+ *           — BiCGSTAB and restarted GMRES(m) for non-symmetric square systems.</li>
+ *       <li>{@code LeastSquareQR} / {@code LeastSquareMR} — LSQR and LSMR
+ *           least squares by Golub-Kahan bidiagonalisation.</li>
+ *       <li>{@code SparseLU} / {@code SparseLDLT} — sparse direct factorizations
+ *           on a {@code SymbolicFactorization}; {@code SparseDirectSolver}
+ *           keeps one between solves and refactors only what changed.</li>
+ *       <li>{@code MixedPrecisionLeastSquare} — least squares with float inner
+ *           iterations and double residual correction.</li>
+ *       <li>{@code BlockConjugateGradient} — CG and least squares for k
+ *           right-hand sides sharing one block product per iteration.</li>
+ *       <li>{@code SolverWorkspace} — caller-owned scratch vectors that let
+ *           CG and least-squares solves run without allocating.</li>
+ *       <li>{@code SolverResult} — what every {@code solveDetailed} returns:
+ *           iterations, initial and final residual, status (converged, capped
+ *           or broken down) and, on request, SpMV/vector timings and the
+ *           residual history.</li>
  *     </ul>
  *   </dd>
  *
+ *   <dt>{@link com.rae.formicapi.fondation.math.kernels}</dt>
+ *   <dd>BLAS-1 kernels: {@code VectorOps} routes dot, axpy and related
+ *       operations to a {@code jdk.incubator.vector} SIMD kernel when the
+ *       module is present, or to an unrolled scalar fallback, and splits
+ *       long vectors into fixed chunks reduced in parallel, deterministically.</dd>
+ *
+ *   <dt>{@link com.rae.formicapi.fondation.math.ordering}</dt>
+ *   <dd>Unknown orderings: {@code ReverseCuthillMcKee} renumbers a sparsity
+ *       pattern to narrow its bandwidth; {@code MinimumDegree} orders it to
+ *       limit the fill of a sparse factorization.</dd>
+ *
  *   <dt>{@link com.rae.formicapi.fondation.math.data}</dt>
  *   <dd>Tabulated function interpolation for material properties and boundary
  *       conditions that vary with temperature, pressure, or other state variables:
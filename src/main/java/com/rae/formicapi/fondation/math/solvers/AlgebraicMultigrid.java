@@ -0,0 +1,466 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Smoothed-aggregation algebraic multigrid, as a solver on its own or as a
+ * {@link Preconditioner} for {@link ConjugateGradient} and the Krylov
+ * solvers.
+ *
+ * <p><b>Setup</b>, once per sparsity pattern: the unknowns of each level are
+ * grouped into aggregates of strongly coupled neighbours, each aggregate
+ * becoming one coarse unknown. The piecewise-constant tentative prolongator
+ * is smoothed by one damped Jacobi step, P = (I − ω D⁻¹A) T, and the coarse
+ * operator is the Galerkin product PᵀAP. Levels are added until the
+ * system is small enough for {@link SparseDirectSolver}.
+ *
+ * <p><b>Cycle</b>: one forward Gauss-Seidel sweep, restriction of the
+ * residual, one (V) or two (W) coarse cycles, prolongation of the
+ * correction, one backward Gauss-Seidel sweep. The cycle is a symmetric
+ * operator whenever A is, so it is a valid preconditioner for CG. Its cost
+ * is a small multiple of one product with A, and the number of cycles (or
+ * of preconditioned CG iterations) needed stays nearly constant as grids
+ * are refined, where plain and incompletely factored preconditioners need
+ * more and more.
+ *
+ * <p>When only the values of A change, {@link #update(CSRMatrix)} keeps the
+ * aggregates and prolongators and only recomputes the Galerkin products and
+ * the coarse factorization.
+ *
+ * <p>Not thread-safe: the cycle works in buffers kept with each level.
+ */
+public class AlgebraicMultigrid implements Preconditioner {
+
+    /** Coarse-grid recursion of one cycle. */
+    public enum Cycle {
+        /** One coarse cycle per level: cheapest, enough for diffusion problems. */
+        V(1),
+        /** Two coarse cycles per level: about twice the coarse work, more robust on rough coefficients. */
+        W(2);
+
+        private final int visits;
+
+        Cycle(int visits) {
+            this.visits = visits;
+        }
+    }
+
+    /** Coupling |a_ij| ≥ θ √(|a_ii a_jj|) counts as strong. */
+    private static final double STRENGTH_THRESHOLD = 0.08;
+    /** Levels stop once this many unknowns are left, to be solved directly. */
+    private static final int COARSE_SIZE = 500;
+    private static final int MAX_LEVELS = 16;
+    /** Coarsening that keeps more than this fraction of unknowns has stalled. */
+    private static final double MIN_COARSENING = 0.85;
+    /** Gauss-Seidel sweeps standing in for the direct coarse solve if that one fails. */
+    private static final int COARSE_SWEEPS = 20;
+
+    private final Cycle cycle;
+    private final List<Level> levels = new ArrayList<>();
+    private SparseDirectSolver coarse;
+
+    /**
+     * Builds a V-cycle hierarchy for A.
+     *
+     * @param A square matrix whose entries are captured
+     */
+    public AlgebraicMultigrid(CSRMatrix A) {
+        this(A, Cycle.V);
+    }
+
+    /**
+     * @param A     square matrix whose entries are captured
+     * @param cycle the cycle {@link #apply} performs
+     */
+    public AlgebraicMultigrid(CSRMatrix A, Cycle cycle) {
+        if (A.rows() != A.cols())
+            throw new IllegalArgumentException(
+                    "Algebraic multigrid requires a square matrix: rows = " + A.rows() + ", cols = " + A.cols());
+        this.cycle = cycle;
+
+        Level level = new Level(A);
+        levels.add(level);
+        while (level.n > COARSE_SIZE && levels.size() < MAX_LEVELS) {
+            int[] aggregate = new int[level.n];
+            int coarseSize = aggregate(level, aggregate);
+            if (coarseSize == 0 || coarseSize > MIN_COARSENING * level.n) break;
+
+            level.P = smoothedProlongator(level, aggregate, coarseSize);
+            level.R = level.P.transpose();
+            Level next = new Level(level.R.multiply(level.A.multiply(level.P)));
+            levels.add(next);
+            level = next;
+        }
+        factorCoarsest();
+    }
+
+    /**
+     * Refreshes the hierarchy for new values of A, keeping the aggregates
+     * and prolongators built from the original values. Cheap compared to a
+     * new setup, and does nothing if the values did not change.
+     *
+     * @param A matrix with the same pattern as the one this hierarchy was built for
+     * @throws IllegalArgumentException if the pattern differs
+     */
+    public void update(CSRMatrix A) {
+        Level fine = levels.get(0);
+        if (!fine.matches(A))
+            throw new IllegalArgumentException("Matrix pattern differs from the one the hierarchy was built for");
+        if (fine.sameValues(A)) return;
+
+        fine.load(A);
+        for (int l = 0; l + 1 < levels.size(); l++) {
+            Level level = levels.get(l);
+            levels.get(l + 1).load(level.R.multiply(level.A.multiply(level.P)));
+        }
+        factorCoarsest();
+    }
+
+    /**
+     * Returns true if A has the pattern this hierarchy was built for, so
+     * {@link #update(CSRMatrix)} applies.
+     */
+    public boolean matches(CSRMatrix A) {
+        return levels.get(0).matches(A);
+    }
+
+    /** Applies one cycle from a zero initial guess: z ≈ A⁻¹r. */
+    @Override
+    public void apply(double[] r, double[] z) {
+        Arrays.fill(z, 0.0);
+        cycle(0, r, z);
+    }
+
+    /**
+     * Solves Ax = b by repeated cycles on the residual.
+     *
+     * @param x_init  initial guess
+     * @param b       right-hand side
+     * @param maxIter maximum number of cycles
+     * @param tol     tolerance on ‖b − Ax‖
+     * @return solution vector x
+     */
+    public double[] solve(double[] x_init, double[] b, int maxIter, double tol) {
+        return solveDetailed(x_init, b, maxIter, tol, SolverResult.Detail.SUMMARY).x();
+    }
+
+    /**
+     * Same as {@link #solve(double[], double[], int, double)}, also reporting
+     * how the iteration went. Cycles count as iterations and their time as
+     * preconditioner time; the residual products are the SpMV time.
+     *
+     * @param detail what to record beyond the summary
+     */
+    public SolverResult solveDetailed(double[] x_init, double[] b, int maxIter, double tol,
+                                      SolverResult.Detail detail) {
+        Level fine = levels.get(0);
+        if (b.length != fine.n || x_init.length != fine.n)
+            throw new IllegalArgumentException(
+                    "Vector lengths (" + x_init.length + ", " + b.length + ") do not match matrix size (" + fine.n + ")");
+
+        SolverTrace trace = new SolverTrace(detail);
+        double[] x = x_init.clone();
+        double[] r = new double[fine.n];
+        double[] e = new double[fine.n];
+        long start = trace.clock();
+        fine.residual(x, b, r);
+        trace.spmv(start);
+        double norm = VectorOps.norm(r);
+        trace.initial(norm);
+        for (int iter = 0; iter < maxIter && norm >= tol; iter++) {
+            start = trace.clock();
+            apply(r, e);
+            trace.preconditioner(start);
+            VectorOps.axpy(1.0, e, x);
+            start = trace.clock();
+            fine.residual(x, b, r);
+            trace.spmv(start);
+            norm = VectorOps.norm(r);
+            trace.iteration(norm);
+        }
+        return trace.result(x, tol);
+    }
+
+    /** Number of levels, the finest included. */
+    public int levels() {
+        return levels.size();
+    }
+
+    /** Number of unknowns on a level, 0 being the finest. */
+    public int size(int level) {
+        return levels.get(level).n;
+    }
+
+    /**
+     * Stored entries of all levels over those of the finest: the memory
+     * and smoothing cost of a cycle relative to one product with A.
+     */
+    public double operatorComplexity() {
+        long total = 0;
+        for (Level level : levels) total += level.values.length;
+        return (double) total / levels.get(0).values.length;
+    }
+
+    // ------------------------------------------------
+    // Internal — cycle
+    // ------------------------------------------------
+
+    private void cycle(int l, double[] b, double[] x) {
+        Level level = levels.get(l);
+        if (l == levels.size() - 1) {
+            solveCoarsest(level, b, x);
+            return;
+        }
+
+        level.forwardSweep(b, x);
+        level.residual(x, b, level.r);
+
+        Level next = levels.get(l + 1);
+        level.R.multiply(level.r, next.b);
+        Arrays.fill(next.x, 0.0);
+        for (int visit = 0; visit < cycle.visits; visit++) cycle(l + 1, next.b, next.x);
+
+        level.P.multiply(next.x, level.r);
+        VectorOps.axpy(1.0, level.r, x);
+        level.backwardSweep(b, x);
+    }
+
+    private void solveCoarsest(Level level, double[] b, double[] x) {
+        if (coarse != null) {
+            coarse.solve(level.A, b, x);
+            return;
+        }
+        for (int s = 0; s < COARSE_SWEEPS; s++) {
+            level.forwardSweep(b, x);
+            level.backwardSweep(b, x);
+        }
+    }
+
+    private void factorCoarsest() {
+        Level last = levels.get(levels.size() - 1);
+        if (coarse == null) coarse = new SparseDirectSolver();
+        try {
+            coarse.prepare(last.A);
+        } catch (ArithmeticException singular) {
+            coarse = null; // smoothing sweeps still reduce the error
+        }
+    }
+
+    // ------------------------------------------------
+    // Internal — setup
+    // ------------------------------------------------
+
+    /**
+     * Greedy aggregation on the strong couplings of a level: first whole
+     * neighbourhoods whose nodes are all free, then every leftover node
+     * joins a neighbouring aggregate, and nodes still free group with their
+     * free neighbours. Nodes with no strong coupling stay alone.
+     *
+     * @param aggregate receives the aggregate of each node
+     * @return the number of aggregates
+     */
+    private static int aggregate(Level level, int[] aggregate) {
+        int n = level.n;
+        Arrays.fill(aggregate, -1);
+        int count = 0;
+
+        // pass 1: seed an aggregate on each node whose strong neighbourhood is entirely free
+        for (int i = 0; i < n; i++) {
+            if (aggregate[i] >= 0) continue;
+            boolean free = true;
+            for (int k = level.rowPtr[i]; k < level.rowPtr[i + 1] && free; k++)
+                if (level.isStrong(i, k) && aggregate[level.colIndex[k]] >= 0) free = false;
+            if (!free) continue;
+            aggregate[i] = count;
+            for (int k = level.rowPtr[i]; k < level.rowPtr[i + 1]; k++)
+                if (level.isStrong(i, k)) aggregate[level.colIndex[k]] = count;
+            count++;
+        }
+
+        // pass 2: attach leftovers to an aggregate from pass 1 they are strongly coupled to
+        int[] joined = aggregate.clone();
+        for (int i = 0; i < n; i++) {
+            if (aggregate[i] >= 0) continue;
+            for (int k = level.rowPtr[i]; k < level.rowPtr[i + 1]; k++) {
+                if (level.isStrong(i, k) && aggregate[level.colIndex[k]] >= 0) {
+                    joined[i] = aggregate[level.colIndex[k]];
+                    break;
+                }
+            }
+        }
+        System.arraycopy(joined, 0, aggregate, 0, n);
+
+        // pass 3: whatever is left forms aggregates with its free strong neighbours
+        for (int i = 0; i < n; i++) {
+            if (aggregate[i] >= 0) continue;
+            aggregate[i] = count;
+            for (int k = level.rowPtr[i]; k < level.rowPtr[i + 1]; k++) {
+                int j = level.colIndex[k];
+                if (level.isStrong(i, k) && aggregate[j] < 0) aggregate[j] = count;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * P = (I − ω D⁻¹A) T, where T maps each aggregate to its nodes with
+     * weight 1 and ω = 4 / (3ρ) with ρ the Gershgorin bound on the spectral
+     * radius of D⁻¹A.
+     */
+    private static CSRMatrix smoothedProlongator(Level level, int[] aggregate, int coarseSize) {
+        int n = level.n;
+        double rho = 0;
+        for (int i = 0; i < n; i++) {
+            double sum = 0;
+            for (int k = level.rowPtr[i]; k < level.rowPtr[i + 1]; k++) sum += Math.abs(level.values[k]);
+            rho = Math.max(rho, sum * Math.abs(level.invDiag[i]));
+        }
+        double omega = rho > 0 ? 4.0 / (3.0 * rho) : 0.0;
+
+        // row i of A·T sums a_ij over the aggregates of the columns j; gather with a marker per row
+        int[] marker = new int[coarseSize];
+        Arrays.fill(marker, -1);
+        int[] rowPtr = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int count = 0;
+            for (int k = level.rowPtr[i]; k < level.rowPtr[i + 1]; k++) {
+                int c = aggregate[level.colIndex[k]];
+                if (marker[c] != i) {
+                    marker[c] = i;
+                    count++;
+                }
+            }
+            if (marker[aggregate[i]] != i) count++; // T's own entry, absent only with a zero diagonal
+            rowPtr[i + 1] = rowPtr[i] + count;
+        }
+
+        int[] colIndex = new int[rowPtr[n]];
+        double[] values = new double[rowPtr[n]];
+        double[] acc = new double[coarseSize];
+        Arrays.fill(marker, -1);
+        for (int i = 0; i < n; i++) {
+            int d = rowPtr[i];
+            for (int k = level.rowPtr[i]; k < level.rowPtr[i + 1]; k++) {
+                int c = aggregate[level.colIndex[k]];
+                if (marker[c] != i) {
+                    marker[c] = i;
+                    colIndex[d++] = c;
+                }
+                acc[c] += level.values[k];
+            }
+            if (marker[aggregate[i]] != i) colIndex[d++] = aggregate[i];
+            Arrays.sort(colIndex, rowPtr[i], d);
+
+            double scale = omega * level.invDiag[i];
+            for (int p = rowPtr[i]; p < d; p++) {
+                int c = colIndex[p];
+                values[p] = (c == aggregate[i] ? 1.0 : 0.0) - scale * acc[c];
+                acc[c] = 0.0;
+            }
+        }
+        return new CSRMatrix(n, coarseSize, values, colIndex, rowPtr);
+    }
+
+    // ------------------------------------------------
+    // Internal — level
+    // ------------------------------------------------
+
+    /** One level of the hierarchy: its operator, transfer operators and cycle buffers. */
+    private static final class Level {
+
+        final int n;
+        CSRMatrix A;
+        final int[] rowPtr;
+        final int[] colIndex;
+        final double[] values;
+        final double[] invDiag;
+
+        /** Prolongation from the next coarser level, and its transpose; null on the coarsest. */
+        CSRMatrix P;
+        CSRMatrix R;
+
+        final double[] x;
+        final double[] b;
+        final double[] r;
+
+        Level(CSRMatrix A) {
+            n = A.rows();
+            rowPtr = new int[n + 1];
+            colIndex = new int[A.nnz()];
+            values = new double[A.nnz()];
+            invDiag = new double[n];
+            for (int i = 0; i < n; i++) {
+                rowPtr[i + 1] = A.rowEnd(i);
+                for (int k = A.rowStart(i); k < A.rowEnd(i); k++) colIndex[k] = A.colAt(k);
+            }
+            x = new double[n];
+            b = new double[n];
+            r = new double[n];
+            load(A);
+        }
+
+        /** Captures the values of A, which has this level's pattern. */
+        void load(CSRMatrix A) {
+            this.A = A;
+            for (int k = 0; k < values.length; k++) values[k] = A.valueAt(k);
+            for (int i = 0; i < n; i++) {
+                double d = 0;
+                for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++)
+                    if (colIndex[k] == i) d = values[k];
+                invDiag[i] = d != 0 ? 1.0 / d : 1.0;
+            }
+        }
+
+        boolean matches(CSRMatrix A) {
+            if (A.rows() != n || A.cols() != n || A.nnz() != values.length) return false;
+            for (int i = 0; i < n; i++)
+                if (A.rowEnd(i) != rowPtr[i + 1]) return false;
+            for (int k = 0; k < colIndex.length; k++)
+                if (A.colAt(k) != colIndex[k]) return false;
+            return true;
+        }
+
+        boolean sameValues(CSRMatrix A) {
+            for (int k = 0; k < values.length; k++)
+                if (A.valueAt(k) != values[k]) return false;
+            return true;
+        }
+
+        boolean isStrong(int i, int k) {
+            int j = colIndex[k];
+            if (j == i) return false;
+            double a = values[k];
+            // |a_ij|² ≥ θ² |a_ii a_jj|, with the diagonals as stored inverses
+            return a * a * Math.abs(invDiag[i] * invDiag[j]) >= STRENGTH_THRESHOLD * STRENGTH_THRESHOLD;
+        }
+
+        void residual(double[] x, double[] b, double[] r) {
+            for (int i = 0; i < n; i++) {
+                double s = b[i];
+                for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) s -= values[k] * x[colIndex[k]];
+                r[i] = s;
+            }
+        }
+
+        void forwardSweep(double[] b, double[] x) {
+            for (int i = 0; i < n; i++) relax(i, b, x);
+        }
+
+        void backwardSweep(double[] b, double[] x) {
+            for (int i = n - 1; i >= 0; i--) relax(i, b, x);
+        }
+
+        /** Gauss-Seidel update of unknown i: x_i += (b_i − (Ax)_i) / a_ii. */
+        private void relax(int i, double[] b, double[] x) {
+            double s = b[i];
+            for (int k = rowPtr[i]; k < rowPtr[i + 1]; k++) s -= values[k] * x[colIndex[k]];
+            x[i] += s * invDiag[i];
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+
+import java.util.Arrays;
+
+/**
+ * Stabilised bi-conjugate gradient (BiCGSTAB) for square, non-symmetric
+ * systems Ax = b.
+ *
+ * <p>Unlike {@link LeastSquare}, it iterates on A itself rather than on the
+ * normal equations, so convergence depends on the conditioning of A and not
+ * of its square. Each iteration costs two products with A and, when given,
+ * two applications of the preconditioner, which is applied on the right so
+ * the residual tested is the true ‖b − Ax‖.
+ *
+ * <p>The iteration stops early on breakdown (a vanishing inner product, as
+ * on singular systems) and returns the last iterate; callers that need a
+ * guaranteed answer should check the residual.
+ */
+public class BiConjugateGradientStabilized {
+
+    /**
+     * Convenience overload: no preconditioner.
+     */
+    public static double[] solve(Matrix A, double[] x_init, double[] b, int maxIter, double tol) {
+        return solve(A, null, x_init, b, maxIter, tol);
+    }
+
+    /**
+     * Solve Ax = b with right-preconditioned BiCGSTAB.
+     *
+     * @param A       square matrix
+     * @param M       preconditioner for A, or {@code null} for none
+     * @param x_init  initial guess (length must match A.rows())
+     * @param b       right-hand side vector (length must match A.rows())
+     * @param maxIter maximum iterations, each costing two products with A
+     * @param tol     tolerance for the residual ‖b − Ax‖
+     * @return solution vector x
+     */
+    public static double[] solve(Matrix A, Preconditioner M, double[] x_init, double[] b, int maxIter, double tol) {
+        return solveDetailed(A, M, x_init, b, maxIter, tol, SolverResult.Detail.SUMMARY).x();
+    }
+
+    /**
+     * Same as {@link #solve(Matrix, Preconditioner, double[], double[], int, double)},
+     * with caller-owned storage so that repeated solves allocate nothing.
+     *
+     * @param x         receives the solution (length A.rows()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     * @return {@code x}
+     */
+    public static double[] solve(Matrix A, Preconditioner M, double[] x_init, double[] b, int maxIter, double tol,
+                                 double[] x, SolverWorkspace workspace) {
+        iterate(A, M, x_init, b, maxIter, tol, x, workspace, workspace.trace.reset(SolverResult.Detail.SUMMARY));
+        return x;
+    }
+
+    /**
+     * Same as {@link #solve(Matrix, Preconditioner, double[], double[], int, double)},
+     * also reporting how the iteration went; a breakdown shows up as
+     * {@link SolverResult.Status#BREAKDOWN}.
+     *
+     * @param detail what to record beyond the summary
+     */
+    public static SolverResult solveDetailed(Matrix A, Preconditioner M, double[] x_init, double[] b, int maxIter,
+                                             double tol, SolverResult.Detail detail) {
+        return solveDetailed(A, M, x_init, b, maxIter, tol, new double[A.rows()], new SolverWorkspace(A), detail);
+    }
+
+    /**
+     * Same as {@link #solveDetailed(Matrix, Preconditioner, double[], double[], int, double, SolverResult.Detail)},
+     * with caller-owned storage.
+     *
+     * @param x         receives the solution (length A.rows()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     */
+    public static SolverResult solveDetailed(Matrix A, Preconditioner M, double[] x_init, double[] b, int maxIter,
+                                             double tol, double[] x, SolverWorkspace workspace,
+                                             SolverResult.Detail detail) {
+        SolverTrace trace = workspace.trace.reset(detail);
+        iterate(A, M, x_init, b, maxIter, tol, x, workspace, trace);
+        return trace.result(x, tol);
+    }
+
+    private static void iterate(Matrix A, Preconditioner M, double[] x_init, double[] b, int maxIter, double tol,
+                                double[] x, SolverWorkspace workspace, SolverTrace trace) {
+        checkShapes(A, x_init, b, "BiCGSTAB");
+        checkOutput(A, x, workspace);
+        int n = A.rows();
+
+        if (x != x_init) System.arraycopy(x_init, 0, x, 0, n);
+        double[][] extra = workspace.krylov(2);
+        double[] r = workspace.r;
+        double[] rHat = extra[0];
+        double[] p = workspace.p;
+        double[] v = workspace.q;
+        double[] y = workspace.rhs;
+        double[] s = extra[1];
+        double[] z = workspace.z;
+        double[] t = workspace.temp;
+        Arrays.fill(p, 0.0);
+
+        // r = b - A * x
+        long start = trace.clock();
+        A.multiply(x, v);
+        trace.spmv(start);
+        VectorOps.sub(b, v, r);
+        double norm = VectorOps.norm(r);
+        trace.initial(norm);
+        if (norm < tol)
+            return;
+        System.arraycopy(r, 0, rHat, 0, n);
+        Arrays.fill(v, 0.0);
+
+        double rho = 1, alpha = 1, omega = 1;
+
+        for (int i = 0; i < maxIter; i++) {
+            double rhoNew = VectorOps.dot(rHat, r);
+            if (rhoNew == 0) { // breakdown
+                trace.breakdown();
+                break;
+            }
+
+            // p = r + β (p − ω v)
+            double beta = (rhoNew / rho) * (alpha / omega);
+            VectorOps.axpy(-omega, v, p);
+            VectorOps.xpay(r, beta, p);
+
+            precondition(M, p, y, trace);
+            start = trace.clock();
+            A.multiply(y, v);
+            trace.spmv(start);
+            double rHatV = VectorOps.dot(rHat, v);
+            if (rHatV == 0) { // breakdown
+                trace.breakdown();
+                break;
+            }
+            alpha = rhoNew / rHatV;
+
+            // s = r − α v
+            System.arraycopy(r, 0, s, 0, n);
+            VectorOps.axpy(-alpha, v, s);
+            norm = VectorOps.norm(s);
+            if (norm < tol) {
+                VectorOps.axpy(alpha, y, x);
+                trace.iteration(norm);
+                break;
+            }
+
+            precondition(M, s, z, trace);
+            start = trace.clock();
+            A.multiply(z, t);
+            trace.spmv(start);
+            double tt = VectorOps.dot(t, t);
+            if (tt == 0) { // s is already in the null space of A
+                VectorOps.axpy(alpha, y, x);
+                trace.iteration(norm);
+                trace.breakdown();
+                break;
+            }
+            omega = VectorOps.dot(t, s) / tt;
+
+            VectorOps.axpy(alpha, y, x);
+            VectorOps.axpy(omega, z, x);
+
+            // r = s − ω t
+            System.arraycopy(s, 0, r, 0, n);
+            VectorOps.axpy(-omega, t, r);
+
+            norm = VectorOps.norm(r);
+            trace.iteration(norm);
+            if (norm < tol)
+                break;
+            if (omega == 0) { // stagnation
+                trace.breakdown();
+                break;
+            }
+            rho = rhoNew;
+        }
+    }
+
+    /** z = M⁻¹ r, or a copy of r without preconditioner. */
+    static void precondition(Preconditioner M, double[] r, double[] z) {
+        if (M == null) System.arraycopy(r, 0, z, 0, r.length);
+        else M.apply(r, z);
+    }
+
+    /** {@link #precondition(Preconditioner, double[], double[])}, timed on {@code trace}. */
+    static void precondition(Preconditioner M, double[] r, double[] z, SolverTrace trace) {
+        long start = trace.clock();
+        precondition(M, r, z);
+        trace.preconditioner(start);
+    }
+
+    /** Throws unless {@code x} and {@code workspace} fit A. */
+    static void checkOutput(Matrix A, double[] x, SolverWorkspace workspace) {
+        if (x.length != A.rows())
+            throw new IllegalArgumentException(
+                    "Output vector length (" + x.length + ") does not match matrix size (" + A.rows() + ")"
+            );
+        workspace.check(A);
+    }
+
+    static void checkShapes(Matrix A, double[] x_init, double[] b, String solver) {
+        int n = A.rows();
+        int m = A.cols();
+
+        if (n != m)
+            throw new IllegalArgumentException(
+                    solver + " requires a square matrix: rows = " + n + ", cols = " + m
+            );
+
+        if (x_init.length != n)
+            throw new IllegalArgumentException(
+                    "Initial guess vector length (" + x_init.length + ") does not match matrix size (" + n + ")"
+            );
+
+        if (b.length != n)
+            throw new IllegalArgumentException(
+                    "RHS vector length (" + b.length + ") does not match matrix size (" + n + ")"
+            );
+    }
+}
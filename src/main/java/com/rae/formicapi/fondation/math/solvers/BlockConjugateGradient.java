@@ -0,0 +1,290 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+
+/**
+ * Conjugate Gradient for one matrix and k right-hand sides at once.
+ *
+ * <p>Runs k CG recurrences side by side, each with its own step lengths, and
+ * computes their k matrix products per iteration with a single block product
+ * ({@link Matrix#multiply(double[][], double[][])}), so a sparse matrix is
+ * streamed once per iteration instead of once per right-hand side. Every
+ * column converges exactly as {@link ConjugateGradient} or
+ * {@link LeastSquare} would on its own; a column that reaches the tolerance
+ * is dropped from later block products.
+ *
+ * <p>Typical use is a network topology solved against several
+ * boundary-condition sets, one per identical block in the world.
+ */
+public class BlockConjugateGradient {
+
+    // Convenience overload
+    public static double[][] solve(Matrix A, double[][] B, int maxIter, double tol) {
+        return solve(A, new double[B.length][A.cols()], B, maxIter, tol);
+    }
+
+    /**
+     * Solve AX = B for every column of B using Conjugate Gradient.
+     *
+     * @param A       square symmetric positive-definite matrix
+     * @param X_init  k initial guesses, each of length A.rows()
+     * @param B       k right-hand sides, each of length A.rows()
+     * @param maxIter maximum iterations
+     * @param tol     tolerance for each column's residual
+     * @return k solution vectors
+     * @throws ArithmeticException if a column breaks down (pᵀAp = 0) short of the tolerance
+     */
+    public static double[][] solve(Matrix A, double[][] X_init, double[][] B, int maxIter, double tol) {
+        int n = A.rows();
+        int m = A.cols();
+
+        if (n != m) {
+            throw new IllegalArgumentException(
+                    "Conjugate Gradient requires a square matrix: rows = " + n + ", cols = " + m
+            );
+        }
+        checkShapes(X_init, B, n, n);
+
+        double[][] X = copy(X_init);
+        SolverTrace[] traces = traces(B.length, SolverResult.Detail.SUMMARY);
+        iterate(A, X, B, maxIter, tol, false, traces);
+        throwOnBreakdown(traces, tol);
+        return X;
+    }
+
+    /**
+     * Same as {@link #solve(Matrix, double[][], double[][], int, double)},
+     * also reporting how each column's iteration went. A column that breaks
+     * down is reported as {@link SolverResult.Status#BREAKDOWN} rather than
+     * thrown. Block products are shared, so every column carries the
+     * timings of the whole solve.
+     *
+     * @param detail what to record beyond the summary
+     * @return one result per right-hand side
+     */
+    public static SolverResult[] solveDetailed(Matrix A, double[][] X_init, double[][] B, int maxIter, double tol,
+                                               SolverResult.Detail detail) {
+        int n = A.rows();
+        int m = A.cols();
+
+        if (n != m) {
+            throw new IllegalArgumentException(
+                    "Conjugate Gradient requires a square matrix: rows = " + n + ", cols = " + m
+            );
+        }
+        checkShapes(X_init, B, n, n);
+
+        double[][] X = copy(X_init);
+        SolverTrace[] traces = traces(B.length, detail);
+        iterate(A, X, B, maxIter, tol, false, traces);
+        return results(X, traces, tol);
+    }
+
+    // Convenience overload: zero initial guesses
+    public static double[][] solveLeastSquares(Matrix A, double[][] B, int maxIter, double tol) {
+        return solveLeastSquares(A, new double[B.length][A.cols()], B, maxIter, tol);
+    }
+
+    /**
+     * Solve AX = B in the least-squares sense for every column of B, with CG
+     * on the normal equations AᵀA X = AᵀB — the block form of
+     * {@link LeastSquare#solve(Matrix, double[], double[], int, double)}.
+     *
+     * @param A       input matrix, square or rectangular
+     * @param X_init  k initial guesses, each of length A.cols()
+     * @param B       k right-hand sides, each of length A.rows()
+     * @param maxIter maximum iterations
+     * @param tol     tolerance for each column's normal-equation residual
+     * @return k solution vectors
+     * @throws ArithmeticException if a column breaks down (‖Ap‖ = 0) short of the tolerance,
+     *                             as {@link #solve(Matrix, double[][], double[][], int, double)} does
+     */
+    public static double[][] solveLeastSquares(Matrix A, double[][] X_init, double[][] B, int maxIter, double tol) {
+        int n = A.rows();
+        int m = A.cols();
+        checkShapes(X_init, B, m, n);
+
+        double[][] AtB = new double[B.length][m];
+        A.transposeMultiply(B, AtB);
+
+        double[][] X = copy(X_init);
+        SolverTrace[] traces = traces(B.length, SolverResult.Detail.SUMMARY);
+        iterate(A, X, AtB, maxIter, tol, true, traces);
+        throwOnBreakdown(traces, tol);
+        return X;
+    }
+
+    /**
+     * Same as {@link #solveLeastSquares(Matrix, double[][], double[][], int, double)},
+     * also reporting how each column's iteration went; residuals are
+     * ‖Aᵀ(b − Ax)‖. A column that breaks down is reported as
+     * {@link SolverResult.Status#BREAKDOWN} rather than thrown. Block
+     * products are shared, so every column carries the timings of the whole
+     * solve.
+     *
+     * @param detail what to record beyond the summary
+     * @return one result per right-hand side
+     */
+    public static SolverResult[] solveLeastSquaresDetailed(Matrix A, double[][] X_init, double[][] B, int maxIter,
+                                                           double tol, SolverResult.Detail detail) {
+        int n = A.rows();
+        int m = A.cols();
+        checkShapes(X_init, B, m, n);
+
+        SolverTrace[] traces = traces(B.length, detail);
+        double[][] AtB = new double[B.length][m];
+        long start = traces.length > 0 ? traces[0].clock() : 0;
+        A.transposeMultiply(B, AtB);
+        chargeSpmv(traces, start);
+
+        double[][] X = copy(X_init);
+        iterate(A, X, AtB, maxIter, tol, true, traces);
+        return results(X, traces, tol);
+    }
+
+    /**
+     * Shared CG loop, updating X in place and reporting each column to its
+     * trace. With {@code normal} set, the operator applied is AᵀA (two block
+     * products per iteration) and {@code B} already holds AᵀB. A column that
+     * breaks down keeps its iterate and is marked on its trace.
+     */
+    private static void iterate(Matrix A, double[][] X, double[][] B, int maxIter, double tol, boolean normal,
+                                SolverTrace[] traces) {
+        int k = B.length;
+        int n = A.cols();
+        if (k == 0) return;
+
+        double[][] R = new double[k][n];
+        double[][] P = new double[k][n];
+        double[][] AP = new double[k][n];
+        double[][] temp = normal ? new double[k][A.rows()] : null;
+        double[] rsold = new double[k];
+
+        // R = B - op(A) X
+        long start = traces[0].clock();
+        apply(A, X, temp, AP, normal);
+        chargeSpmv(traces, start);
+        int[] active = new int[k];
+        int count = 0;
+        for (int j = 0; j < k; j++) {
+            VectorOps.sub(B[j], AP[j], R[j]);
+            System.arraycopy(R[j], 0, P[j], 0, n);
+            rsold[j] = VectorOps.dot(R[j], R[j]);
+            traces[j].initial(Math.sqrt(rsold[j]));
+            if (Math.sqrt(rsold[j]) >= tol) active[count++] = j;
+        }
+
+        double[][] activeP = null, activeAP = null, activeTemp = null;
+        for (int i = 0; i < maxIter && count > 0; i++) {
+
+            // Views on the unconverged columns; rebuilt only when some drop out
+            if (activeP == null || activeP.length != count) {
+                activeP = new double[count][];
+                activeAP = new double[count][];
+                activeTemp = normal ? new double[count][] : null;
+                for (int a = 0; a < count; a++) {
+                    activeP[a] = P[active[a]];
+                    activeAP[a] = AP[active[a]];
+                    if (normal) activeTemp[a] = temp[active[a]];
+                }
+            }
+
+            start = traces[0].clock();
+            apply(A, activeP, activeTemp, activeAP, normal);
+            chargeSpmv(traces, start);
+
+            int kept = 0;
+            for (int a = 0; a < count; a++) {
+                int j = active[a];
+                double dotPAp = VectorOps.dot(P[j], AP[j]);
+                if (dotPAp == 0) {
+                    traces[j].breakdown(); // keep this column's iterate
+                    continue;
+                }
+
+                double alpha = rsold[j] / dotPAp;
+                VectorOps.axpy(alpha, P[j], X[j]);
+                VectorOps.axpy(-alpha, AP[j], R[j]);
+
+                double rsnew = VectorOps.dot(R[j], R[j]);
+                traces[j].iteration(Math.sqrt(rsnew));
+                if (Math.sqrt(rsnew) < tol) continue;
+
+                VectorOps.xpay(R[j], rsnew / rsold[j], P[j]);
+                rsold[j] = rsnew;
+                active[kept++] = j;
+            }
+            count = kept;
+        }
+    }
+
+    private static SolverTrace[] traces(int k, SolverResult.Detail detail) {
+        SolverTrace[] traces = new SolverTrace[k];
+        for (int j = 0; j < k; j++) traces[j] = new SolverTrace(detail);
+        return traces;
+    }
+
+    /** The plain overloads signal a breakdown short of the tolerance by throwing, like {@link ConjugateGradient}. */
+    private static void throwOnBreakdown(SolverTrace[] traces, double tol) {
+        for (int j = 0; j < traces.length; j++) {
+            if (traces[j].status(tol) == SolverResult.Status.BREAKDOWN) {
+                throw new ArithmeticException(
+                        "Breakdown in Conjugate Gradient: division by zero in iteration " + traces[j].iterations() +
+                                " for right-hand side " + j
+                );
+            }
+        }
+    }
+
+    /** Charges a block product started at {@code start} to every column. */
+    private static void chargeSpmv(SolverTrace[] traces, long start) {
+        if (traces.length == 0) return;
+        long spent = traces[0].clock() - start;
+        for (SolverTrace trace : traces) trace.addSpmv(spent);
+    }
+
+    private static SolverResult[] results(double[][] X, SolverTrace[] traces, double tol) {
+        SolverResult[] results = new SolverResult[X.length];
+        for (int j = 0; j < X.length; j++) results[j] = traces[j].result(X[j], tol);
+        return results;
+    }
+
+    private static void apply(Matrix A, double[][] P, double[][] temp, double[][] result, boolean normal) {
+        if (normal) {
+            A.multiply(P, temp);
+            A.transposeMultiply(temp, result);
+        } else {
+            A.multiply(P, result);
+        }
+    }
+
+    private static void checkShapes(double[][] X_init, double[][] B, int xLength, int bLength) {
+        if (X_init.length != B.length) {
+            throw new IllegalArgumentException(
+                    "Number of initial guesses (" + X_init.length +
+                            ") does not match number of right-hand sides (" + B.length + ")"
+            );
+        }
+        for (int j = 0; j < B.length; j++) {
+            if (X_init[j].length != xLength) {
+                throw new IllegalArgumentException(
+                        "Initial guess " + j + " length (" + X_init[j].length +
+                                ") does not match matrix size (" + xLength + ")"
+                );
+            }
+            if (B[j].length != bLength) {
+                throw new IllegalArgumentException(
+                        "RHS vector " + j + " length (" + B[j].length +
+                                ") does not match matrix size (" + bLength + ")"
+                );
+            }
+        }
+    }
+
+    private static double[][] copy(double[][] X) {
+        double[][] out = new double[X.length][];
+        for (int j = 0; j < X.length; j++) out[j] = X[j].clone();
+        return out;
+    }
+}
@@ -1,5 +1,6 @@
 package com.rae.formicapi.fondation.math.solvers;
 
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
 import com.rae.formicapi.fondation.math.operators.Matrix;
 import com.rae.formicapi.fondation.math.operators.MutableMatrix;
 
@@ -21,89 +22,265 @@ public class ConjugateGradient {
      * @return solution vector x
      */
     public static double[] solve(Matrix A, double[] x_init, double[] b, int maxIter, double tol) {
+        return solve(A, x_init, b, maxIter, tol, new double[A.rows()], new SolverWorkspace(A));
+    }
 
-        int n = A.rows();
-        int m = A.cols();
+    /**
+     * Same as {@link #solve(Matrix, double[], double[], int, double)}, with
+     * caller-owned storage so that repeated solves allocate nothing.
+     *
+     * @param x         receives the solution (length A.rows()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     * @return {@code x}
+     */
+    public static double[] solve(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                 double[] x, SolverWorkspace workspace) {
+        SolverTrace trace = workspace.trace.reset(SolverResult.Detail.SUMMARY);
+        iterate(A, x_init, b, maxIter, tol, x, workspace, trace);
+        throwOnBreakdown(trace, tol);
+        return x;
+    }
 
-        // Shape checks
-        if (n != m) {
-            throw new IllegalArgumentException(
-                    "Conjugate Gradient requires a square matrix: rows = " + n + ", cols = " + m
-            );
-        }
+    /**
+     * Same as {@link #solve(Matrix, double[], double[], int, double)}, also
+     * reporting how the iteration went. A breakdown is reported as
+     * {@link SolverResult.Status#BREAKDOWN} rather than thrown.
+     *
+     * @param detail what to record beyond the summary
+     */
+    public static SolverResult solveDetailed(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                             SolverResult.Detail detail) {
+        return solveDetailed(A, x_init, b, maxIter, tol, new double[A.rows()], new SolverWorkspace(A), detail);
+    }
 
-        if (x_init.length != n) {
-            throw new IllegalArgumentException(
-                    "Initial guess vector length (" + x_init.length +
-                            ") does not match matrix size (" + n + ")"
-            );
-        }
+    /**
+     * Same as {@link #solveDetailed(Matrix, double[], double[], int, double, SolverResult.Detail)},
+     * with caller-owned storage.
+     *
+     * @param x         receives the solution (length A.rows()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     */
+    public static SolverResult solveDetailed(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                             double[] x, SolverWorkspace workspace, SolverResult.Detail detail) {
+        SolverTrace trace = workspace.trace.reset(detail);
+        iterate(A, x_init, b, maxIter, tol, x, workspace, trace);
+        return trace.result(x, tol);
+    }
 
-        if (b.length != n) {
-            throw new IllegalArgumentException(
-                    "RHS vector length (" + b.length +
-                            ") does not match matrix size (" + n + ")"
-            );
-        }
+    private static void iterate(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                double[] x, SolverWorkspace workspace, SolverTrace trace) {
+        checkShapes(A, x_init, b);
+        checkOutput(A, x, workspace);
+        int n = A.rows();
 
-        double[] x = x_init.clone();
-        double[] r = new double[n];
-        double[] p = new double[n];
-        double[] Ap = new double[n];
+        if (x != x_init) System.arraycopy(x_init, 0, x, 0, n);
+        double[] r = workspace.r;
+        double[] p = workspace.p;
+        double[] Ap = workspace.q;
 
         // r = b - A * x
+        long start = trace.clock();
         A.multiply(x, Ap);
-        for (int i = 0; i < n; i++) {
-            r[i] = b[i] - Ap[i];
-            p[i] = r[i]; // initial search direction
-        }
+        trace.spmv(start);
+        VectorOps.sub(b, Ap, r);
+        System.arraycopy(r, 0, p, 0, n); // initial search direction
 
-        double rsold = dot(r, r);
+        double rsold = VectorOps.dot(r, r);
+        trace.initial(Math.sqrt(rsold));
 
         for (int i = 0; i < maxIter; i++) {
 
-            A.multiply(p, Ap);
-
-            double dotPAp = dot(p, Ap);
+            start = trace.clock();
+            double dotPAp = A.multiplyDot(p, Ap); // Ap and p·Ap in one sweep
+            trace.spmv(start);
             if (dotPAp == 0) {
-                throw new ArithmeticException(
-                        "Breakdown in Conjugate Gradient: division by zero in iteration " + i
-                );
+                trace.breakdown();
+                break;
             }
 
             double alpha = rsold / dotPAp;
 
-            for (int j = 0; j < n; j++)
-                x[j] += alpha * p[j];
-
-            for (int j = 0; j < n; j++)
-                r[j] -= alpha * Ap[j];
+            VectorOps.axpy(alpha, p, x);
+            VectorOps.axpy(-alpha, Ap, r);
 
-            double rsnew = dot(r, r);
+            double rsnew = VectorOps.dot(r, r);
+            trace.iteration(Math.sqrt(rsnew));
 
             if (Math.sqrt(rsnew) < tol)
                 break;
 
             double beta = rsnew / rsold;
 
-            for (int j = 0; j < n; j++)
-                p[j] = r[j] + beta * p[j];
+            VectorOps.xpay(r, beta, p);
 
             rsold = rsnew;
         }
+    }
+
+    /**
+     * Solve Ax = b using Preconditioned Conjugate Gradient.
+     *
+     * <p>Same recurrence as {@link #solve(Matrix, double[], double[], int, double)},
+     * run on M⁻¹A: each iteration applies {@code M} once to the residual and
+     * uses r·z in place of r·r. Convergence is still tested on the true
+     * residual, ‖b − Ax‖ &lt; tol, so results compare directly with plain CG.
+     *
+     * @param A       square symmetric positive definite matrix
+     * @param M       symmetric positive definite preconditioner for A
+     * @param x_init  initial guess (length must match A.rows())
+     * @param b       right-hand side vector (length must match A.rows())
+     * @param maxIter maximum iterations
+     * @param tol     tolerance for residual
+     * @return solution vector x
+     */
+    public static double[] solve(Matrix A, Preconditioner M, double[] x_init, double[] b, int maxIter, double tol) {
+        return solve(A, M, x_init, b, maxIter, tol, new double[A.rows()], new SolverWorkspace(A));
+    }
 
+    /**
+     * Same as {@link #solve(Matrix, Preconditioner, double[], double[], int, double)},
+     * with caller-owned storage so that repeated solves allocate nothing.
+     *
+     * @param x         receives the solution (length A.rows()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     * @return {@code x}
+     */
+    public static double[] solve(Matrix A, Preconditioner M, double[] x_init, double[] b, int maxIter, double tol,
+                                 double[] x, SolverWorkspace workspace) {
+        SolverTrace trace = workspace.trace.reset(SolverResult.Detail.SUMMARY);
+        iterate(A, M, x_init, b, maxIter, tol, x, workspace, trace);
+        throwOnBreakdown(trace, tol);
         return x;
     }
 
-    private static double dot(double[] a, double[] b) {
-        if (a.length != b.length) {
+    /**
+     * Same as {@link #solve(Matrix, Preconditioner, double[], double[], int, double)},
+     * also reporting how the iteration went. A breakdown is reported as
+     * {@link SolverResult.Status#BREAKDOWN} rather than thrown.
+     *
+     * @param detail what to record beyond the summary
+     */
+    public static SolverResult solveDetailed(Matrix A, Preconditioner M, double[] x_init, double[] b, int maxIter,
+                                             double tol, SolverResult.Detail detail) {
+        return solveDetailed(A, M, x_init, b, maxIter, tol, new double[A.rows()], new SolverWorkspace(A), detail);
+    }
+
+    /**
+     * Same as {@link #solveDetailed(Matrix, Preconditioner, double[], double[], int, double, SolverResult.Detail)},
+     * with caller-owned storage.
+     *
+     * @param x         receives the solution (length A.rows()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     */
+    public static SolverResult solveDetailed(Matrix A, Preconditioner M, double[] x_init, double[] b, int maxIter,
+                                             double tol, double[] x, SolverWorkspace workspace,
+                                             SolverResult.Detail detail) {
+        SolverTrace trace = workspace.trace.reset(detail);
+        iterate(A, M, x_init, b, maxIter, tol, x, workspace, trace);
+        return trace.result(x, tol);
+    }
+
+    private static void iterate(Matrix A, Preconditioner M, double[] x_init, double[] b, int maxIter, double tol,
+                                double[] x, SolverWorkspace workspace, SolverTrace trace) {
+        checkShapes(A, x_init, b);
+        checkOutput(A, x, workspace);
+        int n = A.rows();
+
+        if (x != x_init) System.arraycopy(x_init, 0, x, 0, n);
+        double[] r = workspace.r;
+        double[] z = workspace.z;
+        double[] p = workspace.p;
+        double[] Ap = workspace.q;
+
+        // r = b - A * x
+        long start = trace.clock();
+        A.multiply(x, Ap);
+        trace.spmv(start);
+        VectorOps.sub(b, Ap, r);
+        double norm = VectorOps.norm(r);
+        trace.initial(norm);
+        if (norm < tol)
+            return;
+
+        start = trace.clock();
+        M.apply(r, z);
+        trace.preconditioner(start);
+        System.arraycopy(z, 0, p, 0, n); // initial search direction
+
+        double rzold = VectorOps.dot(r, z);
+
+        for (int i = 0; i < maxIter; i++) {
+
+            start = trace.clock();
+            double dotPAp = A.multiplyDot(p, Ap);
+            trace.spmv(start);
+            if (dotPAp == 0) {
+                trace.breakdown();
+                break;
+            }
+
+            double alpha = rzold / dotPAp;
+
+            VectorOps.axpy(alpha, p, x);
+            VectorOps.axpy(-alpha, Ap, r);
+
+            norm = VectorOps.norm(r);
+            trace.iteration(norm);
+            if (norm < tol)
+                break;
+
+            start = trace.clock();
+            M.apply(r, z);
+            trace.preconditioner(start);
+            double rznew = VectorOps.dot(r, z);
+
+            double beta = rznew / rzold;
+
+            VectorOps.xpay(z, beta, p);
+
+            rzold = rznew;
+        }
+    }
+
+    /** The legacy overloads signal a breakdown by throwing. */
+    private static void throwOnBreakdown(SolverTrace trace, double tol) {
+        if (trace.status(tol) == SolverResult.Status.BREAKDOWN) {
+            throw new ArithmeticException(
+                    "Breakdown in Conjugate Gradient: division by zero in iteration " + trace.iterations()
+            );
+        }
+    }
+
+    private static void checkOutput(Matrix A, double[] x, SolverWorkspace workspace) {
+        if (x.length != A.rows())
+            throw new IllegalArgumentException(
+                    "Output vector length (" + x.length + ") does not match matrix size (" + A.rows() + ")"
+            );
+        workspace.check(A);
+    }
+
+    private static void checkShapes(Matrix A, double[] x_init, double[] b) {
+        int n = A.rows();
+        int m = A.cols();
+
+        if (n != m) {
+            throw new IllegalArgumentException(
+                    "Conjugate Gradient requires a square matrix: rows = " + n + ", cols = " + m
+            );
+        }
+
+        if (x_init.length != n) {
+            throw new IllegalArgumentException(
+                    "Initial guess vector length (" + x_init.length +
+                            ") does not match matrix size (" + n + ")"
+            );
+        }
+
+        if (b.length != n) {
             throw new IllegalArgumentException(
-                    "Cannot compute dot product: vector lengths differ (" + a.length + " vs " + b.length + ")"
+                    "RHS vector length (" + b.length +
+                            ") does not match matrix size (" + n + ")"
             );
         }
-        double sum = 0;
-        for (int i = 0; i < a.length; i++)
-            sum += a[i] * b[i];
-        return sum;
     }
 }
@@ -0,0 +1,188 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+
+import java.util.Arrays;
+
+/**
+ * Restarted generalised minimal residual method, GMRES(m), for square,
+ * non-symmetric systems Ax = b.
+ *
+ * <p>Each cycle builds an orthonormal Krylov basis of up to m vectors with
+ * modified Gram-Schmidt and picks the combination minimising ‖b − Ax‖,
+ * tracked through Givens rotations of the Hessenberg matrix at no extra
+ * product. The residual therefore never increases, which makes GMRES the
+ * robust choice where {@link BiConjugateGradientStabilized} stalls or breaks down; the price is
+ * m + 1 stored vectors and orthogonalisation work growing with the cycle.
+ * One product with A per iteration. The preconditioner, when given, is
+ * applied on the right.
+ */
+public class GeneralizedMinimalResidual {
+
+    /** Default restart length. */
+    public static final int DEFAULT_RESTART = 30;
+
+    /**
+     * Convenience overload: no preconditioner, {@link #DEFAULT_RESTART}.
+     */
+    public static double[] solve(Matrix A, double[] x_init, double[] b, int maxIter, double tol) {
+        return solve(A, null, x_init, b, DEFAULT_RESTART, maxIter, tol);
+    }
+
+    /**
+     * Solve Ax = b with right-preconditioned GMRES(m).
+     *
+     * @param A       square matrix
+     * @param M       preconditioner for A, or {@code null} for none
+     * @param x_init  initial guess (length must match A.rows())
+     * @param b       right-hand side vector (length must match A.rows())
+     * @param restart Krylov vectors per cycle (m), at least 1
+     * @param maxIter maximum iterations summed over all cycles, one product with A each
+     * @param tol     tolerance for the residual ‖b − Ax‖
+     * @return solution vector x
+     */
+    public static double[] solve(Matrix A, Preconditioner M, double[] x_init, double[] b,
+                                 int restart, int maxIter, double tol) {
+        return solveDetailed(A, M, x_init, b, restart, maxIter, tol, SolverResult.Detail.SUMMARY).x();
+    }
+
+    /**
+     * Same as {@link #solve(Matrix, Preconditioner, double[], double[], int, int, double)},
+     * with caller-owned storage so that repeated solves allocate nothing once
+     * the workspace holds a basis of {@code restart + 1} vectors.
+     *
+     * @param x         receives the solution (length A.rows()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     * @return {@code x}
+     */
+    public static double[] solve(Matrix A, Preconditioner M, double[] x_init, double[] b,
+                                 int restart, int maxIter, double tol, double[] x, SolverWorkspace workspace) {
+        iterate(A, M, x_init, b, restart, maxIter, tol, x, workspace,
+                workspace.trace.reset(SolverResult.Detail.SUMMARY));
+        return x;
+    }
+
+    /**
+     * Same as {@link #solve(Matrix, Preconditioner, double[], double[], int, int, double)},
+     * also reporting how the iteration went. The history holds the residual
+     * estimate of each iteration; the final residual is the true one,
+     * recomputed at the last restart.
+     *
+     * @param detail what to record beyond the summary
+     */
+    public static SolverResult solveDetailed(Matrix A, Preconditioner M, double[] x_init, double[] b,
+                                             int restart, int maxIter, double tol, SolverResult.Detail detail) {
+        return solveDetailed(A, M, x_init, b, restart, maxIter, tol, new double[A.rows()], new SolverWorkspace(A),
+                detail);
+    }
+
+    /**
+     * Same as {@link #solveDetailed(Matrix, Preconditioner, double[], double[], int, int, double, SolverResult.Detail)},
+     * with caller-owned storage.
+     *
+     * @param x         receives the solution (length A.rows()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     */
+    public static SolverResult solveDetailed(Matrix A, Preconditioner M, double[] x_init, double[] b,
+                                             int restart, int maxIter, double tol, double[] x,
+                                             SolverWorkspace workspace, SolverResult.Detail detail) {
+        SolverTrace trace = workspace.trace.reset(detail);
+        iterate(A, M, x_init, b, restart, maxIter, tol, x, workspace, trace);
+        return trace.result(x, tol);
+    }
+
+    private static void iterate(Matrix A, Preconditioner M, double[] x_init, double[] b, int restart, int maxIter,
+                                double tol, double[] x, SolverWorkspace workspace, SolverTrace trace) {
+        BiConjugateGradientStabilized.checkShapes(A, x_init, b, "GMRES");
+        if (restart < 1)
+            throw new IllegalArgumentException("Restart length must be positive, got: " + restart);
+        BiConjugateGradientStabilized.checkOutput(A, x, workspace);
+        int n = A.rows();
+        int m = Math.min(restart, n);
+
+        if (x != x_init) System.arraycopy(x_init, 0, x, 0, n);
+        double[] r = workspace.r;
+        double[] w = workspace.q;
+        double[] z = workspace.z;
+        double[][] V = workspace.krylov(m + 1);
+        double[][] H = workspace.hessenberg(m); // H[i][j]: row i, column j
+        double[][] givens = workspace.givens(m);
+        double[] cs = givens[0];
+        double[] sn = givens[1];
+        double[] g = givens[2];
+        double[] y = givens[3];
+
+        int iterations = 0;
+        while (true) {
+            // r = b - A * x, the true residual at every restart
+            long start = trace.clock();
+            A.multiply(x, w);
+            trace.spmv(start);
+            VectorOps.sub(b, w, r);
+            double beta = VectorOps.norm(r);
+            if (iterations == 0) trace.initial(beta);
+            else trace.residual(beta);
+            if (beta < tol || iterations >= maxIter)
+                break;
+
+            for (int i = 0; i < n; i++) V[0][i] = r[i] / beta;
+            Arrays.fill(g, 0.0);
+            g[0] = beta;
+
+            int k = 0;
+            while (k < m && iterations < maxIter) {
+                BiConjugateGradientStabilized.precondition(M, V[k], z, trace);
+                start = trace.clock();
+                A.multiply(z, w);
+                trace.spmv(start);
+                iterations++;
+
+                // modified Gram-Schmidt against the basis so far
+                for (int i = 0; i <= k; i++) {
+                    double h = VectorOps.dot(w, V[i]);
+                    H[i][k] = h;
+                    VectorOps.axpy(-h, V[i], w);
+                }
+                double hNext = VectorOps.norm(w);
+
+                // earlier rotations on the new column, then a new one to zero H[k+1][k]
+                for (int i = 0; i < k; i++) {
+                    double a = H[i][k], c = H[i + 1][k];
+                    H[i][k] = cs[i] * a + sn[i] * c;
+                    H[i + 1][k] = -sn[i] * a + cs[i] * c;
+                }
+                double d = Math.hypot(H[k][k], hNext);
+                if (d == 0) { // A z = 0: nothing more to gain from this cycle
+                    trace.iterations(1);
+                    break;
+                }
+                cs[k] = H[k][k] / d;
+                sn[k] = hNext / d;
+                H[k][k] = d;
+                g[k + 1] = -sn[k] * g[k];
+                g[k] = cs[k] * g[k];
+                k++;
+                trace.iteration(Math.abs(g[k]));
+
+                if (Math.abs(g[k]) < tol || hNext == 0) break; // converged, or exact (happy) breakdown
+                for (int i = 0; i < n; i++) V[k][i] = w[i] / hNext;
+            }
+            if (k == 0) { // stagnated
+                trace.breakdown();
+                break;
+            }
+
+            // y = H⁻¹ g on the k×k upper triangle, then x += M⁻¹ (V y)
+            for (int i = k - 1; i >= 0; i--) {
+                double s = g[i];
+                for (int j = i + 1; j < k; j++) s -= H[i][j] * y[j];
+                y[i] = s / H[i][i];
+            }
+            Arrays.fill(w, 0.0);
+            for (int j = 0; j < k; j++) VectorOps.axpy(y[j], V[j], w);
+            BiConjugateGradientStabilized.precondition(M, w, z, trace);
+            VectorOps.axpy(1.0, z, x);
+        }
+    }
+}
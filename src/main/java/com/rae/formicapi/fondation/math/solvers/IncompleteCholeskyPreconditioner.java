@@ -0,0 +1,115 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+
+/**
+ * Zero fill-in incomplete Cholesky preconditioner, IC(0): M = L Lᵀ where L
+ * has exactly the sparsity of the lower triangle of A.
+ *
+ * <p>The factorisation is the ordinary row-by-row Cholesky recurrence with
+ * every update that would fall outside A's pattern dropped, so L costs no
+ * more memory than half of A. Applying M⁻¹ is one forward and one backward
+ * substitution. On nodal networks it usually cuts CG iterations well below
+ * {@link JacobiPreconditioner} or {@link SSORPreconditioner}, for a one-off
+ * factorisation of about the cost of a few products.
+ *
+ * <p>Only the lower triangle of {@code A} is read, and its rows must be
+ * sorted by column, as every {@code toCSR()} of this library produces them.
+ * IC(0) can break down on matrices that are not diagonally dominant: a pivot
+ * that is not positive is replaced by the original diagonal entry (or 1),
+ * which keeps M positive definite at some loss of quality.
+ */
+public class IncompleteCholeskyPreconditioner implements Preconditioner {
+
+    private final int n;
+    /** Lower factor L in CSR; each row ends with its diagonal. */
+    private final int[] rowPtr;
+    private final int[] colIndex;
+    private final double[] values;
+
+    /**
+     * Factorises the lower triangle of {@code A}.
+     *
+     * @param A square symmetric matrix whose entries are captured
+     */
+    public IncompleteCholeskyPreconditioner(CSRMatrix A) {
+        if (A.rows() != A.cols())
+            throw new IllegalArgumentException(
+                    "Incomplete Cholesky requires a square matrix: rows = " + A.rows() + ", cols = " + A.cols());
+        this.n = A.rows();
+
+        // lower triangle of A, diagonal stored last (explicitly, even if absent)
+        rowPtr = new int[n + 1];
+        for (int r = 0; r < n; r++) {
+            int count = 1;
+            for (int k = A.rowStart(r); k < A.rowEnd(r); k++)
+                if (A.colAt(k) < r) count++;
+            rowPtr[r + 1] = rowPtr[r] + count;
+        }
+        colIndex = new int[rowPtr[n]];
+        values = new double[rowPtr[n]];
+        for (int r = 0; r < n; r++) {
+            int d = rowPtr[r];
+            int diag = rowPtr[r + 1] - 1;
+            colIndex[diag] = r;
+            for (int k = A.rowStart(r); k < A.rowEnd(r); k++) {
+                int c = A.colAt(k);
+                if (c < r) {
+                    colIndex[d] = c;
+                    values[d++] = A.valueAt(k);
+                } else if (c == r) {
+                    values[diag] = A.valueAt(k);
+                }
+            }
+        }
+
+        factorise();
+    }
+
+    private void factorise() {
+        for (int i = 0; i < n; i++) {
+            int start = rowPtr[i];
+            int diag = rowPtr[i + 1] - 1;
+            double original = values[diag];
+
+            for (int p = start; p < diag; p++) {
+                int j = colIndex[p];
+                // L[i][j] = (A[i][j] − Σ_{m<j} L[i][m]·L[j][m]) / L[j][j], over the common pattern
+                double s = values[p];
+                int a = start, b = rowPtr[j], bEnd = rowPtr[j + 1] - 1;
+                while (a < p && b < bEnd) {
+                    int ca = colIndex[a], cb = colIndex[b];
+                    if (ca == cb) s -= values[a++] * values[b++];
+                    else if (ca < cb) a++;
+                    else b++;
+                }
+                values[p] = s / values[bEnd];
+            }
+
+            double pivot = original;
+            for (int p = start; p < diag; p++) pivot -= values[p] * values[p];
+            if (!(pivot > 0.0)) pivot = original > 0.0 ? original : 1.0;
+            values[diag] = Math.sqrt(pivot);
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        // forward: L y = r
+        for (int i = 0; i < n; i++) {
+            int diag = rowPtr[i + 1] - 1;
+            double s = r[i];
+            for (int k = rowPtr[i]; k < diag; k++)
+                s -= values[k] * z[colIndex[k]];
+            z[i] = s / values[diag];
+        }
+        // backward: Lᵀ z = y, scattering along the rows of L
+        for (int i = n - 1; i >= 0; i--) {
+            int diag = rowPtr[i + 1] - 1;
+            double zi = z[i] / values[diag];
+            z[i] = zi;
+            for (int k = rowPtr[i]; k < diag; k++)
+                z[colIndex[k]] -= values[k] * zi;
+        }
+    }
+}
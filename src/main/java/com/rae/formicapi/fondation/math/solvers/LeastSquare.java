@@ -1,5 +1,7 @@
 package com.rae.formicapi.fondation.math.solvers;
 
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
 import com.rae.formicapi.fondation.math.operators.Matrix;
 
 public class LeastSquare {
@@ -23,82 +25,260 @@ public class LeastSquare {
      * @return solution vector x
      */
     public static double[] solve(Matrix A, double[] x_init, double[] b, int maxIter, double tol) {
-        int n = A.rows();
-        int m = A.cols();
+        return solve(A, x_init, b, maxIter, tol, new double[A.cols()], new SolverWorkspace(A));
+    }
 
-        if (b.length != n)
-            throw new IllegalArgumentException(
-                    "RHS vector length (" + b.length + ") does not match matrix rows (" + n + ")"
-            );
+    /**
+     * Same as {@link #solve(Matrix, double[], double[], int, double)}, with
+     * caller-owned storage so that repeated solves allocate nothing.
+     *
+     * @param x         receives the solution (length A.cols()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     * @return {@code x}
+     */
+    public static double[] solve(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                 double[] x, SolverWorkspace workspace) {
+        iterate(A, x_init, b, maxIter, tol, x, workspace, workspace.trace.reset(SolverResult.Detail.SUMMARY));
+        return x;
+    }
 
-        if (x_init.length != m)
-            throw new IllegalArgumentException(
-                    "Initial guess length (" + x_init.length + ") does not match matrix columns (" + m + ")"
-            );
+    /**
+     * Same as {@link #solve(Matrix, double[], double[], int, double)}, also
+     * reporting how the iteration went; the residual is ‖Aᵀ(b − Ax)‖.
+     *
+     * @param detail what to record beyond the summary
+     */
+    public static SolverResult solveDetailed(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                             SolverResult.Detail detail) {
+        return solveDetailed(A, x_init, b, maxIter, tol, new double[A.cols()], new SolverWorkspace(A), detail);
+    }
+
+    /**
+     * Same as {@link #solveDetailed(Matrix, double[], double[], int, double, SolverResult.Detail)},
+     * with caller-owned storage.
+     *
+     * @param x         receives the solution (length A.cols()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     */
+    public static SolverResult solveDetailed(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                             double[] x, SolverWorkspace workspace, SolverResult.Detail detail) {
+        SolverTrace trace = workspace.trace.reset(detail);
+        iterate(A, x_init, b, maxIter, tol, x, workspace, trace);
+        return trace.result(x, tol);
+    }
+
+    /**
+     * CG on the normal equations into {@code x}, reporting to {@code trace};
+     * {@link MixedPrecisionLeastSquare} hands over its own trace to finish a
+     * solve here.
+     */
+    static void iterate(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                        double[] x, SolverWorkspace workspace, SolverTrace trace) {
+        checkShapes(A, x_init, b, x, workspace);
+        if (x != x_init) System.arraycopy(x_init, 0, x, 0, x.length);
 
         // Compute Aᵀ * b
-        double[] Atb = new double[m];
+        double[] Atb = workspace.rhs;
+        long start = trace.clock();
         A.transposeMultiply(b, Atb);
+        trace.spmv(start);
 
         // Use CG on normal equations AᵀA x = Aᵀb
-        return conjugateGradientNormalEq(A, x_init.clone(), Atb, maxIter, tol);
+        conjugateGradientNormalEq(A, x, Atb, maxIter, tol, workspace, trace);
     }
 
     /**
-     * CG on AᵀA x = Aᵀb without forming AᵀA explicitly
+     * Solve Ax = b in least-squares sense with plain CG on an explicit,
+     * cached normal matrix AᵀA.
+     *
+     * <p>AᵀA is formed once per sparsity pattern by
+     * {@link CSRMatrix#normalMatrix()} and only refilled when A's values
+     * change, so repeated solves against the same A (every outer iteration
+     * of a steady-state solve) pay one SpMV per iteration instead of two.
+     * Worth it when AᵀA stays sparse, as for nodal networks; for operators
+     * that are not compiled CSR with a stable pattern this falls back to
+     * {@link #solve(Matrix, double[], double[], int, double)}.
+     *
+     * @param A       input matrix
+     * @param x_init  initial guess (length must match A.cols())
+     * @param b       right-hand side vector (length must match A.rows())
+     * @param maxIter maximum iterations
+     * @param tol     tolerance for residual
+     * @return solution vector x
      */
-    private static double[] conjugateGradientNormalEq(Matrix A, double[] x, double[] Atb, int maxIter, double tol) {
-        int n = A.rows();
-        int m = A.cols();
+    public static double[] solveNormalMatrix(Matrix A, double[] x_init, double[] b, int maxIter, double tol) {
+        return solveNormalMatrix(A, x_init, b, maxIter, tol, new double[A.cols()], new SolverWorkspace(A));
+    }
 
-        double[] r = new double[m]; // residual
-        double[] p = new double[m]; // search direction
-        double[] Ap = new double[m]; // AᵀA * p
-        double[] temp = new double[n]; // temp = A*p
+    /**
+     * Same as {@link #solveNormalMatrix(Matrix, double[], double[], int, double)},
+     * with caller-owned storage so that repeated solves allocate nothing
+     * once the normal matrix is cached.
+     *
+     * @param x         receives the solution (length A.cols()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     * @return {@code x}
+     */
+    public static double[] solveNormalMatrix(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                             double[] x, SolverWorkspace workspace) {
+        SolverTrace trace = workspace.trace.reset(SolverResult.Detail.SUMMARY);
+        iterateNormalMatrix(A, x_init, b, maxIter, tol, x, workspace, trace);
+        return x;
+    }
 
-        // r = Atb - Aᵀ(A*x)
-        multiplyAtA(A, x, temp, Ap);
-        for (int i = 0; i < m; i++) {
-            r[i] = Atb[i] - Ap[i];
-            p[i] = r[i];
+    /**
+     * Same as {@link #solveNormalMatrix(Matrix, double[], double[], int, double)},
+     * also reporting how the iteration went; the residual is ‖Aᵀ(b − Ax)‖.
+     *
+     * @param detail what to record beyond the summary
+     */
+    public static SolverResult solveNormalMatrixDetailed(Matrix A, double[] x_init, double[] b, int maxIter,
+                                                         double tol, SolverResult.Detail detail) {
+        return solveNormalMatrixDetailed(A, x_init, b, maxIter, tol, new double[A.cols()], new SolverWorkspace(A),
+                detail);
+    }
+
+    /**
+     * Same as {@link #solveNormalMatrixDetailed(Matrix, double[], double[], int, double, SolverResult.Detail)},
+     * with caller-owned storage.
+     *
+     * @param x         receives the solution (length A.cols()); may be {@code x_init} itself
+     * @param workspace scratch vectors sized for A
+     */
+    public static SolverResult solveNormalMatrixDetailed(Matrix A, double[] x_init, double[] b, int maxIter,
+                                                         double tol, double[] x, SolverWorkspace workspace,
+                                                         SolverResult.Detail detail) {
+        SolverTrace trace = workspace.trace.reset(detail);
+        iterateNormalMatrix(A, x_init, b, maxIter, tol, x, workspace, trace);
+        return trace.result(x, tol);
+    }
+
+    private static void iterateNormalMatrix(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                            double[] x, SolverWorkspace workspace, SolverTrace trace) {
+        CSRMatrix csr = A.compiledCSR();
+        if (csr == null) {
+            iterate(A, x_init, b, maxIter, tol, x, workspace, trace);
+            return;
         }
 
-        double rsold = dot(r, r);
+        checkShapes(A, x_init, b, x, workspace);
+        if (x != x_init) System.arraycopy(x_init, 0, x, 0, x.length);
 
-        for (int k = 0; k < maxIter; k++) {
-            multiplyAtA(A, p, temp, Ap);
+        double[] Atb = workspace.rhs;
+        long start = trace.clock();
+        csr.transposeMultiply(b, Atb);
+        CSRMatrix AtA = csr.normalMatrix(); // refilled here when A's values changed
+        trace.spmv(start);
+
+        conjugateGradient(AtA, x, Atb, maxIter, tol, workspace, trace);
+    }
+
+    private static void checkShapes(Matrix A, double[] x_init, double[] b, double[] x, SolverWorkspace workspace) {
+        if (b.length != A.rows())
+            throw new IllegalArgumentException(
+                    "RHS vector length (" + b.length + ") does not match matrix rows (" + A.rows() + ")"
+            );
+
+        if (x_init.length != A.cols())
+            throw new IllegalArgumentException(
+                    "Initial guess length (" + x_init.length + ") does not match matrix columns (" + A.cols() + ")"
+            );
+
+        if (x.length != A.cols())
+            throw new IllegalArgumentException(
+                    "Output length (" + x.length + ") does not match matrix columns (" + A.cols() + ")"
+            );
+
+        workspace.check(A);
+    }
+
+    /**
+     * CG on the explicit normal matrix; stops on breakdown like
+     * {@link #conjugateGradientNormalEq}, so an exact initial guess is returned as is.
+     */
+    private static void conjugateGradient(Matrix AtA, double[] x, double[] Atb, int maxIter, double tol,
+                                          SolverWorkspace workspace, SolverTrace trace) {
+        int m = AtA.cols();
 
-            double dotPAp = dot(p, Ap);
-            if (dotPAp == 0) break; // breakdown
+        double[] r = workspace.r; // residual
+        double[] p = workspace.p; // search direction
+        double[] Ap = workspace.q; // AᵀA * p
+
+        // r = Atb - AᵀA*x
+        long start = trace.clock();
+        AtA.multiply(x, Ap);
+        trace.spmv(start);
+        VectorOps.sub(Atb, Ap, r);
+        System.arraycopy(r, 0, p, 0, m);
+
+        double rsold = VectorOps.dot(r, r);
+        trace.initial(Math.sqrt(rsold));
+
+        for (int k = 0; k < maxIter; k++) {
+            start = trace.clock();
+            double dotPAp = AtA.multiplyDot(p, Ap);
+            trace.spmv(start);
+            if (dotPAp == 0) { // breakdown
+                trace.breakdown();
+                break;
+            }
             double alpha = rsold / dotPAp;
 
-            for (int i = 0; i < m; i++) x[i] += alpha * p[i];
-            for (int i = 0; i < m; i++) r[i] -= alpha * Ap[i];
+            VectorOps.axpy(alpha, p, x);
+            VectorOps.axpy(-alpha, Ap, r);
 
-            double rsnew = dot(r, r);
+            double rsnew = VectorOps.dot(r, r);
+            trace.iteration(Math.sqrt(rsnew));
             if (Math.sqrt(rsnew) < tol) break;
 
             double beta = rsnew / rsold;
-            for (int i = 0; i < m; i++) p[i] = r[i] + beta * p[i];
+            VectorOps.xpay(r, beta, p);
             rsold = rsnew;
         }
-
-        return x;
     }
 
     /**
-     * Multiply by AᵀA efficiently: temp = A*p, result = Aᵀ*temp
+     * CG on AᵀA x = Aᵀb without forming AᵀA explicitly
      */
-    private static void multiplyAtA(Matrix A, double[] p, double[] temp, double[] result) {
-        A.multiply(p, temp);
-        A.transposeMultiply(temp, result);
-    }
+    private static void conjugateGradientNormalEq(Matrix A, double[] x, double[] Atb, int maxIter, double tol,
+                                                  SolverWorkspace workspace, SolverTrace trace) {
+        int m = A.cols();
+
+        double[] r = workspace.r; // residual
+        double[] p = workspace.p; // search direction
+        double[] Ap = workspace.q; // AᵀA * p
+        double[] temp = workspace.temp; // scratch for A*p, unused by fused kernels
+
+        // r = Atb - Aᵀ(A*x)
+        long start = trace.clock();
+        A.multiplyAtA(x, temp, Ap);
+        trace.spmv(start);
+        VectorOps.sub(Atb, Ap, r);
+        System.arraycopy(r, 0, p, 0, m);
+
+        double rsold = VectorOps.dot(r, r);
+        trace.initial(Math.sqrt(rsold));
+
+        for (int k = 0; k < maxIter; k++) {
+            start = trace.clock();
+            double dotPAp = A.multiplyAtA(p, temp, Ap); // p·AᵀAp = ‖Ap‖²
+            trace.spmv(start);
+            if (dotPAp == 0) { // breakdown
+                trace.breakdown();
+                break;
+            }
+            double alpha = rsold / dotPAp;
+
+            VectorOps.axpy(alpha, p, x);
+            VectorOps.axpy(-alpha, Ap, r);
 
-    private static double dot(double[] a, double[] b) {
-        if (a.length != b.length)
-            throw new IllegalArgumentException("Dot product length mismatch: " + a.length + " vs " + b.length);
-        double sum = 0;
-        for (int i = 0; i < a.length; i++) sum += a[i] * b[i];
-        return sum;
+            double rsnew = VectorOps.dot(r, r);
+            trace.iteration(Math.sqrt(rsnew));
+            if (Math.sqrt(rsnew) < tol) break;
+
+            double beta = rsnew / rsold;
+            VectorOps.xpay(r, beta, p);
+            rsold = rsnew;
+        }
     }
 }
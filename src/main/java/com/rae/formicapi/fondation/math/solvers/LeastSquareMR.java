@@ -0,0 +1,126 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+
+/**
+ * LSMR (Fong and Saunders) for min ‖b − Ax‖ on square, rectangular or
+ * inconsistent systems.
+ *
+ * <p>Uses the same Golub-Kahan bidiagonalisation as {@link LeastSquareQR}
+ * but minimises ‖Aᵀ(b − Ax)‖ over each Krylov subspace instead of
+ * ‖b − Ax‖. The normal residual — the quantity both solvers, and
+ * {@link LeastSquare}, test against {@code tol} — therefore decreases
+ * monotonically, so LSMR can usually stop earlier and more safely when
+ * iterations are cut short. Same cost per iteration as LSQR, with one
+ * more work vector.
+ *
+ * @see LeastSquareQR
+ */
+public class LeastSquareMR {
+
+    /**
+     * Solve Ax = b in least-squares sense.
+     *
+     * @param A       input matrix
+     * @param x_init  initial guess (length must match A.cols())
+     * @param b       right-hand side vector (length must match A.rows())
+     * @param maxIter maximum iterations
+     * @param tol     tolerance for the normal residual ‖Aᵀ(b − Ax)‖
+     * @return solution vector x
+     */
+    public static double[] solve(Matrix A, double[] x_init, double[] b, int maxIter, double tol) {
+        return solveDetailed(A, x_init, b, maxIter, tol).x();
+    }
+
+    /**
+     * Same as {@link #solve(Matrix, double[], double[], int, double)}, also
+     * reporting the iterations used and the final normal residual.
+     */
+    public static SolverResult solveDetailed(Matrix A, double[] x_init, double[] b, int maxIter, double tol) {
+        return solveDetailed(A, x_init, b, maxIter, tol, SolverResult.Detail.SUMMARY);
+    }
+
+    /**
+     * Same as {@link #solveDetailed(Matrix, double[], double[], int, double)},
+     * recording what {@code detail} asks for; the residual is the recurrence
+     * estimate of ‖Aᵀ(b − Ax)‖.
+     */
+    public static SolverResult solveDetailed(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                             SolverResult.Detail detail) {
+        SolverTrace trace = new SolverTrace(detail);
+        LeastSquareQR.checkShapes(A, x_init, b);
+        int n = A.rows();
+        int m = A.cols();
+
+        double[] x = x_init.clone();
+        double[] u = new double[n];
+        double[] v = new double[m];
+        double[] h = new double[m];
+        double[] hBar = new double[m];
+        double[] Av = new double[n];
+        double[] Atu = new double[m];
+
+        // β₁u₁ = b − A x₀,  α₁v₁ = Aᵀu₁
+        long start = trace.clock();
+        A.multiply(x, Av);
+        trace.spmv(start);
+        VectorOps.sub(b, Av, u);
+        double beta = LeastSquareQR.normalise(u);
+        start = trace.clock();
+        A.transposeMultiply(u, v);
+        trace.spmv(start);
+        double alpha = LeastSquareQR.normalise(v);
+
+        System.arraycopy(v, 0, h, 0, m);
+        double zetaBar = alpha * beta;
+        double alphaBar = alpha;
+        double rho = 1, rhoBar = 1, cBar = 1, sBar = 0;
+        double normAr = Math.abs(zetaBar);
+        trace.initial(normAr);
+
+        while (normAr >= tol && trace.iterations() < maxIter) {
+
+            // βu = A v − αu,  αv = Aᵀu − βv
+            start = trace.clock();
+            A.multiply(v, Av);
+            trace.spmv(start);
+            VectorOps.xpay(Av, -alpha, u);
+            beta = LeastSquareQR.normalise(u);
+            start = trace.clock();
+            A.transposeMultiply(u, Atu);
+            trace.spmv(start);
+            VectorOps.xpay(Atu, -beta, v);
+            alpha = LeastSquareQR.normalise(v);
+
+            // rotation P: eliminate β from the lower bidiagonal
+            double rhoOld = rho;
+            rho = Math.hypot(alphaBar, beta);
+            double c = alphaBar / rho;
+            double s = beta / rho;
+            double thetaNew = s * alpha;
+            alphaBar = c * alpha;
+
+            // rotation P̄: eliminate θ from the resulting upper bidiagonal
+            double rhoBarOld = rhoBar;
+            double thetaBar = sBar * rho;
+            double rhoTemp = cBar * rho;
+            rhoBar = Math.hypot(rhoTemp, thetaNew);
+            cBar = rhoTemp / rhoBar;
+            sBar = thetaNew / rhoBar;
+            double zeta = cBar * zetaBar;
+            zetaBar = -sBar * zetaBar;
+
+            // h̄ = h − (θ̄ρ / (ρ_old ρ̄_old)) h̄,  x += (ζ / (ρρ̄)) h̄,  h = v − (θ/ρ) h
+            VectorOps.xpay(h, -thetaBar * rho / (rhoOld * rhoBarOld), hBar);
+            VectorOps.axpy(zeta / (rho * rhoBar), hBar, x);
+            VectorOps.xpay(v, -thetaNew / rho, h);
+
+            normAr = Math.abs(zetaBar);
+            trace.iteration(normAr);
+            if (alpha == 0) break; // the Krylov space is exhausted: x is exact
+        }
+
+        return trace.result(x, tol);
+    }
+}
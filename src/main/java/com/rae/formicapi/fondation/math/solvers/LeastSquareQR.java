@@ -0,0 +1,136 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+
+/**
+ * LSQR (Paige and Saunders) for min ‖b − Ax‖ on square, rectangular or
+ * inconsistent systems.
+ *
+ * <p>Mathematically equivalent to {@link LeastSquare}'s CG on AᵀA, but built
+ * on Golub-Kahan bidiagonalisation of A itself: it never forms products
+ * with AᵀA as one operator, so rounding errors grow with cond(A) rather than
+ * cond(A)². Same cost per iteration — one product with A, one with Aᵀ —
+ * plus a handful of vector updates.
+ *
+ * <p>Stops when the recurrence estimate of ‖Aᵀ(b − Ax)‖ drops below
+ * {@code tol}, the same criterion as {@link LeastSquare}, so the two can be
+ * swapped freely.
+ *
+ * @see LeastSquareMR
+ */
+public class LeastSquareQR {
+
+    /**
+     * Solve Ax = b in least-squares sense.
+     *
+     * @param A       input matrix
+     * @param x_init  initial guess (length must match A.cols())
+     * @param b       right-hand side vector (length must match A.rows())
+     * @param maxIter maximum iterations
+     * @param tol     tolerance for the normal residual ‖Aᵀ(b − Ax)‖
+     * @return solution vector x
+     */
+    public static double[] solve(Matrix A, double[] x_init, double[] b, int maxIter, double tol) {
+        return solveDetailed(A, x_init, b, maxIter, tol).x();
+    }
+
+    /**
+     * Same as {@link #solve(Matrix, double[], double[], int, double)}, also
+     * reporting the iterations used and the final normal residual.
+     */
+    public static SolverResult solveDetailed(Matrix A, double[] x_init, double[] b, int maxIter, double tol) {
+        return solveDetailed(A, x_init, b, maxIter, tol, SolverResult.Detail.SUMMARY);
+    }
+
+    /**
+     * Same as {@link #solveDetailed(Matrix, double[], double[], int, double)},
+     * recording what {@code detail} asks for; the residual is the recurrence
+     * estimate of ‖Aᵀ(b − Ax)‖.
+     */
+    public static SolverResult solveDetailed(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                             SolverResult.Detail detail) {
+        SolverTrace trace = new SolverTrace(detail);
+        checkShapes(A, x_init, b);
+        int n = A.rows();
+        int m = A.cols();
+
+        double[] x = x_init.clone();
+        double[] u = new double[n];
+        double[] v = new double[m];
+        double[] w = new double[m];
+        double[] Av = new double[n];
+        double[] Atu = new double[m];
+
+        // β₁u₁ = b − A x₀,  α₁v₁ = Aᵀu₁
+        long start = trace.clock();
+        A.multiply(x, Av);
+        trace.spmv(start);
+        VectorOps.sub(b, Av, u);
+        double beta = normalise(u);
+        start = trace.clock();
+        A.transposeMultiply(u, v);
+        trace.spmv(start);
+        double alpha = normalise(v);
+
+        System.arraycopy(v, 0, w, 0, m);
+        double phiBar = beta;
+        double rhoBar = alpha;
+        double normAr = alpha * beta;
+        trace.initial(normAr);
+
+        while (normAr >= tol && trace.iterations() < maxIter) {
+
+            // βu = A v − αu,  αv = Aᵀu − βv
+            start = trace.clock();
+            A.multiply(v, Av);
+            trace.spmv(start);
+            VectorOps.xpay(Av, -alpha, u);
+            beta = normalise(u);
+            start = trace.clock();
+            A.transposeMultiply(u, Atu);
+            trace.spmv(start);
+            VectorOps.xpay(Atu, -beta, v);
+            alpha = normalise(v);
+
+            // plane rotation eliminating β from the bidiagonal
+            double rho = Math.hypot(rhoBar, beta);
+            double c = rhoBar / rho;
+            double s = beta / rho;
+            double theta = s * alpha;
+            rhoBar = -c * alpha;
+            double phi = c * phiBar;
+            phiBar = s * phiBar;
+
+            VectorOps.axpy(phi / rho, w, x);
+            VectorOps.xpay(v, -theta / rho, w);
+
+            normAr = phiBar * alpha * Math.abs(c);
+            trace.iteration(normAr);
+        }
+
+        return trace.result(x, tol);
+    }
+
+    /** Scales {@code a} to unit length and returns its former norm; a zero vector is left as is. */
+    static double normalise(double[] a) {
+        double norm = VectorOps.norm(a);
+        if (norm > 0) {
+            double inv = 1.0 / norm;
+            for (int i = 0; i < a.length; i++) a[i] *= inv;
+        }
+        return norm;
+    }
+
+    static void checkShapes(Matrix A, double[] x_init, double[] b) {
+        if (b.length != A.rows())
+            throw new IllegalArgumentException(
+                    "RHS vector length (" + b.length + ") does not match matrix rows (" + A.rows() + ")"
+            );
+
+        if (x_init.length != A.cols())
+            throw new IllegalArgumentException(
+                    "Initial guess length (" + x_init.length + ") does not match matrix columns (" + A.cols() + ")"
+            );
+    }
+}
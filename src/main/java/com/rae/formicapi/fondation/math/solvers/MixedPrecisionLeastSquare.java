@@ -0,0 +1,176 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.FloatCSRMatrix;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+
+import java.util.Arrays;
+
+/**
+ * Least-squares solver using mixed-precision iterative refinement.
+ *
+ * <p>Solves the same problem as {@link LeastSquare} — CG on the normal
+ * equations AᵀA x = Aᵀb — but runs the Krylov iterations on a
+ * {@link FloatCSRMatrix} copy of A with {@code float} vectors, which halves
+ * the memory traffic of every product. Each outer step computes the normal
+ * residual g = Aᵀ(b − Ax) in double, solves AᵀA d = g approximately in
+ * single precision, and updates x += d in double. Repeating this recovers
+ * full double accuracy as long as the system is not too ill-conditioned for
+ * single precision.
+ *
+ * <p>The convergence test is the one {@link LeastSquare} uses, ‖Aᵀ(b − Ax)‖ &lt; tol,
+ * always evaluated in double, so callers can swap the two solvers freely. If
+ * refinement stops making progress before reaching it, the remaining iteration
+ * budget is spent in {@link LeastSquare} from the refined estimate.
+ *
+ * <p>The float copy is taken from A's {@link Matrix#compiledCSR() compiled
+ * form}. A matrix without one — a matrix-free operator, a dense matrix — is
+ * solved by {@link LeastSquare} throughout rather than assembled.
+ */
+public class MixedPrecisionLeastSquare {
+
+    /** Relative reduction asked of each single-precision inner solve. */
+    private static final double INNER_REDUCTION = 1e-4;
+    /** Upper bound on refinement steps; each one costs two double products. */
+    private static final int MAX_REFINEMENTS = 20;
+
+    /**
+     * Convenience overload: zero initial guess
+     */
+    public static double[] solve(Matrix A, double[] b, int maxIter, float tol) {
+        return solve(A, new double[A.cols()], b, maxIter, tol);
+    }
+
+    /**
+     * Solve Ax = b in least-squares sense with single-precision inner iterations.
+     *
+     * @param A       input matrix
+     * @param x_init  initial guess (length must match A.cols())
+     * @param b       right-hand side vector (length must match A.rows())
+     * @param maxIter maximum number of inner iterations, summed over all refinement steps
+     * @param tol     tolerance for the normal residual, checked in double
+     * @return solution vector x
+     */
+    public static double[] solve(Matrix A, double[] x_init, double[] b, int maxIter, double tol) {
+        return solveDetailed(A, x_init, b, maxIter, tol, SolverResult.Detail.SUMMARY).x();
+    }
+
+    /**
+     * Same as {@link #solve(Matrix, double[], double[], int, double)}, also
+     * reporting how the iteration went. Iterations are the inner ones, and
+     * the history holds the double-precision normal residual once per
+     * refinement step, then once per iteration of a {@link LeastSquare}
+     * finish if one was needed.
+     *
+     * @param detail what to record beyond the summary
+     */
+    public static SolverResult solveDetailed(Matrix A, double[] x_init, double[] b, int maxIter, double tol,
+                                             SolverResult.Detail detail) {
+        int n = A.rows();
+        int m = A.cols();
+
+        if (b.length != n)
+            throw new IllegalArgumentException(
+                    "RHS vector length (" + b.length + ") does not match matrix rows (" + n + ")"
+            );
+
+        if (x_init.length != m)
+            throw new IllegalArgumentException(
+                    "Initial guess length (" + x_init.length + ") does not match matrix columns (" + m + ")"
+            );
+
+        SolverTrace trace = new SolverTrace(detail);
+        double[] x = x_init.clone();
+        CSRMatrix compiled = A.compiledCSR();
+        if (compiled == null) {
+            LeastSquare.iterate(A, x, b, maxIter, tol, x, new SolverWorkspace(A), trace);
+            return trace.result(x, tol);
+        }
+        long start = trace.clock();
+        FloatCSRMatrix Af = new FloatCSRMatrix(compiled);
+        trace.spmv(start);
+        double[] residual = new double[n];
+        double[] g = new double[m];
+
+        float[] rhs = new float[m];
+        float[] d = new float[m];
+        float[] r = new float[m];
+        float[] p = new float[m];
+        float[] q = new float[m];
+
+        int used = 0;
+        double previous = Double.POSITIVE_INFINITY;
+        for (int step = 0; step < MAX_REFINEMENTS && used < maxIter; step++) {
+            double gNorm = normalResidual(A, x, b, residual, g, trace);
+            trace.initial(gNorm);
+            if (gNorm < tol || gNorm == 0) return trace.result(x, tol);
+            if (!(gNorm < previous)) break; // single precision has stagnated
+            previous = gNorm;
+
+            // scale to unit norm so the float solve works on O(1) numbers
+            for (int i = 0; i < m; i++) rhs[i] = (float) (g[i] / gNorm);
+            double relTol = Math.max(INNER_REDUCTION, tol / gNorm);
+            int inner = innerSolve(Af, rhs, d, r, p, q, maxIter - used, relTol, trace);
+            trace.iterations(inner);
+            used += inner;
+
+            for (int i = 0; i < m; i++) x[i] += gNorm * d[i];
+        }
+
+        // too ill-conditioned for single precision: finish in double from where we are
+        if (used < maxIter)
+            LeastSquare.iterate(A, x, b, maxIter - used, tol, x, new SolverWorkspace(A), trace);
+        else
+            trace.residual(normalResidual(A, x, b, residual, g, trace)); // where the last step left x
+        return trace.result(x, tol);
+    }
+
+    /** Returns ‖g‖ after setting g = Aᵀ(b − Ax), in double. */
+    private static double normalResidual(Matrix A, double[] x, double[] b, double[] residual, double[] g,
+                                         SolverTrace trace) {
+        long start = trace.clock();
+        A.multiply(x, residual);
+        VectorOps.sub(b, residual, residual);
+        A.transposeMultiply(residual, g);
+        trace.spmv(start);
+        return VectorOps.norm(g);
+    }
+
+    /**
+     * Single-precision CG on AᵀA d = rhs starting from d = 0, until
+     * ‖r‖ &lt; relTol · ‖rhs‖ (‖rhs‖ is 1). Dot products accumulate in double.
+     *
+     * @return the number of iterations performed
+     */
+    private static int innerSolve(FloatCSRMatrix A, float[] rhs, float[] d, float[] r, float[] p,
+                                  float[] q, int maxIter, double relTol, SolverTrace trace) {
+        int m = rhs.length;
+        Arrays.fill(d, 0f);
+        System.arraycopy(rhs, 0, r, 0, m);
+        System.arraycopy(rhs, 0, p, 0, m);
+
+        double rsold = VectorOps.dot(r, r);
+        int k = 0;
+        while (k < maxIter) {
+            long start = trace.clock();
+            double dotPq = A.multiplyAtA(p, q); // p·AᵀAp = ‖Ap‖², one sweep
+            trace.spmv(start);
+            k++;
+
+            if (dotPq <= 0) break; // breakdown
+            float alpha = (float) (rsold / dotPq);
+
+            VectorOps.axpy(alpha, p, d);
+            VectorOps.axpy(-alpha, q, r);
+
+            double rsnew = VectorOps.dot(r, r);
+            if (Math.sqrt(rsnew) < relTol) break;
+
+            float beta = (float) (rsnew / rsold);
+            VectorOps.xpay(r, beta, p);
+            rsold = rsnew;
+        }
+        return k;
+    }
+}
@@ -0,0 +1,25 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+/**
+ * An approximation M of a matrix A whose inverse is cheap to apply, used to
+ * speed up {@link ConjugateGradient#solve(com.rae.formicapi.fondation.math.operators.Matrix,
+ * Preconditioner, double[], double[], int, double)}.
+ *
+ * <p>For CG, M must be symmetric positive definite. A preconditioner captures
+ * the values of A at construction: build a new one after A is refilled.
+ *
+ * @see JacobiPreconditioner
+ * @see SSORPreconditioner
+ * @see IncompleteCholeskyPreconditioner
+ * @see AlgebraicMultigrid
+ */
+public interface Preconditioner {
+
+    /**
+     * Solves M z = r.
+     *
+     * @param r input vector, not modified
+     * @param z output vector of the same length, overwritten with M⁻¹r
+     */
+    void apply(double[] r, double[] z);
+}
@@ -0,0 +1,96 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+
+/**
+ * Symmetric successive over-relaxation preconditioner:
+ * M = ω/(2 − ω) · (D/ω + L) (D/ω)⁻¹ (D/ω + U), where D, L and U are the
+ * diagonal, strict lower and strict upper parts of A.
+ *
+ * <p>Applying M⁻¹ is one forward and one backward triangular sweep over the
+ * entries of A — about the cost of one matrix-vector product — and needs no
+ * extra storage beyond a copy of A. M is symmetric whenever A is, so it can
+ * be used with CG. With ω = 1 this is symmetric Gauss-Seidel.
+ *
+ * <p>Rows of {@code A} must be sorted by column, as every {@code toCSR()}
+ * of this library produces them. Rows with a zero diagonal use 1 instead.
+ */
+public class SSORPreconditioner implements Preconditioner {
+
+    private final int n;
+    private final double omega;
+    private final int[] rowPtr;
+    private final int[] colIndex;
+    private final double[] values;
+    /** Position of each row's diagonal in {@link #colIndex}, or of its first upper entry if absent. */
+    private final int[] diagIndex;
+    private final double[] diagonal;
+
+    /**
+     * Symmetric Gauss-Seidel, ω = 1.
+     *
+     * @param A square matrix whose entries are captured
+     */
+    public SSORPreconditioner(CSRMatrix A) {
+        this(A, 1.0);
+    }
+
+    /**
+     * @param A     square matrix whose entries are captured
+     * @param omega relaxation factor, strictly between 0 and 2
+     */
+    public SSORPreconditioner(CSRMatrix A, double omega) {
+        if (A.rows() != A.cols())
+            throw new IllegalArgumentException(
+                    "SSOR preconditioner requires a square matrix: rows = " + A.rows() + ", cols = " + A.cols());
+        if (!(omega > 0.0 && omega < 2.0))
+            throw new IllegalArgumentException("Relaxation factor must be in (0, 2), got: " + omega);
+
+        this.n = A.rows();
+        this.omega = omega;
+        this.rowPtr = new int[n + 1];
+        this.colIndex = new int[A.nnz()];
+        this.values = new double[A.nnz()];
+        this.diagIndex = new int[n];
+        this.diagonal = new double[n];
+
+        int d = 0;
+        for (int r = 0; r < n; r++) {
+            diagIndex[r] = -1;
+            for (int k = A.rowStart(r); k < A.rowEnd(r); k++, d++) {
+                int c = A.colAt(k);
+                colIndex[d] = c;
+                values[d] = A.valueAt(k);
+                if (c == r) diagonal[r] = values[d];
+                if (c >= r && diagIndex[r] < 0) diagIndex[r] = d;
+            }
+            rowPtr[r + 1] = d;
+            if (diagIndex[r] < 0) diagIndex[r] = d;
+            if (diagonal[r] == 0.0) diagonal[r] = 1.0;
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        // forward: (D/ω + L) y = r, then y ← (D/ω) y
+        for (int i = 0; i < n; i++) {
+            double s = r[i];
+            for (int k = rowPtr[i]; k < diagIndex[i]; k++)
+                s -= values[k] * z[colIndex[k]];
+            z[i] = s * omega / diagonal[i];
+        }
+        for (int i = 0; i < n; i++)
+            z[i] *= diagonal[i] / omega;
+
+        // backward: (D/ω + U) z = y, then scale by (2 − ω)/ω
+        double scale = (2.0 - omega) / omega;
+        for (int i = n - 1; i >= 0; i--) {
+            double s = z[i];
+            for (int k = diagIndex[i]; k < rowPtr[i + 1]; k++)
+                if (colIndex[k] > i) s -= values[k] * z[colIndex[k]];
+            z[i] = s * omega / diagonal[i];
+        }
+        for (int i = 0; i < n; i++)
+            z[i] *= scale;
+    }
+}
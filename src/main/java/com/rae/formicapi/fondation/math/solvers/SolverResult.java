@@ -0,0 +1,88 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+/**
+ * Outcome of a solve, with the telemetry needed to tell a converged answer
+ * from a capped or broken-down one and to see where the time went.
+ *
+ * <p>{@code residual} is the quantity the solver tests against its
+ * tolerance: ‖b − Ax‖ for {@link ConjugateGradient} and the Krylov solvers
+ * on A, ‖Aᵀ(b − Ax)‖ for the least-squares solvers. Recurrence-based
+ * solvers report their recurrence estimate, which tracks the true value to
+ * rounding.
+ *
+ * <p>Timings are only measured at {@link Detail#TIMINGS} and above; they
+ * split the wall-clock time of the solve between products with A or Aᵀ,
+ * preconditioner applications, and everything else — vector updates and
+ * reductions.
+ *
+ * @param x                      solution vector
+ * @param iterations             iterations used, as the solver counts them for {@code maxIter}
+ * @param initialResidual        residual at the initial guess
+ * @param residual               final residual
+ * @param history                residual after each iteration, preceded by the initial one;
+ *                               empty below {@link Detail#HISTORY}
+ * @param spmvNanos              time spent in products with the matrix
+ * @param preconditionerNanos    time spent applying the preconditioner
+ * @param vectorNanos            remaining time, mostly vector updates and reductions
+ * @param status                 how the iteration ended
+ */
+public record SolverResult(double[] x, int iterations, double initialResidual, double residual, double[] history,
+                           long spmvNanos, long preconditionerNanos, long vectorNanos, Status status) {
+
+    /** How a solve ended. */
+    public enum Status {
+        /** The residual met the tolerance. */
+        CONVERGED,
+        /** The iteration budget ran out first. */
+        MAX_ITERATIONS,
+        /** A vanishing inner product stopped the recurrence short of the tolerance. */
+        BREAKDOWN
+    }
+
+    /** What a solve records beyond the summary, each level including the one before. */
+    public enum Detail {
+        /** Iterations, residuals and status only; costs nothing. */
+        SUMMARY,
+        /** Also the time split, at two clock reads per product. */
+        TIMINGS,
+        /** Also the residual after every iteration. */
+        HISTORY
+    }
+
+    /** Returns true if the residual met the tolerance. */
+    public boolean converged() {
+        return status == Status.CONVERGED;
+    }
+
+    /**
+     * Final over initial residual: the reduction achieved by this solve.
+     * 0 when the initial guess was already exact.
+     */
+    public double relativeResidual() {
+        return initialResidual == 0 ? 0 : residual / initialResidual;
+    }
+
+    /** Total measured time, 0 below {@link Detail#TIMINGS}. */
+    public long totalNanos() {
+        return spmvNanos + preconditionerNanos + vectorNanos;
+    }
+
+    /**
+     * The result of running {@code next} from this result's solution, as
+     * one solve: the solution, final residual and status of {@code next},
+     * with iterations, timings and histories added up.
+     */
+    public SolverResult followedBy(SolverResult next) {
+        double[] merged = history;
+        if (next.history.length > 0) {
+            // next's history starts from this solve's final residual
+            int skip = history.length > 0 ? 1 : 0;
+            merged = new double[history.length + next.history.length - skip];
+            System.arraycopy(history, 0, merged, 0, history.length);
+            System.arraycopy(next.history, skip, merged, history.length, next.history.length - skip);
+        }
+        return new SolverResult(next.x, iterations + next.iterations, initialResidual, next.residual, merged,
+                spmvNanos + next.spmvNanos, preconditionerNanos + next.preconditionerNanos,
+                vectorNanos + next.vectorNanos, next.status);
+    }
+}
@@ -0,0 +1,146 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import java.util.Arrays;
+
+/**
+ * Records the progress of one solve for its {@link SolverResult}.
+ *
+ * <p>Solvers report the initial residual, then one residual per iteration,
+ * and bracket each product and preconditioner application with
+ * {@link #clock()} and {@link #spmv(long)} or {@link #preconditioner(long)}.
+ * Below {@link SolverResult.Detail#TIMINGS} those calls read no clock, and
+ * below {@link SolverResult.Detail#HISTORY} no residual is stored, so a
+ * trace costs nothing on the summary path. A trace may be reset and reused,
+ * and a solver handing over to another may pass it on so that both show up
+ * as one solve.
+ */
+final class SolverTrace {
+
+    private boolean timed;
+    private boolean recording;
+
+    private int iterations;
+    private double initialResidual;
+    private double residual;
+    private boolean breakdown;
+
+    private long start;
+    private long spmvNanos;
+    private long preconditionerNanos;
+
+    /** History of every result recorded without one; shared, as an empty array cannot be written to. */
+    private static final double[] EMPTY = new double[0];
+
+    private double[] history = EMPTY;
+    private int historySize;
+
+    SolverTrace(SolverResult.Detail detail) {
+        reset(detail);
+    }
+
+    /** Clears this trace for a new solve and starts its clock. */
+    SolverTrace reset(SolverResult.Detail detail) {
+        timed = detail != SolverResult.Detail.SUMMARY;
+        recording = detail == SolverResult.Detail.HISTORY;
+        iterations = 0;
+        initialResidual = Double.NaN;
+        residual = Double.NaN;
+        breakdown = false;
+        spmvNanos = 0;
+        preconditionerNanos = 0;
+        historySize = 0;
+        start = clock();
+        return this;
+    }
+
+    // ------------------------------------------------
+    // Residuals
+    // ------------------------------------------------
+
+    /**
+     * Residual at the initial guess. Ignored as the initial residual once a
+     * previous solver on this trace has reported one, but still recorded.
+     */
+    void initial(double residual) {
+        if (Double.isNaN(initialResidual)) initialResidual = residual;
+        this.residual = residual;
+        record(residual);
+    }
+
+    /** Ends one iteration with the given residual. */
+    void iteration(double residual) {
+        iterations++;
+        this.residual = residual;
+        record(residual);
+    }
+
+    /** Adds iterations whose residuals are not reported one by one. */
+    void iterations(int count) {
+        iterations += count;
+    }
+
+    /** Replaces the current residual without counting an iteration, e.g. after a true-residual check. */
+    void residual(double residual) {
+        this.residual = residual;
+    }
+
+    /** Marks the recurrence as broken down at the current residual. */
+    void breakdown() {
+        breakdown = true;
+    }
+
+    int iterations() {
+        return iterations;
+    }
+
+    private void record(double value) {
+        if (!recording) return;
+        if (historySize == history.length) history = Arrays.copyOf(history, Math.max(16, 2 * historySize));
+        history[historySize++] = value;
+    }
+
+    // ------------------------------------------------
+    // Timings
+    // ------------------------------------------------
+
+    /** The current time if timed, 0 otherwise. */
+    long clock() {
+        return timed ? System.nanoTime() : 0;
+    }
+
+    /** Charges the time since {@code since} to products with the matrix. */
+    void spmv(long since) {
+        if (timed) spmvNanos += System.nanoTime() - since;
+    }
+
+    /** Charges the time since {@code since} to the preconditioner. */
+    void preconditioner(long since) {
+        if (timed) preconditionerNanos += System.nanoTime() - since;
+    }
+
+    /** Adds time measured elsewhere to products with the matrix. */
+    void addSpmv(long nanos) {
+        spmvNanos += nanos;
+    }
+
+    // ------------------------------------------------
+    // Outcome
+    // ------------------------------------------------
+
+    /**
+     * How the solve ended: converged if the residual meets {@code tol} or is 0,
+     * whatever stopped the iteration, broken down or capped otherwise.
+     */
+    SolverResult.Status status(double tol) {
+        if (residual < tol || residual == 0) return SolverResult.Status.CONVERGED;
+        return breakdown ? SolverResult.Status.BREAKDOWN : SolverResult.Status.MAX_ITERATIONS;
+    }
+
+    /** The result of the solve so far, with solution {@code x}. */
+    SolverResult result(double[] x, double tol) {
+        long total = timed ? System.nanoTime() - start : 0;
+        long vector = Math.max(0, total - spmvNanos - preconditionerNanos);
+        return new SolverResult(x, iterations, initialResidual, residual, historySize == 0 ? EMPTY : Arrays.copyOf(history, historySize),
+                spmvNanos, preconditionerNanos, vector, status(tol));
+    }
+}
@@ -0,0 +1,161 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+
+import java.util.Arrays;
+
+/**
+ * Caller-owned scratch vectors for the iterative solvers, so that repeated
+ * solves of same-sized systems allocate nothing. That holds for the
+ * overloads returning the solution array; the {@code solveDetailed}
+ * overloads also allocate the {@link SolverResult} they return, plus a copy
+ * of the residual history at {@link SolverResult.Detail#HISTORY}. Vectors
+ * long enough for {@code VectorOps} to reduce them in parallel still
+ * allocate a few small objects per operation for the fork/join tasks.
+ *
+ * <p>Sized for a {@code rows × cols} matrix; it fits any matrix of exactly
+ * that shape and is rejected by the solvers otherwise. The vectors carry no
+ * state from one solve to the next, but a workspace must not be used by two
+ * solves at the same time.
+ *
+ * <p>The extra vectors of {@link BiConjugateGradientStabilized}, the
+ * basis and Hessenberg matrix of {@link GeneralizedMinimalResidual} and the
+ * scratch of {@link #normalResidual} are created on first use and kept, so
+ * only the first solve of each kind allocates them.
+ *
+ * @see ConjugateGradient#solve(Matrix, double[], double[], int, double, double[], SolverWorkspace)
+ * @see LeastSquare#solve(Matrix, double[], double[], int, double, double[], SolverWorkspace)
+ * @see BiConjugateGradientStabilized#solve(Matrix, Preconditioner, double[], double[], int, double, double[], SolverWorkspace)
+ * @see GeneralizedMinimalResidual#solve(Matrix, Preconditioner, double[], double[], int, int, double, double[], SolverWorkspace)
+ */
+public final class SolverWorkspace {
+
+    private final int rows;
+    private final int cols;
+
+    // length cols: residual, search direction, operator times direction,
+    // preconditioned residual and right-hand side of the normal equations
+    final double[] r;
+    final double[] p;
+    final double[] q;
+    final double[] z;
+    final double[] rhs;
+    /** Length rows: A times the search direction in the normal equations. */
+    final double[] temp;
+    /** Progress of the current solve, reset by each one. */
+    final SolverTrace trace = new SolverTrace(SolverResult.Detail.SUMMARY);
+
+    /** Further length-cols vectors: BiCGSTAB's shadow residual and s, the GMRES basis. */
+    private double[][] krylov = new double[0][];
+    /** GMRES(m) Hessenberg matrix, at least (m + 1) × m. */
+    private double[][] hessenberg = new double[0][];
+    /** GMRES(m) rotation cosines and sines, rotated residual and coefficients, each at least m + 1 long. */
+    private double[][] givens = new double[4][0];
+
+    /** Scratch of {@link #normalResidual}, untouched by the solvers. */
+    private double[] checkResidual;
+    private double[] checkNormal;
+    private double residualNorm = Double.NaN;
+
+    private JacobiPreconditioner jacobi;
+
+    public SolverWorkspace(int rows, int cols) {
+        if (rows < 0 || cols < 0)
+            throw new IllegalArgumentException("Workspace dimensions must be non-negative: " + rows + "x" + cols);
+        this.rows = rows;
+        this.cols = cols;
+        r = new double[cols];
+        p = new double[cols];
+        q = new double[cols];
+        z = new double[cols];
+        rhs = new double[cols];
+        temp = new double[rows];
+    }
+
+    /** A workspace sized for A. */
+    public SolverWorkspace(Matrix A) {
+        this(A.rows(), A.cols());
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    /** Returns true if this workspace is sized for A. */
+    public boolean fits(Matrix A) {
+        return A.rows() == rows && A.cols() == cols;
+    }
+
+    /**
+     * Returns a Jacobi preconditioner for A, kept with this workspace and
+     * refreshed in place from A's current diagonal on every call.
+     *
+     * @throws IllegalArgumentException if this workspace is not sized for A
+     */
+    public JacobiPreconditioner jacobi(Matrix A) {
+        check(A);
+        if (jacobi == null) jacobi = new JacobiPreconditioner(A);
+        else jacobi.update(A);
+        return jacobi;
+    }
+
+    /**
+     * Returns ‖Aᵀ(b − Ax)‖, the residual the least-squares solvers test.
+     * It is computed in scratch of its own, so it may be called between
+     * solves on this workspace without disturbing them; ‖b − Ax‖ of the same
+     * check is then available from {@link #residualNorm()}.
+     *
+     * @throws IllegalArgumentException if this workspace is not sized for A
+     */
+    public double normalResidual(Matrix A, double[] x, double[] b) {
+        check(A);
+        if (checkResidual == null) {
+            checkResidual = new double[rows];
+            checkNormal = new double[cols];
+        }
+        A.multiply(x, checkResidual);
+        VectorOps.sub(b, checkResidual, checkResidual);
+        A.transposeMultiply(checkResidual, checkNormal);
+        residualNorm = VectorOps.norm(checkResidual);
+        return VectorOps.norm(checkNormal);
+    }
+
+    /** ‖b − Ax‖ of the last {@link #normalResidual} check, NaN before the first. */
+    public double residualNorm() {
+        return residualNorm;
+    }
+
+    /** The first {@code count} extra length-cols vectors, created on first use. */
+    double[][] krylov(int count) {
+        if (krylov.length < count) {
+            double[][] grown = Arrays.copyOf(krylov, count);
+            for (int i = krylov.length; i < count; i++) grown[i] = new double[cols];
+            krylov = grown;
+        }
+        return krylov;
+    }
+
+    /** A Hessenberg matrix of at least (m + 1) × m; its contents are left from the previous solve. */
+    double[][] hessenberg(int m) {
+        if (hessenberg.length < m + 1 || hessenberg[0].length < m) hessenberg = new double[m + 1][m];
+        return hessenberg;
+    }
+
+    /** Cosines, sines, rotated residual and coefficients for GMRES(m); contents left from the previous solve. */
+    double[][] givens(int m) {
+        if (givens[0].length < m + 1) givens = new double[4][m + 1];
+        return givens;
+    }
+
+    /** Throws unless this workspace is sized for A. */
+    void check(Matrix A) {
+        if (!fits(A))
+            throw new IllegalArgumentException(
+                    "Workspace sized " + rows + "x" + cols + " does not fit a " + A.rows() + "x" + A.cols() + " matrix");
+    }
+}
@@ -0,0 +1,145 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+
+import java.util.Arrays;
+
+/**
+ * Sparse LDLᵀ factorization PAPᵀ = LDLᵀ of a symmetric matrix, with the
+ * fill-reducing ordering and factor structure of a
+ * {@link SymbolicFactorization}.
+ *
+ * <p>The symmetric counterpart of {@link SparseLU}: the same up-looking
+ * elimination, but only L (unit lower, by column) and the diagonal D are
+ * computed and stored, halving the work and the memory. Only the rows of A
+ * are read, so A must really be symmetric — see
+ * {@link SymbolicFactorization#isSymmetric(CSRMatrix)}.
+ *
+ * <p>No numerical pivoting either; D may hold negative entries, so
+ * indefinite matrices are accepted as long as no pivot vanishes.
+ *
+ * @see SparseDirectSolver
+ */
+public class SparseLDLT {
+
+    private final SymbolicFactorization symbolic;
+    private final int[] rowIndex;
+    private final double[] lower;   // L below the diagonal, by column
+    private final double[] diag;    // D
+
+    // numeric workspace
+    private final double[] y;
+    private final int[] stack;
+    private final int[] flag;
+    private final int[] filled;
+
+    public SparseLDLT(SymbolicFactorization symbolic) {
+        this.symbolic = symbolic;
+        int n = symbolic.n;
+        int entries = symbolic.factorEntries();
+        rowIndex = new int[entries];
+        lower = new double[entries];
+        diag = new double[n];
+        y = new double[n];
+        stack = new int[n];
+        flag = new int[n];
+        filled = new int[n];
+    }
+
+    /**
+     * Computes the numeric factorization of a symmetric A, replacing any
+     * previous one.
+     *
+     * @param A symmetric matrix with the pattern the symbolic analysis was computed from
+     * @throws ArithmeticException if a pivot vanishes; the factorization is then unusable
+     */
+    public void factor(CSRMatrix A) {
+        SymbolicFactorization s = symbolic;
+        int n = s.n;
+        int[] colPtr = s.colPtr;
+        // a factorization cut short by a zero pivot, or a solve, leaves the workspace dirty
+        Arrays.fill(y, 0.0);
+        Arrays.fill(flag, -1);
+        for (int k = 0; k < n; k++) {
+            flag[k] = k;
+            filled[k] = 0;
+            int old = s.perm[k];
+            int top = n;
+            double d = 0;
+            double scale = 0;
+
+            // row k of PAPᵀ, which is also column k
+            for (int p = A.rowStart(old); p < A.rowEnd(old); p++) {
+                int j = s.pinv[A.colAt(p)];
+                double a = A.valueAt(p);
+                scale = Math.max(scale, Math.abs(a));
+                if (j == k) d += a;
+                else if (j < k) {
+                    y[j] += a;
+                    top = reach(j, k, top);
+                }
+            }
+
+            // eliminate along the reach, descendants before ancestors
+            for (; top < n; top++) {
+                int j = stack[top];
+                double u = y[j];
+                y[j] = 0;
+                int end = colPtr[j] + filled[j];
+                for (int p = colPtr[j]; p < end; p++) y[rowIndex[p]] -= lower[p] * u;
+                double l = u / diag[j];
+                d -= l * u;
+                rowIndex[end] = k;
+                lower[end] = l;
+                filled[j]++;
+            }
+
+            if (!(Math.abs(d) > SparseLU.PIVOT_TOLERANCE * scale))
+                throw new ArithmeticException("Zero pivot at row " + old + " of the sparse LDLT factorization");
+            diag[k] = d;
+        }
+    }
+
+    /**
+     * Solves Ax = b with the current factorization.
+     *
+     * @param b right-hand side, length n
+     * @param x receives the solution, length n; may be the same array as b
+     */
+    public void solve(double[] b, double[] x) {
+        SymbolicFactorization s = symbolic;
+        int n = s.n;
+        double[] w = y; // workspace is free between factorizations
+        for (int k = 0; k < n; k++) w[k] = b[s.perm[k]];
+
+        // L w = Pb
+        for (int j = 0; j < n; j++) {
+            double wj = w[j];
+            if (wj == 0) continue;
+            for (int p = s.colPtr[j]; p < s.colPtr[j + 1]; p++) w[rowIndex[p]] -= lower[p] * wj;
+        }
+        // D w' = w, then Lᵀ w'' = w'
+        for (int j = n - 1; j >= 0; j--) {
+            double sum = w[j] / diag[j];
+            for (int p = s.colPtr[j]; p < s.colPtr[j + 1]; p++) sum -= lower[p] * w[rowIndex[p]];
+            w[j] = sum;
+        }
+
+        for (int k = 0; k < n; k++) x[s.perm[k]] = w[k];
+    }
+
+    /** Same as {@link SparseLU}'s: prepends the new part of the tree path from i, leaf first. */
+    private int reach(int i, int k, int top) {
+        int start = top;
+        for (; flag[i] != k; i = symbolic.parent[i]) {
+            stack[--start] = i;
+            flag[i] = k;
+        }
+        for (int a = start, b = top - 1; a < b; a++, b--) {
+            int t = stack[a];
+            stack[a] = stack[b];
+            stack[b] = t;
+        }
+        return start;
+    }
+}
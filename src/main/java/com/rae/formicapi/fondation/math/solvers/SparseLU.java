@@ -0,0 +1,178 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+
+import java.util.Arrays;
+
+/**
+ * Sparse LU factorization PAPᵀ = LU of a square matrix, with the
+ * fill-reducing ordering and factor structure of a
+ * {@link SymbolicFactorization}.
+ *
+ * <p>Up-looking: step k solves for row k of L and column k of U at once,
+ * visiting only the elimination-tree reach of row and column k of PAPᵀ.
+ * L (unit lower, by column) and U (by row) share one index structure since
+ * the pattern analysed is that of A + Aᵀ.
+ *
+ * <p>Pivots are taken on the diagonal in the symbolic order, with no
+ * numerical pivoting. That is exact for the diagonally dominant matrices of
+ * nodal networks — conductance stamps and identity rows for fixed values
+ * keep every column dominant, a property elimination preserves — but a
+ * matrix that is singular or far from dominant may meet a zero pivot, which
+ * is reported as an {@link ArithmeticException}.
+ *
+ * <p>A factorization is refilled in place by {@link #factor(CSRMatrix)}
+ * for every matrix with the analysed pattern; {@link #solve(double[], double[])}
+ * is then two triangular sweeps.
+ *
+ * @see SparseLDLT
+ * @see SparseDirectSolver
+ */
+public class SparseLU {
+
+    /** A pivot smaller than this fraction of its row's largest entry counts as zero. */
+    static final double PIVOT_TOLERANCE = 1e-12;
+
+    private final SymbolicFactorization symbolic;
+    private final int[] rowIndex;   // shared pattern: row of each L entry, column of each U entry
+    private final double[] lower;   // L below the diagonal, by column
+    private final double[] upper;   // U right of the diagonal, by row
+    private final double[] diag;    // diagonal of U
+
+    // numeric workspace
+    private final double[] y;
+    private final double[] z;
+    private final int[] stack;
+    private final int[] flag;
+    private final int[] filled;
+
+    public SparseLU(SymbolicFactorization symbolic) {
+        this.symbolic = symbolic;
+        int n = symbolic.n;
+        int entries = symbolic.factorEntries();
+        rowIndex = new int[entries];
+        lower = new double[entries];
+        upper = new double[entries];
+        diag = new double[n];
+        y = new double[n];
+        z = new double[n];
+        stack = new int[n];
+        flag = new int[n];
+        filled = new int[n];
+    }
+
+    /**
+     * Computes the numeric factorization of A, replacing any previous one.
+     *
+     * @param A matrix with the pattern the symbolic analysis was computed from
+     * @throws ArithmeticException if a pivot vanishes; the factorization is then unusable
+     */
+    public void factor(CSRMatrix A) {
+        SymbolicFactorization s = symbolic;
+        int n = s.n;
+        int[] colPtr = s.colPtr;
+        // a factorization cut short by a zero pivot, or a solve, leaves the workspace dirty
+        Arrays.fill(y, 0.0);
+        Arrays.fill(z, 0.0);
+        Arrays.fill(flag, -1);
+        for (int k = 0; k < n; k++) {
+            flag[k] = k;
+            filled[k] = 0;
+            int old = s.perm[k];
+            int top = n;
+            double d = 0;
+            double scale = 0;
+
+            // row k of PAPᵀ: left of the diagonal into z
+            for (int p = A.rowStart(old); p < A.rowEnd(old); p++) {
+                int j = s.pinv[A.colAt(p)];
+                double a = A.valueAt(p);
+                scale = Math.max(scale, Math.abs(a));
+                if (j == k) d += a;
+                else if (j < k) {
+                    z[j] += a;
+                    top = reach(j, k, top);
+                }
+            }
+            // column k of PAPᵀ: above the diagonal into y
+            for (int p = s.tPtr[old]; p < s.tPtr[old + 1]; p++) {
+                int i = s.pinv[s.tRow[p]];
+                if (i < k) {
+                    y[i] += A.valueAt(s.tMap[p]);
+                    top = reach(i, k, top);
+                }
+            }
+
+            // eliminate along the reach, descendants before ancestors
+            for (; top < n; top++) {
+                int j = stack[top];
+                double u = y[j];
+                double l = z[j] / diag[j];
+                y[j] = 0;
+                z[j] = 0;
+                int end = colPtr[j] + filled[j];
+                for (int p = colPtr[j]; p < end; p++) {
+                    int i = rowIndex[p];
+                    y[i] -= lower[p] * u;
+                    z[i] -= upper[p] * l;
+                }
+                d -= l * u;
+                rowIndex[end] = k;
+                lower[end] = l;
+                upper[end] = u;
+                filled[j]++;
+            }
+
+            if (!(Math.abs(d) > PIVOT_TOLERANCE * scale))
+                throw new ArithmeticException("Zero pivot at row " + old + " of the sparse LU factorization");
+            diag[k] = d;
+        }
+    }
+
+    /**
+     * Solves Ax = b with the current factorization.
+     *
+     * @param b right-hand side, length n
+     * @param x receives the solution, length n; may be the same array as b
+     */
+    public void solve(double[] b, double[] x) {
+        SymbolicFactorization s = symbolic;
+        int n = s.n;
+        double[] w = y; // workspace is free between factorizations
+        for (int k = 0; k < n; k++) w[k] = b[s.perm[k]];
+
+        // L w = Pb, by column
+        for (int j = 0; j < n; j++) {
+            double wj = w[j];
+            if (wj == 0) continue;
+            for (int p = s.colPtr[j]; p < s.colPtr[j + 1]; p++) w[rowIndex[p]] -= lower[p] * wj;
+        }
+        // U w' = w, by row from the bottom
+        for (int j = n - 1; j >= 0; j--) {
+            double sum = w[j];
+            for (int p = s.colPtr[j]; p < s.colPtr[j + 1]; p++) sum -= upper[p] * w[rowIndex[p]];
+            w[j] = sum / diag[j];
+        }
+
+        for (int k = 0; k < n; k++) x[s.perm[k]] = w[k];
+    }
+
+    /**
+     * Prepends to the stack the tree path from i up to the first node
+     * already visited for step k, leaf first, so that processing the stack
+     * from {@code top} visits descendants before ancestors.
+     */
+    private int reach(int i, int k, int top) {
+        int start = top;
+        for (; flag[i] != k; i = symbolic.parent[i]) {
+            stack[--start] = i;
+            flag[i] = k;
+        }
+        for (int a = start, b = top - 1; a < b; a++, b--) {
+            int t = stack[a];
+            stack[a] = stack[b];
+            stack[b] = t;
+        }
+        return start;
+    }
+}
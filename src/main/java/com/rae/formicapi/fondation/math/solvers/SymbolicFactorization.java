@@ -0,0 +1,165 @@
+package com.rae.formicapi.fondation.math.solvers;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.ordering.MinimumDegree;
+import com.rae.formicapi.fondation.math.ordering.ReverseCuthillMcKee;
+
+/**
+ * Symbolic analysis of a square sparse matrix, shared by {@link SparseLU}
+ * and {@link SparseLDLT}.
+ *
+ * <p>Depends only on the sparsity pattern: a {@link MinimumDegree} ordering
+ * P of A + Aᵀ, the elimination tree of PAPᵀ and the number of entries in
+ * each column of its factor. Computed once per pattern, it sizes the
+ * factor exactly, so every later numeric factorization of a matrix with the
+ * same pattern runs without allocating.
+ *
+ * <p>Also keeps a column-wise index of A, so the numeric phase can read
+ * the upper part of the permuted matrix without transposing it again.
+ */
+public final class SymbolicFactorization {
+
+    final int n;
+    /** {@code perm[k]} is the original index of pivot k; {@code pinv} is its inverse. */
+    final int[] perm;
+    final int[] pinv;
+    /** Elimination tree parent of each pivot, or -1 for a root. */
+    final int[] parent;
+    /** Start of each factor column; {@code colPtr[n]} is the factor's off-diagonal count. */
+    final int[] colPtr;
+
+    // column-wise view of A: entries of column c are tMap[tPtr[c] .. tPtr[c+1]) indices into A's values
+    final int[] tPtr;
+    final int[] tRow;
+    final int[] tMap;
+
+    // pattern of A as analysed, to recognise a matrix it still applies to
+    private final int[] rowPtr;
+    private final int[] colIndex;
+
+    private SymbolicFactorization(CSRMatrix A, int[] perm) {
+        n = A.rows();
+        this.perm = perm;
+        pinv = ReverseCuthillMcKee.inverse(perm);
+
+        int nnz = A.nnz();
+        rowPtr = new int[n + 1];
+        colIndex = new int[nnz];
+        for (int r = 0; r < n; r++) {
+            rowPtr[r + 1] = A.rowEnd(r);
+            for (int k = A.rowStart(r); k < A.rowEnd(r); k++) colIndex[k] = A.colAt(k);
+        }
+
+        tPtr = new int[n + 1];
+        tRow = new int[nnz];
+        tMap = new int[nnz];
+        for (int k = 0; k < nnz; k++) tPtr[colIndex[k] + 1]++;
+        for (int c = 0; c < n; c++) tPtr[c + 1] += tPtr[c];
+        int[] fill = tPtr.clone();
+        for (int r = 0; r < n; r++) {
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; k++) {
+                int slot = fill[colIndex[k]]++;
+                tRow[slot] = r;
+                tMap[slot] = k;
+            }
+        }
+
+        parent = new int[n];
+        colPtr = new int[n + 1];
+        eliminationTree();
+    }
+
+    /**
+     * Analyses a square matrix: orders it with {@link MinimumDegree} and
+     * computes the elimination tree and factor column counts.
+     *
+     * @param A square matrix; only its structure is used
+     * @return the analysis, valid for every matrix with the same pattern
+     * @throws IllegalArgumentException if A is not square
+     */
+    public static SymbolicFactorization analyze(CSRMatrix A) {
+        if (A.rows() != A.cols())
+            throw new IllegalArgumentException(
+                    "Sparse factorization requires a square matrix: rows = " + A.rows() + ", cols = " + A.cols());
+        return new SymbolicFactorization(A, MinimumDegree.order(A));
+    }
+
+    /** Number of unknowns. */
+    public int size() {
+        return n;
+    }
+
+    /** Off-diagonal entries in one triangular factor; L and U have the same count. */
+    public int factorEntries() {
+        return colPtr[n];
+    }
+
+    /** Fill-reducing permutation, {@code perm[newIndex] = oldIndex}. */
+    public int[] permutation() {
+        return perm.clone();
+    }
+
+    /**
+     * Returns true if A has exactly the pattern this analysis was computed
+     * from, so it can be factored numerically without a new analysis.
+     */
+    public boolean matches(CSRMatrix A) {
+        if (A.rows() != n || A.cols() != n || A.nnz() != colIndex.length) return false;
+        for (int r = 0; r < n; r++) {
+            if (A.rowEnd(r) != rowPtr[r + 1]) return false;
+        }
+        for (int k = 0; k < colIndex.length; k++) {
+            if (A.colAt(k) != colIndex[k]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if A, which must match this analysis, is numerically
+     * symmetric, so the cheaper {@link SparseLDLT} applies.
+     */
+    public boolean isSymmetric(CSRMatrix A) {
+        for (int r = 0; r < n; r++) {
+            int k = rowPtr[r];
+            int t = tPtr[r];
+            if (rowPtr[r + 1] - k != tPtr[r + 1] - t) return false;
+            // row r and column r list their indices in the same increasing order when A is symmetric
+            for (; k < rowPtr[r + 1]; k++, t++) {
+                if (colIndex[k] != tRow[t] || A.valueAt(k) != A.valueAt(tMap[t])) return false;
+            }
+        }
+        return true;
+    }
+
+    // ------------------------------------------------
+    // Internal — elimination tree
+    // ------------------------------------------------
+
+    /**
+     * Liu's elimination tree of PAPᵀ + (PAPᵀ)ᵀ, counting at the same time the
+     * entries each column of the factor receives: row k of the factor has an
+     * entry in every column met walking up the tree from each off-diagonal
+     * entry of row k, until a column already visited for k.
+     */
+    private void eliminationTree() {
+        int[] flag = new int[n];
+        int[] count = new int[n];
+        for (int k = 0; k < n; k++) {
+            parent[k] = -1;
+            flag[k] = k;
+            int old = perm[k];
+            for (int p = rowPtr[old]; p < rowPtr[old + 1]; p++) walk(pinv[colIndex[p]], k, flag, count);
+            for (int p = tPtr[old]; p < tPtr[old + 1]; p++) walk(pinv[tRow[p]], k, flag, count);
+        }
+        for (int k = 0; k < n; k++) colPtr[k + 1] = colPtr[k] + count[k];
+    }
+
+    private void walk(int i, int k, int[] flag, int[] count) {
+        if (i >= k) return;
+        for (; flag[i] != k; i = parent[i]) {
+            if (parent[i] == -1) parent[i] = k;
+            count[i]++;
+            flag[i] = k;
+        }
+    }
+}
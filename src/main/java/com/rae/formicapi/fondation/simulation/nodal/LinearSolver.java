@@ -0,0 +1,312 @@
+package com.rae.formicapi.fondation.simulation.nodal;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+import com.rae.formicapi.fondation.math.solvers.AlgebraicMultigrid;
+import com.rae.formicapi.fondation.math.solvers.BiConjugateGradientStabilized;
+import com.rae.formicapi.fondation.math.solvers.GeneralizedMinimalResidual;
+import com.rae.formicapi.fondation.math.solvers.LeastSquare;
+import com.rae.formicapi.fondation.math.solvers.LeastSquareMR;
+import com.rae.formicapi.fondation.math.solvers.LeastSquareQR;
+import com.rae.formicapi.fondation.math.solvers.MixedPrecisionLeastSquare;
+import com.rae.formicapi.fondation.math.solvers.Preconditioner;
+import com.rae.formicapi.fondation.math.solvers.SolverResult;
+import com.rae.formicapi.fondation.math.solvers.SolverWorkspace;
+import com.rae.formicapi.fondation.math.solvers.SparseDirectSolver;
+import com.rae.formicapi.fondation.simulation.nodal.core.DomainModel;
+
+/**
+ * Linear solver used by {@link ModelType#solve} for a domain's assembled system.
+ *
+ * <p>Selected per {@link com.rae.formicapi.fondation.simulation.nodal.core.DomainModel};
+ * every strategy meets the same tolerance, they differ only in cost.
+ *
+ * <p>The {@link SolverResult} of a solve reports the least-squares residual
+ * ‖Aᵀ(b − Ax)‖ that tolerance applies to, except for {@link #DIRECT}, which
+ * reports the true residual ‖b − Ax‖ of its answer. Iterations, timings and
+ * history cover every solver run on the way, fallbacks included.
+ *
+ * <p>{@link #NORMAL_MATRIX}, {@link #MIXED_PRECISION}, {@link #MULTIGRID}
+ * and {@link #DIRECT} work on the {@link Matrix#compiledCSR() compiled form}
+ * of the matrix. A matrix without one, such as a
+ * {@link com.rae.formicapi.fondation.simulation.nodal.core.SimulationContext.Storage#MATRIX_FREE}
+ * operator, is never assembled for them: they solve it as {@link #LEAST_SQUARE}.
+ */
+public enum LinearSolver {
+
+    /** CG on the normal equations, entirely in double precision. */
+    LEAST_SQUARE {
+        @Override
+        public SolverResult solveDetailed(Matrix A, double[] x0, double[] b, int maxIter, double tol,
+                                          SolverResult.Detail detail) {
+            return LeastSquare.solveDetailed(A, x0, b, maxIter, tol, detail);
+        }
+
+        @Override
+        public SolverResult solve(DomainModel domain, Matrix A, double[] x0, double[] b, int maxIter, double tol) {
+            return LeastSquare.solveDetailed(A, x0, b, maxIter, tol, x0, domain.getWorkspace(A),
+                    domain.getSolverDetail());
+        }
+    },
+
+    /**
+     * CG on an explicit normal matrix AᵀA, formed once per sparsity pattern
+     * and refilled in place between passes. One SpMV per iteration instead
+     * of two, at the cost of storing AᵀA.
+     */
+    NORMAL_MATRIX {
+        @Override
+        public SolverResult solveDetailed(Matrix A, double[] x0, double[] b, int maxIter, double tol,
+                                          SolverResult.Detail detail) {
+            return LeastSquare.solveNormalMatrixDetailed(A, x0, b, maxIter, tol, detail);
+        }
+
+        @Override
+        public SolverResult solve(DomainModel domain, Matrix A, double[] x0, double[] b, int maxIter, double tol) {
+            return LeastSquare.solveNormalMatrixDetailed(A, x0, b, maxIter, tol, x0, domain.getWorkspace(A),
+                    domain.getSolverDetail());
+        }
+    },
+
+    /**
+     * LSQR: the same least-squares problem and stopping test as
+     * {@link #LEAST_SQUARE}, solved by bidiagonalisation of A so rounding
+     * grows with cond(A) rather than cond(A)².
+     */
+    LSQR {
+        @Override
+        public SolverResult solveDetailed(Matrix A, double[] x0, double[] b, int maxIter, double tol,
+                                          SolverResult.Detail detail) {
+            return LeastSquareQR.solveDetailed(A, x0, b, maxIter, tol, detail);
+        }
+    },
+
+    /**
+     * LSMR: like {@link #LSQR} but with a monotonically decreasing normal
+     * residual, the safer choice when the iteration cap is hit.
+     */
+    LSMR {
+        @Override
+        public SolverResult solveDetailed(Matrix A, double[] x0, double[] b, int maxIter, double tol,
+                                          SolverResult.Detail detail) {
+            return LeastSquareMR.solveDetailed(A, x0, b, maxIter, tol, detail);
+        }
+    },
+
+    /**
+     * CG on the normal equations in single precision, refined with double
+     * residuals. Cheaper per iteration on large networks.
+     */
+    MIXED_PRECISION {
+        @Override
+        public SolverResult solveDetailed(Matrix A, double[] x0, double[] b, int maxIter, double tol,
+                                          SolverResult.Detail detail) {
+            return MixedPrecisionLeastSquare.solveDetailed(A, x0, b, maxIter, tol, detail);
+        }
+    },
+
+    /**
+     * Jacobi-preconditioned BiCGSTAB on A itself, for non-symmetric systems
+     * (advection, constraint rows). Avoids squaring the condition number as
+     * the normal equations do.
+     */
+    BICGSTAB {
+        @Override
+        public SolverResult solveDetailed(Matrix A, double[] x0, double[] b, int maxIter, double tol,
+                                          SolverResult.Detail detail) {
+            return bicgstab(A, x0, b, maxIter, tol, new double[x0.length], new SolverWorkspace(A), detail);
+        }
+
+        @Override
+        public SolverResult solve(DomainModel domain, Matrix A, double[] x0, double[] b, int maxIter, double tol) {
+            return bicgstab(A, x0, b, maxIter, tol, x0, domain.getWorkspace(A), domain.getSolverDetail());
+        }
+    },
+
+    /**
+     * Jacobi-preconditioned GMRES(30) on A itself. Slower per iteration than
+     * {@link #BICGSTAB} but never lets the residual grow.
+     */
+    GMRES {
+        @Override
+        public SolverResult solveDetailed(Matrix A, double[] x0, double[] b, int maxIter, double tol,
+                                          SolverResult.Detail detail) {
+            return gmres(A, x0, b, maxIter, tol, new double[x0.length], new SolverWorkspace(A), detail);
+        }
+
+        @Override
+        public SolverResult solve(DomainModel domain, Matrix A, double[] x0, double[] b, int maxIter, double tol) {
+            return gmres(A, x0, b, maxIter, tol, x0, domain.getWorkspace(A), domain.getSolverDetail());
+        }
+    },
+
+    /**
+     * BiCGSTAB preconditioned by one smoothed-aggregation multigrid V-cycle.
+     * Iteration counts stay nearly flat as networks grow, so it is the
+     * choice for large conduction grids. Solved through a domain, the
+     * hierarchy is kept on the {@link DomainModel} and rebuilt only when
+     * the sparsity pattern changes.
+     */
+    MULTIGRID {
+        @Override
+        public SolverResult solveDetailed(Matrix A, double[] x0, double[] b, int maxIter, double tol,
+                                          SolverResult.Detail detail) {
+            return multigrid(null, A, x0, b, maxIter, tol, new double[x0.length], new SolverWorkspace(A), detail);
+        }
+
+        @Override
+        public SolverResult solve(DomainModel domain, Matrix A, double[] x0, double[] b, int maxIter, double tol) {
+            return multigrid(domain, A, x0, b, maxIter, tol, x0, domain.getWorkspace(A), domain.getSolverDetail());
+        }
+    },
+
+    /**
+     * Sparse LU, or LDLᵀ when the matrix is symmetric, on a minimum degree
+     * ordering. Solved through a domain, the factorization is kept on the
+     * {@link DomainModel} and redone only when the matrix changes, so a pass
+     * where only sources moved costs two triangular sweeps. Falls back to
+     * {@link #LEAST_SQUARE} on a singular network or a matrix with no compiled form.
+     */
+    DIRECT {
+        @Override
+        public SolverResult solveDetailed(Matrix A, double[] x0, double[] b, int maxIter, double tol,
+                                          SolverResult.Detail detail) {
+            return direct(new SparseDirectSolver(), A, x0, b, maxIter, tol, new double[b.length], detail);
+        }
+
+        @Override
+        public SolverResult solve(DomainModel domain, Matrix A, double[] x0, double[] b, int maxIter, double tol) {
+            return direct(domain.getDirectSolver(), A, x0, b, maxIter, tol, x0, domain.getSolverDetail());
+        }
+    };
+
+    // ── shared helpers ─────────────────────────────────────────────────────
+
+    /** One run of a Krylov solver from {@code from}, within {@code budget} iterations. */
+    @FunctionalInterface
+    private interface KrylovRun {
+        SolverResult run(double[] from, int budget, double tol);
+    }
+
+    /**
+     * Runs a Krylov solver on A until it meets the least-squares criterion
+     * ‖Aᵀ(b − Ax)‖ &lt; tol, so every constant honours the same tolerance.
+     *
+     * <p>The solver stops on ‖b − Ax‖ instead, so a first run that falls
+     * short is repeated once from its result with the tolerance scaled by
+     * the measured ratio ‖b − Ax‖ / ‖Aᵀ(b − Ax)‖. If that still falls short
+     * (a singular network, or a breakdown) the remaining work goes to
+     * {@link #LEAST_SQUARE}. The rerun and the fallback only get the
+     * iterations the runs before them left of {@code maxIter}, so the cap
+     * holds for the solve as a whole. An accepted result reports the
+     * least-squares residual; its history stays in the Krylov solver's
+     * ‖b − Ax‖.
+     */
+    private static SolverResult krylov(Matrix A, double[] x0, double[] b, int maxIter, double tol, double[] x,
+                                       SolverWorkspace workspace, SolverResult.Detail detail, KrylovRun solver) {
+        double initial = workspace.normalResidual(A, x0, b);
+
+        SolverResult result = solver.run(x0, maxIter, tol);
+        double normal = workspace.normalResidual(A, result.x(), b);
+        if (normal < tol) return accepted(result, initial, normal, tol);
+
+        double tighter = tol * workspace.residualNorm() / normal;
+        if (tighter > 0 && result.iterations() < maxIter) {
+            result = result.followedBy(solver.run(result.x(), maxIter - result.iterations(), 0.5 * tighter));
+            normal = workspace.normalResidual(A, result.x(), b);
+            if (normal < tol) return accepted(result, initial, normal, tol);
+        }
+        SolverResult checked = accepted(result, initial, normal, tol);
+        int budget = maxIter - result.iterations();
+        if (budget <= 0) return checked;
+        return checked.followedBy(LeastSquare.solveDetailed(A, result.x(), b, budget, tol, x, workspace, detail));
+    }
+
+    /**
+     * {@code result} re-expressed in the least-squares residual: converged if
+     * that meets {@code tol}, capped if the solver only met its own criterion.
+     */
+    private static SolverResult accepted(SolverResult result, double initial, double normal, double tol) {
+        SolverResult.Status status = normal < tol ? SolverResult.Status.CONVERGED
+                : result.converged() ? SolverResult.Status.MAX_ITERATIONS : result.status();
+        return new SolverResult(result.x(), result.iterations(), initial, normal, result.history(),
+                result.spmvNanos(), result.preconditionerNanos(), result.vectorNanos(), status);
+    }
+
+    /** Jacobi-preconditioned BiCGSTAB into {@code x}, on the scratch of {@code workspace}. */
+    private static SolverResult bicgstab(Matrix A, double[] x0, double[] b, int maxIter, double tol, double[] x,
+                                         SolverWorkspace workspace, SolverResult.Detail detail) {
+        Preconditioner M = workspace.jacobi(A);
+        return krylov(A, x0, b, maxIter, tol, x, workspace, detail, (from, budget, t) ->
+                BiConjugateGradientStabilized.solveDetailed(A, M, from, b, budget, t, x, workspace, detail));
+    }
+
+    /** Jacobi-preconditioned GMRES(30) into {@code x}, on the scratch of {@code workspace}. */
+    private static SolverResult gmres(Matrix A, double[] x0, double[] b, int maxIter, double tol, double[] x,
+                                      SolverWorkspace workspace, SolverResult.Detail detail) {
+        Preconditioner M = workspace.jacobi(A);
+        return krylov(A, x0, b, maxIter, tol, x, workspace, detail, (from, budget, t) ->
+                GeneralizedMinimalResidual.solveDetailed(A, M, from, b, GeneralizedMinimalResidual.DEFAULT_RESTART,
+                        budget, t, x, workspace, detail));
+    }
+
+    /**
+     * Multigrid-preconditioned BiCGSTAB into {@code x}, with the hierarchy of
+     * {@code domain} when given; BiCGSTAB rather than CG since fixed-value
+     * rows make the assembled matrix non-symmetric.
+     */
+    private static SolverResult multigrid(DomainModel domain, Matrix A, double[] x0, double[] b, int maxIter,
+                                          double tol, double[] x, SolverWorkspace workspace,
+                                          SolverResult.Detail detail) {
+        CSRMatrix csr = A.compiledCSR();
+        if (csr == null || csr.rows() != csr.cols())
+            return LeastSquare.solveDetailed(A, x0, b, maxIter, tol, x, workspace, detail);
+        Preconditioner M = domain == null ? new AlgebraicMultigrid(csr) : domain.getMultigrid(csr);
+        return krylov(A, x0, b, maxIter, tol, x, workspace, detail, (from, budget, t) ->
+                BiConjugateGradientStabilized.solveDetailed(A, M, from, b, budget, t, x, workspace, detail));
+    }
+
+    /**
+     * Factors and solves with {@code direct} into {@code x}, or hands over to
+     * {@link #LEAST_SQUARE} if that is impossible.
+     */
+    private static SolverResult direct(SparseDirectSolver direct, Matrix A, double[] x0, double[] b, int maxIter,
+                                       double tol, double[] x, SolverResult.Detail detail) {
+        CSRMatrix csr = A.compiledCSR();
+        if (csr != null && csr.rows() == csr.cols()) {
+            try {
+                return direct.solveDetailed(csr, b, x, tol, detail);
+            } catch (ArithmeticException singular) {
+                // a floating sub-network: least squares still finds a solution
+            }
+        }
+        return LeastSquare.solveDetailed(A, x0, b, maxIter, tol, detail);
+    }
+
+    // ── strategy contract ──────────────────────────────────────────────────
+
+    /**
+     * Solves Ax = b from {@code x0}, reporting how the solve went.
+     *
+     * @param detail what to record beyond the summary
+     */
+    public abstract SolverResult solveDetailed(Matrix A, double[] x0, double[] b, int maxIter, double tol,
+                                               SolverResult.Detail detail);
+
+    /** Solves Ax = b from {@code x0}, returning only the solution. */
+    public double[] solve(Matrix A, double[] x0, double[] b, int maxIter, double tol) {
+        return solveDetailed(A, x0, b, maxIter, tol, SolverResult.Detail.SUMMARY).x();
+    }
+
+    /**
+     * Solves the assembled system of {@code domain}, recording what its
+     * {@link DomainModel#getSolverDetail() solver detail} asks for.
+     * Strategies that keep state from one pass to the next hold it on the
+     * domain, and those that can solve without allocating vectors use its
+     * {@link SolverWorkspace} and write the solution over {@code x0}; the
+     * others ignore the domain.
+     */
+    public SolverResult solve(DomainModel domain, Matrix A, double[] x0, double[] b, int maxIter, double tol) {
+        return solveDetailed(A, x0, b, maxIter, tol, domain.getSolverDetail());
+    }
+}
@@ -1,6 +1,6 @@
 package com.rae.formicapi.fondation.simulation.nodal;
 
-import com.rae.formicapi.fondation.math.solvers.LeastSquare;
+import com.rae.formicapi.fondation.math.solvers.SolverResult;
 import com.rae.formicapi.fondation.simulation.nodal.core.DomainModel;
 import com.rae.formicapi.fondation.simulation.nodal.core.Node;
 import com.rae.formicapi.fondation.simulation.nodal.core.SimulationComponent;
@@ -25,30 +25,21 @@ public enum ModelType {
     THERMAL("Temperature [K]", "Heat flux [W]") {
         @Override
         public void solve(DomainModel domain, List<SimulationComponent> components) {
-            SimulationContext ctx = domain.getContext();
-            double[] x0 = nodeValues(domain);
-            double[] result = LeastSquare.solve(ctx.matrix, x0, ctx.rhs, 5000, 1e-3f);
-            applyResult(domain, result);
+            solveLinear(domain);
         }
     },
 
     MECHANICAL("Angular velocity [rad/s]", "Torque [N·m]") {
         @Override
         public void solve(DomainModel domain, List<SimulationComponent> components) {
-            SimulationContext ctx = domain.getContext();
-            double[] x0 = nodeValues(domain);
-            double[] result = LeastSquare.solve(ctx.matrix, x0, ctx.rhs, 5000, 1e-3f);
-            applyResult(domain, result);
+            solveLinear(domain);
         }
     },
 
     HYDRAULIC("Pressure [Pa]", "Mass flow [kg/s]") {
         @Override
         public void solve(DomainModel domain, List<SimulationComponent> components) {
-            SimulationContext ctx = domain.getContext();
-            double[] x0 = nodeValues(domain);
-            double[] result = LeastSquare.solve(ctx.matrix, x0, ctx.rhs, 5000, 1e-3f);
-            applyResult(domain, result);
+            solveLinear(domain);
         }
     };
 
@@ -62,15 +53,56 @@ public enum ModelType {
     }
 
     // ── shared helpers ─────────────────────────────────────────────────────
+    protected static final int MAX_ITER = 5000;
+    protected static final float TOLERANCE = 1e-3f;
+
+    /**
+     * Solves the domain's assembled system with its {@link LinearSolver},
+     * starting from the current node values, and writes the result back.
+     * How the solve went is kept as the domain's
+     * {@link DomainModel#getLastResult() last result}.
+     */
+    protected static void solveLinear(DomainModel domain) {
+        SimulationContext ctx = domain.getContext();
+        double[] x0 = nodeValues(domain);
+        SolverResult result = domain.getSolver().solve(domain, ctx.matrix, x0, ctx.rhs, MAX_ITER, TOLERANCE);
+        applyResult(domain, result.x());
+        domain.setLastResult(result);
+    }
+
+    /**
+     * Returns the current node values indexed by matrix id, which need not
+     * follow insertion order once the domain is reordered.
+     *
+     * <p>Written into the domain's {@link DomainModel#getValueBuffer() value
+     * buffer}, so the array is overwritten by the next call.
+     */
     protected static double[] nodeValues(DomainModel domain) {
-        return domain.getNodes().stream().mapToDouble((node) -> node.getValue(domain.getType())).toArray();
+        List<Node> nodes = domain.getNodes();
+        ModelType type = domain.getType();
+        double[] values = domain.getValueBuffer();
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            values[node.getId(type)] = node.getValue(type);
+        }
+        return values;
     }
 
     protected static void applyResult(DomainModel domain, double[] result) {
-        for (Node node : domain.getNodes())
-            node.setValue(domain.getType(), result[node.getId(domain.getType())]);
+        List<Node> nodes = domain.getNodes();
+        ModelType type = domain.getType();
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            node.setValue(type, result[node.getId(type)]);
+        }
     }
 
     // ── strategy contract ──────────────────────────────────────────────────
+
+    /**
+     * Solves the domain for one outer iteration and writes the new values
+     * into its nodes. Linear solves record their outcome with
+     * {@link DomainModel#setLastResult(SolverResult)}.
+     */
     public abstract void solve(DomainModel domain, List<SimulationComponent> components);
 }
\ No newline at end of file
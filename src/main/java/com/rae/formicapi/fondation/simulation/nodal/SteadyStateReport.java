@@ -0,0 +1,114 @@
+package com.rae.formicapi.fondation.simulation.nodal;
+
+import com.rae.formicapi.fondation.math.solvers.SolverResult;
+import com.rae.formicapi.fondation.simulation.nodal.core.DomainModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a {@link SteadyStateSolver#solveWithReport} call did: the
+ * {@link SolverResult} of every domain's linear solve in every outer
+ * iteration, as each domain {@link DomainModel#getLastResult() recorded} it,
+ * and whether the outer loop settled.
+ *
+ * <p>Every result holds its own copy of the solution, so {@code x()} of
+ * iteration i is the node values that solve produced, not the latest ones.
+ *
+ * <p>Use it to see which domain hit its iteration cap, how far its residual
+ * got, or — with a {@link SolverResult.Detail} above the summary set on the
+ * domain — where the solve time went.
+ */
+public final class SteadyStateReport {
+
+    private final List<Map<ModelType, SolverResult>> iterations = new ArrayList<>();
+    private boolean converged;
+    private double finalChange = Double.NaN;
+
+    SteadyStateReport() {
+    }
+
+    // ------------------------------------------------
+    // Recording — used by SteadyStateSolver
+    // ------------------------------------------------
+
+    /** Starts a new outer iteration. */
+    void beginIteration() {
+        iterations.add(new EnumMap<>(ModelType.class));
+    }
+
+    /**
+     * Keeps {@code result} with a copy of its solution, which on the domain
+     * path is the domain's value buffer and is overwritten by the next pass.
+     */
+    void record(ModelType type, SolverResult result) {
+        SolverResult kept = new SolverResult(result.x().clone(), result.iterations(), result.initialResidual(),
+                result.residual(), result.history(), result.spmvNanos(), result.preconditionerNanos(),
+                result.vectorNanos(), result.status());
+        iterations.get(iterations.size() - 1).put(type, kept);
+    }
+
+    void finish(boolean converged, double finalChange) {
+        this.converged = converged;
+        this.finalChange = finalChange;
+    }
+
+    // ------------------------------------------------
+    // Queries
+    // ------------------------------------------------
+
+    /** Number of outer iterations run. */
+    public int outerIterations() {
+        return iterations.size();
+    }
+
+    /** Returns true if the node values settled before the outer iteration cap. */
+    public boolean converged() {
+        return converged;
+    }
+
+    /** Largest change of a node value in the last outer iteration. */
+    public double finalChange() {
+        return finalChange;
+    }
+
+    /**
+     * Results of the linear solves of one outer iteration, by domain; empty
+     * domains are absent.
+     *
+     * @param iteration outer iteration, from 0
+     */
+    public Map<ModelType, SolverResult> results(int iteration) {
+        return Collections.unmodifiableMap(iterations.get(iteration));
+    }
+
+    /** Result of the last linear solve of {@code type}, or {@code null} if it was never solved. */
+    public SolverResult last(ModelType type) {
+        for (int i = iterations.size() - 1; i >= 0; i--) {
+            SolverResult result = iterations.get(i).get(type);
+            if (result != null) return result;
+        }
+        return null;
+    }
+
+    /** Linear iterations spent on {@code type} over all outer iterations. */
+    public int linearIterations(ModelType type) {
+        int total = 0;
+        for (Map<ModelType, SolverResult> results : iterations) {
+            SolverResult result = results.get(type);
+            if (result != null) total += result.iterations();
+        }
+        return total;
+    }
+
+    /** Returns true if every linear solve met its tolerance. */
+    public boolean allLinearSolvesConverged() {
+        for (Map<ModelType, SolverResult> results : iterations)
+            for (SolverResult result : results.values())
+                if (!result.converged()) return false;
+        return true;
+    }
+}
@@ -11,11 +11,39 @@ public class SteadyStateSolver {
     private static final int MAX_ITER = 50;
     private static final double TOLERANCE = 1e-3;
 
+    private static volatile int parallelStampingThreshold = 4096;
+
+    /**
+     * Runs the outer fixed-point loop until node values settle, each domain
+     * solving its own system once per iteration.
+     */
     public static void solve(SimulationModel model) {
+        run(model, null);
+    }
+
+    /**
+     * Same as {@link #solve(SimulationModel)}, also returning what every
+     * linear solve did.
+     *
+     * @return the result of every linear solve, by outer iteration and domain
+     */
+    public static SteadyStateReport solveWithReport(SimulationModel model) {
+        SteadyStateReport report = new SteadyStateReport();
+        run(model, report);
+        return report;
+    }
+
+    /**
+     * The outer loop itself, recording into {@code report} when there is
+     * one; {@link #solve} passes {@code null} so a plain step keeps nothing.
+     */
+    private static void run(SimulationModel model, SteadyStateReport report) {
 
         List<ModelType> order = model.getSolveOrder();
+        double maxDelta = Double.NaN;
 
         for (int iter = 0; iter < MAX_ITER; iter++) {
+            if (report != null) report.beginIteration();
 
             // 1. Rebuild all contexts — zeroes every matrix and RHS
             Map<ModelType, SimulationContext> ctxMap = new EnumMap<>(ModelType.class);
@@ -28,28 +56,68 @@ public class SteadyStateSolver {
             // 2. Stamp all components into all contexts.
             //    Cross-domain components (e.g. RotationalDamper) inject
             //    frozen mechanical losses into the thermal RHS here.
-            for (SimulationComponent c : model.getComponents())
-                c.stamp(ctxMap);
+            List<SimulationComponent> components = model.getComponents();
+            if (stampInParallel(components, ctxMap))
+                components.parallelStream().forEach(c -> c.stamp(ctxMap));
+            else
+                for (SimulationComponent c : components)
+                    c.stamp(ctxMap);
 
             // 3. Each domain solves itself — no solver logic here.
-            double maxDelta = 0.0;
+            maxDelta = 0.0;
             for (ModelType type : order) {
                 DomainModel domain = model.domain(type);
                 if (domain.isEmpty()) continue;
 
                 double[] before = snapshot(domain);
                 type.solve(domain, model.getComponents());     // ← strategy dispatch
+                if (report != null) report.record(type, domain.getLastResult());
                 maxDelta = Math.max(maxDelta, maxChange(domain, before));
             }
 
-            if (maxDelta < TOLERANCE) break;
+            if (maxDelta < TOLERANCE) {
+                if (report != null) report.finish(true, maxDelta);
+                return;
+            }
         }
+        if (report != null) report.finish(false, maxDelta);
+    }
+
+    /**
+     * Returns the component count at or above which stamping runs on the
+     * common pool, provided every context is {@link SimulationContext#isConcurrent() concurrent}.
+     */
+    public static int getParallelStampingThreshold() {
+        return parallelStampingThreshold;
+    }
+
+    /**
+     * Sets the component count at or above which stamping runs in parallel.
+     * {@link Integer#MAX_VALUE} disables parallel stamping.
+     *
+     * @param components the new threshold, must be non-negative
+     */
+    public static void setParallelStampingThreshold(int components) {
+        if (components < 0)
+            throw new IllegalArgumentException("Parallel stamping threshold must be non-negative, got: " + components);
+        parallelStampingThreshold = components;
     }
 
+    private static boolean stampInParallel(List<SimulationComponent> components,
+                                           Map<ModelType, SimulationContext> ctxMap) {
+        if (components.size() < parallelStampingThreshold) return false;
+        for (SimulationContext ctx : ctxMap.values())
+            if (!ctx.isConcurrent()) return false;
+        return true;
+    }
+
+    /** Node values of {@code domain}, in its {@link DomainModel#getSnapshotBuffer() snapshot buffer}. */
     private static double[] snapshot(DomainModel domain) {
-        return domain.getNodes().stream()
-                .mapToDouble((node) -> node.getValue(domain.getType()))
-                .toArray();
+        double[] values = domain.getSnapshotBuffer();
+        List<Node> nodes = domain.getNodes();
+        for (int i = 0; i < nodes.size(); i++)
+            values[i] = nodes.get(i).getValue(domain.getType());
+        return values;
     }
 
     private static double maxChange(DomainModel domain, double[] before) {
@@ -207,8 +207,7 @@ public class HeatExchanger implements SimulationComponent {
             int ai = a.getId(ModelType.HYDRAULIC);
             int bi = b.getId(ModelType.HYDRAULIC);
 
-            if (au) { ctx.matrix.add(ai, ai,  segG); ctx.matrix.add(ai, bi, -segG); }
-            if (bu) { ctx.matrix.add(bi, bi,  segG); ctx.matrix.add(bi, ai, -segG); }
+            ctx.addConductance(ai, au, bi, bu, segG);
         }
     }
 
@@ -219,8 +218,7 @@ public class HeatExchanger implements SimulationComponent {
         boolean bu = b.isUnknown(ModelType.THERMAL);
         int i = a.getId(ModelType.THERMAL);
         int j = b.getId(ModelType.THERMAL);
-        if (au) { ctx.matrix.add(i, i,  hA); ctx.matrix.add(i, j, -hA); }
-        if (bu) { ctx.matrix.add(j, j,  hA); ctx.matrix.add(j, i, -hA); }
+        ctx.addConductance(i, au, j, bu, hA);
     }
 
     /**
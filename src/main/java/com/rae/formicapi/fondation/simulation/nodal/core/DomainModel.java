@@ -1,5 +1,15 @@
 package com.rae.formicapi.fondation.simulation.nodal.core;
 
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+import com.rae.formicapi.fondation.math.operators.MatrixFreeOperator;
+import com.rae.formicapi.fondation.math.operators.MutableMatrix;
+import com.rae.formicapi.fondation.math.ordering.ReverseCuthillMcKee;
+import com.rae.formicapi.fondation.math.solvers.AlgebraicMultigrid;
+import com.rae.formicapi.fondation.math.solvers.SolverResult;
+import com.rae.formicapi.fondation.math.solvers.SolverWorkspace;
+import com.rae.formicapi.fondation.math.solvers.SparseDirectSolver;
+import com.rae.formicapi.fondation.simulation.nodal.LinearSolver;
 import com.rae.formicapi.fondation.simulation.nodal.ModelType;
 
 import java.util.ArrayList;
@@ -10,6 +20,22 @@ public class DomainModel {
     private final ModelType type;
     private final List<Node> nodes = new ArrayList<>();
     private SimulationContext context;
+    private LinearSolver solver = LinearSolver.LEAST_SQUARE;
+    private SolverResult.Detail solverDetail = SolverResult.Detail.SUMMARY;
+    private SolverResult lastResult;
+    private SimulationContext.Storage storage = SimulationContext.Storage.PATTERN_CSR;
+
+    private boolean reordering = false;
+    /** Matrix id of each node, by insertion index; {@code null} means insertion order. */
+    private int[] ids;
+    /** Factorization kept between passes by {@link LinearSolver#DIRECT}. */
+    private SparseDirectSolver directSolver;
+    /** Hierarchy kept between passes by {@link LinearSolver#MULTIGRID}. */
+    private AlgebraicMultigrid multigrid;
+    /** Solver scratch vectors, node values by id and node values before the pass, reused by every pass. */
+    private SolverWorkspace workspace;
+    private double[] valueBuffer;
+    private double[] snapshotBuffer;
 
     public DomainModel(ModelType type) {
         this.type = type;
@@ -19,6 +45,142 @@ public class DomainModel {
         return type;
     }
 
+    public LinearSolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * Chooses the linear solver used for this domain's system.
+     */
+    public void setSolver(LinearSolver solver) {
+        this.solver = solver;
+        directSolver = null;
+        multigrid = null;
+    }
+
+    public SolverResult.Detail getSolverDetail() {
+        return solverDetail;
+    }
+
+    /**
+     * Chooses what the linear solves of this domain record beyond their
+     * summary, {@link SolverResult.Detail#SUMMARY} by default: timings or a
+     * residual history, reported through {@code SteadyStateReport}.
+     */
+    public void setSolverDetail(SolverResult.Detail detail) {
+        this.solverDetail = detail;
+    }
+
+    /**
+     * Returns how this domain's latest linear solve went, or {@code null}
+     * before the first one.
+     *
+     * <p>The result is kept as the solver returned it: its {@code x()} is
+     * usually this domain's {@link #getValueBuffer() value buffer}, which the
+     * next pass overwrites. Only the scalar telemetry and the history belong
+     * to that solve; copy {@code x()} to keep it.
+     */
+    public SolverResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Records the outcome of a linear solve of this domain; called by
+     * {@link ModelType} once per outer iteration.
+     */
+    public void setLastResult(SolverResult result) {
+        this.lastResult = result;
+    }
+
+    /**
+     * Returns the direct solver holding this domain's cached factorization,
+     * created on first use. It re-analyses the pattern and refactors on its
+     * own when the assembled matrix changes, so it survives topology changes.
+     */
+    public SparseDirectSolver getDirectSolver() {
+        if (directSolver == null) directSolver = new SparseDirectSolver();
+        return directSolver;
+    }
+
+    /**
+     * Returns this domain's solver workspace, reallocated only when the
+     * system's shape changes, so steady passes allocate nothing.
+     *
+     * @param A the matrix of the current pass
+     */
+    public SolverWorkspace getWorkspace(Matrix A) {
+        if (workspace == null || !workspace.fits(A)) workspace = new SolverWorkspace(A);
+        return workspace;
+    }
+
+    /**
+     * Returns an array of one value per node, kept with this domain and
+     * overwritten by each pass; reallocated only when nodes are added.
+     */
+    public double[] getValueBuffer() {
+        if (valueBuffer == null || valueBuffer.length != nodes.size()) valueBuffer = new double[nodes.size()];
+        return valueBuffer;
+    }
+
+    /**
+     * Returns a second array of one value per node, distinct from
+     * {@link #getValueBuffer()}, in which the steady-state loop keeps the
+     * node values from before a pass; reallocated only when nodes are added.
+     */
+    public double[] getSnapshotBuffer() {
+        if (snapshotBuffer == null || snapshotBuffer.length != nodes.size()) snapshotBuffer = new double[nodes.size()];
+        return snapshotBuffer;
+    }
+
+    /**
+     * Returns the multigrid hierarchy for this domain's compiled matrix:
+     * built on first use and whenever the sparsity pattern changed,
+     * otherwise only {@link AlgebraicMultigrid#update(CSRMatrix) updated}
+     * to the current values.
+     *
+     * @param A the compiled matrix of the current pass
+     */
+    public AlgebraicMultigrid getMultigrid(CSRMatrix A) {
+        if (multigrid == null || !multigrid.matches(A)) multigrid = new AlgebraicMultigrid(A);
+        else multigrid.update(A);
+        return multigrid;
+    }
+
+    public SimulationContext.Storage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Chooses how this domain's system is stored, {@link SimulationContext.Storage#PATTERN_CSR}
+     * by default. {@link SimulationContext.Storage#MATRIX_FREE} keeps conductances
+     * and operator terms unassembled; the context is rebuilt on the next pass.
+     */
+    public void setStorage(SimulationContext.Storage storage) {
+        this.storage = storage;
+        context = null;
+        ids = null;
+    }
+
+    public boolean isReordering() {
+        return reordering;
+    }
+
+    /**
+     * Enables bandwidth-reducing renumbering of this domain's matrix ids.
+     *
+     * <p>When enabled, the first stamping pass after a topology change still
+     * uses insertion order. Its compiled sparsity pattern is then ordered with
+     * {@link ReverseCuthillMcKee}, and from the next {@link #rebuildContext()}
+     * on, ids follow that ordering so coupled nodes get nearby indices. The
+     * ordering is only kept if it actually narrows the bandwidth. Node values
+     * and results are always exchanged by id, so callers see no difference.
+     */
+    public void setReordering(boolean reordering) {
+        this.reordering = reordering;
+        ids = null;
+        context = null;
+    }
+
     public boolean isEmpty() {
         return nodes.isEmpty();
     }
@@ -28,6 +190,8 @@ public class DomainModel {
             throw new IllegalArgumentException(
                     "Node domains " + node.getDomains() + " does not match DomainModel " + type);
         nodes.add(node);
+        context = null; // topology changed — the cached sparsity pattern and ordering are stale
+        ids = null;
     }
 
     public List<Node> getNodes() {
@@ -35,26 +199,61 @@ public class DomainModel {
     }
 
     /**
-     * Rebuilds a fresh context from the current node state.
+     * Prepares the context for a new stamping pass from the current node state.
      * Must be called at the start of each iteration before stamping.
      *
-     * @return
+     * <p>The context is created once per topology, with the chosen
+     * {@link #setStorage(SimulationContext.Storage) storage}. Later calls only zero it,
+     * so the {@link SimulationContext.Storage#PATTERN_CSR} matrix keeps its
+     * sparsity pattern and components stamp straight into the existing slots.
+     * Adding a node discards the context and the next call starts over.
+     *
+     * <p>With {@link #setReordering(boolean) reordering} enabled, the second
+     * call computes the ordering from the first pass's pattern and starts a
+     * fresh context in the new numbering.
+     *
+     * @return the zeroed context, with fixed-value rows already stamped
      */
     public SimulationContext rebuildContext() {
         int n = nodes.size();
-        context = new SimulationContext(n, false);
-        int id = 0;
-        for (Node node : nodes) {
+        if (reordering && ids == null && context != null) {
+            ids = computeOrdering(context.matrix, n);
+            context = null; // the cached pattern is in the old numbering
+        }
+        if (context == null) context = new SimulationContext(n, storage);
+        else context.reset();
+        for (int i = 0; i < n; i++) {
+            Node node = nodes.get(i);
+            int id = ids == null ? i : ids[i];
             node.setId(type, id);
             if (node instanceof FixedValueNode) {
                 context.matrix.set(id, id, 1);
                 context.rhs[id] = node.getValue(type);
             }
-            id++;
         }
         return context;
     }
 
+    /**
+     * Returns new ids (by insertion index) from the RCM ordering of the
+     * stamped pattern, or the identity if that would not narrow the band.
+     *
+     * <p>A matrix-free operator has no compiled pattern; it is assembled
+     * here once, since the ordering is computed once per topology.
+     */
+    private static int[] computeOrdering(MutableMatrix matrix, int n) {
+        CSRMatrix pattern = matrix.compiledCSR();
+        if (pattern == null && matrix instanceof MatrixFreeOperator free) pattern = free.toCSR();
+
+        int[] identity = new int[n];
+        for (int i = 0; i < n; i++) identity[i] = i;
+        if (pattern == null) return identity;
+
+        int[] newIds = ReverseCuthillMcKee.inverse(ReverseCuthillMcKee.order(pattern));
+        boolean narrower = ReverseCuthillMcKee.bandwidth(pattern, newIds) < ReverseCuthillMcKee.bandwidth(pattern, null);
+        return narrower ? newIds : identity;
+    }
+
     /**
      * Returns the current context — valid after rebuildContext().
      */
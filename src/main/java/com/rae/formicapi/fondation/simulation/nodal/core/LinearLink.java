@@ -86,17 +86,7 @@ public class LinearLink extends SingleDomainComponent {
         int i = a.getId(type);
         int j = b.getId(type);
 
-        if (au) {
-            ctx.matrix.add(i, i, conductance);
-            ctx.matrix.add(i, j, -conductance);
-        }
-
-        if (bu) {
-            ctx.matrix.add(j, j, conductance);
-            ctx.matrix.add(j, i, -conductance);
-        }
-
-        // both fixed → nothing
+        ctx.addConductance(i, au, j, bu, conductance); // both fixed → nothing
     }
 
     @Override
@@ -47,6 +47,12 @@ import java.util.Set;
  * they add their contribution to the existing matrix and RHS entries rather than
  * overwriting them, so that multiple components sharing a node accumulate correctly.
  *
+ * <p>When every context uses {@link SimulationContext.Storage#STRIPED}
+ * storage, {@link com.rae.formicapi.fondation.simulation.nodal.SteadyStateSolver}
+ * may stamp different components from different threads. Implementations
+ * must then write the right-hand side through {@link SimulationContext#addRhs}
+ * and must not share mutable state with other components.
+ *
  * <p>Components that read values from a foreign domain (e.g. reading mechanical
  * speeds to compute a thermal heat source) must use the node values from the
  * <em>previous</em> iteration — the values frozen by the outer coupling loop.
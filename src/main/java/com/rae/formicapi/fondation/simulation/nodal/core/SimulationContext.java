@@ -2,19 +2,183 @@ package com.rae.formicapi.fondation.simulation.nodal.core;
 
 import com.rae.formicapi.fondation.math.operators.DenseMatrix;
 import com.rae.formicapi.fondation.math.operators.DynamicCSRMatrix;
+import com.rae.formicapi.fondation.math.operators.MatrixFreeOperator;
 import com.rae.formicapi.fondation.math.operators.MutableMatrix;
+import com.rae.formicapi.fondation.math.operators.OperatorTerm;
+import com.rae.formicapi.fondation.math.operators.PatternCSRMatrix;
+import com.rae.formicapi.fondation.math.operators.StripedSparseMatrix;
+import com.rae.formicapi.fondation.math.operators.TripletMatrixBuilder;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 
 public class SimulationContext {
 
+    private static final VarHandle RHS = MethodHandles.arrayElementVarHandle(double[].class);
+
     public final MutableMatrix matrix;   // the assembly matrix
     public final double[] rhs;           // right-hand side
+    private final Storage storage;
 
     public SimulationContext(int numNodes, boolean useDense) {
-        if (useDense) {
-            matrix = new DenseMatrix(numNodes, numNodes);
-        } else {
-            matrix = new DynamicCSRMatrix(numNodes, numNodes);
-        }
+        this(numNodes, useDense ? Storage.DENSE : Storage.DYNAMIC_CSR);
+    }
+
+    public SimulationContext(int numNodes, Storage storage) {
+        matrix = storage.create(numNodes);
         rhs = new double[numNodes];
+        this.storage = storage;
+    }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Whether components may stamp this context from several threads at
+     * once, using {@link #addRhs} for the right-hand side.
+     */
+    public boolean isConcurrent() {
+        return storage.isConcurrent();
+    }
+
+    /**
+     * Adds {@code value} to {@code rhs[id]} atomically, so components stamping
+     * in parallel never lose an update. Prefer this over writing {@link #rhs}
+     * directly from a component.
+     *
+     * @param id    node id
+     * @param value contribution to add
+     */
+    public void addRhs(int id, double value) {
+        RHS.getAndAdd(rhs, id, value);
+    }
+
+    /**
+     * Zeroes the matrix and RHS for a new stamping pass, keeping whatever
+     * storage (and, for {@link Storage#PATTERN_CSR}, sparsity pattern) the
+     * matrix has already built.
+     */
+    public void reset() {
+        matrix.clear();
+        Arrays.fill(rhs, 0.0);
+    }
+
+    /**
+     * Stamps a conductance {@code g} between ids {@code i} and {@code j}:
+     * the {@code [+g −g; −g +g]} block, restricted to the rows of unknown
+     * nodes. A {@link Storage#MATRIX_FREE} context records it as a single link;
+     * any other storage receives the explicit entries.
+     *
+     * @param i        id of the first node
+     * @param iUnknown whether the first node is an unknown (owns its row)
+     * @param j        id of the second node
+     * @param jUnknown whether the second node is an unknown (owns its row)
+     * @param g        conductance
+     */
+    public void addConductance(int i, boolean iUnknown, int j, boolean jUnknown, double g) {
+        if (matrix instanceof MatrixFreeOperator free) {
+            free.addLink(i, iUnknown, j, jUnknown, g);
+            return;
+        }
+        if (iUnknown) {
+            matrix.add(i, i, g);
+            matrix.add(i, j, -g);
+        }
+        if (jUnknown) {
+            matrix.add(j, j, g);
+            matrix.add(j, i, -g);
+        }
+    }
+
+    /**
+     * Adds a term given by its action. A {@link Storage#MATRIX_FREE} context
+     * keeps the term itself; any other storage has it stamp its entries.
+     *
+     * @param term the contribution to add for this pass
+     */
+    public void addTerm(OperatorTerm term) {
+        if (matrix instanceof MatrixFreeOperator free) free.addTerm(term);
+        else term.stamp(matrix);
+    }
+
+    /**
+     * Matrix storage used for assembly and solve.
+     */
+    public enum Storage {
+        /** Full storage — only for small systems. */
+        DENSE {
+            @Override
+            MutableMatrix create(int n) {
+                return new DenseMatrix(n, n);
+            }
+        },
+        /**
+         * Hash buffer compiled to CSR on first read. Writes to entries already
+         * in the compiled pattern update it in place; a write outside the
+         * pattern, or the clear of {@link #reset()}, drops it and the next
+         * read recompiles.
+         */
+        DYNAMIC_CSR {
+            @Override
+            MutableMatrix create(int n) {
+                return new DynamicCSRMatrix(n, n);
+            }
+        },
+        /** Append-only triplets, radix-sorted and compressed to CSR on first read. */
+        TRIPLET {
+            @Override
+            MutableMatrix create(int n) {
+                return new TripletMatrixBuilder(n, n);
+            }
+        },
+        /**
+         * Row-striped hash buffers with one lock per stripe, compiled to CSR on
+         * first read. The only storage that components may stamp in parallel.
+         */
+        STRIPED {
+            @Override
+            MutableMatrix create(int n) {
+                return new StripedSparseMatrix(n, n);
+            }
+
+            @Override
+            boolean isConcurrent() {
+                return true;
+            }
+        },
+        /** CSR whose sparsity pattern survives {@link #reset()}, refilled in place. */
+        PATTERN_CSR {
+            @Override
+            MutableMatrix create(int n) {
+                return new PatternCSRMatrix(n, n);
+            }
+        },
+        /**
+         * Conductance links and {@link OperatorTerm}s kept unassembled, for
+         * large uniform networks where storing the matrix is pure overhead.
+         *
+         * <p>The operator has no {@link MutableMatrix#compiledCSR() compiled
+         * form}, and solves never assemble one. Strategies built on the
+         * products alone run on it as usual. Those that need an assembled
+         * matrix — {@code NORMAL_MATRIX}, {@code MIXED_PRECISION},
+         * {@code MULTIGRID} and {@code DIRECT} — solve it as
+         * {@code LEAST_SQUARE} instead. The only assembly is the one-off
+         * pattern for {@link DomainModel#setReordering(boolean) reordering},
+         * once per topology.
+         */
+        MATRIX_FREE {
+            @Override
+            MutableMatrix create(int n) {
+                return new MatrixFreeOperator(n);
+            }
+        };
+
+        abstract MutableMatrix create(int n);
+
+        boolean isConcurrent() {
+            return false;
+        }
     }
-}
\ No newline at end of file
+}
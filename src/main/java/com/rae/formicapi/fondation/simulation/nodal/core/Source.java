@@ -25,7 +25,7 @@ public class Source extends SingleDomainComponent {
     public void stamp(SimulationContext ctx) {
 
         if (node.isUnknown(this.getDomain())) {
-            ctx.rhs[node.getId(this.getDomain())] += flux;
+            ctx.addRhs(node.getId(this.getDomain()), flux);
         }
 
     }
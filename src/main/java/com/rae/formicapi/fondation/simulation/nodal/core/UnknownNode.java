@@ -15,7 +15,8 @@ import java.util.Map;
  */
 public class UnknownNode extends Node {
 
-    private final Map<ModelType, Double> values = new EnumMap<>(ModelType.class);
+    /** Value per domain, by ordinal: unboxed, so solver passes write them without allocating. */
+    private final double[] values = new double[ModelType.values().length];
     private final Map<ModelType, Double> capacitances = new EnumMap<>(ModelType.class);
 
     /**
@@ -35,7 +36,6 @@ public class UnknownNode extends Node {
     public UnknownNode(Map<ModelType, Double> capacitance, ModelType first, ModelType... rest) {
         super(first, rest);
         for (ModelType t : getDomains()) {
-            values.put(t, 0.0);
             this.capacitances.put(t, capacitance.getOrDefault(t, 0.0));
         }
     }
@@ -48,13 +48,13 @@ public class UnknownNode extends Node {
     @Override
     public double getValue(ModelType type) {
         assertParticipates(type);
-        return values.get(type);
+        return values[type.ordinal()];
     }
 
     @Override
     public void setValue(ModelType type, double value) {
         assertParticipates(type);
-        values.put(type, value);
+        values[type.ordinal()] = value;
     }
 
     private void assertParticipates(ModelType type) {
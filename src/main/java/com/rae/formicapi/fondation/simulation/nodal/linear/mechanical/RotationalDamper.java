@@ -101,20 +101,13 @@ public class RotationalDamper implements SimulationComponent {
             int i = a.getId(ModelType.MECHANICAL);
             int j = b.getId(ModelType.MECHANICAL);
 
-            if (au) {
-                mechCtx.matrix.add(i, i, damping);
-                mechCtx.matrix.add(i, j, -damping);
-            }
-            if (bu) {
-                mechCtx.matrix.add(j, j, damping);
-                mechCtx.matrix.add(j, i, -damping);
-            }
+            mechCtx.addConductance(i, au, j, bu, damping);
         }
 
         // thermal injection from dissipated power
         if (thermCtx != null && heat.isUnknown(ModelType.THERMAL)) {
             double delta = a.getValue(ModelType.MECHANICAL) - b.getValue(ModelType.MECHANICAL);
-            thermCtx.rhs[heat.getId(ModelType.THERMAL)] += damping * delta * delta;
+            thermCtx.addRhs(heat.getId(ModelType.THERMAL), damping * delta * delta);
         }
     }
 }
\ No newline at end of file
@@ -97,14 +97,7 @@ public class Convection implements SimulationComponent {
         int j = flowNode.getId(ModelType.THERMAL);
 
         // diffusive part — symmetric
-        if (au) {
-            thermCtx.matrix.add(i, i, hA);
-            thermCtx.matrix.add(i, j, -hA);
-        }
-        if (bu) {
-            thermCtx.matrix.add(j, j, hA);
-            thermCtx.matrix.add(j, i, -hA);
-        }
+        thermCtx.addConductance(i, au, j, bu, hA);
 
         // advective part — asymmetric, only upstream node drives transport
         if (gAdv > 0) {
@@ -0,0 +1,136 @@
+package com.rae.formicapi.fondation.simulation.nodal.linear.thermal;
+
+import com.rae.formicapi.fondation.math.operators.MutableMatrix;
+import com.rae.formicapi.fondation.math.operators.OperatorTerm;
+import com.rae.formicapi.fondation.simulation.nodal.ModelType;
+import com.rae.formicapi.fondation.simulation.nodal.core.Node;
+import com.rae.formicapi.fondation.simulation.nodal.core.SimulationContext;
+import com.rae.formicapi.fondation.simulation.nodal.core.SingleDomainComponent;
+
+/**
+ * Conduction over a rectangular plate grid, applied as a five-point stencil
+ * instead of one {@link com.rae.formicapi.fondation.simulation.nodal.core.LinearLink}
+ * per neighbour pair.
+ *
+ * <p>Conductance is uniform along each grid row, so the whole plate is
+ * described by one horizontal and one vertical conductance per row, plus the
+ * node ids refreshed at every stamp. Stamped into a
+ * {@link SimulationContext.Storage#MATRIX_FREE} context it stores no matrix
+ * entries at all; any other storage receives the same entries the links
+ * would have stamped.
+ *
+ * <p>Created by {@link PlateNodeHelper} in matrix-free mode. Every grid node
+ * must be an unknown.
+ */
+public class PlateConduction extends SingleDomainComponent implements OperatorTerm {
+
+    private final Node[][] nodes;
+    private final int nx;
+    private final int ny;
+    /** Conductance between (i, j) and (i + 1, j), per row j; 0 means no link. */
+    private final double[] gRight;
+    /** Conductance between (i, j) and (i, j + 1), per row j < ny − 1. */
+    private final double[] gUp;
+    /** Matrix id of node (i, j) at {@code i * ny + j}, refreshed by {@link #stamp}. */
+    private final int[] ids;
+
+    /**
+     * @param nodes  plate nodes, {@code nodes[i][j]} with i along the length
+     * @param gRight horizontal conductance of each row, length ny
+     * @param gUp    vertical conductance above each row, length ny − 1
+     */
+    public PlateConduction(Node[][] nodes, double[] gRight, double[] gUp) {
+        this.nodes = nodes;
+        this.nx = nodes.length;
+        this.ny = nodes[0].length;
+        if (gRight.length != ny || gUp.length != ny - 1)
+            throw new IllegalArgumentException(
+                    "Conductance rows (" + gRight.length + ", " + gUp.length +
+                            ") do not match plate height " + ny);
+        this.gRight = gRight.clone();
+        this.gUp = gUp.clone();
+        this.ids = new int[nx * ny];
+    }
+
+    @Override
+    public ModelType getDomain() {
+        return ModelType.THERMAL;
+    }
+
+    @Override
+    public void stamp(SimulationContext ctx) {
+        for (int i = 0; i < nx; i++)
+            for (int j = 0; j < ny; j++)
+                ids[i * ny + j] = nodes[i][j].getId(ModelType.THERMAL);
+        ctx.addTerm(this);
+    }
+
+    // ------------------------------------------------
+    // OperatorTerm
+    // ------------------------------------------------
+
+    @Override
+    public void apply(double[] x, double[] result) {
+        for (int i = 0; i < nx; i++) {
+            int base = i * ny;
+            for (int j = 0; j < ny; j++) {
+                int a = ids[base + j];
+                if (i + 1 < nx && gRight[j] != 0.0) {
+                    int b = ids[base + ny + j];
+                    double d = gRight[j] * (x[a] - x[b]);
+                    result[a] += d;
+                    result[b] -= d;
+                }
+                if (j + 1 < ny) {
+                    int b = ids[base + j + 1];
+                    double d = gUp[j] * (x[a] - x[b]);
+                    result[a] += d;
+                    result[b] -= d;
+                }
+            }
+        }
+    }
+
+    /** The stencil is symmetric, so this is {@link #apply}. */
+    @Override
+    public void applyTranspose(double[] x, double[] result) {
+        apply(x, result);
+    }
+
+    @Override
+    public void addDiagonal(double[] diagonal) {
+        for (int i = 0; i < nx; i++) {
+            int base = i * ny;
+            for (int j = 0; j < ny; j++) {
+                int a = ids[base + j];
+                if (i + 1 < nx) {
+                    diagonal[a] += gRight[j];
+                    diagonal[ids[base + ny + j]] += gRight[j];
+                }
+                if (j + 1 < ny) {
+                    diagonal[a] += gUp[j];
+                    diagonal[ids[base + j + 1]] += gUp[j];
+                }
+            }
+        }
+    }
+
+    @Override
+    public void stamp(MutableMatrix matrix) {
+        for (int i = 0; i < nx; i++) {
+            int base = i * ny;
+            for (int j = 0; j < ny; j++) {
+                int a = ids[base + j];
+                if (i + 1 < nx && gRight[j] != 0.0) stampPair(matrix, a, ids[base + ny + j], gRight[j]);
+                if (j + 1 < ny) stampPair(matrix, a, ids[base + j + 1], gUp[j]);
+            }
+        }
+    }
+
+    private static void stampPair(MutableMatrix matrix, int a, int b, double g) {
+        matrix.add(a, a, g);
+        matrix.add(a, b, -g);
+        matrix.add(b, b, g);
+        matrix.add(b, a, -g);
+    }
+}
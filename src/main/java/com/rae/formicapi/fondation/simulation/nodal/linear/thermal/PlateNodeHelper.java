@@ -12,6 +12,7 @@ import java.util.List;
 public class PlateNodeHelper {
 
     private final List<Layer> layers = new ArrayList<>();
+    private boolean matrixFree = false;
 
     public List<Layer> getLayers() {
         return layers;
@@ -21,6 +22,20 @@ public class PlateNodeHelper {
         layers.add(layer);
     }
 
+    public boolean isMatrixFree() {
+        return matrixFree;
+    }
+
+    /**
+     * When enabled, {@link #createPlateNodes} adds a single {@link PlateConduction}
+     * stencil instead of one {@link LinearLink} per neighbour pair. Combined with
+     * {@link com.rae.formicapi.fondation.simulation.nodal.core.SimulationContext.Storage#MATRIX_FREE}
+     * storage on the thermal domain, the plate is solved without storing a matrix.
+     */
+    public void setMatrixFree(boolean matrixFree) {
+        this.matrixFree = matrixFree;
+    }
+
     /**
      * Create nodes for all layers, register in the model,
      * and add conduction between neighbors based on geometry and material.
@@ -38,6 +53,10 @@ public class PlateNodeHelper {
                 model.addNode(nodes[i][j]);
             }
 
+        // Per-row conductances, only filled in matrix-free mode
+        double[] gRight = new double[totalNy];
+        double[] gUp = new double[totalNy - 1];
+
         // ----------------------------------------------------------------
         // Vertical links within each layer
         // Distance between any two adjacent nodes is always dy
@@ -50,7 +69,8 @@ public class PlateNodeHelper {
             for (int j = nodeRowStart; j < nodeRowStart + layer.ny; j++) {
                 for (int i = 0; i < layer.nx; i++) {
                     double G = layer.material.getConductivity() * dx / dy;
-                    model.addComponent(new LinearLink(
+                    if (matrixFree) gUp[j] = G;
+                    else model.addComponent(new LinearLink(
                             nodes[i][j], nodes[i][j + 1], ModelType.THERMAL, G));
                 }
             }
@@ -83,7 +103,8 @@ public class PlateNodeHelper {
 
                 for (int i = 0; i < layer.nx - 1; i++) {
                     double G = layer.material.getConductivity() * halfDy / dx;
-                    model.addComponent(new LinearLink(
+                    if (matrixFree) gRight[j] = G;
+                    else model.addComponent(new LinearLink(
                             nodes[i][j], nodes[i + 1][j], ModelType.THERMAL, G));
                 }
             }
@@ -113,6 +134,10 @@ public class PlateNodeHelper {
             double G_top = top.material.getConductivity() * (dy_top / 2.0) / dx;
             double G_interface = 1.0 / (1.0 / G_bot + 1.0 / G_top);
 
+            if (matrixFree) {
+                gRight[nodeRowStart] += G_interface; // on top of the upper layer's bottom-row link
+                continue;
+            }
             for (int i = 0; i < bot.nx - 1; i++) {
                 model.addComponent(new LinearLink(
                         nodes[i][nodeRowStart], nodes[i + 1][nodeRowStart],
@@ -120,6 +145,8 @@ public class PlateNodeHelper {
             }
         }
 
+        if (matrixFree) model.addComponent(new PlateConduction(nodes, gRight, gUp));
+
         return nodes;
     }
 
@@ -43,15 +43,7 @@ public class Radiation extends SingleDomainComponent {
         int i = a.getId(ModelType.THERMAL);
         int j = b.getId(ModelType.THERMAL);
 
-        if (au) {
-            ctx.matrix.add(i, i, g);
-            ctx.matrix.add(i, j, -g);
-        }
-
-        if (bu) {
-            ctx.matrix.add(j, j, g);
-            ctx.matrix.add(j, i, -g);
-        }
+        ctx.addConductance(i, au, j, bu, g);
     }
 
     @Override
@@ -41,6 +41,10 @@
  *
  * <p>{@link com.rae.formicapi.fondation.simulation.nodal.SteadyStateSolver}
  * orchestrates the outer fixed-point loop that converges cross-domain coupling.
+ * Its {@code solveWithReport} variant returns a
+ * {@link com.rae.formicapi.fondation.simulation.nodal.SteadyStateReport}
+ * holding the solver result of every domain in every outer iteration; each
+ * domain also keeps its latest one ({@code DomainModel.getLastResult()}).
  * Each domain's inner solve strategy is owned by its
  * {@link com.rae.formicapi.fondation.simulation.nodal.ModelType} — linear domains
  * use a least-squares solver; the mechanical domain uses Newton-Raphson to handle
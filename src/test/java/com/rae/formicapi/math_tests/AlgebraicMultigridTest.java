@@ -0,0 +1,161 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.operators.PatternCSRMatrix;
+import com.rae.formicapi.fondation.math.solvers.AlgebraicMultigrid;
+import com.rae.formicapi.fondation.math.solvers.ConjugateGradient;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link AlgebraicMultigrid}: the hierarchy must coarsen, the
+ * cycles must converge on their own and inside CG, and the cycle count must
+ * stay nearly flat as the grid is refined.
+ */
+public class AlgebraicMultigridTest {
+
+    private static final double TOL = 1e-8;
+
+    /**
+     * Plate of nx×ny cells with uniform conductance g, every edge cell
+     * convecting through h to a fixed ambient eliminated into the
+     * right-hand side; symmetric positive definite.
+     */
+    private static PackedHashSparseMatrix plate(int nx, int ny, double g, double h) {
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(nx * ny, nx * ny, 5 * nx * ny);
+        for (int i = 0; i < nx; i++) {
+            for (int j = 0; j < ny; j++) {
+                int k = i * ny + j;
+                if (i + 1 < nx) link(m, k, k + ny, g);
+                if (j + 1 < ny) link(m, k, k + 1, g);
+                if (i == 0 || i == nx - 1 || j == 0 || j == ny - 1) m.add(k, k, h);
+            }
+        }
+        return m;
+    }
+
+    private static void link(PackedHashSparseMatrix m, int i, int j, double g) {
+        m.add(i, i, g);
+        m.add(i, j, -g);
+        m.add(j, j, g);
+        m.add(j, i, -g);
+    }
+
+    private static double[] rhs(int n) {
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) b[i] = 1 + (i % 5);
+        return b;
+    }
+
+    private static double residual(CSRMatrix A, double[] x, double[] b) {
+        double[] r = new double[b.length];
+        A.multiply(x, r);
+        double s = 0;
+        for (int i = 0; i < r.length; i++) s += (b[i] - r[i]) * (b[i] - r[i]);
+        return Math.sqrt(s);
+    }
+
+    /** V-cycles the standalone solver needs to reach TOL on A. */
+    private static int cycles(CSRMatrix A, double[] b) {
+        AlgebraicMultigrid amg = new AlgebraicMultigrid(A);
+        for (int budget = 1; budget <= 100; budget++) {
+            double[] x = amg.solve(new double[b.length], b, budget, TOL);
+            if (residual(A, x, b) < TOL) return budget;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    @Test
+    public void testHierarchyCoarsens() {
+        CSRMatrix A = plate(60, 40, 50, 10).toCSR();
+        AlgebraicMultigrid amg = new AlgebraicMultigrid(A);
+
+        assertTrue(amg.levels() >= 2);
+        for (int l = 1; l < amg.levels(); l++) assertTrue(amg.size(l) < amg.size(l - 1) / 2);
+        assertTrue(amg.operatorComplexity() < 2.0, "complexity " + amg.operatorComplexity());
+    }
+
+    @Test
+    public void testStandaloneCyclesConverge() {
+        CSRMatrix A = plate(60, 40, 50, 10).toCSR();
+        double[] b = rhs(A.rows());
+
+        for (AlgebraicMultigrid.Cycle cycle : AlgebraicMultigrid.Cycle.values()) {
+            double[] x = new AlgebraicMultigrid(A, cycle).solve(new double[A.rows()], b, 200, TOL);
+            assertTrue(residual(A, x, b) < TOL, cycle + ": " + residual(A, x, b));
+        }
+    }
+
+    @Test
+    public void testPreconditionedConjugateGradientConverges() {
+        CSRMatrix A = plate(80, 50, 50, 10).toCSR();
+        double[] b = rhs(A.rows());
+
+        double[] x = ConjugateGradient.solve(A, new AlgebraicMultigrid(A), new double[A.rows()], b, 100, TOL);
+
+        assertTrue(residual(A, x, b) < 100 * TOL);
+    }
+
+    @Test
+    public void testCycleCountStaysFlatUnderRefinement() {
+        int coarse = 0, fine = 0;
+        for (int scale : new int[]{1, 4}) {
+            CSRMatrix A = plate(51 * scale, 31 * scale, 50, 10).toCSR();
+            int count = cycles(A, rhs(A.rows()));
+            if (scale == 1) coarse = count;
+            else fine = count;
+        }
+        // 16 times the unknowns: a single-level method would need about 4 times the iterations
+        assertTrue(fine <= 2 * coarse, coarse + " cycles, then " + fine);
+    }
+
+    @Test
+    public void testUpdateFollowsNewValues() {
+        PatternCSRMatrix m = new PatternCSRMatrix(900, 900);
+        fill(m, 30, 1.0);
+        AlgebraicMultigrid amg = new AlgebraicMultigrid(m.toCSR());
+
+        m.clear();
+        fill(m, 30, 3.0);
+        CSRMatrix A = m.toCSR();
+        assertTrue(amg.matches(A));
+        amg.update(A);
+
+        double[] b = rhs(900);
+        double[] x = amg.solve(new double[900], b, 200, TOL);
+        assertTrue(residual(A, x, b) < TOL);
+    }
+
+    private static void fill(PatternCSRMatrix m, int n, double g) {
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int k = i * n + j;
+                if (i + 1 < n) {
+                    m.add(k, k, g);
+                    m.add(k, k + n, -g);
+                    m.add(k + n, k + n, g);
+                    m.add(k + n, k, -g);
+                }
+                if (j + 1 < n) {
+                    m.add(k, k, g);
+                    m.add(k, k + 1, -g);
+                    m.add(k + 1, k + 1, g);
+                    m.add(k + 1, k, -g);
+                }
+                if (i == 0) m.add(k, k, g);
+            }
+        }
+    }
+
+    @Test
+    public void testShapeChecks() {
+        CSRMatrix rect = new PackedHashSparseMatrix(2, 3).toCSR();
+        assertThrows(IllegalArgumentException.class, () -> new AlgebraicMultigrid(rect));
+
+        AlgebraicMultigrid amg = new AlgebraicMultigrid(plate(5, 5, 1, 1).toCSR());
+        assertThrows(IllegalArgumentException.class, () -> amg.update(plate(5, 6, 1, 1).toCSR()));
+        assertThrows(IllegalArgumentException.class, () -> amg.solve(new double[25], new double[24], 10, TOL));
+    }
+}
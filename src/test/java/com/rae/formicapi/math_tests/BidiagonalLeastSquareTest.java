@@ -0,0 +1,126 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.LeastSquare;
+import com.rae.formicapi.fondation.math.solvers.LeastSquareMR;
+import com.rae.formicapi.fondation.math.solvers.LeastSquareQR;
+import com.rae.formicapi.fondation.math.solvers.SolverResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bidiagonalisation least-squares solvers {@link LeastSquareQR}
+ * (LSQR) and {@link LeastSquareMR} (LSMR): they must reach the same
+ * solutions as {@link LeastSquare}, and report an accurate normal residual.
+ */
+public class BidiagonalLeastSquareTest {
+
+    private static final double TOL = 1e-10;
+
+    private static CSRMatrix random(int rows, int cols, long seed) {
+        Random rng = new Random(seed);
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            m.add(r, r % cols, 2.0 + r % 5);
+            for (int k = 0; k < 3; k++) m.add(r, rng.nextInt(cols), rng.nextDouble() - 0.5);
+        }
+        return m.toCSR();
+    }
+
+    private static double[] randomVector(int n, long seed) {
+        Random rng = new Random(seed);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = rng.nextDouble();
+        return v;
+    }
+
+    /** ‖Aᵀ(b − Ax)‖ computed directly. */
+    private static double normalResidual(CSRMatrix A, double[] x, double[] b) {
+        double[] r = new double[A.rows()];
+        A.multiply(x, r);
+        for (int i = 0; i < r.length; i++) r[i] = b[i] - r[i];
+        double[] g = new double[A.cols()];
+        A.transposeMultiply(r, g);
+        double s = 0;
+        for (double d : g) s += d * d;
+        return Math.sqrt(s);
+    }
+
+    @Test
+    public void testOverdeterminedInconsistentMatchesLeastSquare() {
+        CSRMatrix A = random(120, 40, 1);
+        double[] b = randomVector(120, 2);
+        double[] x0 = new double[40];
+
+        double[] reference = LeastSquare.solve(A, x0, b, 10_000, TOL);
+        SolverResult qr = LeastSquareQR.solveDetailed(A, x0, b, 10_000, TOL);
+        SolverResult mr = LeastSquareMR.solveDetailed(A, x0, b, 10_000, TOL);
+
+        assertArrayEquals(reference, qr.x(), 1e-8);
+        assertArrayEquals(reference, mr.x(), 1e-8);
+        assertTrue(qr.iterations() > 0 && qr.iterations() < 10_000);
+        assertTrue(mr.iterations() > 0 && mr.iterations() < 10_000);
+    }
+
+    @Test
+    public void testReportedResidualMatchesTrueResidual() {
+        CSRMatrix A = random(200, 80, 3);
+        double[] b = randomVector(200, 4);
+
+        for (int budget : new int[]{5, 20, 60}) {
+            SolverResult qr = LeastSquareQR.solveDetailed(A, new double[80], b, budget, 0);
+            SolverResult mr = LeastSquareMR.solveDetailed(A, new double[80], b, budget, 0);
+
+            assertEquals(budget, qr.iterations());
+            assertEquals(normalResidual(A, qr.x(), b), qr.residual(), 1e-8);
+            assertEquals(normalResidual(A, mr.x(), b), mr.residual(), 1e-8);
+        }
+    }
+
+    @Test
+    public void testLsmrNormalResidualDecreasesMonotonically() {
+        CSRMatrix A = random(150, 60, 5);
+        double[] b = randomVector(150, 6);
+
+        double previous = Double.MAX_VALUE;
+        for (int budget = 1; budget <= 40; budget++) {
+            double current = LeastSquareMR.solveDetailed(A, new double[60], b, budget, 0).residual();
+            assertTrue(current <= previous * (1 + 1e-12), "iteration " + budget);
+            previous = current;
+        }
+    }
+
+    @Test
+    public void testUnderdeterminedReachesZeroResidual() {
+        CSRMatrix A = random(30, 90, 7);
+        double[] b = randomVector(30, 8);
+
+        double[] x = LeastSquareMR.solve(A, new double[90], b, 10_000, TOL);
+
+        double[] Ax = new double[30];
+        A.multiply(x, Ax);
+        assertArrayEquals(b, Ax, 1e-8);
+    }
+
+    @Test
+    public void testExactInitialGuessTakesNoIteration() {
+        CSRMatrix A = random(10, 10, 9);
+        double[] x = randomVector(10, 10);
+        double[] b = new double[10];
+        A.multiply(x, b);
+
+        assertEquals(0, LeastSquareQR.solveDetailed(A, x, b, 100, TOL).iterations());
+        assertEquals(0, LeastSquareMR.solveDetailed(A, x, b, 100, TOL).iterations());
+    }
+
+    @Test
+    public void testShapeChecks() {
+        CSRMatrix A = random(4, 3, 11);
+        assertThrows(IllegalArgumentException.class, () -> LeastSquareQR.solve(A, new double[4], new double[4], 10, TOL));
+        assertThrows(IllegalArgumentException.class, () -> LeastSquareMR.solve(A, new double[3], new double[3], 10, TOL));
+    }
+}
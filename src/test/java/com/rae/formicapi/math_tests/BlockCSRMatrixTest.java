@@ -0,0 +1,122 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.BlockCSRMatrix;
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.HashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.ConjugateGradient;
+import com.rae.formicapi.fondation.math.solvers.LeastSquare;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BlockCSRMatrix}: products must match {@link CSRMatrix} for
+ * every block size, on aligned and ragged dimensions, and the matrix must be
+ * usable by the existing solvers.
+ */
+public class BlockCSRMatrixTest {
+
+    /** Symmetric, diagonally dominant chain of coupled node pairs. */
+    private static HashSparseMatrix coupledChain(int n) {
+        Random rng = new Random(11);
+        HashSparseMatrix m = new HashSparseMatrix(n, n);
+        for (int i = 0; i < n; i++) m.add(i, i, 1);
+        for (int i = 0; i + 1 < n; i++) {
+            int j = i % 2 == 0 ? i + 1 : Math.min(n - 1, i + 2);
+            double g = 1 + rng.nextDouble();
+            m.add(i, i, g);
+            m.add(j, j, g);
+            m.add(i, j, -g);
+            m.add(j, i, -g);
+        }
+        return m;
+    }
+
+    private static double[] randomVector(int n) {
+        Random rng = new Random(7);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = rng.nextDouble() - 0.5;
+        return v;
+    }
+
+    @Test
+    public void testProductsMatchCSR() {
+        for (int b = 1; b <= 5; b++) {
+            for (int n : new int[]{60, 61}) {   // aligned for b = 2, 3, 4 and ragged
+                HashSparseMatrix hash = coupledChain(n);
+                CSRMatrix csr = CSRMatrix.fromHash(hash);
+                BlockCSRMatrix bsr = BlockCSRMatrix.fromHash(hash, b);
+                double[] x = randomVector(n);
+
+                double[] expected = new double[n];
+                double[] actual = new double[n];
+                csr.multiply(x, expected);
+                bsr.multiply(x, actual);
+                for (int i = 0; i < n; i++)
+                    assertEquals(expected[i], actual[i], 1e-12, "b=" + b + " n=" + n + " row " + i);
+
+                csr.transposeMultiply(x, expected);
+                bsr.transposeMultiply(x, actual);
+                for (int i = 0; i < n; i++)
+                    assertEquals(expected[i], actual[i], 1e-12, "b=" + b + " n=" + n + " column " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testRectangular() {
+        HashSparseMatrix hash = new HashSparseMatrix(5, 8);
+        hash.set(0, 7, 2);
+        hash.set(4, 0, 3);
+        hash.set(2, 3, -1);
+        BlockCSRMatrix bsr = BlockCSRMatrix.fromHash(hash, 3);
+
+        double[] result = new double[5];
+        bsr.multiply(new double[]{1, 2, 3, 4, 5, 6, 7, 8}, result);
+        assertArrayEquals(new double[]{16, 0, -4, 0, 3}, result, 1e-12);
+
+        double[] resultT = new double[8];
+        bsr.transposeMultiply(new double[]{1, 1, 1, 1, 1}, resultT);
+        assertArrayEquals(new double[]{3, 0, 0, -1, 0, 0, 0, 2}, resultT, 1e-12);
+    }
+
+    @Test
+    public void testWritesStayInsideBlocks() {
+        HashSparseMatrix hash = new HashSparseMatrix(4, 4);
+        hash.set(0, 0, 1);
+        hash.set(3, 3, 1);
+        BlockCSRMatrix bsr = BlockCSRMatrix.fromHash(hash, 2);
+
+        assertEquals(2, bsr.blockCount());
+        bsr.add(0, 1, 5);                  // inside block (0,0), stored as explicit zero
+        assertEquals(5, bsr.get(0, 1), 1e-12);
+        bsr.set(2, 3, 4);
+        assertEquals(4, bsr.get(2, 3), 1e-12);
+        assertEquals(0, bsr.get(0, 3), 1e-12);
+        assertThrows(IllegalArgumentException.class, () -> bsr.add(0, 3, 1));
+
+        bsr.clear();
+        assertEquals(0, bsr.get(0, 0), 1e-12);
+        assertEquals(2, bsr.blockCount());
+    }
+
+    @Test
+    public void testSolversAcceptBlockMatrix() {
+        int n = 64;
+        HashSparseMatrix hash = coupledChain(n);
+        BlockCSRMatrix bsr = BlockCSRMatrix.fromHash(hash, 2);
+        double[] b = randomVector(n);
+
+        double[] xCG = ConjugateGradient.solve(bsr, new double[n], b, 1_000, 1e-10);
+        double[] xLS = LeastSquare.solve(bsr, new double[n], b, 10_000, 1e-10);
+
+        double[] check = new double[n];
+        bsr.multiply(xCG, check);
+        for (int i = 0; i < n; i++) {
+            assertEquals(b[i], check[i], 1e-8, "CG row " + i);
+            assertEquals(xCG[i], xLS[i], 1e-6, "LeastSquare index " + i);
+        }
+    }
+}
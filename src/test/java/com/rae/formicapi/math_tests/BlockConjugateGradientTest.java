@@ -0,0 +1,169 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.DenseMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.BlockConjugateGradient;
+import com.rae.formicapi.fondation.math.solvers.ConjugateGradient;
+import com.rae.formicapi.fondation.math.solvers.LeastSquare;
+import com.rae.formicapi.fondation.math.solvers.SolverResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the multi-right-hand-side products on {@link CSRMatrix} and for
+ * {@link BlockConjugateGradient}: every column must match its single-vector
+ * counterpart.
+ */
+public class BlockConjugateGradientTest {
+
+    /** Grounded conduction chain with random conductances: symmetric positive-definite. */
+    private static CSRMatrix chain(int n) {
+        Random rng = new Random(5);
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n, n);
+        for (int i = 0; i < n; i++) m.add(i, i, 0.5);
+        for (int i = 0; i < n - 1; i++) {
+            double g = 1 + 9 * rng.nextDouble();
+            m.add(i, i, g);
+            m.add(i, i + 1, -g);
+            m.add(i + 1, i + 1, g);
+            m.add(i + 1, i, -g);
+        }
+        return m.toCSR();
+    }
+
+    private static double[][] randomBlock(int k, int n, long seed) {
+        Random rng = new Random(seed);
+        double[][] X = new double[k][n];
+        for (double[] x : X)
+            for (int i = 0; i < n; i++) x[i] = rng.nextDouble() - 0.5;
+        return X;
+    }
+
+    @Test
+    public void testBlockProductsMatchSingleVector() {
+        Random rng = new Random(11);
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(40, 30);
+        for (int e = 0; e < 200; e++) m.add(rng.nextInt(40), rng.nextInt(30), rng.nextDouble());
+        CSRMatrix A = m.toCSR();
+
+        // 6 vectors: one unrolled group of four plus a remainder of two
+        double[][] X = randomBlock(6, 30, 1);
+        double[][] Y = new double[6][40];
+        A.multiply(X, Y);
+        for (int j = 0; j < 6; j++) {
+            double[] y = new double[40];
+            A.multiply(X[j], y);
+            assertArrayEquals(y, Y[j], 1e-12);
+        }
+
+        double[][] Xt = randomBlock(6, 40, 2);
+        double[][] Yt = new double[6][30];
+        A.transposeMultiply(Xt, Yt);
+        for (int j = 0; j < 6; j++) {
+            double[] y = new double[30];
+            A.transposeMultiply(Xt[j], y);
+            assertArrayEquals(y, Yt[j], 1e-12);
+        }
+
+        A.setTransposeCaching(true);
+        double[][] Yc = new double[6][30];
+        A.transposeMultiply(Xt, Yc);
+        for (int j = 0; j < 6; j++) assertArrayEquals(Yt[j], Yc[j], 1e-12);
+    }
+
+    @Test
+    public void testDefaultBlockProductOnDense() {
+        DenseMatrix A = new DenseMatrix(3, 2);
+        A.set(0, 0, 1); A.set(0, 1, 2);
+        A.set(1, 0, 3); A.set(1, 1, 4);
+        A.set(2, 0, 5); A.set(2, 1, 6);
+
+        double[][] Y = new double[2][3];
+        A.multiply(new double[][]{{1, 0}, {1, 1}}, Y);
+        assertArrayEquals(new double[]{1, 3, 5}, Y[0], 1e-12);
+        assertArrayEquals(new double[]{3, 7, 11}, Y[1], 1e-12);
+    }
+
+    @Test
+    public void testMatchesConjugateGradientPerColumn() {
+        int n = 200;
+        CSRMatrix A = chain(n);
+        double[][] B = randomBlock(5, n, 3);
+
+        double[][] X = BlockConjugateGradient.solve(A, B, 5000, 1e-10);
+
+        for (int j = 0; j < B.length; j++) {
+            double[] x = ConjugateGradient.solve(A, new double[n], B[j], 5000, 1e-10);
+            assertArrayEquals(x, X[j], 1e-8);
+        }
+    }
+
+    @Test
+    public void testConvergedColumnIsLeftAlone() {
+        int n = 50;
+        CSRMatrix A = chain(n);
+        double[][] B = randomBlock(2, n, 4);
+        B[1] = new double[n]; // zero RHS: converged from the start
+
+        double[][] X = BlockConjugateGradient.solve(A, B, 5000, 1e-10);
+
+        assertArrayEquals(new double[n], X[1], 0.0);
+        double[] x = ConjugateGradient.solve(A, new double[n], B[0], 5000, 1e-10);
+        assertArrayEquals(x, X[0], 1e-8);
+    }
+
+    @Test
+    public void testLeastSquaresMatchesPerColumn() {
+        Random rng = new Random(9);
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(60, 20);
+        for (int i = 0; i < 20; i++) m.add(i, i, 2.0);
+        for (int e = 0; e < 150; e++) m.add(rng.nextInt(60), rng.nextInt(20), rng.nextDouble());
+        CSRMatrix A = m.toCSR();
+        double[][] B = randomBlock(3, 60, 6);
+
+        double[][] X = BlockConjugateGradient.solveLeastSquares(A, B, 5000, 1e-10);
+
+        for (int j = 0; j < B.length; j++) {
+            double[] x = LeastSquare.solve(A, new double[20], B[j], 5000, 1e-10);
+            assertArrayEquals(x, X[j], 1e-8);
+        }
+    }
+
+    @Test
+    public void testBreakdownHandledAlikeByBothEntryPoints() {
+        double[][] B = {{1, 1}};
+        double[][] X0 = new double[1][2];
+
+        // identity, tol = 0: the residual vanishes after one step and the next pᵀAp is 0 — a solution, not a failure
+        DenseMatrix I = new DenseMatrix(2, 2);
+        I.set(0, 0, 1);
+        I.set(1, 1, 1);
+        assertArrayEquals(B[0], BlockConjugateGradient.solve(I, B, 10, 0)[0], 0.0);
+        assertArrayEquals(B[0], BlockConjugateGradient.solveLeastSquares(I, B, 10, 0)[0], 0.0);
+        assertEquals(SolverResult.Status.CONVERGED,
+                BlockConjugateGradient.solveLeastSquaresDetailed(I, X0, B, 10, 0, SolverResult.Detail.SUMMARY)[0].status());
+
+        // indefinite: pᵀAp = 0 on the first step with the residual untouched
+        DenseMatrix D = new DenseMatrix(2, 2);
+        D.set(0, 0, 1);
+        D.set(1, 1, -1);
+        assertThrows(ArithmeticException.class, () -> BlockConjugateGradient.solve(D, B, 10, 1e-10));
+        SolverResult cg = BlockConjugateGradient.solveDetailed(D, X0, B, 10, 1e-10, SolverResult.Detail.SUMMARY)[0];
+        assertEquals(SolverResult.Status.BREAKDOWN, cg.status());
+    }
+
+    @Test
+    public void testShapeChecks() {
+        CSRMatrix A = chain(4);
+        assertThrows(IllegalArgumentException.class,
+                () -> BlockConjugateGradient.solve(A, new double[2][4], new double[3][4], 10, 1e-6));
+        assertThrows(IllegalArgumentException.class,
+                () -> BlockConjugateGradient.solve(A, new double[][]{new double[5]}, 10, 1e-6));
+        assertThrows(IllegalArgumentException.class,
+                () -> A.multiply(new double[2][4], new double[1][4]));
+    }
+}
@@ -0,0 +1,91 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the parallel CSR products agree with the serial ones,
+ * including on matrices whose rows have very uneven lengths.
+ */
+public class CSRMatrixParallelTest {
+
+    private static CSRMatrix skewedCSR(int n) {
+        Random rng = new Random(42);
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n, n);
+        for (int r = 0; r < n; r++) {
+            m.add(r, r, 10);
+            // every 50th row is dense, the rest have a handful of entries
+            int extra = r % 50 == 0 ? n / 2 : 3;
+            for (int k = 0; k < extra; k++)
+                m.add(r, rng.nextInt(n), rng.nextDouble() - 0.5);
+        }
+        return m.toCSR();
+    }
+
+    private static double[] randomVector(int n) {
+        Random rng = new Random(7);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = rng.nextDouble();
+        return v;
+    }
+
+    @Test
+    public void testParallelMultiplyMatchesSerial() {
+        int n = 2_000;
+        CSRMatrix A = skewedCSR(n);
+        double[] x = randomVector(n);
+
+        double[] serial = new double[n];
+        double[] parallel = new double[n];
+        A.multiply(x, serial);
+        A.multiplyParallel(x, parallel);
+
+        for (int i = 0; i < n; i++)
+            assertEquals(serial[i], parallel[i], 0.0, "row " + i);
+    }
+
+    @Test
+    public void testParallelTransposeMultiplyMatchesSerial() {
+        int n = 2_000;
+        CSRMatrix A = skewedCSR(n);
+        double[] x = randomVector(n);
+
+        double[] serial = new double[n];
+        double[] parallel = new double[n];
+        A.transposeMultiply(x, serial);
+        A.transposeMultiplyParallel(x, parallel);
+
+        for (int i = 0; i < n; i++)
+            assertEquals(serial[i], parallel[i], 1e-9, "column " + i);
+
+        // buffers are reused — a second call must not accumulate stale partials
+        A.transposeMultiplyParallel(x, parallel);
+        for (int i = 0; i < n; i++)
+            assertEquals(serial[i], parallel[i], 1e-9, "column " + i + " (second call)");
+    }
+
+    @Test
+    public void testParallelThresholdIsConfigurable() {
+        int previous = CSRMatrix.getParallelThreshold();
+        try {
+            CSRMatrix.setParallelThreshold(0);
+            CSRMatrix A = skewedCSR(300);
+            double[] x = randomVector(300);
+            double[] viaDispatch = new double[300];
+            double[] viaParallel = new double[300];
+
+            A.multiply(x, viaDispatch);
+            A.multiplyParallel(x, viaParallel);
+
+            for (int i = 0; i < 300; i++)
+                assertEquals(viaParallel[i], viaDispatch[i], 0.0, "row " + i);
+        } finally {
+            CSRMatrix.setParallelThreshold(previous);
+        }
+    }
+}
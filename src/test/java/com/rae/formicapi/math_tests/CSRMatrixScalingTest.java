@@ -9,6 +9,7 @@ import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -217,6 +218,61 @@ public class CSRMatrixScalingTest {
         assertTrue(nsCSR < nsHash, "CSR transposeMultiply should be faster than default");
     }
 
+    @Test
+    public void testParallelVersusSerial() {
+        int n = 200_000;
+        int nnzPerRow = 7;
+
+        CSRMatrix A = randomCSR(n, n, nnzPerRow);
+        double[] x = randomVector(n);
+        double[] result = new double[n];
+
+        int previous = CSRMatrix.getParallelThreshold();
+        CSRMatrix.setParallelThreshold(Integer.MAX_VALUE);
+        long nsSerial = benchmark(() -> A.multiply(x, result));
+        long nsSerialT = benchmark(() -> A.transposeMultiply(x, result));
+        CSRMatrix.setParallelThreshold(previous);
+
+        long nsParallel = benchmark(() -> A.multiplyParallel(x, result));
+        long nsParallelT = benchmark(() -> A.transposeMultiplyParallel(x, result));
+
+        System.out.printf("%n=== parallel vs serial (n=%s, nnzPerRow=%d, workers=%d) ===%n",
+                fmt(n), nnzPerRow, java.util.concurrent.ForkJoinPool.getCommonPoolParallelism());
+        System.out.printf("  multiply          : %s ns serial, %s ns parallel (%.2fx)%n",
+                fmt(nsSerial), fmt(nsParallel), (double) nsSerial / nsParallel);
+        System.out.printf("  transposeMultiply : %s ns serial, %s ns parallel (%.2fx)%n",
+                fmt(nsSerialT), fmt(nsParallelT), (double) nsSerialT / nsParallelT);
+    }
+
+    @Test
+    public void testCachedTransposeVersusScatter() {
+        int n = 200_000;
+        int nnzPerRow = 7;
+
+        CSRMatrix A = randomCSR(n, n, nnzPerRow);
+        double[] x = randomVector(n);
+        double[] scattered = new double[n];
+        double[] gathered = new double[n];
+
+        long nsScatter = benchmark(() -> A.transposeMultiply(x, scattered));
+
+        A.setTransposeCaching(true);
+        long start = System.nanoTime();
+        A.transposeMultiply(x, gathered);   // builds the transpose
+        long nsBuild = System.nanoTime() - start;
+        long nsGather = benchmark(() -> A.transposeMultiply(x, gathered));
+        A.setTransposeCaching(false);
+
+        for (int i = 0; i < n; i++)
+            assertEquals(scattered[i], gathered[i], 1e-9, "column " + i);
+
+        System.out.printf("%n=== transposeMultiply: scatter vs cached transpose (n=%s, nnzPerRow=%d) ===%n",
+                fmt(n), nnzPerRow);
+        System.out.printf("  scatter          : %s ns%n", fmt(nsScatter));
+        System.out.printf("  cached (gather)  : %s ns (%.2fx), first call incl. build %s ns%n",
+                fmt(nsGather), (double) nsScatter / nsGather, fmt(nsBuild));
+    }
+
     private static HashSparseMatrix toHash(CSRMatrix csr) {
         HashSparseMatrix h = new HashSparseMatrix(csr.rows(), csr.cols());
         for (int r = 0; r < csr.rows(); r++)
@@ -0,0 +1,156 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.ConjugateGradient;
+import com.rae.formicapi.fondation.math.solvers.IncompleteCholeskyPreconditioner;
+import com.rae.formicapi.fondation.math.solvers.JacobiPreconditioner;
+import com.rae.formicapi.fondation.math.solvers.Preconditioner;
+import com.rae.formicapi.fondation.math.solvers.SSORPreconditioner;
+import com.rae.formicapi.fondation.simulation.material.Material;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Benchmarks {@link ConjugateGradient} with and without preconditioning on
+ * conduction grids mixing {@link Material#COPPER} and {@link Material#AIR},
+ * whose conductances differ by four orders of magnitude.
+ *
+ * <p>Reports iterations and wall-clock time, the latter including the
+ * construction of the preconditioner.
+ *
+ * <p>Not a correctness test — see {@link PreconditionerTest} for that.
+ */
+public class ConjugateGradientBenchmarkTest {
+
+    private static final int WARMUP_REPS = 2;
+    private static final int BENCH_REPS  = 3;
+    private static final int MAX_ITER    = 100_000;
+    private static final double TOL      = 1e-6;
+
+    // ------------------------------------------------
+    // Benchmark — preconditioners on a copper / air grid
+    // ------------------------------------------------
+
+    @Test
+    public void benchmarkPreconditioners() {
+        int[] sides = { 32, 64, 96 };
+
+        System.out.println("\n=== Conjugate Gradient — copper / air grid ===");
+        System.out.printf("%-10s %-10s %-16s %-16s%n", "n", "M", "iterations", "time (ns)");
+        System.out.println("-".repeat(52));
+
+        for (int side : sides) {
+            CSRMatrix A = copperAirGrid(side);
+            double[]  b = randomVector(A.rows());
+
+            run(side, "none",   A, b, null);
+            run(side, "Jacobi", A, b, JacobiPreconditioner::new);
+            run(side, "SSOR",   A, b, SSORPreconditioner::new);
+            run(side, "IC(0)",  A, b, IncompleteCholeskyPreconditioner::new);
+        }
+    }
+
+    private void run(int side, String name, CSRMatrix A, double[] b, Function<CSRMatrix, Preconditioner> factory) {
+        int[] iterations = new int[1];
+        long ns = benchmark(() -> {
+            IterationCounter counted = new IterationCounter(A);
+            double[] x0 = new double[A.rows()];
+            if (factory == null) ConjugateGradient.solve(counted, x0, b, MAX_ITER, TOL);
+            else ConjugateGradient.solve(counted, factory.apply(A), x0, b, MAX_ITER, TOL);
+            iterations[0] = counted.iterations;
+        });
+        System.out.printf("%-10s %-10s %-16s %-16s%n", fmt(side * side), name, fmt(iterations[0]), fmt(ns / BENCH_REPS));
+    }
+
+    // ------------------------------------------------
+    // Helpers
+    // ------------------------------------------------
+
+    /** Counts the fused product CG performs once per iteration. */
+    private static final class IterationCounter implements Matrix {
+        final Matrix A;
+        int iterations;
+
+        IterationCounter(Matrix A) {
+            this.A = A;
+        }
+
+        @Override
+        public void multiply(double[] x, double[] result) {
+            A.multiply(x, result);
+        }
+
+        @Override
+        public double multiplyDot(double[] x, double[] result) {
+            iterations++;
+            return A.multiplyDot(x, result);
+        }
+
+        @Override
+        public int rows() {
+            return A.rows();
+        }
+
+        @Override
+        public int cols() {
+            return A.cols();
+        }
+
+        @Override
+        public double get(int r, int c) {
+            return A.get(r, c);
+        }
+    }
+
+    /** Square grid of randomly mixed copper and air cells, grounded along its left edge. */
+    private static CSRMatrix copperAirGrid(int n) {
+        Random rng = new Random(42);
+        double[] k = new double[n * n];
+        for (int i = 0; i < k.length; i++)
+            k[i] = (rng.nextBoolean() ? Material.COPPER : Material.AIR).getConductivity();
+
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n * n, n * n, 5 * n * n);
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                int i = y * n + x;
+                if (x + 1 < n) link(m, i, i + 1, 2 * k[i] * k[i + 1] / (k[i] + k[i + 1]));
+                if (y + 1 < n) link(m, i, i + n, 2 * k[i] * k[i + n] / (k[i] + k[i + n]));
+                if (x == 0) m.add(i, i, k[i]);
+            }
+        }
+        return m.toCSR();
+    }
+
+    private static void link(PackedHashSparseMatrix m, int i, int j, double g) {
+        m.add(i, i, g);
+        m.add(i, j, -g);
+        m.add(j, j, g);
+        m.add(j, i, -g);
+    }
+
+    private long benchmark(Runnable task) {
+        for (int i = 0; i < WARMUP_REPS; i++) task.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCH_REPS; i++) task.run();
+        return System.nanoTime() - start;
+    }
+
+    private static double[] randomVector(int n) {
+        Random   rng = new Random(7);
+        double[] v   = new double[n];
+        for (int i = 0; i < n; i++) v[i] = rng.nextDouble();
+        return v;
+    }
+
+    private static String fmt(long n) {
+        return String.format("%,d", n).replace(',', ' ');
+    }
+
+    private static String fmt(int n) {
+        return String.format("%,d", n).replace(',', ' ');
+    }
+}
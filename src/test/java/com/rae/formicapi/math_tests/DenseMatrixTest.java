@@ -1,9 +1,14 @@
 package com.rae.formicapi.math_tests;
 
 import com.rae.formicapi.fondation.math.operators.DenseMatrix;
+import com.rae.formicapi.fondation.simulation.nodal.core.SimulationContext;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DenseMatrixTest {
 
@@ -31,4 +36,69 @@ public class DenseMatrixTest {
         assertEquals(4, result[1], 1e-9);
         assertEquals(7, result[2], 1e-9);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTransposeMultiply() {
+
+        DenseMatrix m = new DenseMatrix(2,3);
+
+        m.set(0,0,1);
+        m.set(0,2,2);
+        m.set(1,1,3);
+        m.set(1,2,-1);
+
+        double[] x = {1,2};
+        double[] result = new double[3];
+
+        m.transposeMultiply(x, result);
+
+        assertEquals(1, result[0], 1e-9);
+        assertEquals(6, result[1], 1e-9);
+        assertEquals(0, result[2], 1e-9);
+
+        assertThrows(IllegalArgumentException.class, () -> m.transposeMultiply(new double[3], result));
+    }
+
+    @Test
+    public void testTiledProductsMatchNaive() {
+
+        // sizes chosen to leave partial tiles and unroll remainders
+        int rows = 130, cols = 151;
+        Random rng = new Random(5);
+        DenseMatrix m = new DenseMatrix(rows, cols);
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                m.set(i, j, rng.nextDouble() - 0.5);
+
+        double[] x = new double[cols];
+        for (int j = 0; j < cols; j++) x[j] = rng.nextDouble();
+        double[] result = new double[rows];
+        m.multiply(x, result);
+        for (int i = 0; i < rows; i++) {
+            double expected = 0;
+            for (int j = 0; j < cols; j++) expected += m.get(i, j) * x[j];
+            assertEquals(expected, result[i], 1e-10, "row " + i);
+        }
+
+        double[] y = new double[rows];
+        for (int i = 0; i < rows; i++) y[i] = rng.nextDouble();
+        double[] resultT = new double[cols];
+        m.transposeMultiply(y, resultT);
+        for (int j = 0; j < cols; j++) {
+            double expected = 0;
+            for (int i = 0; i < rows; i++) expected += m.get(i, j) * y[i];
+            assertEquals(expected, resultT[j], 1e-10, "column " + j);
+        }
+    }
+
+    @Test
+    public void testSelectableFromSimulationContext() {
+
+        SimulationContext ctx = new SimulationContext(4, true);
+
+        assertTrue(ctx.matrix instanceof DenseMatrix);
+        ctx.matrix.add(1, 2, 3);
+        ctx.reset();
+        assertEquals(0, ctx.matrix.get(1, 2), 1e-12);
+    }
+}
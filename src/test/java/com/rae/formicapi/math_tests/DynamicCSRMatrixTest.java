@@ -0,0 +1,94 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.DynamicCSRMatrix;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link DynamicCSRMatrix}: writes inside the compiled pattern
+ * must update it in place, and only structural writes may recompile.
+ */
+public class DynamicCSRMatrixTest {
+
+    private static DynamicCSRMatrix link(double g) {
+        DynamicCSRMatrix m = new DynamicCSRMatrix(2, 2);
+        m.add(0, 0, g);
+        m.add(0, 1, -g);
+        m.add(1, 1, g);
+        m.add(1, 0, -g);
+        return m;
+    }
+
+    @Test
+    public void testInPatternWritesKeepCompiledMatrix() {
+        DynamicCSRMatrix m = link(2.0);
+        CSRMatrix compiled = m.toCSR();
+
+        // re-linearised conductance: same entries, new values
+        m.add(0, 0, 1.0);
+        m.add(0, 1, -1.0);
+        m.set(1, 1, 5.0);
+
+        assertSame(compiled, m.toCSR());
+        double[] y = new double[2];
+        m.multiply(new double[]{1, 2}, y);
+        assertArrayEquals(new double[]{3 - 6, -2 + 10}, y, 1e-12);
+        assertEquals(5.0, m.get(1, 1), 0.0);
+    }
+
+    @Test
+    public void testNewEntryRecompiles() {
+        DynamicCSRMatrix m = new DynamicCSRMatrix(3, 3);
+        m.add(0, 0, 1.0);
+        CSRMatrix compiled = m.toCSR();
+
+        m.add(2, 1, 4.0);
+
+        assertNotSame(compiled, m.toCSR());
+        assertEquals(4.0, m.toCSR().get(2, 1), 0.0);
+    }
+
+    @Test
+    public void testSetToZeroKeepsExplicitZero() {
+        DynamicCSRMatrix m = link(2.0);
+        CSRMatrix compiled = m.toCSR();
+
+        m.set(0, 1, 0.0);
+
+        assertSame(compiled, m.toCSR());
+        assertEquals(0.0, m.get(0, 1), 0.0);
+        double[] y = new double[2];
+        m.multiply(new double[]{1, 1}, y);
+        assertArrayEquals(new double[]{2, 0}, y, 1e-12);
+    }
+
+    @Test
+    public void testInPlaceWriteRefreshesCachedTranspose() {
+        DynamicCSRMatrix m = new DynamicCSRMatrix(2, 2);
+        m.add(0, 1, 3.0);
+        m.add(1, 1, 1.0);
+        m.setTransposeCaching(true);
+
+        double[] y = new double[2];
+        m.transposeMultiply(new double[]{1, 0}, y);
+        assertArrayEquals(new double[]{0, 3}, y, 0.0);
+
+        m.add(0, 1, 4.0);
+        m.transposeMultiply(new double[]{1, 0}, y);
+        assertArrayEquals(new double[]{0, 7}, y, 0.0);
+    }
+
+    @Test
+    public void testClearRecompiles() {
+        DynamicCSRMatrix m = link(2.0);
+        CSRMatrix compiled = m.toCSR();
+
+        m.clear();
+        m.add(0, 0, 1.0);
+
+        assertNotSame(compiled, m.toCSR());
+        assertEquals(1, m.toCSR().nnz());
+    }
+}
@@ -0,0 +1,152 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.DenseMatrix;
+import com.rae.formicapi.fondation.math.operators.FloatCSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.operators.PatternCSRMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the fused solver kernels {@code multiplyDot} and {@code multiplyAtA}
+ * against the separate products they replace.
+ */
+public class FusedKernelTest {
+
+    private static CSRMatrix randomCSR(int rows, int cols, int perRow, long seed) {
+        Random rng = new Random(seed);
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            if (r < cols) m.add(r, r, 4);
+            for (int k = 0; k < perRow; k++)
+                m.add(r, rng.nextInt(cols), rng.nextDouble() - 0.5);
+        }
+        return m.toCSR();
+    }
+
+    private static double[] randomVector(int n, long seed) {
+        Random rng = new Random(seed);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = rng.nextDouble() - 0.5;
+        return v;
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) sum += a[i] * b[i];
+        return sum;
+    }
+
+    @Test
+    public void testMultiplyDotMatchesSeparateProducts() {
+        int n = 500;
+        CSRMatrix A = randomCSR(n, n, 5, 1);
+        double[] x = randomVector(n, 2);
+
+        double[] expected = new double[n];
+        A.multiply(x, expected);
+        double[] fused = new double[n];
+        double xAx = A.multiplyDot(x, fused);
+
+        assertArrayEquals(expected, fused, 0.0);
+        assertEquals(dot(x, expected), xAx, 1e-10);
+    }
+
+    @Test
+    public void testMultiplyAtAMatchesTwoProducts() {
+        CSRMatrix A = randomCSR(300, 120, 4, 3);
+        double[] x = randomVector(120, 4);
+
+        double[] Ax = new double[300];
+        double[] expected = new double[120];
+        A.multiply(x, Ax);
+        A.transposeMultiply(Ax, expected);
+
+        double[] fused = new double[120];
+        double norm = A.multiplyAtA(x, null, fused);
+
+        assertArrayEquals(expected, fused, 1e-12);
+        assertEquals(dot(Ax, Ax), norm, 1e-10);
+    }
+
+    @Test
+    public void testMultiplyAtAUsesCachedTranspose() {
+        CSRMatrix A = randomCSR(300, 120, 4, 3);
+        double[] x = randomVector(120, 4);
+        double[] expected = new double[120];
+        double norm = A.multiplyAtA(x, null, expected);
+
+        A.setTransposeCaching(true);
+        double[] cached = new double[120];
+        assertEquals(norm, A.multiplyAtA(x, new double[300], cached), 1e-10);
+        assertArrayEquals(expected, cached, 1e-12);
+        // without scratch, caching falls back to the fused sweep
+        assertEquals(norm, A.multiplyAtA(x, null, cached), 0.0);
+    }
+
+    @Test
+    public void testParallelReductionsAreReproducible() {
+        int saved = CSRMatrix.getParallelThreshold();
+        try {
+            CSRMatrix.setParallelThreshold(0);
+            CSRMatrix A = randomCSR(2_000, 2_000, 5, 8);
+            double[] x = randomVector(2_000, 9);
+            double[] y = new double[2_000];
+            double dot = A.multiplyDot(x, y);
+            double norm = A.multiplyAtA(x, null, y);
+            for (int run = 0; run < 20; run++) {
+                assertEquals(dot, A.multiplyDot(x, y), 0.0);
+                assertEquals(norm, A.multiplyAtA(x, null, y), 0.0);
+            }
+        } finally {
+            CSRMatrix.setParallelThreshold(saved);
+        }
+    }
+
+    @Test
+    public void testDefaultsOnDenseAndPattern() {
+        DenseMatrix D = new DenseMatrix(2, 2);
+        D.set(0, 0, 2); D.set(0, 1, 1);
+        D.set(1, 0, 1); D.set(1, 1, 3);
+        double[] y = new double[2];
+        assertEquals(2 + 1 + 1 + 3, D.multiplyDot(new double[]{1, 1}, y), 1e-12);
+        assertArrayEquals(new double[]{3, 4}, y, 1e-12);
+
+        double[] temp = new double[2];
+        assertEquals(9 + 16, D.multiplyAtA(new double[]{1, 1}, temp, y), 1e-12);
+        assertArrayEquals(new double[]{10, 15}, y, 1e-12);
+
+        PatternCSRMatrix P = new PatternCSRMatrix(2, 2);
+        P.add(0, 0, 2); P.add(0, 1, 1);
+        P.add(1, 0, 1); P.add(1, 1, 3);
+        assertEquals(9 + 16, P.multiplyAtA(new double[]{1, 1}, null, y), 1e-12);
+        assertArrayEquals(new double[]{10, 15}, y, 1e-12);
+    }
+
+    @Test
+    public void testFloatMultiplyAtA() {
+        CSRMatrix A = randomCSR(200, 80, 3, 5);
+        FloatCSRMatrix F = new FloatCSRMatrix(A);
+        double[] x = randomVector(80, 6);
+        float[] xf = new float[80];
+        for (int i = 0; i < 80; i++) xf[i] = (float) x[i];
+
+        double[] expected = new double[80];
+        double norm = A.multiplyAtA(x, null, expected);
+        float[] fused = new float[80];
+        double normF = F.multiplyAtA(xf, fused);
+
+        for (int i = 0; i < 80; i++) assertEquals(expected[i], fused[i], 1e-4);
+        assertEquals(norm, normF, 1e-4 * norm);
+    }
+
+    @Test
+    public void testMultiplyDotRejectsRectangular() {
+        CSRMatrix A = randomCSR(10, 5, 2, 7);
+        assertThrows(IllegalArgumentException.class, () -> A.multiplyDot(new double[5], new double[10]));
+    }
+}
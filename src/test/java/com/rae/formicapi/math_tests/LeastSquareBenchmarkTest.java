@@ -1,9 +1,16 @@
 package com.rae.formicapi.math_tests;
 
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
 import com.rae.formicapi.fondation.math.operators.DenseMatrix;
 import com.rae.formicapi.fondation.math.operators.DynamicCSRMatrix;
 import com.rae.formicapi.fondation.math.operators.HashSparseMatrix;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
 import com.rae.formicapi.fondation.math.solvers.LeastSquare;
+import com.rae.formicapi.fondation.math.solvers.LeastSquareMR;
+import com.rae.formicapi.fondation.math.solvers.LeastSquareQR;
+import com.rae.formicapi.fondation.math.solvers.MixedPrecisionLeastSquare;
+import com.rae.formicapi.fondation.math.solvers.SolverResult;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
@@ -88,6 +95,124 @@ public class LeastSquareBenchmarkTest {
         }
     }
 
+    // ------------------------------------------------
+    // Benchmark — double vs mixed precision on CSR
+    // ------------------------------------------------
+
+    @Test
+    public void benchmarkMixedPrecision() {
+        int[] sizes     = { 1_000, 5_000, 20_000 };
+        int   nnzPerRow = 7;
+
+        System.out.println("\n=== LeastSquare vs MixedPrecisionLeastSquare — CSR (nnzPerRow=" + fmt(nnzPerRow) + ") ===");
+        System.out.printf("%-10s %-20s %-20s%n", "n", "double (ns)", "mixed (ns)");
+        System.out.println("-".repeat(50));
+
+        for (int n : sizes) {
+            double[]   b  = randomVector(n);
+            double[]   x0 = new double[n];
+            CSRMatrix  A  = randomSparseCSR(n, nnzPerRow);
+
+            long nsDouble = benchmark(() -> LeastSquare.solve(A, x0.clone(), b, MAX_ITER, TOL));
+            long nsMixed  = benchmark(() -> MixedPrecisionLeastSquare.solve(A, x0.clone(), b, MAX_ITER, TOL));
+
+            System.out.printf("%-10s %-20s %-20s%n", fmt(n), fmt(nsDouble), fmt(nsMixed));
+        }
+    }
+
+    // ------------------------------------------------
+    // Benchmark — CG on normal equations vs LSQR / LSMR
+    // ------------------------------------------------
+
+    @Test
+    public void benchmarkBidiagonalSolvers() {
+        int   rows     = 3_000;
+        int   cols     = 1_000;
+        int   maxIter  = 5_000;
+        double tol     = 1e-8;
+        int[] decades  = { 2, 4, 6 };
+
+        System.out.println("\n=== CG normal equations vs LSQR vs LSMR — " + fmt(rows) + "x" + fmt(cols)
+                + ", tol " + tol + ", cap " + fmt(maxIter) + " ===");
+        System.out.printf("%-10s %-10s %-12s %-16s %-14s%n", "cond ~", "solver", "iterations", "time (ns)", "|A^T r|");
+        System.out.println("-".repeat(64));
+
+        for (int d : decades) {
+            CSRMatrix A  = scaledRectangular(rows, cols, d);
+            double[]  b  = randomVector(rows);
+            double[]  x0 = new double[cols];
+
+            int[] cgIterations = new int[1];
+            double[][] cgX = new double[1][];
+            long nsCG = benchmark(() -> {
+                IterationCounter counted = new IterationCounter(A);
+                cgX[0] = LeastSquare.solve(counted, x0, b, maxIter, tol);
+                cgIterations[0] = counted.iterations;
+            });
+            SolverResult[] qr = new SolverResult[1];
+            long nsQR = benchmark(() -> qr[0] = LeastSquareQR.solveDetailed(A, x0, b, maxIter, tol));
+            SolverResult[] mr = new SolverResult[1];
+            long nsMR = benchmark(() -> mr[0] = LeastSquareMR.solveDetailed(A, x0, b, maxIter, tol));
+
+            String cond = "1e" + d;
+            System.out.printf("%-10s %-10s %-12s %-16s %-14.2e%n", cond, "CG-NE", fmt(cgIterations[0]), fmt(nsCG / BENCH_REPS), normalResidual(A, cgX[0], b));
+            System.out.printf("%-10s %-10s %-12s %-16s %-14.2e%n", cond, "LSQR", fmt(qr[0].iterations()), fmt(nsQR / BENCH_REPS), qr[0].residual());
+            System.out.printf("%-10s %-10s %-12s %-16s %-14.2e%n", cond, "LSMR", fmt(mr[0].iterations()), fmt(nsMR / BENCH_REPS), mr[0].residual());
+        }
+    }
+
+    /** Counts the fused AᵀA product {@link LeastSquare} performs once per iteration. */
+    private static final class IterationCounter implements Matrix {
+        final Matrix A;
+        int iterations;
+
+        IterationCounter(Matrix A) {
+            this.A = A;
+        }
+
+        @Override
+        public void multiply(double[] x, double[] result) {
+            A.multiply(x, result);
+        }
+
+        @Override
+        public void transposeMultiply(double[] x, double[] result) {
+            A.transposeMultiply(x, result);
+        }
+
+        @Override
+        public double multiplyAtA(double[] x, double[] temp, double[] result) {
+            iterations++;
+            return A.multiplyAtA(x, temp, result);
+        }
+
+        @Override
+        public int rows() {
+            return A.rows();
+        }
+
+        @Override
+        public int cols() {
+            return A.cols();
+        }
+
+        @Override
+        public double get(int r, int c) {
+            return A.get(r, c);
+        }
+    }
+
+    private static double normalResidual(CSRMatrix A, double[] x, double[] b) {
+        double[] r = new double[A.rows()];
+        A.multiply(x, r);
+        for (int i = 0; i < r.length; i++) r[i] = b[i] - r[i];
+        double[] g = new double[A.cols()];
+        A.transposeMultiply(r, g);
+        double s = 0;
+        for (double v : g) s += v * v;
+        return Math.sqrt(s);
+    }
+
     // ------------------------------------------------
     // Helpers — matrix builders
     // ------------------------------------------------
@@ -110,6 +235,35 @@ public class LeastSquareBenchmarkTest {
         return data;
     }
 
+    /** Same pattern as {@link #randomSparse}, built directly in CSR for sizes too large for a dense array */
+    private static CSRMatrix randomSparseCSR(int n, int nnzPerRow) {
+        Random rng = new Random(42);
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n, n, n * nnzPerRow);
+        for (int r = 0; r < n; r++) {
+            m.set(r, r, 10.0);
+            for (int k = 1; k < nnzPerRow; k++) {
+                int c = rng.nextInt(n);
+                if (c != r) m.set(r, c, rng.nextDouble());
+            }
+        }
+        return m.toCSR();
+    }
+
+    /**
+     * Overdetermined sparse system whose leading entries span {@code decades}
+     * orders of magnitude, so cond(A) is roughly 10^decades.
+     */
+    private static CSRMatrix scaledRectangular(int rows, int cols, int decades) {
+        Random rng = new Random(1);
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(rows, cols, rows * 4);
+        for (int r = 0; r < rows; r++) {
+            int c = r % cols;
+            m.add(r, c, Math.pow(10, decades * ((double) c / cols - 0.5)));
+            for (int k = 0; k < 3; k++) m.add(r, rng.nextInt(cols), rng.nextDouble() - 0.5);
+        }
+        return m.toCSR();
+    }
+
     private static DenseMatrix toDense(double[][] raw, int rows, int cols) {
         DenseMatrix m = new DenseMatrix(rows, cols);
         for (int r = 0; r < rows; r++)
@@ -1,10 +1,17 @@
 package com.rae.formicapi.math_tests;
 
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
 import com.rae.formicapi.fondation.math.operators.DenseMatrix;
+import com.rae.formicapi.fondation.math.operators.DynamicCSRMatrix;
 import com.rae.formicapi.fondation.math.operators.HashSparseMatrix;
+import com.rae.formicapi.fondation.math.operators.MatrixFreeOperator;
+import com.rae.formicapi.fondation.math.operators.MutableMatrix;
+import com.rae.formicapi.fondation.math.operators.PatternCSRMatrix;
+import com.rae.formicapi.fondation.math.operators.StripedSparseMatrix;
+import com.rae.formicapi.fondation.math.operators.TripletMatrixBuilder;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class MatrixConsistencyTest {
 
@@ -45,4 +52,89 @@ public class MatrixConsistencyTest {
         for(int i=0;i<3;i++)
             assertEquals(r1[i],r2[i],1e-9);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void compiledFormIsCachedOrAbsent() {
+
+        MutableMatrix[] assembly = {new PatternCSRMatrix(3, 3), new DynamicCSRMatrix(3, 3),
+                new TripletMatrixBuilder(3, 3), new StripedSparseMatrix(3, 3)};
+        for (MutableMatrix m : assembly) {
+            m.add(0, 0, 4);
+            m.add(1, 2, -1);
+            CSRMatrix compiled = m.compiledCSR();
+            assertNotNull(compiled, m.getClass().getSimpleName());
+            assertSame(compiled, m.compiledCSR(), m.getClass().getSimpleName());
+            assertEquals(-1, compiled.get(1, 2), 0.0);
+        }
+
+        CSRMatrix csr = assembly[0].compiledCSR();
+        assertSame(csr, csr.compiledCSR());
+
+        MatrixFreeOperator free = new MatrixFreeOperator(3);
+        free.add(0, 0, 4);
+        assertNull(free.compiledCSR());
+        assertNull(new DenseMatrix(3, 3).compiledCSR());
+    }
+
+    /** A user matrix written against the interface without overriding {@code clear()}. */
+    private static final class MapMatrix implements MutableMatrix {
+        private final java.util.Map<Long, Double> entries = new java.util.HashMap<>();
+        private final int n;
+
+        MapMatrix(int n) {
+            this.n = n;
+        }
+
+        private long key(int r, int c) {
+            return (long) r * n + c;
+        }
+
+        @Override
+        public void add(int r, int c, double v) {
+            entries.merge(key(r, c), v, Double::sum);
+        }
+
+        @Override
+        public void set(int r, int c, double v) {
+            entries.put(key(r, c), v);
+        }
+
+        @Override
+        public double get(int r, int c) {
+            return entries.getOrDefault(key(r, c), 0.0);
+        }
+
+        @Override
+        public void multiply(double[] x, double[] result) {
+            for (int r = 0; r < n; r++) {
+                result[r] = 0;
+                for (int c = 0; c < n; c++) result[r] += get(r, c) * x[c];
+            }
+        }
+
+        @Override
+        public int rows() {
+            return n;
+        }
+
+        @Override
+        public int cols() {
+            return n;
+        }
+    }
+
+    @Test
+    public void defaultClearZeroesEveryEntry() {
+        MapMatrix m = new MapMatrix(4);
+        m.add(0, 0, 2);
+        m.add(1, 3, -1);
+        m.add(3, 2, 5);
+
+        m.clear();
+        m.add(1, 3, 7);
+
+        for (int r = 0; r < 4; r++)
+            for (int c = 0; c < 4; c++)
+                assertEquals(r == 1 && c == 3 ? 7 : 0, m.get(r, c), 0.0);
+    }
+}
@@ -0,0 +1,169 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.MatrixFreeOperator;
+import com.rae.formicapi.fondation.math.operators.MutableMatrix;
+import com.rae.formicapi.fondation.math.operators.OperatorTerm;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.ConjugateGradient;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MatrixFreeOperator}: links, terms and explicit entries
+ * must act exactly like the same contributions stamped into a sparse matrix.
+ */
+public class MatrixFreeOperatorTest {
+
+    /** Uniform conductance g between consecutive indices, as a matrix-free term. */
+    private record ChainTerm(int n, double g) implements OperatorTerm {
+        @Override
+        public void apply(double[] x, double[] result) {
+            for (int i = 0; i < n - 1; i++) {
+                double d = g * (x[i] - x[i + 1]);
+                result[i] += d;
+                result[i + 1] -= d;
+            }
+        }
+
+        @Override
+        public void applyTranspose(double[] x, double[] result) {
+            apply(x, result);
+        }
+
+        @Override
+        public void addDiagonal(double[] diagonal) {
+            for (int i = 0; i < n - 1; i++) {
+                diagonal[i] += g;
+                diagonal[i + 1] += g;
+            }
+        }
+
+        @Override
+        public void stamp(MutableMatrix matrix) {
+            for (int i = 0; i < n - 1; i++) {
+                matrix.add(i, i, g);
+                matrix.add(i, i + 1, -g);
+                matrix.add(i + 1, i + 1, g);
+                matrix.add(i + 1, i, -g);
+            }
+        }
+    }
+
+    /**
+     * Fills both operators with the same contributions: random links (some
+     * with a fixed end), an asymmetric explicit entry, a fixed-value row,
+     * and a chain term.
+     */
+    private static void fill(MatrixFreeOperator free, PackedHashSparseMatrix reference, int n) {
+        Random rng = new Random(17);
+        for (int e = 0; e < 3 * n; e++) {
+            int a = rng.nextInt(n - 1), b = rng.nextInt(n - 1);
+            if (a == b) continue;
+            double g = 1 + rng.nextDouble();
+            boolean rowB = rng.nextInt(4) != 0;
+            free.addLink(a, true, b, rowB, g);
+            reference.add(a, a, g);
+            reference.add(a, b, -g);
+            if (rowB) {
+                reference.add(b, b, g);
+                reference.add(b, a, -g);
+            }
+        }
+        free.add(2, 5, 0.75);
+        reference.add(2, 5, 0.75);
+        free.set(n - 1, n - 1, 1.0); // fixed-value row
+        reference.set(n - 1, n - 1, 1.0);
+
+        ChainTerm term = new ChainTerm(n - 1, 0.5);
+        free.addTerm(term);
+        term.stamp(reference);
+    }
+
+    @Test
+    public void testProductsMatchAssembled() {
+        int n = 60;
+        MatrixFreeOperator free = new MatrixFreeOperator(n);
+        PackedHashSparseMatrix reference = new PackedHashSparseMatrix(n, n);
+        fill(free, reference, n);
+
+        Random rng = new Random(3);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = rng.nextDouble();
+
+        double[] expected = new double[n];
+        double[] actual = new double[n];
+        reference.multiply(x, expected);
+        free.multiply(x, actual);
+        assertArrayEquals(expected, actual, 1e-12);
+
+        reference.transposeMultiply(x, expected);
+        free.transposeMultiply(x, actual);
+        assertArrayEquals(expected, actual, 1e-12);
+
+        reference.toCSR().diagonal(expected);
+        free.diagonal(actual);
+        assertArrayEquals(expected, actual, 1e-12);
+
+        for (int r = 0; r < n; r += 7)
+            for (int c = 0; c < n; c += 3)
+                assertEquals(reference.get(r, c), free.get(r, c), 1e-12, "entry " + r + "," + c);
+    }
+
+    @Test
+    public void testToCSRMaterialisesEverything() {
+        int n = 40;
+        MatrixFreeOperator free = new MatrixFreeOperator(n);
+        PackedHashSparseMatrix reference = new PackedHashSparseMatrix(n, n);
+        fill(free, reference, n);
+
+        CSRMatrix csr = free.toCSR();
+        for (int r = 0; r < n; r++)
+            for (int c = 0; c < n; c++)
+                assertEquals(reference.get(r, c), csr.get(r, c), 1e-12);
+    }
+
+    @Test
+    public void testClearDropsAllContributions() {
+        MatrixFreeOperator free = new MatrixFreeOperator(10);
+        free.addLink(0, true, 1, true, 2.0);
+        free.addTerm(new ChainTerm(10, 1.0));
+        free.add(3, 3, 1.0);
+
+        free.clear();
+
+        assertEquals(0, free.linkCount());
+        assertEquals(0, free.termCount());
+        double[] y = new double[10];
+        double[] x = new double[10];
+        Arrays.fill(x, 1.0);
+        free.multiply(x, y);
+        assertArrayEquals(new double[10], y, 0.0);
+    }
+
+    @Test
+    public void testSolvesWithoutStoredMatrix() {
+        int n = 200;
+        MatrixFreeOperator free = new MatrixFreeOperator(n);
+        free.addTerm(new ChainTerm(n, 3.0));
+        for (int i = 0; i < n; i++) free.add(i, i, 0.5); // grounding
+
+        double[] b = new double[n];
+        b[n / 2] = 1.0;
+        double[] x = ConjugateGradient.solve(free, new double[n], b, 5000, 1e-10);
+
+        double[] check = new double[n];
+        free.multiply(x, check);
+        assertArrayEquals(b, check, 1e-8);
+    }
+
+    @Test
+    public void testLinkOutOfBounds() {
+        MatrixFreeOperator free = new MatrixFreeOperator(4);
+        assertThrows(IllegalArgumentException.class, () -> free.addLink(0, true, 4, true, 1.0));
+    }
+}
@@ -0,0 +1,133 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.FloatCSRMatrix;
+import com.rae.formicapi.fondation.math.operators.MatrixFreeOperator;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.LeastSquare;
+import com.rae.formicapi.fondation.math.solvers.MixedPrecisionLeastSquare;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link FloatCSRMatrix} and {@link MixedPrecisionLeastSquare}:
+ * single-precision products must track the double ones to float accuracy,
+ * and refinement must reach the same tolerance as {@link LeastSquare}.
+ */
+public class MixedPrecisionLeastSquareTest {
+
+    /**
+     * Conduction chain with random conductances where every node also
+     * convects to a zero-temperature ambient, like a cooled thermal network.
+     */
+    private static CSRMatrix chain(int n) {
+        Random rng = new Random(3);
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n, n);
+        for (int i = 0; i < n; i++) m.add(i, i, 0.5);
+        for (int i = 0; i < n - 1; i++) {
+            double g = 1 + 9 * rng.nextDouble();
+            m.add(i, i, g);
+            m.add(i, i + 1, -g);
+            m.add(i + 1, i + 1, g);
+            m.add(i + 1, i, -g);
+        }
+        return m.toCSR();
+    }
+
+    private static double[] randomVector(int n) {
+        Random rng = new Random(7);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = rng.nextDouble();
+        return v;
+    }
+
+    private static double normalResidual(CSRMatrix A, double[] x, double[] b) {
+        double[] r = new double[b.length];
+        A.multiply(x, r);
+        for (int i = 0; i < r.length; i++) r[i] = b[i] - r[i];
+        double[] g = new double[A.cols()];
+        A.transposeMultiply(r, g);
+        double sum = 0;
+        for (double v : g) sum += v * v;
+        return Math.sqrt(sum);
+    }
+
+    @Test
+    public void testFloatProductsTrackDouble() {
+        int n = 500;
+        CSRMatrix A = chain(n);
+        FloatCSRMatrix Af = new FloatCSRMatrix(A);
+        double[] x = randomVector(n);
+
+        float[] xf = new float[n];
+        for (int i = 0; i < n; i++) xf[i] = (float) x[i];
+
+        double[] expected = new double[n];
+        float[] actual = new float[n];
+        A.multiply(x, expected);
+        Af.multiply(xf, actual);
+        for (int i = 0; i < n; i++)
+            assertEquals(expected[i], actual[i], 1e-5, "row " + i);
+
+        A.transposeMultiply(x, expected);
+        Af.transposeMultiply(xf, actual);
+        for (int i = 0; i < n; i++)
+            assertEquals(expected[i], actual[i], 1e-5, "column " + i);
+
+        assertEquals(A.nnz(), Af.nnz());
+        assertEquals(A.get(5, 6), Af.get(5, 6), 1e-6);
+    }
+
+    @Test
+    public void testCopyValuesRequiresSamePattern() {
+        FloatCSRMatrix Af = new FloatCSRMatrix(chain(10));
+        assertThrows(IllegalArgumentException.class, () -> Af.copyValues(chain(10)));
+    }
+
+    @Test
+    public void testReachesSameToleranceAsLeastSquare() {
+        int n = 2_000;
+        CSRMatrix A = chain(n);
+        double[] b = randomVector(n);
+        double tol = 1e-3;
+
+        double[] reference = LeastSquare.solve(A, new double[n], b, 50_000, tol);
+        double[] mixed = MixedPrecisionLeastSquare.solve(A, new double[n], b, 50_000, tol);
+
+        assertTrue(normalResidual(A, mixed, b) < tol, "normal residual above tolerance");
+        double scale = 0;
+        for (double v : reference) scale = Math.max(scale, Math.abs(v));
+        for (int i = 0; i < n; i++)
+            assertEquals(reference[i], mixed[i], 1e-3 * scale, "index " + i);
+    }
+
+    @Test
+    public void testRefinementGoesBeyondFloatPrecision() {
+        int n = 200;
+        CSRMatrix A = chain(n);
+        double[] b = randomVector(n);
+
+        double[] x = MixedPrecisionLeastSquare.solve(A, new double[n], b, 50_000, 1e-9);
+
+        assertTrue(normalResidual(A, x, b) < 1e-9, "refinement did not reach double accuracy");
+    }
+
+    @Test
+    public void testMatrixFreeOperatorTakesTheGenericPath() {
+        int n = 100;
+        CSRMatrix A = chain(n);
+        MatrixFreeOperator free = new MatrixFreeOperator(n);
+        for (int i = 0; i < n; i++)
+            for (int j = Math.max(0, i - 1); j <= Math.min(n - 1, i + 1); j++)
+                free.add(i, j, A.get(i, j));
+        double[] b = randomVector(n);
+
+        double[] reference = LeastSquare.solve(free, new double[n], b, 50_000, 1e-9);
+        double[] mixed = MixedPrecisionLeastSquare.solve(free, new double[n], b, 50_000, 1e-9);
+
+        assertArrayEquals(reference, mixed, 0.0);
+    }
+}
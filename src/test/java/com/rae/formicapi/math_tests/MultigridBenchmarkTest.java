@@ -0,0 +1,156 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.AlgebraicMultigrid;
+import com.rae.formicapi.fondation.math.solvers.ConjugateGradient;
+import com.rae.formicapi.fondation.math.solvers.IncompleteCholeskyPreconditioner;
+import com.rae.formicapi.fondation.math.solvers.Preconditioner;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+/**
+ * Benchmarks {@link AlgebraicMultigrid} as a CG preconditioner against
+ * IC(0) on the hot-spot plate of {@code TwoLayerPlateTest}, scaled up to
+ * 100 times its number of nodes.
+ *
+ * <p>Reports iterations and wall-clock time, the latter including the
+ * multigrid setup or the incomplete factorisation. AMG iterations should
+ * stay nearly flat, so its time grows about linearly with the node count.
+ *
+ * <p>Not a correctness test — see {@link AlgebraicMultigridTest} for that.
+ */
+public class MultigridBenchmarkTest {
+
+    private static final int WARMUP_REPS = 1;
+    private static final int BENCH_REPS  = 2;
+    private static final int MAX_ITER    = 100_000;
+    private static final double TOL      = 1e-6;
+
+    // ------------------------------------------------
+    // Benchmark — hot-spot plate, 1× to 100× the nodes
+    // ------------------------------------------------
+
+    @Test
+    public void benchmarkPlateScaling() {
+        int[] scales = { 1, 3, 6, 10 };
+
+        System.out.println("\n=== Preconditioned CG — hot-spot plate ===");
+        System.out.printf("%-10s %-10s %-8s %-16s %-16s%n", "n", "M", "levels", "iterations", "time (ns)");
+        System.out.println("-".repeat(62));
+
+        for (int scale : scales) {
+            double[][] b = new double[1][];
+            CSRMatrix A = hotSpotPlate(51 * scale, 31 * scale, b);
+
+            run("AMG",   A, b[0], AlgebraicMultigrid::new);
+            run("IC(0)", A, b[0], IncompleteCholeskyPreconditioner::new);
+        }
+    }
+
+    private void run(String name, CSRMatrix A, double[] b, Function<CSRMatrix, Preconditioner> factory) {
+        int[] iterations = new int[1];
+        String[] levels = { "-" };
+        long ns = benchmark(() -> {
+            IterationCounter counted = new IterationCounter(A);
+            Preconditioner M = factory.apply(A);
+            if (M instanceof AlgebraicMultigrid amg) levels[0] = String.valueOf(amg.levels());
+            ConjugateGradient.solve(counted, M, new double[A.rows()], b, MAX_ITER, TOL);
+            iterations[0] = counted.iterations;
+        });
+        System.out.printf("%-10s %-10s %-8s %-16s %-16s%n",
+                fmt(A.rows()), name, levels[0], fmt(iterations[0]), fmt(ns / BENCH_REPS));
+    }
+
+    // ------------------------------------------------
+    // Helpers
+    // ------------------------------------------------
+
+    /** Counts the fused product CG performs once per iteration. */
+    private static final class IterationCounter implements Matrix {
+        final Matrix A;
+        int iterations;
+
+        IterationCounter(Matrix A) {
+            this.A = A;
+        }
+
+        @Override
+        public void multiply(double[] x, double[] result) {
+            A.multiply(x, result);
+        }
+
+        @Override
+        public double multiplyDot(double[] x, double[] result) {
+            iterations++;
+            return A.multiplyDot(x, result);
+        }
+
+        @Override
+        public int rows() {
+            return A.rows();
+        }
+
+        @Override
+        public int cols() {
+            return A.cols();
+        }
+
+        @Override
+        public double get(int r, int c) {
+            return A.get(r, c);
+        }
+    }
+
+    /**
+     * The plate of {@code TwoLayerPlateTest.twoDPlateWithHotSpot}: conductance
+     * 50 between neighbours, edges convecting through 10 to 25 °C, centre
+     * linked through 50 to 100 °C. Fixed temperatures are moved into
+     * {@code b[0]}, leaving A symmetric positive definite.
+     */
+    private static CSRMatrix hotSpotPlate(int nx, int ny, double[][] b) {
+        int n = nx * ny;
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n, n, 5 * n);
+        double[] rhs = new double[n];
+        for (int i = 0; i < nx; i++) {
+            for (int j = 0; j < ny; j++) {
+                int k = i * ny + j;
+                if (i + 1 < nx) link(m, k, k + ny, 50);
+                if (j + 1 < ny) link(m, k, k + 1, 50);
+                if (i == 0 || i == nx - 1 || j == 0 || j == ny - 1) {
+                    m.add(k, k, 10);
+                    rhs[k] += 10 * 25;
+                }
+            }
+        }
+        int centre = (nx / 2) * ny + ny / 2;
+        m.add(centre, centre, 50);
+        rhs[centre] += 50 * 100;
+        b[0] = rhs;
+        return m.toCSR();
+    }
+
+    private static void link(PackedHashSparseMatrix m, int i, int j, double g) {
+        m.add(i, i, g);
+        m.add(i, j, -g);
+        m.add(j, j, g);
+        m.add(j, i, -g);
+    }
+
+    private long benchmark(Runnable task) {
+        for (int i = 0; i < WARMUP_REPS; i++) task.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCH_REPS; i++) task.run();
+        return System.nanoTime() - start;
+    }
+
+    private static String fmt(long n) {
+        return String.format("%,d", n).replace(',', ' ');
+    }
+
+    private static String fmt(int n) {
+        return String.format("%,d", n).replace(',', ' ');
+    }
+}
@@ -0,0 +1,182 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.BiConjugateGradientStabilized;
+import com.rae.formicapi.fondation.math.solvers.GeneralizedMinimalResidual;
+import com.rae.formicapi.fondation.math.solvers.JacobiPreconditioner;
+import com.rae.formicapi.fondation.math.solvers.LeastSquare;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BiConjugateGradientStabilized} and
+ * {@link GeneralizedMinimalResidual} on non-symmetric advection-diffusion
+ * systems: both must reach the true residual tolerance, in fewer products
+ * with A than {@link LeastSquare} on the normal equations.
+ */
+public class NonSymmetricSolverTest {
+
+    private static final double TOL = 1e-8;
+
+    /**
+     * Upwind advection-diffusion on an n×n grid, flow along +x, grounded on
+     * the inlet edge: the advection couples each cell to its upstream
+     * neighbour only, so A is not symmetric.
+     */
+    private static CSRMatrix advectionDiffusion(int n, double g, double flow) {
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n * n, n * n);
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                int i = y * n + x;
+                if (x + 1 < n) {
+                    link(m, i, i + 1, g);
+                    m.add(i + 1, i + 1, flow);
+                    m.add(i + 1, i, -flow);
+                }
+                if (y + 1 < n) link(m, i, i + n, g);
+                if (x == 0) m.add(i, i, g + flow);
+            }
+        }
+        return m.toCSR();
+    }
+
+    private static void link(PackedHashSparseMatrix m, int i, int j, double g) {
+        m.add(i, i, g);
+        m.add(i, j, -g);
+        m.add(j, j, g);
+        m.add(j, i, -g);
+    }
+
+    /** Counts products with A or Aᵀ; a fused AᵀA product counts as two. */
+    private static final class CountingMatrix implements Matrix {
+        final Matrix A;
+        int products;
+
+        CountingMatrix(Matrix A) {
+            this.A = A;
+        }
+
+        @Override
+        public void multiply(double[] x, double[] result) {
+            products++;
+            A.multiply(x, result);
+        }
+
+        @Override
+        public void transposeMultiply(double[] x, double[] result) {
+            products++;
+            A.transposeMultiply(x, result);
+        }
+
+        @Override
+        public double multiplyAtA(double[] x, double[] temp, double[] result) {
+            products += 2;
+            return A.multiplyAtA(x, temp, result);
+        }
+
+        @Override
+        public void diagonal(double[] result) {
+            A.diagonal(result);
+        }
+
+        @Override
+        public int rows() {
+            return A.rows();
+        }
+
+        @Override
+        public int cols() {
+            return A.cols();
+        }
+
+        @Override
+        public double get(int r, int c) {
+            return A.get(r, c);
+        }
+    }
+
+    private static double residual(Matrix A, double[] x, double[] b) {
+        double[] r = new double[b.length];
+        A.multiply(x, r);
+        double s = 0;
+        for (int i = 0; i < r.length; i++) s += (b[i] - r[i]) * (b[i] - r[i]);
+        return Math.sqrt(s);
+    }
+
+    private static double[] heatedRhs(int size) {
+        double[] b = new double[size];
+        for (int i = 0; i < size; i++) b[i] = (i % 7) * 0.5;
+        return b;
+    }
+
+    @Test
+    public void testBothConvergeInFewerProductsThanLeastSquares() {
+        CSRMatrix A = advectionDiffusion(20, 1.0, 4.0);
+        double[] b = heatedRhs(A.rows());
+        double[] x0 = new double[A.rows()];
+
+        CountingMatrix normal = new CountingMatrix(A);
+        LeastSquare.solve(normal, x0, b, 100_000, TOL);
+
+        CountingMatrix bicg = new CountingMatrix(A);
+        double[] x1 = BiConjugateGradientStabilized.solve(bicg, x0, b, 10_000, TOL);
+        assertTrue(residual(A, x1, b) < 10 * TOL);
+        assertTrue(bicg.products < normal.products, bicg.products + " vs " + normal.products);
+
+        CountingMatrix gmres = new CountingMatrix(A);
+        double[] x2 = GeneralizedMinimalResidual.solve(gmres, x0, b, 10_000, TOL);
+        assertTrue(residual(A, x2, b) < 10 * TOL);
+        assertTrue(gmres.products < normal.products, gmres.products + " vs " + normal.products);
+    }
+
+    @Test
+    public void testPreconditionedVariantsConverge() {
+        CSRMatrix A = advectionDiffusion(15, 0.1, 10.0);
+        double[] b = heatedRhs(A.rows());
+        double[] x0 = new double[A.rows()];
+        JacobiPreconditioner M = new JacobiPreconditioner(A);
+
+        double[] x1 = BiConjugateGradientStabilized.solve(A, M, x0, b, 10_000, TOL);
+        assertTrue(residual(A, x1, b) < 10 * TOL);
+
+        double[] x2 = GeneralizedMinimalResidual.solve(A, M, x0, b, 10, 10_000, TOL);
+        assertTrue(residual(A, x2, b) < 10 * TOL);
+    }
+
+    @Test
+    public void testGmresFullCycleIsExactOnSmallSystem() {
+        // with the restart length at least n, GMRES terminates in at most n products
+        CSRMatrix A = advectionDiffusion(3, 1.0, 2.0);
+        double[] b = heatedRhs(A.rows());
+        CountingMatrix counted = new CountingMatrix(A);
+
+        double[] x = GeneralizedMinimalResidual.solve(counted, null, new double[A.rows()], b, A.rows(), 1_000, 1e-10);
+
+        assertTrue(residual(A, x, b) < 1e-9);
+        assertTrue(counted.products <= A.rows() + 2, "products: " + counted.products);
+    }
+
+    @Test
+    public void testExactInitialGuessIsReturned() {
+        CSRMatrix A = advectionDiffusion(4, 1.0, 1.0);
+        double[] x = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16};
+        double[] b = new double[16];
+        A.multiply(x, b);
+
+        assertArrayEquals(x, BiConjugateGradientStabilized.solve(A, x, b, 100, 1e-12), 0.0);
+        assertArrayEquals(x, GeneralizedMinimalResidual.solve(A, x, b, 100, 1e-12), 0.0);
+    }
+
+    @Test
+    public void testShapeChecks() {
+        PackedHashSparseMatrix rect = new PackedHashSparseMatrix(2, 3);
+        assertThrows(IllegalArgumentException.class,
+                () -> BiConjugateGradientStabilized.solve(rect, new double[3], new double[2], 10, 1e-6));
+        CSRMatrix A = advectionDiffusion(2, 1, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> GeneralizedMinimalResidual.solve(A, null, new double[4], new double[4], 0, 10, 1e-6));
+    }
+}
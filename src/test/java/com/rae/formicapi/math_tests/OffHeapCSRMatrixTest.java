@@ -0,0 +1,126 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.OffHeapCSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link OffHeapCSRMatrix}: products must match the heap
+ * {@link CSRMatrix}, and the file format must round-trip through both
+ * {@link OffHeapCSRMatrix#load} and {@link OffHeapCSRMatrix#map}.
+ */
+public class OffHeapCSRMatrixTest {
+
+    private static CSRMatrix randomCSR(int rows, int cols) {
+        Random rng = new Random(42);
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(rows, cols);
+        for (int r = 0; r < rows; r++)
+            for (int k = 0; k < 5; k++)
+                m.add(r, rng.nextInt(cols), rng.nextDouble() - 0.5);
+        return m.toCSR();
+    }
+
+    private static double[] randomVector(int n) {
+        Random rng = new Random(7);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = rng.nextDouble();
+        return v;
+    }
+
+    private static void assertSameProducts(CSRMatrix expected, OffHeapCSRMatrix actual) {
+        assertEquals(expected.rows(), actual.rows());
+        assertEquals(expected.cols(), actual.cols());
+        assertEquals(expected.nnz(), actual.nnz());
+
+        double[] x = randomVector(expected.cols());
+        double[] want = new double[expected.rows()];
+        double[] got = new double[expected.rows()];
+        expected.multiply(x, want);
+        actual.multiply(x, got);
+        assertArrayEquals(want, got, 0.0);
+
+        double[] y = randomVector(expected.rows());
+        double[] wantT = new double[expected.cols()];
+        double[] gotT = new double[expected.cols()];
+        expected.transposeMultiply(y, wantT);
+        actual.transposeMultiply(y, gotT);
+        assertArrayEquals(wantT, gotT, 0.0);
+    }
+
+    @Test
+    public void testCopyMatchesHeapMatrix() {
+        CSRMatrix csr = randomCSR(300, 250);
+        OffHeapCSRMatrix off = OffHeapCSRMatrix.copyOf(csr);
+
+        assertSameProducts(csr, off);
+        for (int r = 0; r < 20; r++)
+            for (int c = 0; c < 250; c++)
+                assertEquals(csr.get(r, c), off.get(r, c), 0.0, "(" + r + ", " + c + ")");
+    }
+
+    @Test
+    public void testSaveLoadAndMapRoundTrip() throws IOException {
+        CSRMatrix csr = randomCSR(501, 333);   // odd row count leaves colIndex unaligned, exercising the padding
+        Path file = Files.createTempFile("formicapi-csr", ".bin");
+        try {
+            OffHeapCSRMatrix.copyOf(csr).save(file);
+
+            assertSameProducts(csr, OffHeapCSRMatrix.load(file));
+            OffHeapCSRMatrix mapped = OffHeapCSRMatrix.map(file);
+            assertSameProducts(csr, mapped);
+
+            CSRMatrix back = mapped.toCSR();
+            assertEquals(csr.nnz(), back.nnz());
+            assertEquals(csr.get(500, 0), back.get(500, 0), 0.0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testResavingLoadedOrMappedMatrixIsByteIdentical() throws IOException {
+        Path file = Files.createTempFile("formicapi-csr", ".bin");
+        Path copy = Files.createTempFile("formicapi-csr", ".bin");
+        try {
+            OffHeapCSRMatrix.copyOf(randomCSR(501, 333)).save(file);
+            byte[] expected = Files.readAllBytes(file);
+
+            OffHeapCSRMatrix.load(file).save(copy);
+            assertTrue(Arrays.equals(expected, Files.readAllBytes(copy)));
+
+            OffHeapCSRMatrix mapped = OffHeapCSRMatrix.map(file);
+            mapped.save(copy);
+            mapped.save(copy);   // a second save must start again from the section starts
+            assertTrue(Arrays.equals(expected, Files.readAllBytes(copy)));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(copy);
+        }
+    }
+
+    @Test
+    public void testRejectsForeignAndTruncatedFiles() throws IOException {
+        Path file = Files.createTempFile("formicapi-csr", ".bin");
+        try {
+            Files.write(file, new byte[64]);
+            assertThrows(IOException.class, () -> OffHeapCSRMatrix.load(file));
+
+            OffHeapCSRMatrix.copyOf(randomCSR(50, 50)).save(file);
+            byte[] full = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(full, full.length - 8));
+            assertThrows(IOException.class, () -> OffHeapCSRMatrix.map(file));
+            assertThrows(IOException.class, () -> OffHeapCSRMatrix.load(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.HashSparseMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link PackedHashSparseMatrix}: accumulation, removal, growth,
+ * reuse after {@link PackedHashSparseMatrix#clear()}, and CSR conversion.
+ */
+public class PackedHashSparseMatrixTest {
+
+    @Test
+    public void testAddAccumulatesAndSetOverwrites() {
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(3, 3);
+
+        m.add(0, 1, 2);
+        m.add(0, 1, 3);
+        m.set(2, 2, 7);
+        m.set(2, 2, 4);
+
+        assertEquals(5, m.get(0, 1), 1e-12);
+        assertEquals(4, m.get(2, 2), 1e-12);
+        assertEquals(0, m.get(1, 1), 1e-12);
+        assertEquals(2, m.nnz());
+    }
+
+    @Test
+    public void testSetZeroRemovesEntry() {
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(4, 4);
+        for (int r = 0; r < 4; r++)
+            for (int c = 0; c < 4; c++)
+                m.add(r, c, r * 4 + c + 1);
+
+        m.set(1, 2, 0);
+        m.set(3, 0, 0);
+
+        assertEquals(14, m.nnz());
+        assertEquals(0, m.get(1, 2), 1e-12);
+        assertEquals(0, m.get(3, 0), 1e-12);
+        // remaining entries are still reachable after backward-shift deletion
+        for (int r = 0; r < 4; r++)
+            for (int c = 0; c < 4; c++)
+                if (!(r == 1 && c == 2) && !(r == 3 && c == 0))
+                    assertEquals(r * 4 + c + 1, m.get(r, c), 1e-12, "entry (" + r + ", " + c + ")");
+    }
+
+    @Test
+    public void testMatchesHashSparseMatrix() {
+        int n = 500;
+        Random rng = new Random(42);
+        PackedHashSparseMatrix packed = new PackedHashSparseMatrix(n, n);
+        HashSparseMatrix hash = new HashSparseMatrix(n, n);
+
+        for (int i = 0; i < 20 * n; i++) {
+            int r = rng.nextInt(n);
+            int c = rng.nextInt(n);
+            double v = rng.nextDouble() - 0.5;
+            if (rng.nextInt(10) == 0) {
+                packed.set(r, c, 0);
+                hash.set(r, c, 0);
+            } else {
+                packed.add(r, c, v);
+                hash.add(r, c, v);
+            }
+        }
+
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = rng.nextDouble();
+
+        double[] expected = new double[n];
+        double[] actual = new double[n];
+
+        hash.multiply(x, expected);
+        packed.multiply(x, actual);
+        for (int i = 0; i < n; i++) assertEquals(expected[i], actual[i], 1e-9, "multiply row " + i);
+
+        hash.transposeMultiply(x, expected);
+        packed.transposeMultiply(x, actual);
+        for (int i = 0; i < n; i++) assertEquals(expected[i], actual[i], 1e-9, "transposeMultiply col " + i);
+
+        packed.toCSR().multiply(x, actual);
+        hash.multiply(x, expected);
+        for (int i = 0; i < n; i++) assertEquals(expected[i], actual[i], 1e-9, "CSR multiply row " + i);
+    }
+
+    @Test
+    public void testToCSRRowsAreSorted() {
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(2, 50);
+        for (int c = 49; c >= 0; c -= 3) m.add(0, c, c + 1);
+        m.add(1, 7, 1);
+
+        CSRMatrix csr = m.toCSR();
+
+        for (int c = 0; c < 50; c++)
+            assertEquals(m.get(0, c), csr.get(0, c), 1e-12, "column " + c);
+        assertEquals(1, csr.get(1, 7), 1e-12);
+    }
+
+    @Test
+    public void testClearKeepsMatrixUsable() {
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(10, 10);
+        for (int i = 0; i < 10; i++) m.add(i, i, 1);
+
+        m.clear();
+        assertEquals(0, m.nnz());
+        assertEquals(0, m.get(3, 3), 1e-12);
+
+        m.add(3, 3, 2);
+        assertEquals(2, m.get(3, 3), 1e-12);
+        assertEquals(1, m.nnz());
+        assertEquals(2, m.toCSR().get(3, 3), 1e-12);
+    }
+}
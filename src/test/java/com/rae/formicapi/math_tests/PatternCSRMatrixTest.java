@@ -0,0 +1,114 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PatternCSRMatrix;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link PatternCSRMatrix}: the compiled pattern must survive
+ * {@link PatternCSRMatrix#clear()}, refills must land in the cached slots,
+ * and out-of-pattern writes must widen the pattern.
+ */
+public class PatternCSRMatrixTest {
+
+    private static void stampChain(PatternCSRMatrix m, double g) {
+        for (int i = 0; i < m.rows() - 1; i++) {
+            m.add(i, i, g);
+            m.add(i, i + 1, -g);
+            m.add(i + 1, i + 1, g);
+            m.add(i + 1, i, -g);
+        }
+    }
+
+    @Test
+    public void testRefillReusesPattern() {
+        PatternCSRMatrix m = new PatternCSRMatrix(5, 5);
+        stampChain(m, 1);
+        CSRMatrix first = m.toCSR();
+
+        m.clear();
+        stampChain(m, 3);
+        CSRMatrix second = m.toCSR();
+
+        assertSame(first, second, "refill within the pattern must not recompile");
+        assertEquals(6, m.get(2, 2), 1e-12);
+        assertEquals(-3, m.get(2, 3), 1e-12);
+        assertEquals(3, m.get(0, 0), 1e-12);
+    }
+
+    @Test
+    public void testClearZeroesValues() {
+        PatternCSRMatrix m = new PatternCSRMatrix(3, 3);
+        stampChain(m, 2);
+        m.toCSR();
+
+        m.clear();
+
+        double[] result = new double[3];
+        m.multiply(new double[]{1, 2, 3}, result);
+        for (double v : result) assertEquals(0, v, 1e-12);
+        assertEquals(0, m.get(1, 1), 1e-12);
+    }
+
+    @Test
+    public void testOutOfPatternWriteWidensPattern() {
+        PatternCSRMatrix m = new PatternCSRMatrix(4, 4);
+        stampChain(m, 1);
+        int nnzBefore = m.toCSR().nnz();
+
+        m.clear();
+        stampChain(m, 1);
+        m.add(0, 3, 5);   // new structural entry
+        m.set(3, 0, 7);
+
+        CSRMatrix widened = m.toCSR();
+        assertEquals(nnzBefore + 2, widened.nnz());
+        assertEquals(5, m.get(0, 3), 1e-12);
+        assertEquals(7, m.get(3, 0), 1e-12);
+        assertEquals(2, m.get(1, 1), 1e-12);
+
+        double[] x = {1, 2, 3, 4};
+        double[] result = new double[4];
+        m.multiply(x, result);
+        assertEquals(1 * 1 - 1 * 2 + 5 * 4, result[0], 1e-12);
+        assertEquals(7 * 1 - 1 * 3 + 1 * 4, result[3], 1e-12);
+    }
+
+    @Test
+    public void testCachedTransposeFollowsRefill() {
+        PatternCSRMatrix m = new PatternCSRMatrix(4, 4);
+        m.setTransposeCaching(true);
+        stampChain(m, 1);
+        m.add(0, 3, 2);
+
+        double[] x = {1, 2, 3, 4};
+        double[] result = new double[4];
+        m.transposeMultiply(x, result);
+        assertEquals(2 * 1 - 1 * 3 + 1 * 4, result[3], 1e-12);
+
+        m.clear();
+        stampChain(m, 3);
+        m.add(0, 3, 5);
+        m.transposeMultiply(x, result);
+
+        CSRMatrix uncached = m.toCSR().transpose();
+        double[] expected = new double[4];
+        uncached.multiply(x, expected);
+        for (int i = 0; i < 4; i++)
+            assertEquals(expected[i], result[i], 1e-12, "column " + i);
+        assertEquals(5 * 1 - 3 * 3 + 3 * 4, result[3], 1e-12);
+    }
+
+    @Test
+    public void testIndexOfFindsSlots() {
+        PatternCSRMatrix m = new PatternCSRMatrix(3, 3);
+        stampChain(m, 1);
+        CSRMatrix csr = m.toCSR();
+
+        assertTrue(csr.indexOf(1, 0) >= 0);
+        assertTrue(csr.indexOf(1, 2) >= 0);
+        assertEquals(-1, csr.indexOf(0, 2));
+    }
+}
@@ -0,0 +1,198 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.Matrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.ConjugateGradient;
+import com.rae.formicapi.fondation.math.solvers.IncompleteCholeskyPreconditioner;
+import com.rae.formicapi.fondation.math.solvers.JacobiPreconditioner;
+import com.rae.formicapi.fondation.math.solvers.Preconditioner;
+import com.rae.formicapi.fondation.math.solvers.SSORPreconditioner;
+import com.rae.formicapi.fondation.simulation.material.Material;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link Preconditioner}s and preconditioned
+ * {@link ConjugateGradient}: every preconditioner must reach the plain CG
+ * solution, and in fewer iterations on a badly conditioned network.
+ */
+public class PreconditionerTest {
+
+    private static final double TOL = 1e-9;
+    /** CG stops on its recursively updated residual; the true one drifts a little above it. */
+    private static final double RESIDUAL_SLACK = 100;
+
+    /**
+     * Conduction grid of randomly mixed copper and air cells, grounded along
+     * its left edge: the spread of conductances makes it badly conditioned.
+     */
+    private static CSRMatrix copperAirGrid(int n, long seed) {
+        Random rng = new Random(seed);
+        double[] k = new double[n * n];
+        for (int i = 0; i < k.length; i++)
+            k[i] = (rng.nextBoolean() ? Material.COPPER : Material.AIR).getConductivity();
+
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n * n, n * n);
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                int i = y * n + x;
+                if (x + 1 < n) link(m, i, i + 1, k[i], k[i + 1]);
+                if (y + 1 < n) link(m, i, i + n, k[i], k[i + n]);
+                if (x == 0) m.add(i, i, k[i]);
+            }
+        }
+        return m.toCSR();
+    }
+
+    private static void link(PackedHashSparseMatrix m, int i, int j, double ki, double kj) {
+        double g = 2 * ki * kj / (ki + kj);
+        m.add(i, i, g);
+        m.add(i, j, -g);
+        m.add(j, j, g);
+        m.add(j, i, -g);
+    }
+
+    /** Counts products with A, i.e. CG iterations plus the initial residual. */
+    private static final class CountingMatrix implements Matrix {
+        final Matrix A;
+        int products;
+
+        CountingMatrix(Matrix A) {
+            this.A = A;
+        }
+
+        @Override
+        public void multiply(double[] x, double[] result) {
+            products++;
+            A.multiply(x, result);
+        }
+
+        @Override
+        public double multiplyDot(double[] x, double[] result) {
+            products++;
+            return A.multiplyDot(x, result);
+        }
+
+        @Override
+        public int rows() {
+            return A.rows();
+        }
+
+        @Override
+        public int cols() {
+            return A.cols();
+        }
+
+        @Override
+        public double get(int r, int c) {
+            return A.get(r, c);
+        }
+    }
+
+    private static double[] residual(Matrix A, double[] x, double[] b) {
+        double[] r = new double[b.length];
+        A.multiply(x, r);
+        for (int i = 0; i < r.length; i++) r[i] = b[i] - r[i];
+        return r;
+    }
+
+    private static double norm(double[] v) {
+        double s = 0;
+        for (double d : v) s += d * d;
+        return Math.sqrt(s);
+    }
+
+    @Test
+    public void testPreconditionersReachPlainSolutionInFewerIterations() {
+        CSRMatrix A = copperAirGrid(30, 5);
+        Random rng = new Random(6);
+        double[] b = new double[A.rows()];
+        for (int i = 0; i < b.length; i++) b[i] = rng.nextDouble();
+
+        CountingMatrix plain = new CountingMatrix(A);
+        double[] reference = ConjugateGradient.solve(plain, new double[b.length], b, 100_000, TOL);
+        assertTrue(norm(residual(A, reference, b)) < RESIDUAL_SLACK * TOL);
+
+        Preconditioner[] preconditioners = {
+                new JacobiPreconditioner(A),
+                new SSORPreconditioner(A, 1.2),
+                new IncompleteCholeskyPreconditioner(A)
+        };
+        for (Preconditioner M : preconditioners) {
+            CountingMatrix counted = new CountingMatrix(A);
+            double[] x = ConjugateGradient.solve(counted, M, new double[b.length], b, 100_000, TOL);
+            String name = M.getClass().getSimpleName();
+            assertTrue(norm(residual(A, x, b)) < RESIDUAL_SLACK * TOL, name);
+            assertTrue(counted.products < plain.products,
+                    name + ": " + counted.products + " vs " + plain.products + " products");
+        }
+    }
+
+    @Test
+    public void testIncompleteCholeskyIsExactOnTridiagonal() {
+        // no fill-in is possible, so IC(0) is the full Cholesky factor
+        int n = 50;
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n, n);
+        for (int i = 0; i < n; i++) {
+            m.add(i, i, 4);
+            if (i + 1 < n) {
+                m.add(i, i + 1, -1);
+                m.add(i + 1, i, -1);
+            }
+        }
+        CSRMatrix A = m.toCSR();
+        double[] b = new double[n];
+        b[0] = 1;
+        b[n - 1] = 2;
+
+        CountingMatrix counted = new CountingMatrix(A);
+        double[] x = ConjugateGradient.solve(counted, new IncompleteCholeskyPreconditioner(A), new double[n], b, 100, 1e-10);
+
+        assertTrue(norm(residual(A, x, b)) < 1e-10);
+        assertTrue(counted.products <= 2, "expected one iteration, got " + (counted.products - 1));
+    }
+
+    @Test
+    public void testPreconditionersAreSymmetric() {
+        // uᵀ M⁻¹ v = vᵀ M⁻¹ u for CG to stay valid
+        CSRMatrix A = copperAirGrid(6, 9);
+        Random rng = new Random(10);
+        double[] u = new double[A.rows()];
+        double[] v = new double[A.rows()];
+        for (int i = 0; i < u.length; i++) {
+            u[i] = rng.nextDouble();
+            v[i] = rng.nextDouble();
+        }
+        Preconditioner[] preconditioners = {
+                new JacobiPreconditioner(A),
+                new SSORPreconditioner(A, 1.5),
+                new IncompleteCholeskyPreconditioner(A)
+        };
+        for (Preconditioner M : preconditioners) {
+            double[] Mu = new double[u.length];
+            double[] Mv = new double[v.length];
+            M.apply(u, Mu);
+            M.apply(v, Mv);
+            double uMv = 0, vMu = 0;
+            for (int i = 0; i < u.length; i++) {
+                uMv += u[i] * Mv[i];
+                vMu += v[i] * Mu[i];
+            }
+            assertEquals(uMv, vMu, 1e-9 * Math.abs(uMv), M.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        PackedHashSparseMatrix rect = new PackedHashSparseMatrix(2, 3);
+        rect.add(0, 0, 1);
+        CSRMatrix A = rect.toCSR();
+        assertThrows(IllegalArgumentException.class, () -> new JacobiPreconditioner(A));
+        assertThrows(IllegalArgumentException.class, () -> new IncompleteCholeskyPreconditioner(A));
+        assertThrows(IllegalArgumentException.class, () -> new SSORPreconditioner(copperAirGrid(2, 1), 2.0));
+    }
+}
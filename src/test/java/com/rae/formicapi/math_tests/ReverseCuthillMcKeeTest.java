@@ -0,0 +1,86 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.ordering.ReverseCuthillMcKee;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ReverseCuthillMcKee}: the result must be a permutation,
+ * and it must recover a narrow band from a randomly numbered grid.
+ */
+public class ReverseCuthillMcKeeTest {
+
+    /** 5-point grid Laplacian whose node numbers have been shuffled. */
+    private static CSRMatrix shuffledGrid(int nx, int ny, long seed) {
+        int n = nx * ny;
+        int[] label = new int[n];
+        for (int i = 0; i < n; i++) label[i] = i;
+        Random rng = new Random(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int t = label[i];
+            label[i] = label[j];
+            label[j] = t;
+        }
+
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n, n);
+        for (int x = 0; x < nx; x++) {
+            for (int y = 0; y < ny; y++) {
+                int a = label[x * ny + y];
+                m.add(a, a, 4);
+                if (x + 1 < nx) link(m, a, label[(x + 1) * ny + y]);
+                if (y + 1 < ny) link(m, a, label[x * ny + y + 1]);
+            }
+        }
+        return m.toCSR();
+    }
+
+    private static void link(PackedHashSparseMatrix m, int a, int b) {
+        m.add(a, b, -1);
+        m.add(b, a, -1);
+    }
+
+    @Test
+    public void testResultIsPermutation() {
+        int[] perm = ReverseCuthillMcKee.order(shuffledGrid(13, 7, 1));
+        boolean[] hit = new boolean[perm.length];
+        for (int p : perm) {
+            assertFalse(hit[p], "index " + p + " appears twice");
+            hit[p] = true;
+        }
+        int[] inv = ReverseCuthillMcKee.inverse(perm);
+        for (int i = 0; i < perm.length; i++) assertEquals(i, inv[perm[i]]);
+    }
+
+    @Test
+    public void testRecoversNarrowBand() {
+        int nx = 40, ny = 10;
+        CSRMatrix grid = shuffledGrid(nx, ny, 2);
+
+        int before = ReverseCuthillMcKee.bandwidth(grid, null);
+        int[] newIndex = ReverseCuthillMcKee.inverse(ReverseCuthillMcKee.order(grid));
+        int after = ReverseCuthillMcKee.bandwidth(grid, newIndex);
+
+        // natural numbering along the short side has bandwidth ny; RCM should land close to it
+        assertTrue(before > 10 * ny, "shuffled grid should start with a wide band, got " + before);
+        assertTrue(after <= 2 * ny, "RCM bandwidth " + after + " not close to " + ny);
+    }
+
+    @Test
+    public void testDisconnectedComponentsAndIsolatedNodes() {
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(6, 6);
+        for (int i = 0; i < 6; i++) m.set(i, i, 1);
+        link(m, 0, 4);
+        link(m, 4, 2);
+        link(m, 1, 5);   // node 3 is isolated
+        int[] perm = ReverseCuthillMcKee.order(m.toCSR());
+
+        assertEquals(6, perm.length);
+        assertTrue(ReverseCuthillMcKee.bandwidth(m.toCSR(), ReverseCuthillMcKee.inverse(perm)) <= 1);
+    }
+}
@@ -0,0 +1,214 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.AlgebraicMultigrid;
+import com.rae.formicapi.fondation.math.solvers.BiConjugateGradientStabilized;
+import com.rae.formicapi.fondation.math.solvers.BlockConjugateGradient;
+import com.rae.formicapi.fondation.math.solvers.ConjugateGradient;
+import com.rae.formicapi.fondation.math.solvers.GeneralizedMinimalResidual;
+import com.rae.formicapi.fondation.math.solvers.JacobiPreconditioner;
+import com.rae.formicapi.fondation.math.solvers.LeastSquare;
+import com.rae.formicapi.fondation.math.solvers.LeastSquareMR;
+import com.rae.formicapi.fondation.math.solvers.LeastSquareQR;
+import com.rae.formicapi.fondation.math.solvers.MixedPrecisionLeastSquare;
+import com.rae.formicapi.fondation.math.solvers.SolverResult;
+import com.rae.formicapi.fondation.math.solvers.SparseDirectSolver;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SolverResult}: every detailed solve must return exactly
+ * what its plain overload does, and report a status, residuals, history and
+ * timings that agree with the solve it describes.
+ */
+public class SolverResultTest {
+
+    private static final double TOL = 1e-9;
+    private static final SolverResult.Detail SUMMARY = SolverResult.Detail.SUMMARY;
+    private static final SolverResult.Detail HISTORY = SolverResult.Detail.HISTORY;
+
+    /** Grounded conductance grid of n×n nodes. */
+    private static CSRMatrix grid(int n) {
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n * n, n * n);
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                int i = y * n + x;
+                if (x + 1 < n) link(m, i, i + 1, 1 + i % 3);
+                if (y + 1 < n) link(m, i, i + n, 2);
+                if (x == 0) m.add(i, i, 1);
+            }
+        }
+        return m.toCSR();
+    }
+
+    private static void link(PackedHashSparseMatrix m, int i, int j, double g) {
+        m.add(i, i, g);
+        m.add(i, j, -g);
+        m.add(j, j, g);
+        m.add(j, i, -g);
+    }
+
+    private static double[] rhs(int n) {
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) b[i] = (i % 5) - 2;
+        return b;
+    }
+
+    private static double residual(CSRMatrix A, double[] x, double[] b) {
+        double[] r = new double[b.length];
+        A.multiply(x, r);
+        double s = 0;
+        for (int i = 0; i < r.length; i++) s += (b[i] - r[i]) * (b[i] - r[i]);
+        return Math.sqrt(s);
+    }
+
+    @Test
+    public void testDetailedSolvesMatchPlainOverloads() {
+        CSRMatrix A = grid(10);
+        double[] b = rhs(A.rows());
+        double[] x0 = new double[A.rows()];
+        JacobiPreconditioner M = new JacobiPreconditioner(A);
+        AlgebraicMultigrid amg = new AlgebraicMultigrid(A);
+
+        assertArrayEquals(ConjugateGradient.solve(A, x0, b, 500, TOL),
+                ConjugateGradient.solveDetailed(A, x0, b, 500, TOL, HISTORY).x(), 0.0);
+        assertArrayEquals(ConjugateGradient.solve(A, M, x0, b, 500, TOL),
+                ConjugateGradient.solveDetailed(A, M, x0, b, 500, TOL, HISTORY).x(), 0.0);
+        assertArrayEquals(LeastSquare.solve(A, x0, b, 500, TOL),
+                LeastSquare.solveDetailed(A, x0, b, 500, TOL, HISTORY).x(), 0.0);
+        assertArrayEquals(LeastSquare.solveNormalMatrix(A, x0, b, 500, TOL),
+                LeastSquare.solveNormalMatrixDetailed(A, x0, b, 500, TOL, HISTORY).x(), 0.0);
+        assertArrayEquals(LeastSquareQR.solve(A, x0, b, 500, TOL),
+                LeastSquareQR.solveDetailed(A, x0, b, 500, TOL, HISTORY).x(), 0.0);
+        assertArrayEquals(LeastSquareMR.solve(A, x0, b, 500, TOL),
+                LeastSquareMR.solveDetailed(A, x0, b, 500, TOL, HISTORY).x(), 0.0);
+        assertArrayEquals(MixedPrecisionLeastSquare.solve(A, x0, b, 500, TOL),
+                MixedPrecisionLeastSquare.solveDetailed(A, x0, b, 500, TOL, HISTORY).x(), 0.0);
+        assertArrayEquals(BiConjugateGradientStabilized.solve(A, M, x0, b, 500, TOL),
+                BiConjugateGradientStabilized.solveDetailed(A, M, x0, b, 500, TOL, HISTORY).x(), 0.0);
+        assertArrayEquals(GeneralizedMinimalResidual.solve(A, M, x0, b, 10, 500, TOL),
+                GeneralizedMinimalResidual.solveDetailed(A, M, x0, b, 10, 500, TOL, HISTORY).x(), 0.0);
+        assertArrayEquals(amg.solve(x0, b, 50, TOL), amg.solveDetailed(x0, b, 50, TOL, HISTORY).x(), 0.0);
+    }
+
+    @Test
+    public void testConvergedResultDescribesTheSolve() {
+        CSRMatrix A = grid(12);
+        double[] b = rhs(A.rows());
+
+        SolverResult result = ConjugateGradient.solveDetailed(A, new double[A.rows()], b, 1000, TOL, HISTORY);
+
+        assertTrue(result.converged());
+        assertTrue(result.residual() < TOL);
+        assertEquals(residual(A, result.x(), b), result.residual(), 1e-9);
+        assertEquals(residual(A, new double[A.rows()], b), result.initialResidual(), 1e-12);
+        assertEquals(result.residual() / result.initialResidual(), result.relativeResidual());
+
+        double[] history = result.history();
+        assertEquals(result.iterations() + 1, history.length);
+        assertEquals(result.initialResidual(), history[0]);
+        assertEquals(result.residual(), history[history.length - 1]);
+        assertTrue(result.spmvNanos() > 0 && result.vectorNanos() > 0);
+        assertEquals(0, result.preconditionerNanos());
+    }
+
+    @Test
+    public void testIterationCapIsReported() {
+        CSRMatrix A = grid(12);
+        double[] b = rhs(A.rows());
+
+        for (SolverResult result : new SolverResult[]{
+                ConjugateGradient.solveDetailed(A, new double[A.rows()], b, 3, TOL, SUMMARY),
+                LeastSquare.solveDetailed(A, new double[A.rows()], b, 3, TOL, SUMMARY),
+                LeastSquareMR.solveDetailed(A, new double[A.rows()], b, 3, TOL, SUMMARY),
+                BiConjugateGradientStabilized.solveDetailed(A, null, new double[A.rows()], b, 3, TOL, SUMMARY),
+                GeneralizedMinimalResidual.solveDetailed(A, null, new double[A.rows()], b, 5, 3, TOL, SUMMARY)}) {
+            assertEquals(SolverResult.Status.MAX_ITERATIONS, result.status());
+            assertEquals(3, result.iterations());
+            assertTrue(result.residual() >= TOL && result.relativeResidual() < 1);
+        }
+    }
+
+    @Test
+    public void testSummaryRecordsNoTelemetry() {
+        CSRMatrix A = grid(8);
+        double[] b = rhs(A.rows());
+
+        SolverResult summary = LeastSquare.solveDetailed(A, new double[A.rows()], b, 1000, TOL, SUMMARY);
+        assertEquals(0, summary.history().length);
+        assertEquals(0, summary.totalNanos());
+
+        SolverResult timed = LeastSquare.solveDetailed(A, new double[A.rows()], b, 1000, TOL,
+                SolverResult.Detail.TIMINGS);
+        assertEquals(0, timed.history().length);
+        assertTrue(timed.spmvNanos() > 0);
+        assertEquals(summary.iterations(), timed.iterations());
+        assertSame(summary.history(), timed.history(), "an empty history must not be allocated per solve");
+    }
+
+    @Test
+    public void testBreakdownIsReportedNotThrown() {
+        // symmetric but indefinite: the first search direction has pᵀAp = 0
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(2, 2);
+        m.add(0, 1, 1);
+        m.add(1, 0, 1);
+        CSRMatrix A = m.toCSR();
+        double[] b = {1, 0};
+
+        SolverResult result = ConjugateGradient.solveDetailed(A, new double[2], b, 10, TOL, SUMMARY);
+
+        assertEquals(SolverResult.Status.BREAKDOWN, result.status());
+        assertEquals(0, result.iterations());
+        assertThrows(ArithmeticException.class, () -> ConjugateGradient.solve(A, new double[2], b, 10, TOL));
+    }
+
+    @Test
+    public void testExactInitialGuessConverges() {
+        CSRMatrix A = grid(6);
+        double[] b = new double[A.rows()];
+
+        SolverResult result = ConjugateGradient.solveDetailed(A, new double[A.rows()], b, 10, 0, SUMMARY);
+
+        assertTrue(result.converged());
+        assertEquals(0, result.relativeResidual());
+    }
+
+    @Test
+    public void testFollowedByAddsUp() {
+        CSRMatrix A = grid(10);
+        double[] b = rhs(A.rows());
+
+        SolverResult first = LeastSquare.solveDetailed(A, new double[A.rows()], b, 5, TOL, HISTORY);
+        SolverResult second = LeastSquare.solveDetailed(A, first.x(), b, 1000, TOL, HISTORY);
+        SolverResult both = first.followedBy(second);
+
+        assertSame(second.x(), both.x());
+        assertEquals(first.iterations() + second.iterations(), both.iterations());
+        assertEquals(first.initialResidual(), both.initialResidual());
+        assertEquals(second.residual(), both.residual());
+        assertEquals(both.iterations() + 1, both.history().length);
+        assertEquals(first.spmvNanos() + second.spmvNanos(), both.spmvNanos());
+        assertTrue(both.converged());
+    }
+
+    @Test
+    public void testDirectAndBlockSolvesReport() {
+        CSRMatrix A = grid(8);
+        double[] b = rhs(A.rows());
+
+        SolverResult direct = new SparseDirectSolver().solveDetailed(A, b, new double[A.rows()], TOL, SUMMARY);
+        assertEquals(0, direct.iterations());
+        assertTrue(direct.converged());
+        assertEquals(residual(A, direct.x(), b), direct.residual(), 1e-15);
+
+        double[][] B = {b, new double[A.rows()]};
+        SolverResult[] block = BlockConjugateGradient.solveDetailed(A, new double[2][A.rows()], B, 1000, TOL, SUMMARY);
+        assertEquals(2, block.length);
+        assertTrue(block[0].converged() && block[0].iterations() > 0);
+        assertTrue(block[1].converged());
+        assertEquals(0, block[1].iterations());
+        assertArrayEquals(BlockConjugateGradient.solve(A, B, 1000, TOL)[0], block[0].x(), 0.0);
+    }
+}
@@ -0,0 +1,169 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.BiConjugateGradientStabilized;
+import com.rae.formicapi.fondation.math.solvers.ConjugateGradient;
+import com.rae.formicapi.fondation.math.solvers.GeneralizedMinimalResidual;
+import com.rae.formicapi.fondation.math.solvers.JacobiPreconditioner;
+import com.rae.formicapi.fondation.math.solvers.LeastSquare;
+import com.rae.formicapi.fondation.math.solvers.SolverWorkspace;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the {@link SolverWorkspace} overloads of {@link ConjugateGradient},
+ * {@link LeastSquare} and the Krylov solvers: they must give exactly the
+ * results of the allocating overloads, in place if asked, and allocate
+ * nothing once warm.
+ */
+public class SolverWorkspaceTest {
+
+    private static final double TOL = 1e-10;
+
+    /** Grounded conductance grid of n×n nodes. */
+    private static CSRMatrix grid(int n) {
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n * n, n * n);
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                int i = y * n + x;
+                if (x + 1 < n) link(m, i, i + 1, 1 + i % 4);
+                if (y + 1 < n) link(m, i, i + n, 2);
+                if (x == 0) m.add(i, i, 1);
+            }
+        }
+        return m.toCSR();
+    }
+
+    private static void link(PackedHashSparseMatrix m, int i, int j, double g) {
+        m.add(i, i, g);
+        m.add(i, j, -g);
+        m.add(j, j, g);
+        m.add(j, i, -g);
+    }
+
+    private static double[] rhs(int n) {
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) b[i] = (i % 7) - 3;
+        return b;
+    }
+
+    @Test
+    public void testOverloadsMatchAllocatingSolvers() {
+        CSRMatrix A = grid(12);
+        double[] b = rhs(A.rows());
+        double[] x0 = new double[A.rows()];
+        SolverWorkspace workspace = new SolverWorkspace(A);
+        JacobiPreconditioner M = new JacobiPreconditioner(A);
+
+        assertArrayEquals(ConjugateGradient.solve(A, x0, b, 1000, TOL),
+                ConjugateGradient.solve(A, x0, b, 1000, TOL, new double[A.rows()], workspace), 0.0);
+        assertArrayEquals(ConjugateGradient.solve(A, M, x0, b, 1000, TOL),
+                ConjugateGradient.solve(A, M, x0, b, 1000, TOL, new double[A.rows()], workspace), 0.0);
+        assertArrayEquals(LeastSquare.solve(A, x0, b, 1000, TOL),
+                LeastSquare.solve(A, x0, b, 1000, TOL, new double[A.rows()], workspace), 0.0);
+        assertArrayEquals(LeastSquare.solveNormalMatrix(A, x0, b, 1000, TOL),
+                LeastSquare.solveNormalMatrix(A, x0, b, 1000, TOL, new double[A.rows()], workspace), 0.0);
+    }
+
+    @Test
+    public void testKrylovOverloadsMatchAllocatingSolvers() {
+        CSRMatrix A = grid(12);
+        double[] b = rhs(A.rows());
+        double[] x0 = new double[A.rows()];
+        SolverWorkspace workspace = new SolverWorkspace(A);
+        JacobiPreconditioner M = new JacobiPreconditioner(A);
+
+        // twice each: the second run reuses the lazily grown Krylov storage
+        for (int run = 0; run < 2; run++) {
+            assertArrayEquals(BiConjugateGradientStabilized.solve(A, M, x0, b, 1000, TOL),
+                    BiConjugateGradientStabilized.solve(A, M, x0, b, 1000, TOL, new double[A.rows()], workspace), 0.0);
+            assertArrayEquals(GeneralizedMinimalResidual.solve(A, M, x0, b, 10, 1000, TOL),
+                    GeneralizedMinimalResidual.solve(A, M, x0, b, 10, 1000, TOL, new double[A.rows()], workspace), 0.0);
+        }
+        assertArrayEquals(GeneralizedMinimalResidual.solve(A, M, x0, b, 20, 1000, TOL),
+                GeneralizedMinimalResidual.solve(A, M, x0, b, 20, 1000, TOL, new double[A.rows()], workspace), 0.0);
+    }
+
+    @Test
+    public void testWorkspaceJacobiFollowsTheMatrix() {
+        CSRMatrix A = grid(4);
+        PackedHashSparseMatrix doubled = new PackedHashSparseMatrix(A.rows(), A.cols());
+        for (int r = 0; r < A.rows(); r++)
+            for (int k = A.rowStart(r); k < A.rowEnd(r); k++) doubled.add(r, A.colAt(k), 2 * A.valueAt(k));
+        CSRMatrix B = doubled.toCSR();
+
+        SolverWorkspace workspace = new SolverWorkspace(A);
+        double[] r = rhs(A.rows());
+        double[] expected = new double[A.rows()];
+        double[] z = new double[A.rows()];
+
+        JacobiPreconditioner M = workspace.jacobi(A);
+        assertSame(M, workspace.jacobi(B));
+        new JacobiPreconditioner(B).apply(r, expected);
+        M.apply(r, z);
+        assertArrayEquals(expected, z, 0.0);
+        assertThrows(IllegalArgumentException.class, () -> workspace.jacobi(grid(3)));
+    }
+
+    @Test
+    public void testSolveInPlace() {
+        CSRMatrix A = grid(8);
+        double[] b = rhs(A.rows());
+        double[] expected = LeastSquare.solve(A, new double[A.rows()], b, 1000, TOL);
+
+        double[] x = new double[A.rows()];
+        double[] result = LeastSquare.solve(A, x, b, 1000, TOL, x, new SolverWorkspace(A));
+
+        assertSame(x, result);
+        assertArrayEquals(expected, x, 0.0);
+    }
+
+    @Test
+    public void testWarmSolvesAllocateNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) return;
+
+        CSRMatrix A = grid(10);
+        double[] b = rhs(A.rows());
+        double[] x0 = new double[A.rows()];
+        double[] x = new double[A.rows()];
+        SolverWorkspace workspace = new SolverWorkspace(A);
+        JacobiPreconditioner M = workspace.jacobi(A);
+
+        // long enough for C2 to scalarise the vector kernels, which allocate until then
+        for (int warm = 0; warm < 20_000; warm++) {
+            ConjugateGradient.solve(A, x0, b, 50, TOL, x, workspace);
+            LeastSquare.solve(A, x0, b, 50, TOL, x, workspace);
+            BiConjugateGradientStabilized.solve(A, M, x0, b, 50, TOL, x, workspace);
+            GeneralizedMinimalResidual.solve(A, M, x0, b, 10, 50, TOL, x, workspace);
+        }
+
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int rep = 0; rep < 100; rep++) {
+            ConjugateGradient.solve(A, x0, b, 50, TOL, x, workspace);
+            LeastSquare.solve(A, x0, b, 50, TOL, x, workspace);
+            BiConjugateGradientStabilized.solve(A, M, x0, b, 50, TOL, x, workspace);
+            GeneralizedMinimalResidual.solve(A, M, x0, b, 10, 50, TOL, x, workspace);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertEquals(0, allocated, allocated + " bytes");
+    }
+
+    @Test
+    public void testShapeChecks() {
+        CSRMatrix A = grid(3);
+        SolverWorkspace wrong = new SolverWorkspace(8, 8);
+        assertFalse(wrong.fits(A));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConjugateGradient.solve(A, new double[9], new double[9], 10, TOL, new double[9], wrong));
+        assertThrows(IllegalArgumentException.class,
+                () -> LeastSquare.solve(A, new double[9], new double[9], 10, TOL, new double[8], new SolverWorkspace(A)));
+        assertThrows(IllegalArgumentException.class, () -> new SolverWorkspace(-1, 2));
+    }
+}
@@ -0,0 +1,238 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.operators.PatternCSRMatrix;
+import com.rae.formicapi.fondation.math.ordering.MinimumDegree;
+import com.rae.formicapi.fondation.math.solvers.SolverResult;
+import com.rae.formicapi.fondation.math.solvers.SparseDirectSolver;
+import com.rae.formicapi.fondation.math.solvers.SparseLDLT;
+import com.rae.formicapi.fondation.math.solvers.SparseLU;
+import com.rae.formicapi.fondation.math.solvers.SymbolicFactorization;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the sparse direct solvers {@link SparseLU} and
+ * {@link SparseLDLT}, the {@link MinimumDegree} ordering behind them, and
+ * the factorization cache of {@link SparseDirectSolver}.
+ */
+public class SparseDirectSolverTest {
+
+    /** Conductance grid of n×n nodes, grounded through g at the first node. */
+    private static CSRMatrix grid(int n, double g) {
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n * n, n * n);
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                int i = y * n + x;
+                if (x + 1 < n) link(m, i, i + 1, g * (1 + (i % 3)));
+                if (y + 1 < n) link(m, i, i + n, g);
+            }
+        }
+        m.add(0, 0, g);
+        return m.toCSR();
+    }
+
+    /** Same grid with upwind advection along +x, so A is not symmetric. */
+    private static CSRMatrix advectionGrid(int n, double g, double flow) {
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n * n, n * n);
+        for (int y = 0; y < n; y++) {
+            for (int x = 0; x < n; x++) {
+                int i = y * n + x;
+                if (x + 1 < n) {
+                    link(m, i, i + 1, g);
+                    m.add(i + 1, i + 1, flow);
+                    m.add(i + 1, i, -flow);
+                }
+                if (y + 1 < n) link(m, i, i + n, g);
+                if (x == 0) m.add(i, i, g + flow);
+            }
+        }
+        return m.toCSR();
+    }
+
+    private static void link(PackedHashSparseMatrix m, int i, int j, double g) {
+        m.add(i, i, g);
+        m.add(i, j, -g);
+        m.add(j, j, g);
+        m.add(j, i, -g);
+    }
+
+    private static double[] randomVector(int n, long seed) {
+        Random rng = new Random(seed);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = rng.nextDouble() - 0.5;
+        return v;
+    }
+
+    private static double relativeResidual(CSRMatrix A, double[] x, double[] b) {
+        double[] r = new double[b.length];
+        A.multiply(x, r);
+        double num = 0, den = 0;
+        for (int i = 0; i < r.length; i++) {
+            num += (b[i] - r[i]) * (b[i] - r[i]);
+            den += b[i] * b[i];
+        }
+        return Math.sqrt(num / den);
+    }
+
+    @Test
+    public void testLdltSolvesSymmetricGrid() {
+        CSRMatrix A = grid(25, 2.0);
+        double[] b = randomVector(A.rows(), 1);
+        SymbolicFactorization symbolic = SymbolicFactorization.analyze(A);
+        assertTrue(symbolic.isSymmetric(A));
+
+        SparseLDLT ldlt = new SparseLDLT(symbolic);
+        ldlt.factor(A);
+        double[] x = new double[b.length];
+        ldlt.solve(b, x);
+
+        assertTrue(relativeResidual(A, x, b) < 1e-10);
+    }
+
+    @Test
+    public void testLuSolvesNonSymmetricGrid() {
+        CSRMatrix A = advectionGrid(25, 1.0, 4.0);
+        double[] b = randomVector(A.rows(), 2);
+        SymbolicFactorization symbolic = SymbolicFactorization.analyze(A);
+        assertFalse(symbolic.isSymmetric(A));
+
+        SparseLU lu = new SparseLU(symbolic);
+        lu.factor(A);
+        double[] x = b.clone();
+        lu.solve(x, x); // in place
+
+        assertTrue(relativeResidual(A, x, b) < 1e-10);
+    }
+
+    @Test
+    public void testLuMatchesLdltOnSymmetricMatrix() {
+        CSRMatrix A = grid(12, 1.5);
+        double[] b = randomVector(A.rows(), 3);
+        SymbolicFactorization symbolic = SymbolicFactorization.analyze(A);
+
+        SparseLU lu = new SparseLU(symbolic);
+        lu.factor(A);
+        double[] x1 = new double[b.length];
+        lu.solve(b, x1);
+        SparseLDLT ldlt = new SparseLDLT(symbolic);
+        ldlt.factor(A);
+        double[] x2 = new double[b.length];
+        ldlt.solve(b, x2);
+
+        assertArrayEquals(x1, x2, 1e-9);
+    }
+
+    @Test
+    public void testMinimumDegreeIsPermutationAndReducesFill() {
+        int n = 30;
+        CSRMatrix A = grid(n, 1.0);
+        int[] perm = MinimumDegree.order(A);
+
+        boolean[] seen = new boolean[perm.length];
+        for (int p : perm) {
+            assertFalse(seen[p]);
+            seen[p] = true;
+        }
+        // the natural order fills the whole band of width n: about n³ entries
+        int entries = SymbolicFactorization.analyze(A).factorEntries();
+        assertTrue(entries < n * n * n / 2, "factor entries: " + entries);
+    }
+
+    @Test
+    public void testRhsOnlyChangeReusesFactorization() {
+        CSRMatrix A = grid(15, 1.0);
+        SparseDirectSolver solver = new SparseDirectSolver();
+
+        for (int seed = 0; seed < 5; seed++) {
+            double[] b = randomVector(A.rows(), seed);
+            assertTrue(relativeResidual(A, solver.solve(A, b), b) < 1e-10);
+        }
+        assertEquals(1, solver.getAnalyses());
+        assertEquals(1, solver.getFactorizations());
+    }
+
+    @Test
+    public void testCheckedSolvesReuseScratch() {
+        CSRMatrix A = grid(10, 1.0);
+        SparseDirectSolver solver = new SparseDirectSolver();
+
+        for (int seed = 0; seed < 3; seed++) {
+            double[] b = randomVector(A.rows(), seed);
+            double[] x = new double[A.rows()];
+            SolverResult apart = solver.solveDetailed(A, b, x, 1e-10, SolverResult.Detail.SUMMARY);
+
+            double[] inPlace = b.clone();
+            SolverResult same = solver.solveDetailed(A, inPlace, inPlace, 1e-10, SolverResult.Detail.SUMMARY);
+
+            assertArrayEquals(x, inPlace, 0.0);
+            assertEquals(apart.residual(), same.residual(), 0.0);
+            assertEquals(apart.initialResidual(), same.initialResidual(), 0.0);
+            assertTrue(same.converged());
+        }
+    }
+
+    @Test
+    public void testRefillRefactorsOnlyWhenValuesChange() {
+        PatternCSRMatrix m = new PatternCSRMatrix(3, 3);
+        SparseDirectSolver solver = new SparseDirectSolver();
+        double[] b = {1, 2, 3};
+
+        for (double g : new double[]{1, 1, 2}) {
+            m.clear();
+            m.add(0, 0, 1);
+            m.add(1, 1, g);
+            m.add(1, 0, -g);
+            m.add(1, 2, -g);
+            m.add(2, 2, 2 * g);
+            m.add(2, 1, -g);
+            double[] x = solver.solve(m.toCSR(), b);
+            assertTrue(relativeResidual(m.toCSR(), x, b) < 1e-12);
+        }
+        assertEquals(1, solver.getAnalyses());
+        assertEquals(2, solver.getFactorizations());
+    }
+
+    @Test
+    public void testNewPatternTriggersNewAnalysis() {
+        SparseDirectSolver solver = new SparseDirectSolver();
+        double[] b = randomVector(100, 4);
+
+        PackedHashSparseMatrix chain = new PackedHashSparseMatrix(100, 100);
+        for (int i = 0; i + 1 < 100; i++) link(chain, i, i + 1, 1.0);
+        chain.add(0, 0, 1.0);
+
+        solver.solve(grid(10, 1.0), b);
+        solver.solve(chain.toCSR(), b);
+
+        assertEquals(2, solver.getAnalyses());
+        assertEquals(2, solver.getFactorizations());
+    }
+
+    @Test
+    public void testSingularMatrixThrowsWithoutRefactoring() {
+        // an ungrounded chain: every row sums to zero
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(4, 4);
+        link(m, 0, 1, 1);
+        link(m, 1, 2, 1);
+        link(m, 2, 3, 1);
+        CSRMatrix A = m.toCSR();
+        SparseDirectSolver solver = new SparseDirectSolver();
+
+        assertThrows(ArithmeticException.class, () -> solver.solve(A, new double[4]));
+        assertThrows(ArithmeticException.class, () -> solver.solve(A, new double[4]));
+        assertEquals(1, solver.getFactorizations());
+    }
+
+    @Test
+    public void testShapeChecks() {
+        CSRMatrix rect = new PackedHashSparseMatrix(2, 3).toCSR();
+        assertThrows(IllegalArgumentException.class, () -> MinimumDegree.order(rect));
+        assertThrows(IllegalArgumentException.class, () -> SymbolicFactorization.analyze(rect));
+        assertThrows(IllegalArgumentException.class, () -> new SparseDirectSolver().solve(grid(2, 1), new double[3]));
+    }
+}
@@ -0,0 +1,162 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.operators.PatternCSRMatrix;
+import com.rae.formicapi.fondation.math.solvers.LeastSquare;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the sparse products of {@link CSRMatrix} and the cached normal
+ * matrix used by {@link LeastSquare#solveNormalMatrix}.
+ */
+public class SparseProductTest {
+
+    private static CSRMatrix random(int rows, int cols, int entries, long seed) {
+        Random rng = new Random(seed);
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(rows, cols);
+        for (int e = 0; e < entries; e++)
+            m.add(rng.nextInt(rows), rng.nextInt(cols), rng.nextDouble() - 0.5);
+        return m.toCSR();
+    }
+
+    private static double[][] dense(CSRMatrix m) {
+        double[][] d = new double[m.rows()][m.cols()];
+        for (int r = 0; r < m.rows(); r++)
+            for (int k = m.rowStart(r); k < m.rowEnd(r); k++)
+                d[r][m.colAt(k)] = m.valueAt(k);
+        return d;
+    }
+
+    private static void assertProduct(double[][] A, double[][] B, CSRMatrix C) {
+        for (int i = 0; i < A.length; i++) {
+            for (int k = C.rowStart(i) + 1; k < C.rowEnd(i); k++)
+                assertTrue(C.colAt(k - 1) < C.colAt(k), "row " + i + " must be sorted");
+            for (int j = 0; j < B[0].length; j++) {
+                double sum = 0;
+                for (int l = 0; l < B.length; l++) sum += A[i][l] * B[l][j];
+                assertEquals(sum, C.get(i, j), 1e-12, "(" + i + ", " + j + ")");
+            }
+        }
+    }
+
+    private static void stampChain(PatternCSRMatrix m, double g) {
+        for (int i = 0; i < m.rows() - 1; i++) {
+            m.add(i, i, g);
+            m.add(i, i + 1, -g);
+            m.add(i + 1, i + 1, g);
+            m.add(i + 1, i, -g);
+        }
+        m.add(0, 0, g); // ground the first node
+    }
+
+    @Test
+    public void testMultiplyMatchesDense() {
+        CSRMatrix A = random(40, 30, 200, 1);
+        CSRMatrix B = random(30, 50, 250, 2);
+        CSRMatrix C = A.multiply(B);
+
+        assertEquals(40, C.rows());
+        assertEquals(50, C.cols());
+        assertProduct(dense(A), dense(B), C);
+    }
+
+    @Test
+    public void testTransposeTimesSelfMatchesDense() {
+        CSRMatrix A = random(60, 25, 180, 3);
+        assertProduct(dense(A.transpose()), dense(A), A.transposeTimesSelf());
+    }
+
+    @Test
+    public void testDimensionMismatch() {
+        CSRMatrix A = random(4, 3, 5, 4);
+        assertThrows(IllegalArgumentException.class, () -> A.multiply(A));
+    }
+
+    @Test
+    public void testNormalMatrixRefreshesAfterRefill() {
+        PatternCSRMatrix m = new PatternCSRMatrix(6, 6);
+        stampChain(m, 1);
+        CSRMatrix A = m.toCSR();
+        CSRMatrix normal = A.normalMatrix();
+        assertSame(normal, A.normalMatrix());
+
+        m.clear();
+        stampChain(m, 3);
+
+        assertSame(A, m.toCSR());
+        assertSame(normal, A.normalMatrix(), "a refill must reuse the normal matrix pattern");
+        assertProduct(dense(A.transpose()), dense(A), normal);
+    }
+
+    @Test
+    public void testRepeatedRefillsStayExact() {
+        int threshold = CSRMatrix.getParallelThreshold();
+        try {
+            for (int t : new int[]{threshold, 0}) {   // serial, then chunked
+                CSRMatrix.setParallelThreshold(t);
+                PatternCSRMatrix m = new PatternCSRMatrix(40, 40);
+                stampChain(m, 1);
+                CSRMatrix A = m.toCSR();
+                CSRMatrix normal = A.normalMatrix();
+                for (double g : new double[]{2, 0.5, 7}) {
+                    m.clear();
+                    stampChain(m, g);
+                    assertSame(normal, A.normalMatrix());
+                    assertProduct(dense(A.transpose()), dense(A), normal);
+                }
+            }
+        } finally {
+            CSRMatrix.setParallelThreshold(threshold);
+        }
+    }
+
+    @Test
+    public void testNormalMatrixRefillAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) return;
+
+        PatternCSRMatrix m = new PatternCSRMatrix(2_000, 2_000);
+        stampChain(m, 1);
+        CSRMatrix A = m.toCSR();
+        A.normalMatrix();
+        for (int warm = 0; warm < 2_000; warm++) {
+            m.clear();
+            stampChain(m, 1 + warm % 3);
+            A.normalMatrix();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long allocated = 0;
+        for (int rep = 0; rep < 100; rep++) {
+            m.clear();
+            stampChain(m, 1 + rep % 3);
+            long before = threads.getThreadAllocatedBytes(thread);
+            A.normalMatrix();
+            allocated += threads.getThreadAllocatedBytes(thread) - before;
+        }
+
+        // one scratch row per refill would already take 8 bytes per column
+        assertTrue(allocated < 8L * A.cols(), allocated + " bytes");
+    }
+
+    @Test
+    public void testSolveNormalMatrixMatchesImplicit() {
+        PatternCSRMatrix m = new PatternCSRMatrix(50, 50);
+        double[] b = new double[50];
+        b[49] = 10;
+
+        for (int pass = 1; pass <= 3; pass++) {
+            m.clear();
+            stampChain(m, pass);
+            double[] implicit = LeastSquare.solve(m, new double[50], b, 10_000, 1e-12);
+            double[] explicit = LeastSquare.solveNormalMatrix(m, new double[50], b, 10_000, 1e-12);
+            assertArrayEquals(implicit, explicit, 1e-6);
+        }
+    }
+}
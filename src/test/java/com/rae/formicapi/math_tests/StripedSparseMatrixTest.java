@@ -0,0 +1,94 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.MutableMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.operators.StripedSparseMatrix;
+import com.rae.formicapi.fondation.simulation.nodal.core.SimulationContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StripedSparseMatrix} and the atomic RHS accumulator:
+ * writes from several threads must add up to the serial result.
+ */
+public class StripedSparseMatrixTest {
+
+    private static final int THREADS = 4;
+
+    /** Runs {@code task(t)} on {@value #THREADS} threads at once and waits for all. */
+    private static void concurrently(IntConsumer task) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int id = t;
+            threads.add(new Thread(() -> task.accept(id)));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) thread.join();
+    }
+
+    private static void stampLink(MutableMatrix m, int i, int j, double g) {
+        m.add(i, i, g);
+        m.add(i, j, -g);
+        m.add(j, j, g);
+        m.add(j, i, -g);
+    }
+
+    @Test
+    public void testConcurrentStampingMatchesSerial() throws InterruptedException {
+        int n = 2_000;
+        StripedSparseMatrix striped = new StripedSparseMatrix(n, n, 8);
+        PackedHashSparseMatrix reference = new PackedHashSparseMatrix(n, n);
+
+        for (int i = 0; i < n - 1; i++) stampLink(reference, i, i + 1, 1 + i % 5);
+        // each thread stamps every THREADS-th link, so neighbouring links race on shared rows
+        concurrently(t -> {
+            for (int i = t; i < n - 1; i += THREADS) stampLink(striped, i, i + 1, 1 + i % 5);
+        });
+
+        CSRMatrix expected = reference.toCSR();
+        CSRMatrix actual = striped.toCSR();
+        assertEquals(expected.nnz(), actual.nnz());
+        for (int r = 0; r < n; r++)
+            for (int k = expected.rowStart(r); k < expected.rowEnd(r); k++)
+                assertEquals(expected.valueAt(k), actual.get(r, expected.colAt(k)), 1e-12, "row " + r);
+    }
+
+    @Test
+    public void testStripeCountAndReads() {
+        assertEquals(8, new StripedSparseMatrix(100, 100, 5).stripeCount());
+        assertEquals(4, new StripedSparseMatrix(3, 3, 64).stripeCount());
+
+        StripedSparseMatrix m = new StripedSparseMatrix(5, 5, 4);
+        m.add(4, 1, 2.0);
+        m.set(0, 0, 3.0);
+        assertEquals(2.0, m.get(4, 1), 0.0);
+
+        double[] y = new double[5];
+        m.multiply(new double[]{1, 1, 1, 1, 1}, y);
+        assertArrayEquals(new double[]{3, 0, 0, 0, 2}, y, 0.0);
+
+        CSRMatrix compiled = m.toCSR();
+        assertSame(compiled, m.toCSR());
+        m.clear();
+        assertEquals(0, m.toCSR().nnz());
+    }
+
+    @Test
+    public void testAtomicRhsAccumulation() throws InterruptedException {
+        SimulationContext ctx = new SimulationContext(2, SimulationContext.Storage.STRIPED);
+        assertTrue(ctx.isConcurrent());
+
+        concurrently(t -> {
+            for (int k = 0; k < 10_000; k++) ctx.addRhs(k % 2, 1.0);
+        });
+
+        assertEquals(THREADS * 5_000, ctx.rhs[0], 0.0);
+        assertEquals(THREADS * 5_000, ctx.rhs[1], 0.0);
+    }
+}
@@ -0,0 +1,101 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.operators.TripletMatrixBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TripletMatrixBuilder}: compression must give the same
+ * matrix as hash assembly, with duplicates summed and {@code set} overriding
+ * earlier writes.
+ */
+public class TripletMatrixBuilderTest {
+
+    @Test
+    public void testMatchesHashAssembly() {
+        int n = 300;
+        Random rng = new Random(21);
+        TripletMatrixBuilder triplets = new TripletMatrixBuilder(n, n);
+        PackedHashSparseMatrix reference = new PackedHashSparseMatrix(n, n);
+
+        for (int e = 0; e < 5_000; e++) {
+            int r = rng.nextInt(n), c = rng.nextInt(n);
+            double v = rng.nextDouble() - 0.5;
+            if (rng.nextInt(20) == 0) {
+                triplets.set(r, c, v);
+                reference.set(r, c, v);
+            } else {
+                triplets.add(r, c, v);
+                reference.add(r, c, v);
+            }
+        }
+
+        CSRMatrix expected = reference.toCSR();
+        CSRMatrix actual = triplets.toCSR();
+        assertEquals(expected.nnz(), actual.nnz());
+        for (int r = 0; r < n; r++) {
+            assertEquals(expected.rowEnd(r) - expected.rowStart(r), actual.rowEnd(r) - actual.rowStart(r), "row " + r);
+            for (int k = expected.rowStart(r), j = actual.rowStart(r); k < expected.rowEnd(r); k++, j++) {
+                assertEquals(expected.colAt(k), actual.colAt(j));
+                assertEquals(expected.valueAt(k), actual.valueAt(j), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testSetOverridesEarlierAndAddAccumulatesAfter() {
+        TripletMatrixBuilder m = new TripletMatrixBuilder(2, 2);
+        m.add(0, 0, 3.0);
+        m.add(0, 0, 4.0);
+        m.set(0, 0, 1.0);
+        m.add(0, 0, 0.5);
+        m.add(1, 1, 2.0);
+        m.set(1, 1, 0.0); // removes the entry
+
+        assertEquals(1.5, m.get(0, 0), 0.0);
+        assertEquals(0.0, m.get(1, 1), 0.0);
+        assertEquals(1, m.toCSR().nnz());
+    }
+
+    @Test
+    public void testCompileCompactsAndKeepsAccumulating() {
+        TripletMatrixBuilder m = new TripletMatrixBuilder(3, 3);
+        for (int i = 0; i < 100; i++) m.add(1, 2, 1.0);
+        CSRMatrix first = m.toCSR();
+        assertSame(first, m.toCSR());
+        assertEquals(1, m.tripletCount());
+
+        m.add(1, 2, 1.0);
+        assertNotSame(first, m.toCSR());
+        assertEquals(101.0, m.get(1, 2), 0.0);
+    }
+
+    @Test
+    public void testClearAndProducts() {
+        TripletMatrixBuilder m = new TripletMatrixBuilder(2, 3);
+        m.add(0, 0, 1.0);
+        m.clear();
+        m.add(0, 1, 2.0);
+        m.add(1, 2, 3.0);
+
+        double[] y = new double[2];
+        m.multiply(new double[]{1, 1, 1}, y);
+        assertArrayEquals(new double[]{2, 3}, y, 0.0);
+
+        double[] z = new double[3];
+        m.transposeMultiply(new double[]{1, 1}, z);
+        assertArrayEquals(new double[]{0, 2, 3}, z, 0.0);
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        TripletMatrixBuilder m = new TripletMatrixBuilder(2, 2);
+        assertThrows(IllegalArgumentException.class, () -> m.add(2, 0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> m.set(0, -1, 1.0));
+    }
+}
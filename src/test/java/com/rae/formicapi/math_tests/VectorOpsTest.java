@@ -0,0 +1,154 @@
+package com.rae.formicapi.math_tests;
+
+import com.rae.formicapi.fondation.math.kernels.VectorOps;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the active {@link VectorOps} kernel against plain loops, on lengths
+ * that exercise both the vector body and the scalar tail, and the chunked
+ * parallel path against the serial one.
+ */
+public class VectorOpsTest {
+
+    private static final int[] LENGTHS = {0, 1, 3, 7, 8, 17, 1_031, 5_000};
+
+    private static double[] randomDoubles(int n, long seed) {
+        Random rng = new Random(seed);
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) v[i] = rng.nextDouble() - 0.5;
+        return v;
+    }
+
+    private static float[] randomFloats(int n, long seed) {
+        Random rng = new Random(seed);
+        float[] v = new float[n];
+        for (int i = 0; i < n; i++) v[i] = rng.nextFloat() - 0.5f;
+        return v;
+    }
+
+    @Test
+    public void testDoubleOpsMatchLoops() {
+        System.out.println("VectorOps kernel: " + VectorOps.kernelName());
+        for (int n : LENGTHS) {
+            double[] a = randomDoubles(n, 1);
+            double[] b = randomDoubles(n, 2);
+
+            double expected = 0;
+            for (int i = 0; i < n; i++) expected += a[i] * b[i];
+            assertEquals(expected, VectorOps.dot(a, b), 1e-12, "dot n=" + n);
+            assertEquals(Math.sqrt(VectorOps.dot(a, a)), VectorOps.norm(a), 1e-12, "norm n=" + n);
+
+            double[] y = b.clone();
+            VectorOps.axpy(0.25, a, y);
+            for (int i = 0; i < n; i++) assertEquals(b[i] + 0.25 * a[i], y[i], 1e-15, "axpy n=" + n);
+
+            y = b.clone();
+            VectorOps.xpay(a, -2, y);
+            for (int i = 0; i < n; i++) assertEquals(a[i] - 2 * b[i], y[i], 1e-15, "xpay n=" + n);
+
+            double[] out = a.clone();
+            VectorOps.sub(a, b, out);   // aliased output
+            for (int i = 0; i < n; i++) assertEquals(a[i] - b[i], out[i], 1e-15, "sub n=" + n);
+        }
+    }
+
+    @Test
+    public void testOffsetOps() {
+        double[] a = randomDoubles(100, 3);
+        double[] b = randomDoubles(100, 4);
+
+        double expected = 0;
+        for (int k = 0; k < 37; k++) expected += a[5 + k] * b[60 + k];
+        assertEquals(expected, VectorOps.dot(a, 5, b, 60, 37), 1e-12);
+
+        double[] y = b.clone();
+        VectorOps.axpy(3, a, 10, y, 20, 33);
+        for (int i = 0; i < 100; i++) {
+            double want = i >= 20 && i < 53 ? b[i] + 3 * a[i - 10] : b[i];
+            assertEquals(want, y[i], 1e-15, "index " + i);
+        }
+    }
+
+    @Test
+    public void testFloatOpsMatchLoops() {
+        for (int n : LENGTHS) {
+            float[] a = randomFloats(n, 5);
+            float[] b = randomFloats(n, 6);
+
+            double expected = 0;
+            for (int i = 0; i < n; i++) expected += (double) a[i] * b[i];
+            assertEquals(expected, VectorOps.dot(a, b), 1e-4, "dot n=" + n);
+
+            float[] y = b.clone();
+            VectorOps.axpy(0.5f, a, y);
+            for (int i = 0; i < n; i++) assertEquals(b[i] + 0.5f * a[i], y[i], 1e-6, "axpy n=" + n);
+
+            y = b.clone();
+            VectorOps.xpay(a, 0.5f, y);
+            for (int i = 0; i < n; i++) assertEquals(a[i] + 0.5f * b[i], y[i], 1e-6, "xpay n=" + n);
+        }
+    }
+
+    @Test
+    public void testParallelOpsMatchSerial() {
+        int n = 200_003;   // several chunks and a partial last one
+        double[] a = randomDoubles(n, 7);
+        double[] b = randomDoubles(n, 8);
+        int saved = VectorOps.getParallelThreshold();
+        try {
+            VectorOps.setParallelThreshold(Integer.MAX_VALUE);
+            double dot = VectorOps.dot(a, b);
+            double norm = VectorOps.norm(a);
+            double[] axpy = b.clone();
+            VectorOps.axpy(0.25, a, axpy);
+            double[] xpay = b.clone();
+            VectorOps.xpay(a, -2, xpay);
+
+            VectorOps.setParallelThreshold(0);
+            assertEquals(dot, VectorOps.dot(a, b), 1e-10);
+            assertEquals(norm, VectorOps.norm(a), 1e-10);
+            double[] y = b.clone();
+            VectorOps.axpy(0.25, a, y);
+            assertArrayEquals(axpy, y, 0.0);
+            y = b.clone();
+            VectorOps.xpay(a, -2, y);
+            assertArrayEquals(xpay, y, 0.0);
+        } finally {
+            VectorOps.setParallelThreshold(saved);
+        }
+    }
+
+    @Test
+    public void testParallelReductionIsReproducible() {
+        double[] a = randomDoubles(300_000, 9);
+        double[] b = randomDoubles(300_000, 10);
+        int saved = VectorOps.getParallelThreshold();
+        try {
+            VectorOps.setParallelThreshold(0);
+            double first = VectorOps.dot(a, b);
+            for (int run = 0; run < 50; run++)
+                assertEquals(Double.doubleToLongBits(first), Double.doubleToLongBits(VectorOps.dot(a, b)),
+                        "run " + run);
+        } finally {
+            VectorOps.setParallelThreshold(saved);
+        }
+    }
+
+    @Test
+    public void testParallelThresholdValidated() {
+        assertEquals(VectorOps.DEFAULT_PARALLEL_THRESHOLD, VectorOps.getParallelThreshold());
+        assertThrows(IllegalArgumentException.class, () -> VectorOps.setParallelThreshold(-1));
+        assertEquals(VectorOps.DEFAULT_PARALLEL_THRESHOLD, VectorOps.getParallelThreshold());
+    }
+
+    @Test
+    public void testLengthMismatchRejected() {
+        assertThrows(IllegalArgumentException.class, () -> VectorOps.dot(new double[3], new double[4]));
+        assertThrows(IllegalArgumentException.class, () -> VectorOps.axpy(1, new double[3], new double[4]));
+        assertThrows(IllegalArgumentException.class, () -> VectorOps.sub(new double[3], new double[3], new double[2]));
+    }
+}
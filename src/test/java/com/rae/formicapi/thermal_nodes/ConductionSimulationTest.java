@@ -2,7 +2,12 @@ package com.rae.formicapi.thermal_nodes;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.rae.formicapi.fondation.math.operators.CSRMatrix;
+import com.rae.formicapi.fondation.math.operators.PackedHashSparseMatrix;
+import com.rae.formicapi.fondation.math.solvers.SolverResult;
+import com.rae.formicapi.fondation.simulation.nodal.LinearSolver;
 import com.rae.formicapi.fondation.simulation.nodal.ModelType;
+import com.rae.formicapi.fondation.simulation.nodal.SteadyStateReport;
 import com.rae.formicapi.fondation.simulation.nodal.SteadyStateSolver;
 import com.rae.formicapi.fondation.simulation.nodal.core.*;
 import org.junit.jupiter.api.Test;
@@ -28,6 +33,195 @@ public class ConductionSimulationTest {
         assertEquals(10, delta, 1e-6);
     }
 
+    @Test
+    public void twoNodeConductionMixedPrecision() {
+
+        SimulationModel model = new SimulationModel();
+        UnknownNode a = new UnknownNode(ModelType.THERMAL);
+        FixedValueNode b = new FixedValueNode(ModelType.THERMAL,0);
+        model.addNode(a);
+        model.addNode(b);
+        model.domain(ModelType.THERMAL).setSolver(LinearSolver.MIXED_PRECISION);
+
+        model.addComponent(new LinearLink(a, b, ModelType.THERMAL,10));
+        model.addComponent(new Source(a, ModelType.THERMAL,100));
+
+        SteadyStateSolver.solve(model);
+
+        double delta = a.getValue(ModelType.THERMAL) - b.getValue(ModelType.THERMAL);
+
+        assertEquals(10, delta, 1e-3);
+    }
+
+    @Test
+    public void twoNodeConductionTripletStorage() {
+
+        SimulationModel model = new SimulationModel();
+        UnknownNode a = new UnknownNode(ModelType.THERMAL);
+        FixedValueNode b = new FixedValueNode(ModelType.THERMAL,0);
+        model.addNode(a);
+        model.addNode(b);
+        model.domain(ModelType.THERMAL).setStorage(SimulationContext.Storage.TRIPLET);
+
+        model.addComponent(new LinearLink(a, b, ModelType.THERMAL,10));
+        model.addComponent(new Source(a, ModelType.THERMAL,100));
+
+        SteadyStateSolver.solve(model);
+        SteadyStateSolver.solve(model); // second pass reuses the cleared builder
+
+        double delta = a.getValue(ModelType.THERMAL) - b.getValue(ModelType.THERMAL);
+
+        assertEquals(10, delta, 1e-3);
+    }
+
+    @Test
+    public void chainConductionParallelStamping() {
+
+        double[] serial = solveChain(SimulationContext.Storage.PATTERN_CSR, LinearSolver.LEAST_SQUARE);
+
+        int threshold = SteadyStateSolver.getParallelStampingThreshold();
+        SteadyStateSolver.setParallelStampingThreshold(0);
+        try {
+            double[] parallel = solveChain(SimulationContext.Storage.STRIPED, LinearSolver.LEAST_SQUARE);
+            assertArrayEquals(serial, parallel, 1e-6);
+        } finally {
+            SteadyStateSolver.setParallelStampingThreshold(threshold);
+        }
+    }
+
+    @Test
+    public void chainConductionKrylovSolvers() {
+
+        double[] reference = solveChain(SimulationContext.Storage.PATTERN_CSR, LinearSolver.LEAST_SQUARE);
+
+        assertArrayEquals(reference, solveChain(SimulationContext.Storage.PATTERN_CSR, LinearSolver.BICGSTAB), 1e-2);
+        assertArrayEquals(reference, solveChain(SimulationContext.Storage.PATTERN_CSR, LinearSolver.GMRES), 1e-2);
+    }
+
+    @Test
+    public void krylovStrategiesHonourIterationCap() {
+
+        // chain 0 - 1 - … - 39 grounded at node 0: far from converged after 7 iterations
+        int n = 40;
+        PackedHashSparseMatrix m = new PackedHashSparseMatrix(n, n);
+        m.add(0, 0, 1);
+        for (int i = 0; i + 1 < n; i++) {
+            m.add(i, i, 1);
+            m.add(i, i + 1, -1);
+            m.add(i + 1, i + 1, 1);
+            m.add(i + 1, i, -1);
+        }
+        CSRMatrix A = m.toCSR();
+        double[] b = new double[n];
+        b[n - 1] = 1;
+
+        for (LinearSolver solver : new LinearSolver[]{LinearSolver.BICGSTAB, LinearSolver.GMRES,
+                LinearSolver.MULTIGRID}) {
+            SolverResult result = solver.solveDetailed(A, new double[n], b, 7, 1e-300, SolverResult.Detail.SUMMARY);
+            assertTrue(result.iterations() <= 7, solver + ": " + result.iterations() + " iterations");
+            assertFalse(result.converged(), solver.name());
+        }
+    }
+
+    @Test
+    public void chainConductionDirectSolver() {
+
+        double[] direct = solveChain(SimulationContext.Storage.PATTERN_CSR, LinearSolver.DIRECT);
+
+        // link j carries the heat of every node beyond it: 201 − j watts across 50 W/K
+        double expected = 0;
+        for (int i = 0; i < direct.length; i++) {
+            expected += (200 - i) / 50.0;
+            assertEquals(expected, direct[i], 1e-9);
+        }
+    }
+
+    @Test
+    public void directSolverKeepsFactorizationAcrossSolves() {
+
+        SimulationModel model = new SimulationModel();
+        FixedValueNode ground = new FixedValueNode(ModelType.THERMAL, 0);
+        UnknownNode a = new UnknownNode(ModelType.THERMAL);
+        UnknownNode b = new UnknownNode(ModelType.THERMAL);
+        model.addNode(ground);
+        model.addNode(a);
+        model.addNode(b);
+        model.addComponent(new LinearLink(ground, a, ModelType.THERMAL, 10));
+        model.addComponent(new LinearLink(a, b, ModelType.THERMAL, 5));
+        model.addComponent(new Source(b, ModelType.THERMAL, 10));
+        model.domain(ModelType.THERMAL).setSolver(LinearSolver.DIRECT);
+
+        SteadyStateSolver.solve(model);
+        SteadyStateSolver.solve(model);
+
+        assertEquals(1.0, a.getValue(ModelType.THERMAL), 1e-12);
+        assertEquals(3.0, b.getValue(ModelType.THERMAL), 1e-12);
+        assertEquals(1, model.domain(ModelType.THERMAL).getDirectSolver().getFactorizations());
+    }
+
+    @Test
+    public void steadyStateReportsEveryLinearSolve() {
+
+        SimulationModel model = new SimulationModel();
+        FixedValueNode ground = new FixedValueNode(ModelType.THERMAL, 0);
+        UnknownNode a = new UnknownNode(ModelType.THERMAL);
+        UnknownNode b = new UnknownNode(ModelType.THERMAL);
+        model.addNode(ground);
+        model.addNode(a);
+        model.addNode(b);
+        model.addComponent(new LinearLink(ground, a, ModelType.THERMAL, 10));
+        model.addComponent(new LinearLink(a, b, ModelType.THERMAL, 5));
+        model.addComponent(new Source(b, ModelType.THERMAL, 10));
+        model.domain(ModelType.THERMAL).setSolverDetail(SolverResult.Detail.HISTORY);
+
+        SteadyStateReport report = SteadyStateSolver.solveWithReport(model);
+
+        assertTrue(report.converged());
+        assertTrue(report.finalChange() < 1e-3);
+        assertTrue(report.allLinearSolvesConverged());
+        for (int i = 0; i < report.outerIterations(); i++)
+            assertEquals(1, report.results(i).size());
+        assertNull(report.last(ModelType.MECHANICAL));
+
+        SolverResult first = report.results(0).get(ModelType.THERMAL);
+        assertTrue(first.iterations() > 0);
+        assertEquals(first.iterations() + 1, first.history().length);
+        assertEquals(first.initialResidual(), first.history()[0]);
+        assertEquals(first.residual(), first.history()[first.iterations()]);
+        assertTrue(first.spmvNanos() > 0);
+        assertTrue(report.linearIterations(ModelType.THERMAL) >= first.iterations());
+        SolverResult last = report.last(ModelType.THERMAL);
+        assertEquals(last.residual(), model.domain(ModelType.THERMAL).getLastResult().residual());
+        assertEquals(b.getValue(ModelType.THERMAL), last.x()[b.getId(ModelType.THERMAL)], 1e-12);
+        assertNotSame(model.domain(ModelType.THERMAL).getValueBuffer(), last.x());
+        assertNotSame(first.x(), last.x());
+    }
+
+    /**
+     * Heated chain of 200 nodes grounded at one end, with a source on every
+     * node; returns the node values after one solve with {@code solver}.
+     */
+    private static double[] solveChain(SimulationContext.Storage storage, LinearSolver solver) {
+        SimulationModel model = new SimulationModel();
+        FixedValueNode ground = new FixedValueNode(ModelType.THERMAL, 0);
+        model.addNode(ground);
+        UnknownNode[] chain = new UnknownNode[200];
+        for (int i = 0; i < chain.length; i++) {
+            chain[i] = new UnknownNode(ModelType.THERMAL);
+            model.addNode(chain[i]);
+            model.addComponent(new LinearLink(i == 0 ? ground : chain[i - 1], chain[i], ModelType.THERMAL, 50));
+            model.addComponent(new Source(chain[i], ModelType.THERMAL, 1));
+        }
+        model.domain(ModelType.THERMAL).setStorage(storage);
+        model.domain(ModelType.THERMAL).setSolver(solver);
+
+        SteadyStateSolver.solve(model);
+
+        double[] values = new double[chain.length];
+        for (int i = 0; i < chain.length; i++) values[i] = chain[i].getValue(ModelType.THERMAL);
+        return values;
+    }
+
     /*@Test
     public void thermalDivider() {
 
@@ -2,6 +2,7 @@ package com.rae.formicapi.thermal_nodes;
 
 import com.rae.formicapi.fondation.simulation.nodal.ModelType;
 import com.rae.formicapi.fondation.simulation.nodal.core.FixedValueNode;
+import com.rae.formicapi.fondation.simulation.nodal.core.SimulationContext;
 import com.rae.formicapi.fondation.simulation.nodal.core.SimulationModel;
 import com.rae.formicapi.fondation.simulation.nodal.core.UnknownNode;
 import com.rae.formicapi.fondation.simulation.nodal.core.LinearLink;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 
 import static com.rae.formicapi.thermal_nodes.Helper.savePlateHeatmap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class PlateHelperTest {
     @Test
@@ -142,4 +144,72 @@ public class PlateHelperTest {
 
         savePlateHeatmap(nodes, new ArrayList<>(helper.getLayers()),"multi_layer_plate_rough.png");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void reorderedPlateMatchesInsertionOrder() {
+
+        UnknownNode[][] plain = solveRoughPlate(false, false);
+        UnknownNode[][] reordered = solveRoughPlate(true, false);
+
+        for (int i = 0; i < plain.length; i++)
+            for (int j = 0; j < plain[0].length; j++)
+                assertEquals(plain[i][j].getValue(ModelType.THERMAL),
+                        reordered[i][j].getValue(ModelType.THERMAL), 1e-2, "node " + i + "," + j);
+    }
+
+    @Test
+    public void matrixFreePlateMatchesAssembled() {
+
+        UnknownNode[][] assembled = solveRoughPlate(false, false);
+        UnknownNode[][] matrixFree = solveRoughPlate(false, true);
+
+        for (int i = 0; i < assembled.length; i++)
+            for (int j = 0; j < assembled[0].length; j++)
+                assertEquals(assembled[i][j].getValue(ModelType.THERMAL),
+                        matrixFree[i][j].getValue(ModelType.THERMAL), 1e-2, "node " + i + "," + j);
+    }
+
+    /**
+     * Builds the rough two-layer plate with the hot plate and ambient added
+     * after the grid, and solves it twice so the second solve runs in the
+     * reordered numbering when {@code reorder} is set. With {@code matrixFree}
+     * the plate is a single stencil in a matrix-free thermal domain.
+     */
+    private static UnknownNode[][] solveRoughPlate(boolean reorder, boolean matrixFree) {
+
+        SimulationModel model = new SimulationModel();
+        PlateNodeHelper helper = new PlateNodeHelper();
+        helper.setMatrixFree(matrixFree);
+
+        helper.addLayer(new PlateNodeHelper.Layer(Material.STEEL, 0.5,0.05, 10, 2));
+        helper.addLayer(new PlateNodeHelper.Layer(Material.COPPER, 0.5,0.1, 10, 2));
+
+        UnknownNode[][] nodes = helper.createPlateNodes(model);
+
+        int Nx = nodes.length;
+        int Ny = nodes[0].length;
+
+        FixedValueNode ambient = new FixedValueNode(ModelType.THERMAL,25);
+        model.addNode(ambient);
+
+        FixedValueNode hotPlate = new FixedValueNode(ModelType.THERMAL,120);
+        model.addNode(hotPlate);
+
+        model.domain(ModelType.THERMAL).setReordering(reorder);
+        if (matrixFree) model.domain(ModelType.THERMAL).setStorage(SimulationContext.Storage.MATRIX_FREE);
+
+        for (UnknownNode[] node : nodes) {
+            model.addComponent(new LinearLink(hotPlate, node[0], ModelType.THERMAL, 20));
+            model.addComponent(new LinearLink(node[Ny - 1], ambient, ModelType.THERMAL, 10));
+        }
+
+        for (int j = 0; j < Ny; j++) {
+            model.addComponent(new LinearLink(nodes[0][j], ambient, ModelType.THERMAL, 10));
+            model.addComponent(new LinearLink(nodes[Nx - 1][j], ambient, ModelType.THERMAL, 10));
+        }
+
+        SteadyStateSolver.solve(model);
+        SteadyStateSolver.solve(model);
+        return nodes;
+    }
+}
@@ -1,5 +1,6 @@
 package com.rae.formicapi.thermal_nodes;
 
+import com.rae.formicapi.fondation.simulation.nodal.LinearSolver;
 import com.rae.formicapi.fondation.simulation.nodal.ModelType;
 import com.rae.formicapi.fondation.simulation.nodal.core.FixedValueNode;
 import com.rae.formicapi.fondation.simulation.nodal.core.SimulationModel;
@@ -183,6 +184,57 @@ public class TwoLayerPlateTest {
         }
     }
 
+    @Test
+    public void largePlateWithHotSpotMultigrid() {
+
+        // four times the hot-spot plate in each direction, enough for a multilevel hierarchy
+        double[][] direct = hotSpotPlate(204, 124, LinearSolver.DIRECT);
+        double[][] multigrid = hotSpotPlate(204, 124, LinearSolver.MULTIGRID);
+
+        for (int i = 0; i < direct.length; i++) {
+            for (int j = 0; j < direct[i].length; j++) {
+                assertEquals(direct[i][j], multigrid[i][j], 1e-2);
+            }
+        }
+    }
+
+    /** The plate of {@link #twoDPlateWithHotSpot()} at any size, solved with {@code solver}. */
+    private static double[][] hotSpotPlate(int Nx, int Ny, LinearSolver solver) {
+        SimulationModel model = new SimulationModel();
+        UnknownNode[][] nodes = new UnknownNode[Nx][Ny];
+        for (int i = 0; i < Nx; i++) {
+            for (int j = 0; j < Ny; j++) {
+                nodes[i][j] = new UnknownNode(ModelType.THERMAL);
+                model.addNode(nodes[i][j]);
+            }
+        }
+
+        FixedValueNode ambient = new FixedValueNode(ModelType.THERMAL, 25);
+        FixedValueNode hotSpot = new FixedValueNode(ModelType.THERMAL, 100);
+        model.addNode(ambient);
+        model.addNode(hotSpot);
+        double h = 10;
+        double G = 50;
+        for (int i = 0; i < Nx; i++) {
+            for (int j = 0; j < Ny; j++) {
+                UnknownNode node = nodes[i][j];
+                if (i == 0 || i == Nx - 1 || j == 0 || j == Ny - 1)
+                    model.addComponent(new LinearLink(node, ambient, ModelType.THERMAL, h));
+                if (i < Nx - 1) model.addComponent(new LinearLink(node, nodes[i + 1][j], ModelType.THERMAL, G));
+                if (j < Ny - 1) model.addComponent(new LinearLink(node, nodes[i][j + 1], ModelType.THERMAL, G));
+            }
+        }
+        model.addComponent(new LinearLink(hotSpot, nodes[Nx / 2][Ny / 2], ModelType.THERMAL, G));
+        model.domain(ModelType.THERMAL).setSolver(solver);
+
+        SteadyStateSolver.solve(model);
+
+        double[][] values = new double[Nx][Ny];
+        for (int i = 0; i < Nx; i++)
+            for (int j = 0; j < Ny; j++) values[i][j] = nodes[i][j].getValue(ModelType.THERMAL);
+        return values;
+    }
+
     @Test
     public void radiatorBladeSimulation() {
 